@@ -12,6 +12,9 @@ CREATE DATABASE `my-books-db` CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 USE `my-books-db`;
 
 -- 外部キー制約を考慮した削除順序（依存関係の逆順）
+DROP TABLE IF EXISTS `book_rating_histograms`;
+DROP TABLE IF EXISTS `user_activity_counters`;
+DROP TABLE IF EXISTS `book_trending_scores`;
 DROP TABLE IF EXISTS `bookmarks`;
 DROP TABLE IF EXISTS `book_chapter_page_contents`;
 DROP TABLE IF EXISTS `book_chapters`;
@@ -38,7 +41,9 @@ CREATE TABLE `books` (
   `image_path` VARCHAR(255) DEFAULT NULL,
   `average_rating` DECIMAL(3, 2) NOT NULL DEFAULT 0.00,
   `review_count` BIGINT NOT NULL DEFAULT 0,
+  `rating_sum` DECIMAL(12, 1) NOT NULL DEFAULT 0.0,
   `popularity` DECIMAL(8, 2) NOT NULL DEFAULT 0.000,
+  `favorite_count` BIGINT NOT NULL DEFAULT 0,
   `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `is_deleted` BOOLEAN NOT NULL DEFAULT FALSE
@@ -67,6 +72,7 @@ CREATE TABLE `users` (
   `password` VARCHAR(255) NOT NULL DEFAULT '',
   `name` VARCHAR(255) NOT NULL DEFAULT '',
   `avatar_path` VARCHAR(255) DEFAULT NULL,
+  `security_version` BIGINT NOT NULL DEFAULT 0,
   `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `is_deleted` BOOLEAN NOT NULL DEFAULT FALSE
@@ -119,6 +125,7 @@ CREATE TABLE `book_chapters` (
   `book_id` VARCHAR(255) NOT NULL,
   `chapter_number` BIGINT NOT NULL,
   `title` VARCHAR(255) NOT NULL,
+  `page_count` BIGINT NOT NULL DEFAULT 0,
   `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `is_deleted` BOOLEAN NOT NULL DEFAULT FALSE,
@@ -132,6 +139,7 @@ CREATE TABLE `book_chapter_page_contents` (
   `chapter_number` BIGINT NOT NULL,
   `page_number` BIGINT NOT NULL,
   `content` TEXT NOT NULL,
+  `content_gzip` MEDIUMBLOB,
   `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
   `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   `is_deleted` BOOLEAN NOT NULL DEFAULT FALSE,
@@ -152,6 +160,31 @@ CREATE TABLE `bookmarks` (
   FOREIGN KEY (`page_content_id`) REFERENCES `book_chapter_page_contents`(`id`) ON DELETE CASCADE
 );
 
+CREATE TABLE `book_trending_scores` (
+  `book_id` VARCHAR(255) NOT NULL PRIMARY KEY,
+  `score` DOUBLE NOT NULL,
+  `scored_at` TIMESTAMP NOT NULL,
+  FOREIGN KEY (`book_id`) REFERENCES `books`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `user_activity_counters` (
+  `user_id` BIGINT NOT NULL PRIMARY KEY,
+  `favorite_count` BIGINT NOT NULL DEFAULT 0,
+  `bookmark_count` BIGINT NOT NULL DEFAULT 0,
+  `review_count` BIGINT NOT NULL DEFAULT 0,
+  FOREIGN KEY (`user_id`) REFERENCES `users`(`id`) ON DELETE CASCADE
+);
+
+CREATE TABLE `book_rating_histograms` (
+  `book_id` VARCHAR(255) NOT NULL PRIMARY KEY,
+  `rating_1_count` BIGINT NOT NULL DEFAULT 0,
+  `rating_2_count` BIGINT NOT NULL DEFAULT 0,
+  `rating_3_count` BIGINT NOT NULL DEFAULT 0,
+  `rating_4_count` BIGINT NOT NULL DEFAULT 0,
+  `rating_5_count` BIGINT NOT NULL DEFAULT 0,
+  FOREIGN KEY (`book_id`) REFERENCES `books`(`id`) ON DELETE CASCADE
+);
+
 -- データのロード
 LOAD DATA INFILE '/docker-entrypoint-initdb.d/books.csv'
 INTO TABLE books
@@ -289,6 +322,13 @@ ENCLOSED BY '"'
 LINES TERMINATED BY '\n'
 (`book_id`, `chapter_number`, `page_number`, `content`);
 
+-- 章のページ数を集計して保存
+UPDATE `book_chapters` c
+SET c.`page_count` = (
+  SELECT COUNT(*) FROM `book_chapter_page_contents` pc
+  WHERE pc.`book_id` = c.`book_id` AND pc.`chapter_number` = c.`chapter_number` AND pc.`is_deleted` = FALSE
+);
+
 -- ブックマーク用のサブクエリでpage_content_idを取得してINSERT
 INSERT INTO `bookmarks` (`user_id`, `page_content_id`, `note`)
 SELECT 1, pc.id, 'もう一度読み直す' FROM book_chapter_page_contents pc WHERE pc.book_id = 'afcIMuetDuzj' AND pc.chapter_number = 1 AND pc.page_number = 1
@@ -405,7 +445,9 @@ CREATE INDEX idx_book_chapter_page_contents_book_chapter ON book_chapter_page_co
 CREATE INDEX idx_book_chapter_page_contents_deleted ON book_chapter_page_contents(is_deleted);
 
 -- フルテキスト検索用インデックス（書籍の高度な検索機能用）
-CREATE FULLTEXT INDEX idx_books_fulltext ON books(title, description, authors);
+-- 日本語は空白で単語が区切られないため、ngramパーサー（ngram_token_size=2）で分割する
+-- /books/search の MATCH(title, description, authors) AGAINST(... IN BOOLEAN MODE) で使用
+CREATE FULLTEXT INDEX idx_books_fulltext ON books(title, description, authors) WITH PARSER ngram;
 
 -- ================================================
 -- カバリングインデックス（パフォーマンス最適化）
@@ -460,6 +502,10 @@ CREATE INDEX idx_books_list_rating_covering ON books(
     page_count
 );
 
+-- 書籍一覧取得の最適化（お気に入り数順）
+-- ORDER BY favorite_count DESC でのソート最適化（主キーで書籍を取得するため、ソート列のみ）
+CREATE INDEX idx_books_favorite_count_desc ON books(is_deleted, favorite_count DESC, id);
+
 -- タイトル検索の最適化（LIKE検索用）
 -- WHERE title LIKE '%keyword%' AND is_deleted = false
 CREATE INDEX idx_books_title_search_covering ON books(
@@ -547,6 +593,22 @@ SET review_count = (
     WHERE r.book_id = b.id AND r.is_deleted = false
 );
 
+-- 評価の合計（以降のレビューの増減はこの値とレビュー数に加算する）
+UPDATE books b
+SET rating_sum = (
+    SELECT COALESCE(SUM(r.rating), 0.0)
+    FROM reviews r 
+    WHERE r.book_id = b.id AND r.is_deleted = false
+);
+
+-- お気に入り数（以降のお気に入りの追加・削除はこの値に加算する）
+UPDATE books b
+SET favorite_count = (
+    SELECT COUNT(*)
+    FROM favorites f 
+    WHERE f.book_id = b.id AND f.is_deleted = false
+);
+
 -- 人気度（基本的な重み付きスコア: 平均点数 × log(レビュー数 + 1) × 20）
 UPDATE books b
 SET popularity = (
@@ -556,6 +618,39 @@ SET popularity = (
     END
 );
 
+-- ユーザーの操作数（以降のお気に入り・ブックマーク・レビューの追加・削除はこの値に加算する）
+INSERT INTO user_activity_counters (user_id, favorite_count, bookmark_count, review_count)
+SELECT
+    u.id,
+    (SELECT COUNT(*) FROM favorites f WHERE f.user_id = u.id AND f.is_deleted = false),
+    (SELECT COUNT(*) FROM bookmarks bm WHERE bm.user_id = u.id AND bm.is_deleted = false),
+    (SELECT COUNT(*) FROM reviews r WHERE r.user_id = u.id AND r.is_deleted = false)
+FROM users u;
+
+-- 評価の分布（星の数は評価を四捨五入して1〜5に収めた値、以降のレビューの作成・更新・削除はこの値に加算する）
+INSERT INTO book_rating_histograms
+    (book_id, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count)
+SELECT
+    b.id,
+    COALESCE(s.c1, 0),
+    COALESCE(s.c2, 0),
+    COALESCE(s.c3, 0),
+    COALESCE(s.c4, 0),
+    COALESCE(s.c5, 0)
+FROM books b
+LEFT JOIN (
+    SELECT
+        r.book_id,
+        SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 1) AS c1,
+        SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 2) AS c2,
+        SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 3) AS c3,
+        SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 4) AS c4,
+        SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 5) AS c5
+    FROM reviews r
+    WHERE r.is_deleted = false
+    GROUP BY r.book_id
+) s ON s.book_id = b.id;
+
 -- ================================================
 -- パフォーマンス分析用のコメント
 -- ================================================
@@ -0,0 +1,579 @@
+package com.example.my_books_backend.catalog;
+
+import java.sql.Date;
+import java.text.CollationKey;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.util.CollationUtils;
+
+/**
+ * 書籍カタログのインメモリインデックス
+ * 書籍に連番（序数）を割り当て、ジャンルごとの所属書籍を圧縮ビットマップで保持する
+ * - ジャンルのAND検索はビットマップの積集合、OR検索は和集合で求める（GROUP BY・DISTINCTが不要）
+ * - ソート条件ごとに序数を並び替えた配列を保持し、検索結果をその順に走査してページを切り出す
+ * - 全件の一覧は並び替え済み配列の指定範囲を読むだけで作成する（DBを使わず、ページサイズに比例する処理量）
+ * - ソート用の数値列はヒープ外（ダイレクトバッファ）に保持する
+ *
+ * 検索は読み取りロック、更新は書き込みロックで排他する
+ * 全件の再構築は別のインスタンスに構築してから差し替えるため、構築中も検索できる
+ */
+@Component
+public class BookCatalogIndex {
+    // 検索結果が全体の1/16未満の場合は、並び替え済み配列を走査せずに結果のみを並び替える
+    private static final int SPARSE_RESULT_RATIO = 16;
+
+    // 統計情報の更新で並び順が変わるソートフィールド
+    private static final Set<String> STATS_FIELDS = Set.of("reviewCount", "averageRating", "popularity", "favoriteCount");
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Catalog catalog = new Catalog();
+    private volatile boolean ready = false;
+
+    /**
+     * インデックスが構築済みで検索に使用できるか
+     *
+     * @return 使用できる場合はtrue
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * インデックスに登録されている（削除されていない）書籍数
+     *
+     * @return 書籍数
+     */
+    public int size() {
+        return catalog.liveCount;
+    }
+
+    /**
+     * 全件再構築用のビルダーを作成
+     *
+     * @return ビルダー
+     */
+    public Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * ビルダーで構築したインデックスに差し替える
+     *
+     * @param builder 構築済みのビルダー
+     */
+    public void swap(Builder builder) {
+        lock.writeLock().lock();
+        try {
+            catalog = builder.catalog;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍を登録または更新
+     *
+     * @param book 書籍（削除済みの場合は検索対象外にする）
+     * @param genreIds 書籍のジャンルIDリスト
+     */
+    public void upsert(Book book, List<Long> genreIds) {
+        lock.writeLock().lock();
+        try {
+            catalog.upsert(book, genreIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍を検索対象外にする
+     *
+     * @param bookId 書籍ID
+     */
+    public void remove(String bookId) {
+        lock.writeLock().lock();
+        try {
+            catalog.remove(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍の統計情報を更新
+     * 統計情報のソート条件の並び替え済み配列のみ、該当書籍の位置を移動する
+     *
+     * @param bookId 書籍ID
+     * @param reviewCount レビュー数
+     * @param averageRating 平均評価
+     * @param popularity 人気度
+     * @param favoriteCount お気に入り数
+     */
+    public void updateStats(
+        String bookId,
+        long reviewCount,
+        double averageRating,
+        double popularity,
+        long favoriteCount
+    ) {
+        lock.writeLock().lock();
+        try {
+            catalog.updateStats(bookId, reviewCount, averageRating, popularity, favoriteCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ジャンルを削除
+     *
+     * @param genreId ジャンルID
+     */
+    public void removeGenre(Long genreId) {
+        lock.writeLock().lock();
+        try {
+            catalog.genres.remove(genreId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ジャンルで書籍を検索
+     *
+     * @param genreIds ジャンルIDリスト
+     * @param matchAll すべてのジャンルを含む書籍（AND条件）の場合はtrue、いずれか（OR条件）の場合はfalse
+     * @param sort ソート条件（PageableUtilsで作成したもの）
+     * @param offset 取得開始位置
+     * @param limit 取得件数
+     * @return 検索結果（書籍IDのリストと総件数）
+     */
+    public CatalogResult findByGenres(
+        List<Long> genreIds,
+        boolean matchAll,
+        Sort sort,
+        long offset,
+        int limit
+    ) {
+        lock.readLock().lock();
+        try {
+            Catalog current = catalog;
+            CompactBitmap matched = current.match(genreIds, matchAll);
+            int total = matched.cardinality();
+            if (total == 0 || offset >= total || limit <= 0) {
+                return new CatalogResult(List.of(), total);
+            }
+
+            OrdinalOrder order = OrdinalOrder.of(sort);
+            List<String> bookIds = ((long) total * SPARSE_RESULT_RATIO < current.liveCount)
+                ? current.sortMatched(matched, order, offset, limit)
+                : current.scanMatched(matched, order, offset, limit);
+            return new CatalogResult(bookIds, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 削除されていない書籍の一覧を取得
+     *
+     * @param sort ソート条件（PageableUtilsで作成したもの）
+     * @param offset 取得開始位置
+     * @param limit 取得件数
+     * @return 一覧（指定範囲の書籍と総件数）
+     */
+    public CatalogPage findAll(Sort sort, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            Catalog current = catalog;
+            Permutation permutation = current.permutation(OrdinalOrder.of(sort));
+            List<BookResponse> books = new ArrayList<>(Math.max(0, limit));
+            for (long i = offset; i < permutation.size && books.size() < limit; i++) {
+                books.add(current.toBookResponse(permutation.ordinals[(int) i]));
+            }
+            return new CatalogPage(books, current.liveCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 全件再構築用のビルダー
+     */
+    public static final class Builder {
+        private final Catalog catalog = new Catalog();
+
+        private Builder() {
+        }
+
+        /**
+         * 書籍を追加
+         *
+         * @param book 書籍（削除済みの場合は追加しない）
+         * @param genreIds 書籍のジャンルIDリスト
+         */
+        public void add(Book book, List<Long> genreIds) {
+            catalog.upsert(book, genreIds);
+        }
+
+        /**
+         * 指定されたフィールドの並び替え済み配列（昇順・降順）を事前に作成
+         * （初回検索時に作成すると、その検索が遅くなるため）
+         *
+         * @param fields ソートフィールドのリスト
+         */
+        public void prepareOrders(List<String> fields) {
+            for (String field : fields) {
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    catalog.permutation(new OrdinalOrder(field, direction.isDescending()));
+                }
+            }
+        }
+    }
+
+    /**
+     * インデックスの1世代分のデータ
+     * 書籍ごとの値は序数を添字とする配列（列指向）で保持する
+     * - ソート用の数値列: ヒープ外の列（出版日はエポック日、未設定はLong.MIN_VALUE）
+     * - タイトル・表示用の値: ヒープ上の配列
+     */
+    private static final class Catalog {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private String[] bookIds = new String[INITIAL_CAPACITY];
+        // タイトル順の比較用のキー（DBの照合順序に近い順序、元のタイトルも保持する）
+        private CollationKey[] titleKeys = new CollationKey[INITIAL_CAPACITY];
+        private Display[] displays = new Display[INITIAL_CAPACITY];
+        private final OffHeapColumn publicationDates = new OffHeapColumn(INITIAL_CAPACITY);
+        private final OffHeapColumn reviewCounts = new OffHeapColumn(INITIAL_CAPACITY);
+        private final OffHeapColumn averageRatings = new OffHeapColumn(INITIAL_CAPACITY);
+        private final OffHeapColumn popularities = new OffHeapColumn(INITIAL_CAPACITY);
+        private final OffHeapColumn favoriteCounts = new OffHeapColumn(INITIAL_CAPACITY);
+        private int count;
+
+        private final CompactBitmap live = new CompactBitmap();
+        private int liveCount;
+        private final Map<Long, CompactBitmap> genres = new HashMap<>();
+        private final Map<OrdinalOrder, Permutation> permutations = new ConcurrentHashMap<>();
+
+        private void upsert(Book book, List<Long> genreIds) {
+            boolean deleted = Boolean.TRUE.equals(book.getIsDeleted());
+            Integer existing = ordinals.get(book.getId());
+            if (existing == null && deleted) {
+                return;
+            }
+
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                detach(ordinal);
+            } else {
+                ordinal = append(book.getId());
+            }
+
+            // 並び替え済み配列から外した後に値を更新する（外す位置は更新前の値で探すため）
+            titleKeys[ordinal] = CollationUtils.titleKey(book.getTitle());
+            displays[ordinal] = Display.of(book, genreIds);
+            publicationDates.putLong(ordinal, (book.getPublicationDate() != null)
+                ? book.getPublicationDate().toLocalDate().toEpochDay()
+                : Long.MIN_VALUE);
+            reviewCounts.putLong(ordinal, Objects.requireNonNullElse(book.getReviewCount(), 0L));
+            averageRatings.putDouble(ordinal, Objects.requireNonNullElse(book.getAverageRating(), 0.0));
+            popularities.putDouble(ordinal, Objects.requireNonNullElse(book.getPopularity(), 0.0));
+            favoriteCounts.putLong(ordinal, Objects.requireNonNullElse(book.getFavoriteCount(), 0L));
+
+            if (!deleted) {
+                live.add(ordinal);
+                liveCount++;
+                for (Long genreId : genreIds) {
+                    genres.computeIfAbsent(genreId, id -> new CompactBitmap()).add(ordinal);
+                }
+                permutations.forEach((order, permutation) -> permutation.insert(ordinal, order, this));
+            }
+        }
+
+        private void updateStats(
+            String bookId,
+            long reviewCount,
+            double averageRating,
+            double popularity,
+            long favoriteCount
+        ) {
+            Integer ordinal = ordinals.get(bookId);
+            if (ordinal == null) {
+                return;
+            }
+
+            // 並び替え済み配列から外した後に値を更新し、新しい位置に戻す
+            boolean isLive = live.contains(ordinal);
+            if (isLive) {
+                forEachStatsPermutation((order, permutation) -> permutation.remove(ordinal, order, this));
+            }
+            reviewCounts.putLong(ordinal, reviewCount);
+            averageRatings.putDouble(ordinal, averageRating);
+            popularities.putDouble(ordinal, popularity);
+            favoriteCounts.putLong(ordinal, favoriteCount);
+            if (isLive) {
+                forEachStatsPermutation((order, permutation) -> permutation.insert(ordinal, order, this));
+            }
+        }
+
+        private void forEachStatsPermutation(BiConsumer<OrdinalOrder, Permutation> action) {
+            permutations.forEach((order, permutation) -> {
+                if (STATS_FIELDS.contains(order.field())) {
+                    action.accept(order, permutation);
+                }
+            });
+        }
+
+        private void remove(String bookId) {
+            Integer ordinal = ordinals.get(bookId);
+            if (ordinal != null) {
+                detach(ordinal);
+            }
+        }
+
+        /**
+         * 書籍を検索対象（削除されていない書籍・ジャンル・並び替え済み配列）から外す
+         */
+        private void detach(int ordinal) {
+            if (live.contains(ordinal)) {
+                permutations.forEach((order, permutation) -> permutation.remove(ordinal, order, this));
+                live.remove(ordinal);
+                liveCount--;
+            }
+            genres.values().forEach(bitmap -> bitmap.remove(ordinal));
+        }
+
+        private int append(String bookId) {
+            if (count == bookIds.length) {
+                int capacity = count * 2;
+                bookIds = Arrays.copyOf(bookIds, capacity);
+                titleKeys = Arrays.copyOf(titleKeys, capacity);
+                displays = Arrays.copyOf(displays, capacity);
+                publicationDates.grow(capacity);
+                reviewCounts.grow(capacity);
+                averageRatings.grow(capacity);
+                popularities.grow(capacity);
+                favoriteCounts.grow(capacity);
+            }
+            bookIds[count] = bookId;
+            ordinals.put(bookId, count);
+            return count++;
+        }
+
+        private CompactBitmap match(List<Long> genreIds, boolean matchAll) {
+            CompactBitmap result = null;
+            for (Long genreId : new LinkedHashSet<>(genreIds)) {
+                CompactBitmap bitmap = genres.get(genreId);
+                if (bitmap == null) {
+                    if (matchAll) {
+                        return new CompactBitmap();
+                    }
+                    continue;
+                }
+                if (result == null) {
+                    result = bitmap;
+                } else {
+                    result = matchAll ? result.and(bitmap) : result.or(bitmap);
+                }
+            }
+            return (result != null) ? result : new CompactBitmap();
+        }
+
+        /**
+         * 検索結果の序数のみを並び替えてページを切り出す（結果件数が少ない場合）
+         */
+        private List<String> sortMatched(CompactBitmap matched, OrdinalOrder order, long offset, int limit) {
+            List<Integer> ordinalList = new ArrayList<>(matched.cardinality());
+            matched.forEach(ordinalList::add);
+            ordinalList.sort((a, b) -> order.compare(a, b, this));
+
+            return ordinalList.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(ordinal -> bookIds[ordinal])
+                .toList();
+        }
+
+        /**
+         * 並び替え済み配列を先頭から走査し、検索結果に含まれる書籍でページを切り出す（結果件数が多い場合）
+         */
+        private List<String> scanMatched(CompactBitmap matched, OrdinalOrder order, long offset, int limit) {
+            Permutation permutation = permutation(order);
+            List<String> result = new ArrayList<>(limit);
+            long skipped = 0;
+            for (int i = 0; i < permutation.size && result.size() < limit; i++) {
+                int ordinal = permutation.ordinals[i];
+                if (!matched.contains(ordinal)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                } else {
+                    result.add(bookIds[ordinal]);
+                }
+            }
+            return result;
+        }
+
+        private BookResponse toBookResponse(int ordinal) {
+            Display display = displays[ordinal];
+            long publicationDate = publicationDates.getLong(ordinal);
+            return new BookResponse(
+                bookIds[ordinal],
+                titleKeys[ordinal].getSourceString(),
+                display.description(),
+                display.genreIds(),
+                display.authors(),
+                (publicationDate != Long.MIN_VALUE) ? Date.valueOf(LocalDate.ofEpochDay(publicationDate)) : null,
+                display.imagePath(),
+                reviewCounts.getLong(ordinal),
+                averageRatings.getDouble(ordinal),
+                popularities.getDouble(ordinal)
+            );
+        }
+
+        private Permutation permutation(OrdinalOrder order) {
+            return permutations.computeIfAbsent(order, key -> Permutation.build(this, key));
+        }
+    }
+
+    /**
+     * ソート条件（ソートフィールドと方向、同値の場合は書籍IDの昇順）
+     */
+    private record OrdinalOrder(String field, boolean descending) {
+        private static OrdinalOrder of(Sort sort) {
+            Sort.Order first = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+            return new OrdinalOrder(first.getProperty(), first.isDescending());
+        }
+
+        private int compare(int a, int b, Catalog catalog) {
+            int result = switch (field) {
+                case "title" -> catalog.titleKeys[a].compareTo(catalog.titleKeys[b]);
+                case "publicationDate" -> Long.compare(
+                    catalog.publicationDates.getLong(a),
+                    catalog.publicationDates.getLong(b)
+                );
+                case "reviewCount" -> Long.compare(
+                    catalog.reviewCounts.getLong(a),
+                    catalog.reviewCounts.getLong(b)
+                );
+                case "averageRating" -> Double.compare(
+                    catalog.averageRatings.getDouble(a),
+                    catalog.averageRatings.getDouble(b)
+                );
+                case "popularity" -> Double.compare(
+                    catalog.popularities.getDouble(a),
+                    catalog.popularities.getDouble(b)
+                );
+                case "favoriteCount" -> Long.compare(
+                    catalog.favoriteCounts.getLong(a),
+                    catalog.favoriteCounts.getLong(b)
+                );
+                default -> catalog.bookIds[a].compareTo(catalog.bookIds[b]);
+            };
+            if (descending) {
+                result = -result;
+            }
+            return (result != 0) ? result : catalog.bookIds[a].compareTo(catalog.bookIds[b]);
+        }
+    }
+
+    /**
+     * 一覧の表示用の値（ソートに使わない値）
+     */
+    private record Display(String description, List<String> authors, String imagePath, List<Long> genreIds) {
+        private static Display of(Book book, List<Long> genreIds) {
+            List<String> authors = (book.getAuthors() != null)
+                ? Arrays.asList(book.getAuthors().split(","))
+                : List.of();
+            return new Display(
+                book.getDescription(),
+                authors,
+                book.getImagePath(),
+                genreIds.stream().distinct().toList()
+            );
+        }
+    }
+
+    /**
+     * ソート条件の順に並べた序数の配列（削除されていない書籍のみ）
+     * 値の更新時は、二分探索で位置を求めて1件だけ移動する
+     */
+    private static final class Permutation {
+        private int[] ordinals;
+        private int size;
+
+        private static Permutation build(Catalog catalog, OrdinalOrder order) {
+            List<Integer> liveOrdinals = new ArrayList<>(catalog.liveCount);
+            catalog.live.forEach(liveOrdinals::add);
+            liveOrdinals.sort((a, b) -> order.compare(a, b, catalog));
+
+            Permutation permutation = new Permutation();
+            permutation.ordinals = liveOrdinals.stream().mapToInt(Integer::intValue).toArray();
+            permutation.size = permutation.ordinals.length;
+            return permutation;
+        }
+
+        private void insert(int ordinal, OrdinalOrder order, Catalog catalog) {
+            int index = lowerBound(ordinal, order, catalog);
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(16, size * 2));
+            }
+            System.arraycopy(ordinals, index, ordinals, index + 1, size - index);
+            ordinals[index] = ordinal;
+            size++;
+        }
+
+        private void remove(int ordinal, OrdinalOrder order, Catalog catalog) {
+            int index = lowerBound(ordinal, order, catalog);
+            if (index >= size || ordinals[index] != ordinal) {
+                // 通常は発生しないが、念のため線形探索する
+                index = -1;
+                for (int i = 0; i < size; i++) {
+                    if (ordinals[i] == ordinal) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index < 0) {
+                    return;
+                }
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+        }
+
+        private int lowerBound(int ordinal, OrdinalOrder order, Catalog catalog) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order.compare(ordinals[mid], ordinal, catalog) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.my_books_backend.catalog;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.example.my_books_backend.dto.book.BookGenreResponse;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.event.BookChangedEvent;
+import com.example.my_books_backend.event.BookStatsChangedEvent;
+import com.example.my_books_backend.event.GenreDeletedEvent;
+import com.example.my_books_backend.repository.BookRepository;
+import com.example.my_books_backend.util.PageableUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * カタログインデックスの構築・更新
+ * - 起動完了後に全書籍とジャンルの関連（book_genres）を読み込んでインデックスを構築する
+ *   （構築完了まではDBで検索する）
+ * - 書籍の変更・ジャンルの削除をコミット後にインデックスへ反映する
+ * - 統計情報の変更はイベントの値をそのまま反映する（DBを参照しない）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCatalogIndexLoader {
+    private final BookCatalogIndex bookCatalogIndex;
+    private final BookRepository bookRepository;
+
+    @Value("${app.catalog.index.enabled}")
+    private boolean enabled;
+
+    @Value("${app.catalog.index.load-batch-size}")
+    private int loadBatchSize;
+
+    // 全件構築中に変更された書籍（構築完了後に再反映する）
+    private final Set<String> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading = false;
+
+    /**
+     * 起動完了後にインデックスを構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("カタログインデックスは無効です（app.catalog.index.enabled=false）");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * 全書籍を読み込んでインデックスを再構築
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        loading = true;
+        try {
+            BookCatalogIndex.Builder builder = bookCatalogIndex.newBuilder();
+
+            // ID順にキーセットページネーションで読み込み、ジャンルはバッチごとにまとめて取得する
+            Sort sort = Sort.by(Sort.Direction.ASC, "id");
+            Limit limit = Limit.of(loadBatchSize);
+            Window<Book> window = bookRepository.findByIsDeletedFalse(ScrollPosition.keyset(), sort, limit);
+            while (!window.isEmpty()) {
+                Map<String, List<Long>> genreIdsByBookId = findGenreIds(
+                    window.stream().map(Book::getId).toList()
+                );
+                window.forEach(book -> builder.add(
+                    book,
+                    genreIdsByBookId.getOrDefault(book.getId(), List.of())
+                ));
+                if (!window.hasNext()) {
+                    break;
+                }
+                window = bookRepository.findByIsDeletedFalse(
+                    window.positionAt(window.size() - 1),
+                    sort,
+                    limit
+                );
+            }
+            builder.prepareOrders(PageableUtils.BOOK_ALLOWED_FIELDS);
+            bookCatalogIndex.swap(builder);
+
+            // 構築中に変更された書籍を反映
+            while (!changedDuringLoad.isEmpty()) {
+                for (String bookId : Set.copyOf(changedDuringLoad)) {
+                    changedDuringLoad.remove(bookId);
+                    refresh(bookId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("カタログインデックスの構築に失敗しました", e);
+        } finally {
+            loading = false;
+        }
+        log.info(
+            "カタログインデックスを構築しました: {}件, {}ms",
+            bookCatalogIndex.size(),
+            System.currentTimeMillis() - start
+        );
+    }
+
+    /**
+     * 書籍の変更をインデックスに反映（トランザクションのコミット後）
+     *
+     * @param event 書籍変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (loading) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (bookCatalogIndex.isReady()) {
+            refresh(event.getBookId());
+        }
+    }
+
+    /**
+     * 書籍の統計情報の変更をインデックスに反映（トランザクションのコミット後）
+     *
+     * @param event 統計情報変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookStatsChanged(BookStatsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (loading) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (bookCatalogIndex.isReady()) {
+            bookCatalogIndex.updateStats(
+                event.getBookId(),
+                event.getReviewCount(),
+                event.getAverageRating(),
+                event.getPopularity(),
+                event.getFavoriteCount()
+            );
+        }
+    }
+
+    /**
+     * ジャンルの削除をインデックスに反映（トランザクションのコミット後）
+     *
+     * @param event ジャンル削除イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGenreDeleted(GenreDeletedEvent event) {
+        if (enabled) {
+            bookCatalogIndex.removeGenre(event.getGenreId());
+        }
+    }
+
+    private void refresh(String bookId) {
+        bookRepository.findById(bookId).ifPresentOrElse(
+            book -> bookCatalogIndex.upsert(
+                book,
+                findGenreIds(List.of(bookId)).getOrDefault(bookId, List.of())
+            ),
+            () -> bookCatalogIndex.remove(bookId)
+        );
+    }
+
+    private Map<String, List<Long>> findGenreIds(List<String> bookIds) {
+        return bookRepository.findBookGenreResponsesByBookIds(bookIds).stream()
+            .collect(Collectors.groupingBy(
+                BookGenreResponse::getBookId,
+                Collectors.mapping(BookGenreResponse::getGenreId, Collectors.toList())
+            ));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.my_books_backend.catalog;
+
+import java.util.List;
+import com.example.my_books_backend.dto.book.BookResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * カタログインデックスの一覧の取得結果
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogPage {
+    private final List<BookResponse> books; // 指定範囲の書籍（表示順）
+    private final long total; // 総件数
+}
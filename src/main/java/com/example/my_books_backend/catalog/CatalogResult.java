@@ -0,0 +1,15 @@
+package com.example.my_books_backend.catalog;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * カタログインデックスの検索結果
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogResult {
+    private final List<String> bookIds; // 指定範囲の書籍ID（表示順）
+    private final long total; // 総件数
+}
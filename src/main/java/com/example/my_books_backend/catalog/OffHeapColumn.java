@@ -0,0 +1,63 @@
+package com.example.my_books_backend.catalog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * ヒープ外（ダイレクトバッファ）に確保した8バイト固定長の列
+ * 書籍数に比例する数値列をGCの走査対象から外し、ヒープを圧迫しないようにする
+ * 読み取りは位置を変更しない絶対指定のため、読み取り同士は並行に実行できる
+ * 同期は呼び出し元で行う
+ */
+final class OffHeapColumn {
+    private static final int SLOT_BYTES = Long.BYTES;
+
+    private ByteBuffer buffer;
+
+    OffHeapColumn(int capacity) {
+        buffer = allocate(capacity);
+    }
+
+    /**
+     * 格納できる件数
+     *
+     * @return 件数
+     */
+    int capacity() {
+        return buffer.capacity() / SLOT_BYTES;
+    }
+
+    /**
+     * 格納できる件数を拡張（既存の値はコピーする）
+     *
+     * @param capacity 拡張後の件数
+     */
+    void grow(int capacity) {
+        if (capacity <= capacity()) {
+            return;
+        }
+        ByteBuffer grown = allocate(capacity);
+        grown.put(0, buffer, 0, buffer.capacity());
+        buffer = grown;
+    }
+
+    long getLong(int index) {
+        return buffer.getLong(index * SLOT_BYTES);
+    }
+
+    void putLong(int index, long value) {
+        buffer.putLong(index * SLOT_BYTES, value);
+    }
+
+    double getDouble(int index) {
+        return buffer.getDouble(index * SLOT_BYTES);
+    }
+
+    void putDouble(int index, double value) {
+        buffer.putDouble(index * SLOT_BYTES, value);
+    }
+
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * SLOT_BYTES).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.my_books_backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+    // Executor名（@Qualifierから参照する）
+    public static final String READ_AHEAD_EXECUTOR = "readAheadExecutor";
+    public static final String STREAMING_EXECUTOR = "streamingExecutor";
+    public static final String BOOK_STATS_SCHEDULER = "bookStatsScheduler";
+    public static final String BOOK_STATS_RECOMPUTE_EXECUTOR = "bookStatsRecomputeExecutor";
+    public static final String USER_ACTIVITY_SCHEDULER = "userActivityScheduler";
+
+    @Value("${app.content.read-ahead.threads}")
+    private int readAheadThreads;
+
+    @Value("${app.content.read-ahead.queue-capacity}")
+    private int readAheadQueueCapacity;
+
+    @Value("${app.book-stats.recompute.threads}")
+    private int bookStatsRecomputeThreads;
+
+    @Value("${app.streaming.threads}")
+    private int streamingThreads;
+
+    @Value("${app.streaming.queue-capacity}")
+    private int streamingQueueCapacity;
+
+    @Value("${app.streaming.timeout}")
+    private Duration streamingTimeout;
+
+    /**
+     * 閲覧ページの先読み用のExecutor
+     * 先読みは失敗しても閲覧に影響しないため、キューが一杯の場合は破棄する
+     * （リクエストを処理するスレッドで実行させない）
+     *
+     * @return Executor
+     */
+    @Bean(name = READ_AHEAD_EXECUTOR)
+    public ThreadPoolTaskExecutor readAheadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(readAheadThreads);
+        executor.setMaxPoolSize(readAheadThreads);
+        executor.setQueueCapacity(readAheadQueueCapacity);
+        executor.setThreadNamePrefix("read-ahead-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * ストリーミングレスポンス（StreamingResponseBody）の書き込み用のExecutor
+     * 書き込みはクライアントの受信に合わせてブロックするため、リクエストを処理するスレッドとは分ける
+     *
+     * @return Executor
+     */
+    @Bean(name = STREAMING_EXECUTOR)
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamingThreads);
+        executor.setMaxPoolSize(streamingThreads);
+        executor.setQueueCapacity(streamingQueueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        return executor;
+    }
+
+    /**
+     * 書籍の統計情報の変更の反映用のスケジューラ
+     * 1スレッドで実行し、同じ書籍の反映が並行しないようにする
+     *
+     * @return スケジューラ
+     */
+    @Bean(name = BOOK_STATS_SCHEDULER)
+    public ThreadPoolTaskScheduler bookStatsScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("book-stats-");
+        return scheduler;
+    }
+
+    /**
+     * 全書籍の統計情報の再計算用のExecutor
+     * パーティションを処理するスレッドに加えて、パーティションを作成して完了を待つ1スレッドを確保する
+     * （同時に実行するパーティションは呼び出し元でスレッド数までに制限するため、キューは溢れない）
+     *
+     * @return Executor
+     */
+    @Bean(name = BOOK_STATS_RECOMPUTE_EXECUTOR)
+    public ThreadPoolTaskExecutor bookStatsRecomputeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(bookStatsRecomputeThreads + 1);
+        executor.setMaxPoolSize(bookStatsRecomputeThreads + 1);
+        executor.setQueueCapacity(bookStatsRecomputeThreads);
+        executor.setThreadNamePrefix("book-stats-recompute-");
+        return executor;
+    }
+
+    /**
+     * ユーザーの操作数（お気に入り・ブックマーク・レビューの数）の整合性チェック用のスケジューラ
+     * 1スレッドで実行し、整合性チェックが重複して実行されないようにする
+     *
+     * @return スケジューラ
+     */
+    @Bean(name = USER_ACTIVITY_SCHEDULER)
+    public ThreadPoolTaskScheduler userActivityScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("user-activity-");
+        return scheduler;
+    }
+
+    /**
+     * 非同期リクエスト（ストリーミングレスポンス）のExecutorとタイムアウトを設定
+     * （エクスポートなど、件数の多いレスポンスを途中で打ち切らないため）
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor());
+        configurer.setDefaultTimeout(streamingTimeout.toMillis());
+    }
+}
@@ -7,8 +7,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,10 +17,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.example.my_books_backend.entity.User;
+import com.example.my_books_backend.security.JwtPrincipal;
+import com.example.my_books_backend.service.UserSecurityVersionService;
 import com.example.my_books_backend.service.impl.UserDetailsServiceImpl;
+import com.example.my_books_backend.util.JwtClaims;
 import com.example.my_books_backend.util.JwtUtils;
 
 @Slf4j
@@ -30,9 +34,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private static final String CHARSET_UTF8 = "UTF-8";
 
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserSecurityVersionService userSecurityVersionService;
     private final JwtUtils jwtUtil;
-    private final SecurityEndpointsConfig securityEndpointsConfig;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final PublicEndpointMatcher publicEndpointMatcher;
+
+    // アクセストークンのクレームから認証し、ユーザーを取得しない
+    @Value("${app.auth.stateless-principal.enabled}")
+    private boolean statelessPrincipalEnabled;
 
     @Override
     protected void doFilterInternal(
@@ -47,7 +55,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         String requestId = UUID.randomUUID().toString().substring(0, 8);
 
         // パブリックエンドポイントのチェック
-        if (isPublicEndpoint(requestURI, method)) {
+        if (publicEndpointMatcher.matches(request)) {
             log.debug("[{}] パブリックエンドポイントへのアクセス: {} {}", requestId, method, requestURI);
             filterChain.doFilter(request, response);
             return;
@@ -79,24 +87,6 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    /**
-     * パブリックエンドポイントかどうかを判定
-     */
-    private boolean isPublicEndpoint(String requestURI, String method) {
-        List<String> fullyPublicEndpoints = securityEndpointsConfig.getFullyPublicEndpoints();
-        List<String> publicGetEndpoints = securityEndpointsConfig.getPublicGetEndpoints();
-
-        // 完全にパブリックなエンドポイント
-        boolean isFullyPublic = fullyPublicEndpoints.stream()
-            .anyMatch(endpoint -> pathMatcher.match(endpoint, requestURI));
-
-        // GETメソッドのみパブリックなエンドポイント
-        boolean isPublicGet = "GET".equals(method) && publicGetEndpoints.stream()
-            .anyMatch(endpoint -> pathMatcher.match(endpoint, requestURI));
-
-        return isFullyPublic || isPublicGet;
-    }
-
     /**
      * 認証処理を実行
      * 
@@ -111,15 +101,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             return false;
         }
 
-        // トークンの検証
-        if (!jwtUtil.validateToken(token)) {
+        // トークンの検証（検証とクレームの取得を1回で行う）
+        Optional<JwtClaims> claims = jwtUtil.verify(token);
+        if (claims.isEmpty()) {
             log.warn("[{}] 無効なトークンです: {}", requestId, maskToken(token));
             return false;
         }
 
         // ユーザー情報の取得と認証コンテキストの設定
         try {
-            return setAuthenticationContext(token, request, requestId);
+            return setAuthenticationContext(claims.get(), request, requestId);
         } catch (UsernameNotFoundException e) {
             log.warn("[{}] ユーザーが見つかりません: {}", requestId, e.getMessage());
             return false;
@@ -131,13 +122,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     /**
      * 認証コンテキストを設定
+     * - ユーザーID・セキュリティバージョンを含むトークンは、クレームから認証する（セキュリティバージョンの確認のみ、キャッシュを経由）
+     * - 含まないトークン（クレームを追加する前に発行したもの）や、無効に設定されている場合はユーザーを取得して認証する
      */
     private boolean setAuthenticationContext(
-        String token,
+        JwtClaims claims,
         HttpServletRequest request,
         String requestId
     ) {
-        String email = jwtUtil.getSubjectFromToken(token);
+        if (statelessPrincipalEnabled && claims.userId() != null && claims.securityVersion() != null) {
+            return setStatelessAuthenticationContext(claims, request, requestId);
+        }
+
+        String email = claims.subject();
         if (!StringUtils.hasText(email)) {
             log.warn("[{}] トークンからメールアドレスを取得できません", requestId);
             return false;
@@ -148,6 +145,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             log.warn("[{}] ユーザー詳細情報を取得できません: {}", requestId, email);
             return false;
         }
+        if (claims.securityVersion() != null
+            && userDetails instanceof User user
+            && !claims.securityVersion().equals(user.getSecurityVersion())) {
+            log.warn("[{}] 無効化されたトークンです: {}", requestId, email);
+            return false;
+        }
 
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
             userDetails,
@@ -162,6 +165,35 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         return true;
     }
 
+    /**
+     * クレームから認証コンテキストを設定（ユーザーを取得しない）
+     */
+    private boolean setStatelessAuthenticationContext(
+        JwtClaims claims,
+        HttpServletRequest request,
+        String requestId
+    ) {
+        // パスワード変更などでセキュリティバージョンが増えた場合、それより前に発行したトークンは無効
+        Long securityVersion = userSecurityVersionService.getSecurityVersion(claims.userId());
+        if (securityVersion == null || !securityVersion.equals(claims.securityVersion())) {
+            log.warn("[{}] 無効化されたトークンです: userId={}", requestId, claims.userId());
+            return false;
+        }
+
+        JwtPrincipal principal = JwtPrincipal.from(claims);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        );
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        log.debug("[{}] 認証コンテキストを設定しました（クレーム）: {}", requestId, principal.email());
+
+        return true;
+    }
+
     /**
      * Authorizationヘッダーからトークンを抽出
      */
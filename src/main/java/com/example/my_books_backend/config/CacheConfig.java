@@ -0,0 +1,124 @@
+package com.example.my_books_backend.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // キャッシュ名（@Cacheable / @CacheEvict から参照する）
+    public static final String BOOK_DETAILS_CACHE = "bookDetails";
+    public static final String BOOK_PAGES_CACHE = "bookPages";
+    // お気に入り数順の書籍一覧（お気に入りの増減で並び順が変わるため、他の並び順と分けて削除する）
+    public static final String BOOK_PAGES_BY_FAVORITE_COUNT_CACHE = "bookPagesByFavoriteCount";
+    public static final String BOOK_TABLE_OF_CONTENTS_CACHE = "bookTableOfContents";
+    public static final String GENRES_CACHE = "genres";
+    public static final String USER_ACTIVITY_COUNTS_CACHE = "userActivityCounts";
+    public static final String USER_SECURITY_VERSIONS_CACHE = "userSecurityVersions";
+
+    @Value("${app.cache.book-details.max-size}")
+    private long bookDetailsMaxSize;
+
+    @Value("${app.cache.book-details.ttl}")
+    private Duration bookDetailsTtl;
+
+    @Value("${app.cache.book-pages.max-size}")
+    private long bookPagesMaxSize;
+
+    @Value("${app.cache.book-pages.ttl}")
+    private Duration bookPagesTtl;
+
+    @Value("${app.cache.book-pages-by-favorite-count.max-size}")
+    private long bookPagesByFavoriteCountMaxSize;
+
+    @Value("${app.cache.book-pages-by-favorite-count.ttl}")
+    private Duration bookPagesByFavoriteCountTtl;
+
+    @Value("${app.cache.book-table-of-contents.max-size}")
+    private long bookTableOfContentsMaxSize;
+
+    @Value("${app.cache.book-table-of-contents.ttl}")
+    private Duration bookTableOfContentsTtl;
+
+    @Value("${app.cache.genres.max-size}")
+    private long genresMaxSize;
+
+    @Value("${app.cache.genres.ttl}")
+    private Duration genresTtl;
+
+    @Value("${app.cache.user-activity-counts.max-size}")
+    private long userActivityCountsMaxSize;
+
+    @Value("${app.cache.user-activity-counts.ttl}")
+    private Duration userActivityCountsTtl;
+
+    @Value("${app.cache.user-security-versions.max-size}")
+    private long userSecurityVersionsMaxSize;
+
+    @Value("${app.cache.user-security-versions.ttl}")
+    private Duration userSecurityVersionsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        // キャッシュごとにサイズ上限とTTLを設定する
+        // recordStats()を有効にすることで、actuatorのcache.gets / cache.evictionsなどのメトリクスが記録される
+        cacheManager.registerCustomCache(
+            BOOK_DETAILS_CACHE,
+            buildCache(bookDetailsMaxSize, bookDetailsTtl)
+        );
+        cacheManager.registerCustomCache(
+            BOOK_PAGES_CACHE,
+            buildCache(bookPagesMaxSize, bookPagesTtl)
+        );
+        cacheManager.registerCustomCache(
+            BOOK_PAGES_BY_FAVORITE_COUNT_CACHE,
+            buildCache(bookPagesByFavoriteCountMaxSize, bookPagesByFavoriteCountTtl)
+        );
+        cacheManager.registerCustomCache(
+            BOOK_TABLE_OF_CONTENTS_CACHE,
+            buildCache(bookTableOfContentsMaxSize, bookTableOfContentsTtl)
+        );
+        cacheManager.registerCustomCache(
+            GENRES_CACHE,
+            buildCache(genresMaxSize, genresTtl)
+        );
+        cacheManager.registerCustomCache(
+            USER_ACTIVITY_COUNTS_CACHE,
+            buildCache(userActivityCountsMaxSize, userActivityCountsTtl)
+        );
+        cacheManager.registerCustomCache(
+            USER_SECURITY_VERSIONS_CACHE,
+            buildCache(userSecurityVersionsMaxSize, userSecurityVersionsTtl)
+        );
+
+        // トランザクション中のput/evictはコミット後に反映する
+        // （コミット前に追い出すと、並行する読み取りで古い値が再キャッシュされるため）
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * サイズ上限とTTLを指定してCaffeineキャッシュを作成
+     *
+     * @param maxSize 最大エントリ数
+     * @param ttl 書き込みからの有効期間
+     * @return Caffeineキャッシュ
+     */
+    private Cache<Object, Object> buildCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.my_books_backend.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * パブリックエンドポイント（認証不要）の判定
+ * - SecurityEndpointsConfig のパターンを起動時に1回だけ PathPattern に変換し、パスの先頭のセグメントごとに分けて保持する
+ * - リクエストごとの判定は、先頭のセグメントが一致するパターン（と先頭がワイルドカードのパターン）のみを照合する
+ *   （エンドポイントが増えても、照合するパターンの数はほぼ増えない）
+ * - デコードできないパス（不正な%エンコーディング）は、変換前と同じく AntPathMatcher でエンコードされたまま照合する
+ * AuthTokenFilter と SecurityConfig（permitAll）で同じインスタンスを使う
+ */
+@Component
+public class PublicEndpointMatcher implements RequestMatcher {
+    private final PathPatternParser parser = new PathPatternParser();
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    // パスの先頭のセグメント → パターン
+    private final Map<String, List<Rule>> rulesByFirstSegment = new HashMap<>();
+    // 先頭のセグメントがワイルドカード・変数のパターン（すべてのリクエストで照合する）
+    private final List<Rule> wildcardRules = new ArrayList<>();
+    // すべてのパターン（デコードできないパスの照合用）
+    private final List<Rule> allRules = new ArrayList<>();
+
+    public PublicEndpointMatcher(SecurityEndpointsConfig securityEndpointsConfig) {
+        securityEndpointsConfig.getFullyPublicEndpoints().forEach(pattern -> addRule(pattern, null));
+        securityEndpointsConfig.getPublicGetEndpoints().forEach(pattern -> addRule(pattern, HttpMethod.GET));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return isPublic(request.getMethod(), path);
+    }
+
+    /**
+     * パブリックエンドポイントかどうかを判定
+     *
+     * @param method HTTPメソッド
+     * @param path パス（コンテキストパスを除く）
+     * @return パブリックの場合はtrue
+     */
+    public boolean isPublic(String method, String path) {
+        PathContainer pathContainer;
+        try {
+            pathContainer = PathContainer.parsePath(path);
+        } catch (IllegalArgumentException e) {
+            // デコードできないパスは、エンコードされたままのパスをパターンの文字列と照合する
+            return matchesUndecodable(method, path);
+        }
+        List<Rule> rules = rulesByFirstSegment.get(firstSegment(pathContainer));
+        return (rules != null && matchesAny(rules, method, pathContainer))
+            || matchesAny(wildcardRules, method, pathContainer);
+    }
+
+    private void addRule(String pattern, HttpMethod method) {
+        PathPattern pathPattern = parser.parse(pattern);
+        Rule rule = new Rule(pathPattern, method);
+        allRules.add(rule);
+        String first = firstSegment(PathContainer.parsePath(pattern));
+        if (first == null || first.contains("*") || first.contains("?") || first.contains("{")) {
+            wildcardRules.add(rule);
+        } else {
+            rulesByFirstSegment.computeIfAbsent(first, key -> new ArrayList<>()).add(rule);
+        }
+    }
+
+    private boolean matchesUndecodable(String method, String path) {
+        for (Rule rule : allRules) {
+            if ((rule.method() == null || rule.method().matches(method))
+                && antPathMatcher.match(rule.pattern().getPatternString(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesAny(List<Rule> rules, String method, PathContainer path) {
+        for (Rule rule : rules) {
+            if ((rule.method() == null || rule.method().matches(method)) && rule.pattern().matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 先頭のセグメント（ルートの場合はnull）
+     */
+    private static String firstSegment(PathContainer path) {
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                return segment.valueToMatch();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * パターンと許可するHTTPメソッド（nullの場合はすべてのメソッド）
+     */
+    private record Rule(PathPattern pattern, HttpMethod method) {
+    }
+}
@@ -2,10 +2,9 @@ package com.example.my_books_backend.config;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -22,6 +21,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import com.example.my_books_backend.util.JwtUtils;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -34,7 +34,7 @@ import lombok.RequiredArgsConstructor;
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
     private final AuthTokenFilter authTokenFilter;
-    private final SecurityEndpointsConfig securityEndpointsConfig;
+    private final PublicEndpointMatcher publicEndpointMatcher;
 
     private final JwtUtils jwtUtil;
 
@@ -48,15 +48,17 @@ public class SecurityConfig {
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
         );
 
-        List<String> fullyPublicEndpoints = securityEndpointsConfig.getFullyPublicEndpoints();
-        List<String> publicGetEndpoints = securityEndpointsConfig.getPublicGetEndpoints();
-
         http.authorizeHttpRequests(
             authorize -> authorize
-                .requestMatchers(fullyPublicEndpoints.toArray(new String[0]))
+                // 非同期処理（ストリーミングレスポンス）完了後のディスパッチは、元のリクエストで認可済み
+                .dispatcherTypeMatchers(DispatcherType.ASYNC)
                 .permitAll()
-                .requestMatchers(HttpMethod.GET, publicGetEndpoints.toArray(new String[0]))
+                // パブリックエンドポイントの判定はAuthTokenFilterと同じマッチャーで行う
+                .requestMatchers(publicEndpointMatcher)
                 .permitAll()
+                // Actuator（キャッシュの内容・metrics）は管理者のみ（/actuator/healthはパブリックエンドポイントとして許可済み）
+                .requestMatchers(EndpointRequest.toAnyEndpoint())
+                .hasRole("ADMIN")
                 .anyRequest()
                 .authenticated()
         );
@@ -7,13 +7,20 @@ import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import io.swagger.v3.oas.models.servers.Server;
 import java.util.List;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import com.example.my_books_backend.security.CurrentUser;
 
 @Configuration
 public class SwaggerConfig {
 
+    static {
+        // @CurrentUser の引数はリクエストパラメータとして表示しない
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
     @Value("${app.api.version}")
     private String apiVersion;
 
@@ -0,0 +1,43 @@
+package com.example.my_books_backend.content;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.service.BookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 章のページ数の照合
+ * - 起動完了後に、保存済みのページ数（book_chapters.page_count）を実際のページ数と照合する
+ *   （カラム追加前のデータや、アプリケーション外で追加されたページを反映するため）
+ * - 一致している章は更新しないため、通常は更新件数0で終わる
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookChapterPageCountLoader {
+    private final BookService bookService;
+
+    /**
+     * 起動完了後にページ数を照合
+     * （ページ数を保存するセグメントの作成より先に実行する）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshOnStartup() {
+        long start = System.currentTimeMillis();
+        try {
+            int updated = bookService.refreshChapterPageCounts();
+            log.info(
+                "章のページ数を照合しました: {}件更新, {}ms",
+                updated,
+                System.currentTimeMillis() - start
+            );
+        } catch (RuntimeException e) {
+            log.error("章のページ数の照合に失敗しました", e);
+        }
+    }
+}
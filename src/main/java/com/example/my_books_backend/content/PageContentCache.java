@@ -0,0 +1,252 @@
+package com.example.my_books_backend.content;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import com.example.my_books_backend.config.AsyncConfig;
+import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.util.GzipUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 閲覧ページのコンテンツキャッシュ
+ * - 本文をgzip圧縮して保持し、圧縮後のバイト数の合計（重み）が上限を超えると追い出す
+ *   （DBに圧縮して保存されているページは、保存されたバイト列をそのまま保持する）
+ * - ページNを取得したとき、同じ章のページN+1〜N+kを非同期に先読みする
+ *   （読者は前から順にページをめくるため、ほとんどのページ送りがキャッシュヒットになる）
+ * - セグメントストアにある書籍は、キャッシュ・先読みせずにセグメントファイルから読み取る
+ *   （OSのページキャッシュに載るため、ヒープに重複して保持しない）
+ * - エントリは書き込みから一定時間（app.content.cache.ttl）で期限切れにする
+ *   （読まれ続けるページも定期的にDBから読み直す）
+ * - 本文を書き込む処理（圧縮移行・セグメントの作成）は、書き込み後に書籍・章単位でエントリを削除する
+ */
+@Slf4j
+@Component
+public class PageContentCache {
+    public static final String CACHE_NAME = "bookPageContents";
+
+    // 本文以外（キー・章タイトルなど）の1エントリあたりのおおよそのバイト数
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final BookChapterPageContentRepository bookChapterPageContentRepository;
+    private final PageSegmentStore pageSegmentStore;
+    private final Executor readAheadExecutor;
+    private final Cache<PageKey, CompressedPage> cache;
+    private final int readAheadPages;
+
+    // 先読み中の範囲（同じ範囲の先読みを重複して実行しない）
+    private final Set<PageKey> readingAhead = ConcurrentHashMap.newKeySet();
+
+    public PageContentCache(
+        BookChapterPageContentRepository bookChapterPageContentRepository,
+        PageSegmentStore pageSegmentStore,
+        @Qualifier(AsyncConfig.READ_AHEAD_EXECUTOR) Executor readAheadExecutor,
+        MeterRegistry meterRegistry,
+        @Value("${app.content.cache.max-size}") DataSize maxSize,
+        @Value("${app.content.cache.ttl}") Duration ttl,
+        @Value("${app.content.read-ahead.pages}") int readAheadPages
+    ) {
+        this.bookChapterPageContentRepository = bookChapterPageContentRepository;
+        this.pageSegmentStore = pageSegmentStore;
+        this.readAheadExecutor = readAheadExecutor;
+        this.readAheadPages = readAheadPages;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .weigher((PageKey key, CompressedPage page) -> page.weight())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        // actuatorのmetricsでヒット/ミス/追い出し数を確認できるようにする
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * ページのコンテンツを取得（キャッシュにない場合はDBから取得してキャッシュする）
+     * 取得後に、同じ章の後続ページを非同期に先読みする
+     *
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return ページのコンテンツ（存在しない場合は空）
+     */
+    public Optional<BookChapterPageContentResponse> get(String bookId, Long chapterNumber, Long pageNumber) {
+        return getCompressed(bookId, chapterNumber, pageNumber).map(page -> new BookChapterPageContentResponse(
+            page.getBookId(),
+            page.getChapterNumber(),
+            page.getChapterTitle(),
+            page.getPageNumber(),
+            page.getTotalPagesInChapter(),
+            GzipUtils.decompress(page.getContentGzip())
+        ));
+    }
+
+    /**
+     * ページのコンテンツを取得（本文はgzip圧縮したまま、キャッシュにない場合はDBから取得してキャッシュする）
+     * 取得後に、同じ章の後続ページを非同期に先読みする
+     *
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return ページのコンテンツ（存在しない場合は空）
+     */
+    public Optional<CompressedPageContentResponse> getCompressed(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    ) {
+        // セグメントがある書籍は、セグメントにないページは存在しない
+        if (pageSegmentStore.contains(bookId)) {
+            return pageSegmentStore.find(bookId, chapterNumber, pageNumber);
+        }
+
+        PageKey key = new PageKey(bookId, chapterNumber, pageNumber);
+        CompressedPage cached = cache.getIfPresent(key);
+
+        CompressedPageContentResponse response;
+        if (cached != null) {
+            response = cached.toResponse(key);
+        } else {
+            Optional<CompressedPageContentResponse> loaded = bookChapterPageContentRepository
+                .findChapterPageContentResponse(bookId, chapterNumber, pageNumber);
+            if (loaded.isEmpty()) {
+                return Optional.empty();
+            }
+            response = loaded.get();
+            cache.put(key, CompressedPage.of(response));
+        }
+
+        readAhead(key, response.getTotalPagesInChapter());
+        return Optional.of(response);
+    }
+
+    /**
+     * 書籍のページをすべてキャッシュから削除
+     * 本文を書き込んだ後（コミット後）に呼び出す
+     *
+     * @param bookId 書籍ID
+     */
+    public void evictBook(String bookId) {
+        cache.asMap().keySet().removeIf(key -> key.bookId().equals(bookId));
+    }
+
+    /**
+     * 章のページをすべてキャッシュから削除
+     * 本文を書き込んだ後（コミット後）に呼び出す
+     *
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     */
+    public void evictChapter(String bookId, Long chapterNumber) {
+        cache.asMap().keySet().removeIf(key -> key.bookId().equals(bookId)
+            && key.chapterNumber().equals(chapterNumber));
+    }
+
+    /**
+     * 同じ章のページN+1〜N+kのうち、キャッシュにないページを非同期に取得
+     *
+     * @param key 取得したページのキー
+     * @param totalPages 章のページ数
+     */
+    private void readAhead(PageKey key, Long totalPages) {
+        if (readAheadPages <= 0 || totalPages == null) {
+            return;
+        }
+
+        long fromPage = key.pageNumber() + 1;
+        long toPage = Math.min(key.pageNumber() + readAheadPages, totalPages);
+        // 範囲の前後のキャッシュ済みのページを除き、最初と最後のキャッシュにないページの間を先読みする
+        // （存在確認はヒット/ミスの統計に含めない）
+        while (fromPage <= toPage && cache.asMap().containsKey(key.withPageNumber(fromPage))) {
+            fromPage++;
+        }
+        while (toPage >= fromPage && cache.asMap().containsKey(key.withPageNumber(toPage))) {
+            toPage--;
+        }
+        if (fromPage > toPage) {
+            return;
+        }
+
+        PageKey rangeKey = key.withPageNumber(fromPage);
+        if (!readingAhead.add(rangeKey)) {
+            return;
+        }
+        long from = fromPage;
+        long to = toPage;
+        try {
+            readAheadExecutor.execute(() -> {
+                try {
+                    List<CompressedPageContentResponse> pages = bookChapterPageContentRepository
+                        .findChapterPageContentResponses(key.bookId(), key.chapterNumber(), from, to);
+                    pages.forEach(page -> cache.put(
+                        new PageKey(page.getBookId(), page.getChapterNumber(), page.getPageNumber()),
+                        CompressedPage.of(page)
+                    ));
+                } catch (RuntimeException e) {
+                    log.warn("ページの先読みに失敗しました: {}", rangeKey, e);
+                } finally {
+                    readingAhead.remove(rangeKey);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executorの停止中など、先読みを登録できない場合は先読みしない
+            readingAhead.remove(rangeKey);
+        }
+    }
+
+    /**
+     * キャッシュのキー（書籍ID・章番号・ページ番号）
+     */
+    private record PageKey(String bookId, Long chapterNumber, Long pageNumber) {
+        private PageKey withPageNumber(long pageNumber) {
+            return new PageKey(bookId, chapterNumber, pageNumber);
+        }
+    }
+
+    /**
+     * 本文をgzip圧縮したページ
+     * DBに圧縮して保存されている場合は、そのバイト列をそのまま保持する（再圧縮しない）
+     */
+    private record CompressedPage(
+        String chapterTitle,
+        Long totalPagesInChapter,
+        byte[] contentGzip
+    ) {
+        private static CompressedPage of(CompressedPageContentResponse response) {
+            return new CompressedPage(
+                response.getChapterTitle(),
+                response.getTotalPagesInChapter(),
+                response.getContentGzip()
+            );
+        }
+
+        private CompressedPageContentResponse toResponse(PageKey key) {
+            return new CompressedPageContentResponse(
+                key.bookId(),
+                key.chapterNumber(),
+                chapterTitle,
+                key.pageNumber(),
+                totalPagesInChapter,
+                contentGzip
+            );
+        }
+
+        private int weight() {
+            int titleBytes = (chapterTitle != null) ? chapterTitle.length() * 2 : 0;
+            return contentGzip.length + titleBytes + ENTRY_OVERHEAD_BYTES;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.my_books_backend.content;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.my_books_backend.dto.ContentCompressionResponse;
+import com.example.my_books_backend.entity.BookChapterPageContent;
+import com.example.my_books_backend.exception.ConflictException;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.util.GzipUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 閲覧ページの本文の圧縮移行
+ * - 未圧縮のページ（content_gzipがnull）をID順にバッチで読み込み、gzip圧縮してcontent_gzipに保存する
+ *   （contentは空文字にして、テーブルとバッファプールのサイズを減らす）
+ * - バッチごとにコミットするため、途中で止まっても再実行すると未圧縮のページから再開する
+ * - 読み込み側は圧縮済み・未圧縮のどちらの行にも対応しているため、移行中も閲覧できる
+ * - バッチのコミット後に、圧縮したページの章をコンテンツキャッシュから削除する
+ */
+@Slf4j
+@Component
+public class PageContentCompressionJob {
+    private final BookChapterPageContentRepository bookChapterPageContentRepository;
+    private final PageContentCache pageContentCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public PageContentCompressionJob(
+        BookChapterPageContentRepository bookChapterPageContentRepository,
+        PageContentCache pageContentCache,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.content.compression.batch-size}") int batchSize
+    ) {
+        this.bookChapterPageContentRepository = bookChapterPageContentRepository;
+        this.pageContentCache = pageContentCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 未圧縮のページをすべて圧縮
+     *
+     * @return 圧縮したページ数と処理時間
+     */
+    public ContentCompressionResponse run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("本文の圧縮移行は実行中です。");
+        }
+        long start = System.currentTimeMillis();
+        long converted = 0;
+        try {
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                BatchResult result = transactionTemplate.execute(status -> compressBatch(afterId));
+                if (result == null) {
+                    break;
+                }
+                lastId = result.lastId();
+                converted += result.converted();
+                // コミット後に、圧縮したページの章をキャッシュから削除する
+                result.chapters().forEach(chapter -> pageContentCache.evictChapter(
+                    chapter.bookId(),
+                    chapter.chapterNumber()
+                ));
+                log.debug("本文を圧縮しました: {}件（ID {}まで）", converted, lastId);
+            }
+        } finally {
+            running.set(false);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("本文の圧縮移行が完了しました: {}件, {}ms", converted, elapsed);
+        return new ContentCompressionResponse(converted, elapsed);
+    }
+
+    /**
+     * 指定したIDより後の未圧縮のページを1バッチ分圧縮
+     *
+     * @param afterId 前回のバッチの最後のID
+     * @return バッチの結果（未圧縮のページがない場合はnull）
+     */
+    private BatchResult compressBatch(long afterId) {
+        List<BookChapterPageContent> pages = bookChapterPageContentRepository
+            .findByContentGzipIsNullAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize));
+        if (pages.isEmpty()) {
+            return null;
+        }
+        int converted = 0;
+        Set<ChapterKey> chapters = new LinkedHashSet<>();
+        for (BookChapterPageContent page : pages) {
+            int updated = bookChapterPageContentRepository.updateContentGzip(
+                page.getId(),
+                GzipUtils.compress(page.getContent())
+            );
+            if (updated > 0) {
+                chapters.add(new ChapterKey(page.getBookId(), page.getChapterNumber()));
+            }
+            converted += updated;
+        }
+        return new BatchResult(pages.get(pages.size() - 1).getId(), converted, chapters);
+    }
+
+    private record BatchResult(long lastId, int converted, Set<ChapterKey> chapters) {
+    }
+
+    private record ChapterKey(String bookId, Long chapterNumber) {
+    }
+}
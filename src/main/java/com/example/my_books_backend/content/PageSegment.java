@@ -0,0 +1,296 @@
+package com.example.my_books_backend.content;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+
+/**
+ * 1冊分の閲覧ページを格納したセグメントファイル
+ * - 本文（gzip）を先頭から順に追記し、最後に (章番号, ページ番号) → (オフセット, 長さ) の索引を書き込む
+ *   （ページを読み込みながら書き込めるため、書籍全体をメモリに保持しない）
+ * - 読み取りはファイル全体をメモリマップし、索引で位置を求めてページの本文だけをコピーする
+ *   （OSのページキャッシュに載るため、DB接続やヒープを使わずに読み取れる）
+ * 作成後は変更しない（作り直す場合は新しいファイルに書き込んで置き換える）
+ *
+ * ファイル形式:
+ * - ヘッダー: MAGIC(int), FORMAT_VERSION(int), バージョン（文字列）
+ * - 本文: gzipのバイト列を連続して格納
+ * - 索引: 章数(int), 章ごとに(章番号(long), ページ数(long), 章タイトル（文字列）)
+ *         ページ数(int), ページごとに(章番号(long), ページ番号(long), オフセット(int), 長さ(int))
+ * - トレーラー: 索引の開始位置(long), MAGIC(int)
+ * - 文字列はバイト数(int) + UTF-8
+ */
+final class PageSegment {
+    private static final int MAGIC = 0x4D425347; // "MBSG"
+    private static final int FORMAT_VERSION = 1;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final String version;
+    private final ByteBuffer buffer;
+    private final Map<Long, Chapter> chapters;
+
+    // (章番号, ページ番号)の昇順
+    private final long[] chapterNumbers;
+    private final long[] pageNumbers;
+    private final int[] offsets;
+    private final int[] lengths;
+
+    private PageSegment(
+        String version,
+        ByteBuffer buffer,
+        Map<Long, Chapter> chapters,
+        long[] chapterNumbers,
+        long[] pageNumbers,
+        int[] offsets,
+        int[] lengths
+    ) {
+        this.version = version;
+        this.buffer = buffer;
+        this.chapters = chapters;
+        this.chapterNumbers = chapterNumbers;
+        this.pageNumbers = pageNumbers;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    /**
+     * セグメントのバージョン（作成元のページ・章の更新日時と件数から作成した値）
+     *
+     * @return バージョン
+     */
+    String version() {
+        return version;
+    }
+
+    /**
+     * ページ数
+     *
+     * @return ページ数
+     */
+    int size() {
+        return offsets.length;
+    }
+
+    /**
+     * ページを取得
+     *
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return ページ（存在しない場合はnull）
+     */
+    CompressedPageContentResponse find(String bookId, long chapterNumber, long pageNumber) {
+        int index = indexOf(chapterNumber, pageNumber);
+        if (index < 0) {
+            return null;
+        }
+        Chapter chapter = chapters.get(chapterNumber);
+        byte[] content = new byte[lengths[index]];
+        buffer.get(offsets[index], content);
+        return new CompressedPageContentResponse(
+            bookId,
+            chapterNumber,
+            chapter.title(),
+            pageNumber,
+            chapter.totalPages(),
+            content
+        );
+    }
+
+    private int indexOf(long chapterNumber, long pageNumber) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = (chapterNumbers[mid] != chapterNumber)
+                ? Long.compare(chapterNumbers[mid], chapterNumber)
+                : Long.compare(pageNumbers[mid], pageNumber);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ページを書き込んでセグメントファイルを作成
+     *
+     * @param path 書き込み先
+     * @param version セグメントのバージョン
+     * @param pages (章番号, ページ番号)の昇順のページ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    static void write(Path path, String version, Iterator<CompressedPageContentResponse> pages)
+        throws IOException {
+        Map<Long, Chapter> chapters = new LinkedHashMap<>();
+        long[] chapterNumbers = new long[64];
+        long[] pageNumbers = new long[64];
+        int[] offsets = new int[64];
+        int[] lengths = new int[64];
+        int count = 0;
+
+        try (OutputStream file = Files.newOutputStream(path);
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            writeString(output, version);
+
+            while (pages.hasNext()) {
+                CompressedPageContentResponse page = pages.next();
+                if (count == offsets.length) {
+                    int capacity = count * 2;
+                    chapterNumbers = Arrays.copyOf(chapterNumbers, capacity);
+                    pageNumbers = Arrays.copyOf(pageNumbers, capacity);
+                    offsets = Arrays.copyOf(offsets, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                byte[] content = page.getContentGzip();
+                if ((long) output.size() + content.length > Integer.MAX_VALUE - (1 << 20)) {
+                    throw new IOException("セグメントファイルのサイズが上限を超えました: " + path);
+                }
+                chapterNumbers[count] = page.getChapterNumber();
+                pageNumbers[count] = page.getPageNumber();
+                offsets[count] = output.size();
+                lengths[count] = content.length;
+                count++;
+                output.write(content);
+                chapters.putIfAbsent(
+                    page.getChapterNumber(),
+                    new Chapter(page.getChapterTitle(), page.getTotalPagesInChapter())
+                );
+            }
+
+            long indexOffset = output.size();
+            output.writeInt(chapters.size());
+            for (Map.Entry<Long, Chapter> entry : chapters.entrySet()) {
+                output.writeLong(entry.getKey());
+                output.writeLong(entry.getValue().totalPages());
+                writeString(output, entry.getValue().title());
+            }
+            output.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                output.writeLong(chapterNumbers[i]);
+                output.writeLong(pageNumbers[i]);
+                output.writeInt(offsets[i]);
+                output.writeInt(lengths[i]);
+            }
+            output.writeLong(indexOffset);
+            output.writeInt(MAGIC);
+        }
+    }
+
+    /**
+     * セグメントファイルをメモリマップして開く
+     *
+     * @param path セグメントファイル
+     * @return セグメント
+     * @throws IOException 読み込みに失敗した場合、またはファイル形式が不正な場合
+     */
+    static PageSegment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        // マップしたバッファはチャネルを閉じても有効
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < 2L * Integer.BYTES + TRAILER_BYTES) {
+                throw new IOException("セグメントファイルのサイズが不正です: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        try {
+            if (buffer.getInt(0) != MAGIC
+                || buffer.getInt(buffer.limit() - Integer.BYTES) != MAGIC
+                || buffer.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new IOException("セグメントファイルの形式が不正です: " + path);
+            }
+            ByteBuffer reader = buffer.duplicate();
+            reader.position(2 * Integer.BYTES);
+            String version = readString(reader);
+
+            long indexOffset = buffer.getLong(buffer.limit() - TRAILER_BYTES);
+            if (indexOffset < reader.position() || indexOffset > buffer.limit() - TRAILER_BYTES) {
+                throw new IOException("セグメントファイルの索引の位置が不正です: " + path);
+            }
+            reader.position((int) indexOffset);
+            int chapterCount = reader.getInt();
+            Map<Long, Chapter> chapters = new HashMap<>();
+            for (int i = 0; i < chapterCount; i++) {
+                long chapterNumber = reader.getLong();
+                long totalPages = reader.getLong();
+                chapters.put(chapterNumber, new Chapter(readString(reader), totalPages));
+            }
+            int count = reader.getInt();
+            long[] chapterNumbers = new long[count];
+            long[] pageNumbers = new long[count];
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                chapterNumbers[i] = reader.getLong();
+                pageNumbers[i] = reader.getLong();
+                offsets[i] = reader.getInt();
+                lengths[i] = reader.getInt();
+                // 本文は索引より前にあり、(章番号, ページ番号)の昇順で、章の情報があること（検索・読み取り時に失敗しないため）
+                boolean ordered = (i == 0)
+                    || chapterNumbers[i - 1] < chapterNumbers[i]
+                    || (chapterNumbers[i - 1] == chapterNumbers[i] && pageNumbers[i - 1] < pageNumbers[i]);
+                if (offsets[i] < 0 || lengths[i] < 0 || (long) offsets[i] + lengths[i] > indexOffset
+                    || !ordered || !chapters.containsKey(chapterNumbers[i])) {
+                    throw new IOException("セグメントファイルの索引が不正です: " + path);
+                }
+            }
+            return new PageSegment(
+                version,
+                buffer.asReadOnlyBuffer(),
+                chapters,
+                chapterNumbers,
+                pageNumbers,
+                offsets,
+                lengths
+            );
+        } catch (RuntimeException e) {
+            throw new IOException("セグメントファイルの読み込みに失敗しました: " + path, e);
+        }
+    }
+
+    /**
+     * 文字列を書き込む（バイト数(int) + UTF-8）
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * writeStringで書き込んだ文字列を読み込む
+     */
+    private static String readString(ByteBuffer reader) {
+        byte[] bytes = new byte[reader.getInt()];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 章の情報（章タイトル・ページ数）
+     */
+    private record Chapter(String title, Long totalPages) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.my_books_backend.content;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.my_books_backend.dto.ContentSegmentBuildResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import com.example.my_books_backend.exception.BadRequestException;
+import com.example.my_books_backend.exception.ConflictException;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.repository.BookChapterRepository;
+import com.example.my_books_backend.util.ResourceVersion;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * セグメントストアの作成
+ * - 起動完了後に、ページがある書籍ごとにbook_chapter_page_contentsからセグメントファイルを作成する
+ *   （作成完了までは、セグメントのない書籍としてDBから読み取る）
+ * - セグメントにはページ・章の更新日時と件数から作成したバージョンを保存し、
+ *   バージョンが一致する既存のファイルは作り直さずにそのまま開く
+ * - ページは書籍ごとに1行ずつ読み込みながら書き込むため、書籍全体をメモリに保持しない
+ * - セグメントを作成した書籍は、コンテンツキャッシュから削除する（以降はセグメントから読み取る）
+ */
+@Slf4j
+@Component
+public class PageSegmentBuilder {
+    private final PageSegmentStore pageSegmentStore;
+    private final PageContentCache pageContentCache;
+    private final BookChapterPageContentRepository bookChapterPageContentRepository;
+    private final BookChapterRepository bookChapterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public PageSegmentBuilder(
+        PageSegmentStore pageSegmentStore,
+        PageContentCache pageContentCache,
+        BookChapterPageContentRepository bookChapterPageContentRepository,
+        BookChapterRepository bookChapterRepository,
+        PlatformTransactionManager transactionManager,
+        @Value("${app.content.segment-store.enabled}") boolean enabled
+    ) {
+        this.pageSegmentStore = pageSegmentStore;
+        this.pageContentCache = pageContentCache;
+        this.bookChapterPageContentRepository = bookChapterPageContentRepository;
+        this.bookChapterRepository = bookChapterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * 起動完了後にセグメントを作成
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            log.info("セグメントストアは無効です（app.content.segment-store.enabled=false）");
+            return;
+        }
+        try {
+            build();
+        } catch (RuntimeException e) {
+            log.error("セグメントの作成に失敗しました", e);
+        }
+    }
+
+    /**
+     * ページがある全書籍のセグメントを作成（バージョンが一致するセグメントは作り直さない）
+     *
+     * @return セグメントがある書籍数・作成した書籍数・処理時間
+     */
+    public ContentSegmentBuildResponse build() {
+        if (!enabled) {
+            throw new BadRequestException("セグメントストアは無効です。");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("セグメントの作成は実行中です。");
+        }
+        long start = System.currentTimeMillis();
+        long built = 0;
+        try {
+            List<String> bookIds = bookChapterPageContentRepository.findContentBookIds();
+            for (String bookId : bookIds) {
+                if (buildBook(bookId)) {
+                    built++;
+                }
+            }
+            pageSegmentStore.retainAll(bookIds);
+        } finally {
+            running.set(false);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info(
+            "セグメントを作成しました: {}冊（うち作成{}冊）, {}ms",
+            pageSegmentStore.size(),
+            built,
+            elapsed
+        );
+        return new ContentSegmentBuildResponse((long) pageSegmentStore.size(), built, elapsed);
+    }
+
+    /**
+     * 書籍のセグメントを作成
+     *
+     * @param bookId 書籍ID
+     * @return 作成した場合はtrue（バージョンが一致するセグメントがある場合、または作成できない場合はfalse）
+     */
+    private boolean buildBook(String bookId) {
+        if (!pageSegmentStore.isSupported(bookId)) {
+            log.warn("ファイル名に使用できない書籍IDのため、セグメントを作成しません: {}", bookId);
+            return false;
+        }
+        ResourceVersion version = ResourceVersion.of(
+            bookChapterPageContentRepository.getVersionResponse(bookId),
+            bookChapterRepository.getVersionResponse(bookId)
+        );
+        if (version == null || pageSegmentStore.open(bookId, version.getETag())) {
+            return false;
+        }
+
+        try {
+            // ストリームはトランザクション内で読み切る
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<CompressedPageContentResponse> pages = bookChapterPageContentRepository
+                    .streamSegmentPages(bookId)) {
+                    pageSegmentStore.write(bookId, version.getETag(), pages.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            // 作成前に読み込んだページ（作成後は使用されない）をキャッシュから削除する
+            pageContentCache.evictBook(bookId);
+            return true;
+        } catch (RuntimeException e) {
+            // 作成できない書籍は、セグメントのない書籍としてDBから読み取る
+            log.warn("セグメントを作成できませんでした: {}", bookId, e);
+            return false;
+        }
+    }
+}
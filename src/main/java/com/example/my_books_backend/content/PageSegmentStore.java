@@ -0,0 +1,158 @@
+package com.example.my_books_backend.content;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 閲覧ページのセグメントストア
+ * - 書籍ごとのセグメントファイル（PageSegment）をメモリマップして保持する
+ * - MySQLを正とし、セグメントはPageSegmentBuilderがbook_chapter_page_contentsから作成する
+ * - セグメントがある書籍のページはファイルから読み取り、ない書籍はDBから読み取る（呼び出し元で切り替える）
+ */
+@Slf4j
+@Component
+public class PageSegmentStore {
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    // ファイル名に使用できる書籍ID
+    private static final Pattern FILE_SAFE_ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Path directory;
+    private final Map<String, PageSegment> segments = new ConcurrentHashMap<>();
+
+    public PageSegmentStore(@Value("${app.content.segment-store.dir}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 書籍のセグメントがあるか
+     *
+     * @param bookId 書籍ID
+     * @return セグメントがある場合はtrue
+     */
+    public boolean contains(String bookId) {
+        return segments.containsKey(bookId);
+    }
+
+    /**
+     * セグメントがある書籍数
+     *
+     * @return 書籍数
+     */
+    public int size() {
+        return segments.size();
+    }
+
+    /**
+     * ページを取得
+     *
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return ページ（セグメントがない場合、またはページが存在しない場合は空）
+     */
+    public Optional<CompressedPageContentResponse> find(String bookId, Long chapterNumber, Long pageNumber) {
+        PageSegment segment = segments.get(bookId);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(segment.find(bookId, chapterNumber, pageNumber));
+    }
+
+    /**
+     * バージョンが一致するセグメントファイルがあれば開く（再起動時に作り直さないため）
+     *
+     * @param bookId 書籍ID
+     * @param version セグメントのバージョン
+     * @return バージョンが一致するセグメントを開いた場合はtrue
+     */
+    boolean open(String bookId, String version) {
+        PageSegment current = segments.get(bookId);
+        if (current != null && current.version().equals(version)) {
+            return true;
+        }
+        Path path = segmentPath(bookId);
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try {
+            PageSegment segment = PageSegment.open(path);
+            if (!segment.version().equals(version)) {
+                return false;
+            }
+            segments.put(bookId, segment);
+            return true;
+        } catch (IOException e) {
+            log.warn("セグメントファイルを開けませんでした: {}", path, e);
+            return false;
+        }
+    }
+
+    /**
+     * ページを書き込んでセグメントを作成し、既存のセグメントと置き換える
+     * （一時ファイルに書き込んでから置き換えるため、書き込み中も既存のセグメントを読み取れる）
+     *
+     * @param bookId 書籍ID
+     * @param version セグメントのバージョン
+     * @param pages (章番号, ページ番号)の昇順のページ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void write(String bookId, String version, Iterator<CompressedPageContentResponse> pages)
+        throws IOException {
+        Path path = segmentPath(bookId);
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, bookId, ".tmp");
+        try {
+            PageSegment.write(temp, version, pages);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            segments.put(bookId, PageSegment.open(path));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 指定した書籍以外のセグメントを削除（ページがなくなった書籍のセグメントを残さないため）
+     *
+     * @param bookIds セグメントを残す書籍ID
+     */
+    void retainAll(Collection<String> bookIds) {
+        for (String bookId : Set.copyOf(segments.keySet())) {
+            if (!bookIds.contains(bookId)) {
+                segments.remove(bookId);
+                try {
+                    Files.deleteIfExists(segmentPath(bookId));
+                } catch (IOException e) {
+                    log.warn("セグメントファイルを削除できませんでした: {}", bookId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * セグメントを作成できる書籍IDか（ファイル名に使用するため）
+     *
+     * @param bookId 書籍ID
+     * @return 作成できる場合はtrue
+     */
+    boolean isSupported(String bookId) {
+        return FILE_SAFE_ID.matcher(bookId).matches();
+    }
+
+    private Path segmentPath(String bookId) {
+        return directory.resolve(bookId + SEGMENT_SUFFIX);
+    }
+}
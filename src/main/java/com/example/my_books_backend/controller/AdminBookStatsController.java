@@ -0,0 +1,37 @@
+package com.example.my_books_backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.example.my_books_backend.dto.BookStatsRecomputeResponse;
+import com.example.my_books_backend.stats.BookStatsRecomputeJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/book-stats")
+@RequiredArgsConstructor
+@Tag(name = "AdminBookStats", description = "管理者権限書籍統計管理用")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminBookStatsController {
+    private final BookStatsRecomputeJob bookStatsRecomputeJob;
+
+    @Operation(description = "全書籍の統計情報（レビュー数・平均評価・人気度・お気に入り数）の再計算を開始（完了を待たない、実行中の場合は409）")
+    @PostMapping("/recompute")
+    public ResponseEntity<BookStatsRecomputeResponse> startRecompute() {
+        BookStatsRecomputeResponse response = bookStatsRecomputeJob.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(description = "全書籍の統計情報の再計算の進捗（最後に開始した再計算）")
+    @GetMapping("/recompute")
+    public ResponseEntity<BookStatsRecomputeResponse> getRecomputeProgress() {
+        BookStatsRecomputeResponse response = bookStatsRecomputeJob.getProgress();
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.my_books_backend.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.example.my_books_backend.content.PageContentCompressionJob;
+import com.example.my_books_backend.content.PageSegmentBuilder;
+import com.example.my_books_backend.dto.ContentCompressionResponse;
+import com.example.my_books_backend.dto.ContentSegmentBuildResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/content")
+@RequiredArgsConstructor
+@Tag(name = "AdminContent", description = "管理者権限コンテンツ管理用")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminContentController {
+    private final PageContentCompressionJob pageContentCompressionJob;
+    private final PageSegmentBuilder pageSegmentBuilder;
+
+    @Operation(description = "未圧縮の閲覧ページの本文をgzip圧縮して保存（バッチごとにコミット、再実行で続きから再開）")
+    @PostMapping("/compress")
+    public ResponseEntity<ContentCompressionResponse> compressPageContents() {
+        ContentCompressionResponse response = pageContentCompressionJob.run();
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(description = "閲覧ページのセグメントファイルを作成（ページ・章が更新された書籍のみ作り直す）")
+    @PostMapping("/segments")
+    public ResponseEntity<ContentSegmentBuildResponse> buildPageSegments() {
+        ContentSegmentBuildResponse response = pageSegmentBuilder.build();
+        return ResponseEntity.ok(response);
+    }
+}
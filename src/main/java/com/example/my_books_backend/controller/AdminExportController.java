@@ -0,0 +1,109 @@
+package com.example.my_books_backend.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
+import com.example.my_books_backend.dto.favorite.FavoriteResponse;
+import com.example.my_books_backend.dto.review.ReviewResponse;
+import com.example.my_books_backend.service.ExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/exports")
+@RequiredArgsConstructor
+@Tag(name = "AdminExport", description = "管理者権限データエクスポート用（NDJSON形式）")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminExportController {
+    private final ExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    @Operation(description = "全書籍（ジャンルIDを含む）を書籍ID順に1行1件で出力")
+    @GetMapping("/books")
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = outputStream -> exportService.exportBooks(writer(outputStream));
+        return ndjson(body);
+    }
+
+    @Operation(description = "特定のユーザーのレビューを1行1件で出力")
+    @GetMapping("/users/{userId}/reviews")
+    public ResponseEntity<StreamingResponseBody> exportUserReviews(@PathVariable Long userId) {
+        // 存在確認はストリーミング開始前に行う（開始後はエラーレスポンスを返せないため）
+        exportService.checkUserExists(userId);
+        StreamingResponseBody body = outputStream -> exportService.exportUserReviews(
+            userId,
+            writer(outputStream)
+        );
+        return ndjson(body);
+    }
+
+    @Operation(description = "特定のユーザーのお気に入りを1行1件で出力")
+    @GetMapping("/users/{userId}/favorites")
+    public ResponseEntity<StreamingResponseBody> exportUserFavorites(@PathVariable Long userId) {
+        exportService.checkUserExists(userId);
+        StreamingResponseBody body = outputStream -> exportService.exportUserFavorites(
+            userId,
+            writer(outputStream)
+        );
+        return ndjson(body);
+    }
+
+    @Operation(description = "特定のユーザーのブックマークを1行1件で出力")
+    @GetMapping("/users/{userId}/bookmarks")
+    public ResponseEntity<StreamingResponseBody> exportUserBookmarks(@PathVariable Long userId) {
+        exportService.checkUserExists(userId);
+        StreamingResponseBody body = outputStream -> exportService.exportUserBookmarks(
+            userId,
+            writer(outputStream)
+        );
+        return ndjson(body);
+    }
+
+    @Operation(description = "特定の書籍のレビューを1行1件で出力")
+    @GetMapping("/books/{bookId}/reviews")
+    public ResponseEntity<StreamingResponseBody> exportBookReviews(@PathVariable String bookId) {
+        exportService.checkBookExists(bookId);
+        StreamingResponseBody body = outputStream -> exportService.exportBookReviews(
+            bookId,
+            writer(outputStream)
+        );
+        return ndjson(body);
+    }
+
+    /**
+     * 1件ずつJSONに変換して1行で書き込む
+     * 行ごとにはフラッシュせず、バッファが埋まった時点で送信する
+     * （クライアントの受信が遅い場合は書き込みがブロックし、DBからの読み込みもその分待つ）
+     */
+    private <T> Consumer<T> writer(OutputStream outputStream) {
+        return item -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(item));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .cacheControl(CacheControl.noStore())
+            .body(body);
+    }
+}
@@ -1,15 +1,34 @@
 package com.example.my_books_backend.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageRangeResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
 import com.example.my_books_backend.service.BookService;
+import com.example.my_books_backend.util.GzipUtils;
+import com.example.my_books_backend.util.HttpCacheUtils;
+import com.example.my_books_backend.util.ResourceVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
@@ -18,17 +37,111 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 @Tag(name = "BookContent", description = "書籍コンテンツ")
 public class BookContentController {
+    private static final String GZIP = "gzip";
 
     private final BookService bookService;
+    private final ObjectMapper objectMapper;
 
-    @Operation(description = "特定の書籍の閲覧ページ")
+    @Value("${app.http-cache.content.max-age}")
+    private Duration contentMaxAge;
+
+    @Operation(description = "特定の書籍の閲覧ページ（ETagによる条件付きGETに対応）")
     @GetMapping("/{id}/chapters/{chapter}/pages/{page}")
     public ResponseEntity<BookChapterPageContentResponse> getBookChapterPageContent(
         @PathVariable String id,
         @PathVariable Long chapter,
-        @PathVariable Long page
+        @PathVariable Long page,
+        WebRequest request
     ) {
+        // 閲覧ページはほとんど変更されないため長期間キャッシュする（認証が必要なため共有キャッシュには保存させない）
+        CacheControl cacheControl = CacheControl.maxAge(contentMaxAge).cachePrivate();
+
+        // 未変更の場合はコンテンツを読み込まずに304を返す
+        ResourceVersion version = bookService.getBookChapterPageContentVersion(id, chapter, page);
+        if (HttpCacheUtils.checkNotModified(request, cacheControl, version)) {
+            return null;
+        }
         BookChapterPageContentResponse response = bookService.getBookChapterPageContent(id, chapter, page);
         return ResponseEntity.ok(response);
     }
+
+    @Operation(description = "特定の書籍の閲覧ページの本文（テキスト形式、Accept-Encoding: gzipの場合は圧縮したまま返す）")
+    @GetMapping("/{id}/chapters/{chapter}/pages/{page}/text")
+    public ResponseEntity<byte[]> getBookChapterPageText(
+        @PathVariable String id,
+        @PathVariable Long chapter,
+        @PathVariable Long page,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        WebRequest request
+    ) {
+        CacheControl cacheControl = CacheControl.maxAge(contentMaxAge).cachePrivate();
+
+        // 圧縮したまま返す場合と展開して返す場合でバイト列が異なるため、ETagを分ける
+        // If-None-Matchにはどちらの表現のETagも受け付ける（一致した表現のETagで304を返す）
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ResourceVersion identityVersion = bookService.getBookChapterPageContentVersion(id, chapter, page);
+        ResourceVersion gzipVersion = (identityVersion != null) ? identityVersion.withCoding(GZIP) : null;
+        ResourceVersion version = gzip ? gzipVersion : identityVersion;
+        ResourceVersion alternative = gzip ? identityVersion : gzipVersion;
+        if (HttpCacheUtils.checkNotModified(request, cacheControl, version, alternative)) {
+            return null;
+        }
+        CompressedPageContentResponse response = bookService.getBookChapterPageCompressedContent(id, chapter, page);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            // 圧縮済みのバイト列をそのまま返す（展開・再圧縮しない）
+            return builder
+                .header(HttpHeaders.CONTENT_ENCODING, GZIP)
+                .body(response.getContentGzip());
+        }
+        String content = GzipUtils.decompress(response.getContentGzip());
+        return builder.body(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Operation(description = "特定の書籍の章のページ範囲（NDJSON形式で1行1ページずつ返す、from/to省略時は章全体）")
+    @GetMapping("/{id}/chapters/{chapter}/pages")
+    public ResponseEntity<StreamingResponseBody> getBookChapterPageContents(
+        @PathVariable String id,
+        @PathVariable Long chapter,
+        @Parameter(description = "開始ページ（省略時は1）") @RequestParam(required = false) Long from,
+        @Parameter(description = "終了ページ（省略時は章の最終ページ）") @RequestParam(required = false) Long to
+    ) {
+        // 範囲の検証はストリーミング開始前に行う（開始後はエラーレスポンスを返せないため）
+        BookChapterPageRangeResponse range = bookService.getBookChapterPageRange(id, chapter, from, to);
+
+        StreamingResponseBody body = outputStream -> bookService.forEachBookChapterPageContent(range, page -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(page));
+                outputStream.write('\n');
+                // 読み込んだページから順に送信し、クライアントが先頭ページから表示できるようにする
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .cacheControl(CacheControl.maxAge(contentMaxAge).cachePrivate())
+            .body(body);
+    }
+
+    /**
+     * Accept-Encodingにgzipが含まれているか（q=0の場合は除く）
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase(GZIP)) {
+                return !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"));
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -1,11 +1,16 @@
 package com.example.my_books_backend.controller;
 
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.book.BookDetailsResponse;
 import com.example.my_books_backend.dto.book.BookResponse;
@@ -16,6 +21,8 @@ import com.example.my_books_backend.dto.review.ReviewResponse;
 import com.example.my_books_backend.service.BookService;
 import com.example.my_books_backend.service.FavoriteService;
 import com.example.my_books_backend.service.ReviewService;
+import com.example.my_books_backend.util.HttpCacheUtils;
+import com.example.my_books_backend.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -31,9 +38,17 @@ public class BookController {
     private final ReviewService reviewService;
     private final FavoriteService favoriteService;
 
+    @Value("${app.http-cache.book.max-age}")
+    private Duration bookMaxAge;
+
+    @Value("${app.http-cache.stats.max-age}")
+    private Duration statsMaxAge;
+
     private static final String DEFAULT_BOOKS_START_PAGE = "1";
     private static final String DEFAULT_BOOKS_PAGE_SIZE = "20";
     private static final String DEFAULT_BOOKS_SORT = "popularity.desc";
+    // 注目度順（インメモリのスコアで並び替えるため、getBooksとは別に処理する）
+    private static final String TRENDING_SORT = "trending.desc";
 
     private static final String DEFAULT_REVIEWS_START_PAGE = "1";
     private static final String DEFAULT_REVIEWS_PAGE_SIZE = "3";
@@ -42,14 +57,70 @@ public class BookController {
     @Operation(description = "最新の書籍リスト（１０冊）")
     @GetMapping("/new-releases")
     public ResponseEntity<PageResponse<BookResponse>> getLatestBooks() {
-        PageResponse<BookResponse> response = bookService.getBooks(1L, 10L, "publicationDate.desc");
+        PageResponse<BookResponse> response = bookService.getBooks(1L, 10L, "publicationDate.desc", true);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(description = """
+        書籍一覧
+        - cursorを指定しない場合: page/sizeによるページ番号指定
+        - cursorを指定した場合: カーソルページネーション（先頭ページは空文字を指定し、以降はレスポンスのnextCursorを指定）
+        - sort=trending.desc を指定すると注目度順（/books/trending と同じ、cursorは指定不可）
+        """)
+    @GetMapping("")
+    public ResponseEntity<PageResponse<BookResponse>> getBooks(
+        @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_BOOKS_START_PAGE) @RequestParam(defaultValue = DEFAULT_BOOKS_START_PAGE) Long page,
+        @Parameter(description = "1ページあたりの件数", example = DEFAULT_BOOKS_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_BOOKS_PAGE_SIZE) Long size,
+        @Parameter(description = "ソート条件", example = DEFAULT_BOOKS_SORT, schema = @Schema(allowableValues = {
+            "title.asc",
+            "title.desc",
+            "publicationDate.asc",
+            "publicationDate.desc",
+            "reviewCount.asc",
+            "reviewCount.desc",
+            "averageRating.asc",
+            "averageRating.desc",
+            "popularity.asc",
+            "popularity.desc",
+            "favoriteCount.asc",
+            "favoriteCount.desc",
+            "trending.desc" })) @RequestParam(defaultValue = DEFAULT_BOOKS_SORT) String sort,
+        @Parameter(description = "カーソル（前回レスポンスのnextCursor）") @RequestParam(required = false) String cursor,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
+    ) {
+        if (cursor == null && TRENDING_SORT.equals(sort)) {
+            return ResponseEntity.ok(bookService.getTrendingBooks(page, size, includeTotal));
+        }
+        PageResponse<BookResponse> response = (cursor == null)
+            ? bookService.getBooks(page, size, sort, includeTotal)
+            : bookService.getBooksByCursor(cursor, size, sort);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(description = "タイトル検索: 指定されたタイトルから書籍を検索")
+    @Operation(description = """
+        注目度順の書籍一覧
+        - 直近のレビュー作成・お気に入り追加を時間で減衰させたスコアの降順（半減期は app.trending.half-life）
+        - 直近に操作のあった書籍のみ（スコアが下限を下回った書籍は含まない）
+        - 並びは一定間隔（app.trending.ranking-refresh）で更新される
+        """)
+    @GetMapping("/trending")
+    public ResponseEntity<PageResponse<BookResponse>> getTrendingBooks(
+        @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_BOOKS_START_PAGE) @RequestParam(defaultValue = DEFAULT_BOOKS_START_PAGE) Long page,
+        @Parameter(description = "1ページあたりの件数", example = DEFAULT_BOOKS_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_BOOKS_PAGE_SIZE) Long size,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はtotalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
+    ) {
+        PageResponse<BookResponse> response = bookService.getTrendingBooks(page, size, includeTotal);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(description = """
+        キーワード検索: タイトル・著者・説明文から書籍を検索（FULLTEXTインデックス使用）
+        - 空白区切りで複数指定した場合は、すべてのキーワードを含む書籍を検索
+        - sort=relevance.desc を指定すると関連度順
+        """)
     @GetMapping("/search")
     public ResponseEntity<PageResponse<BookResponse>> getBooksByTitleKeyword(
-        @Parameter(description = "タイトルに指定された文字列を含む書籍を検索", example = "魔法", required = true) @RequestParam String q,
+        @Parameter(description = "検索キーワード（空白区切りでAND検索）", example = "魔法", required = true) @RequestParam String q,
         @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_BOOKS_START_PAGE) @RequestParam(defaultValue = DEFAULT_BOOKS_START_PAGE) Long page,
         @Parameter(description = "1ページあたりの件数", example = DEFAULT_BOOKS_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_BOOKS_PAGE_SIZE) Long size,
         @Parameter(description = "ソート条件", example = DEFAULT_BOOKS_SORT, schema = @Schema(allowableValues = {
@@ -62,9 +133,13 @@ public class BookController {
             "averageRating.asc",
             "averageRating.desc",
             "popularity.asc",
-            "popularity.desc" })) @RequestParam(defaultValue = DEFAULT_BOOKS_SORT) String sort
+            "popularity.desc",
+            "favoriteCount.asc",
+            "favoriteCount.desc",
+            "relevance.desc" })) @RequestParam(defaultValue = DEFAULT_BOOKS_SORT) String sort,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<BookResponse> response = bookService.getBooksByTitleKeyword(q, page, size, sort);
+        PageResponse<BookResponse> response = bookService.getBooksByTitleKeyword(q, page, size, sort, includeTotal);
         return ResponseEntity.ok(response);
     }
 
@@ -96,24 +171,41 @@ public class BookController {
             "averageRating.asc",
             "averageRating.desc",
             "popularity.asc",
-            "popularity.desc" })) @RequestParam(defaultValue = DEFAULT_BOOKS_SORT) String sort
+            "popularity.desc",
+            "favoriteCount.asc",
+            "favoriteCount.desc" })) @RequestParam(defaultValue = DEFAULT_BOOKS_SORT) String sort,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<BookResponse> response = bookService.getBooksByGenre(genreIds, condition, page, size, sort);
+        PageResponse<BookResponse> response = bookService.getBooksByGenre(genreIds, condition, page, size, sort, includeTotal);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(description = "特定の書籍の詳細")
+    @Operation(description = "特定の書籍の詳細（ETagによる条件付きGETに対応）")
     @GetMapping("/{id}")
-    public ResponseEntity<BookDetailsResponse> getBookDetails(@PathVariable String id) {
+    public ResponseEntity<BookDetailsResponse> getBookDetails(
+        @PathVariable String id,
+        WebRequest request
+    ) {
+        // 未変更の場合は書籍を読み込まずに304を返す
+        ResourceVersion version = bookService.getBookDetailsVersion(id);
+        if (HttpCacheUtils.checkNotModified(request, bookCacheControl(), version)) {
+            return null;
+        }
         BookDetailsResponse response = bookService.getBookDetails(id);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(description = "特定の書籍の目次")
+    @Operation(description = "特定の書籍の目次（ETagによる条件付きGETに対応）")
     @GetMapping("/{id}/toc")
     public ResponseEntity<BookTableOfContentsResponse> getBookTableOfContents(
-        @PathVariable String id
+        @PathVariable String id,
+        WebRequest request
     ) {
+        // 未変更の場合は目次を読み込まずに304を返す
+        ResourceVersion version = bookService.getBookTableOfContentsVersion(id);
+        if (HttpCacheUtils.checkNotModified(request, bookCacheControl(), version)) {
+            return null;
+        }
         BookTableOfContentsResponse response = bookService.getBookTableOfContents(id);
         return ResponseEntity.ok(response);
     }
@@ -130,23 +222,50 @@ public class BookController {
             "createdAt.asc",
             "createdAt.desc",
             "rating.asc",
-            "rating.desc" })) @RequestParam(defaultValue = DEFAULT_REVIEWS_SORT) String sort
+            "rating.desc" })) @RequestParam(defaultValue = DEFAULT_REVIEWS_SORT) String sort,
+        @Parameter(description = "カーソル（前回レスポンスのnextCursor、先頭ページは空文字）") @RequestParam(required = false) String cursor,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<ReviewResponse> response = reviewService.getBookReviews(id, page, size, sort);
+        PageResponse<ReviewResponse> response = (cursor == null)
+            ? reviewService.getBookReviews(id, page, size, sort, includeTotal)
+            : reviewService.getBookReviewsByCursor(id, cursor, size, sort);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(description = "特定の書籍のレビュー統計")
+    @Operation(description = """
+        複数の書籍のレビュー統計（一覧ページ用）
+        - レビュー数・平均評価・評価の分布（星1〜5ごとのレビュー数）
+        - 指定した書籍IDの順に返す（存在しない書籍は含まない、最大100件）
+        """)
+    @GetMapping("/stats/reviews")
+    public ResponseEntity<List<ReviewStatsResponse>> getBooksReviewStats(
+        @Parameter(description = "書籍ID（カンマ区切り）", example = "afcIMuetDuzj,V3p0u4g2Ah7H", required = true) @RequestParam String bookIds
+    ) {
+        List<ReviewStatsResponse> response = reviewService.getBooksReviewStats(bookIds);
+        return ResponseEntity.ok().cacheControl(statsCacheControl()).body(response);
+    }
+
+    @Operation(description = "特定の書籍のレビュー統計（レビュー数・平均評価・評価の分布）")
     @GetMapping("/{id}/stats/reviews")
     public ResponseEntity<ReviewStatsResponse> getBookReviewStats(@PathVariable String id) {
         ReviewStatsResponse response = reviewService.getBookReviewStats(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(statsCacheControl()).body(response);
     }
 
     @Operation(description = "特定の書籍のお気に入り統計")
     @GetMapping("/{id}/stats/favorites")
     public ResponseEntity<FavoriteStatsResponse> getBookFavoriteStats(@PathVariable String id) {
         FavoriteStatsResponse response = favoriteService.getBookFavoriteStats(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().cacheControl(statsCacheControl()).body(response);
+    }
+
+    // 書籍詳細・目次: 期限切れ後はETagで再検証する
+    private CacheControl bookCacheControl() {
+        return CacheControl.maxAge(bookMaxAge).cachePublic();
+    }
+
+    // 統計情報: 頻繁に変わるため短い期間のみキャッシュする
+    private CacheControl statsCacheControl() {
+        return CacheControl.maxAge(statsMaxAge).cachePublic();
     }
 }
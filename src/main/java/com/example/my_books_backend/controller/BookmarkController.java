@@ -2,7 +2,6 @@ package com.example.my_books_backend.controller;
 
 import java.net.URI;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,6 +14,7 @@ import com.example.my_books_backend.dto.bookmark.BookmarkRequest;
 import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
 import com.example.my_books_backend.entity.User;
 import com.example.my_books_backend.service.BookmarkService;
+import com.example.my_books_backend.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -31,7 +31,7 @@ public class BookmarkController {
     @PostMapping("")
     public ResponseEntity<BookmarkResponse> createBookmark(
         @Valid @RequestBody BookmarkRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         BookmarkResponse response = bookmarkService.createBookmark(request, user);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -46,7 +46,7 @@ public class BookmarkController {
     public ResponseEntity<BookmarkResponse> updateBookmark(
         @PathVariable Long id,
         @Valid @RequestBody BookmarkRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         BookmarkResponse response = bookmarkService.updateBookmark(id, request, user);
         return ResponseEntity.ok(response);
@@ -56,7 +56,7 @@ public class BookmarkController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteBookmark(
         @PathVariable Long id,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         bookmarkService.deleteBookmark(id, user);
         return ResponseEntity.noContent().build();
@@ -2,7 +2,6 @@ package com.example.my_books_backend.controller;
 
 import java.net.URI;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,6 +13,7 @@ import com.example.my_books_backend.dto.favorite.FavoriteRequest;
 import com.example.my_books_backend.dto.favorite.FavoriteResponse;
 import com.example.my_books_backend.entity.User;
 import com.example.my_books_backend.service.FavoriteService;
+import com.example.my_books_backend.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -30,7 +30,7 @@ public class FavoriteController {
     @PostMapping("")
     public ResponseEntity<FavoriteResponse> createFavorite(
         @Valid @RequestBody FavoriteRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         FavoriteResponse response = favoriteService.createFavorite(request, user);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -44,7 +44,7 @@ public class FavoriteController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteFavorite(
         @PathVariable Long id,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         favoriteService.deleteFavorite(id, user);
         return ResponseEntity.noContent().build();
@@ -54,7 +54,7 @@ public class FavoriteController {
     @DeleteMapping("/books/{bookId}")
     public ResponseEntity<Void> deleteFavoriteByBookId(
         @PathVariable String bookId,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         favoriteService.deleteFavoriteByBookId(bookId, user);
         return ResponseEntity.noContent().build();
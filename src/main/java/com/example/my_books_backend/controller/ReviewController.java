@@ -2,7 +2,6 @@ package com.example.my_books_backend.controller;
 
 import java.net.URI;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -15,6 +14,7 @@ import com.example.my_books_backend.entity.User;
 import com.example.my_books_backend.dto.review.ReviewRequest;
 import com.example.my_books_backend.dto.review.ReviewResponse;
 import com.example.my_books_backend.service.ReviewService;
+import com.example.my_books_backend.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -31,7 +31,7 @@ public class ReviewController {
     @PostMapping("")
     public ResponseEntity<ReviewResponse> createReview(
         @Valid @RequestBody ReviewRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         ReviewResponse response = reviewService.createReview(request, user);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -46,7 +46,7 @@ public class ReviewController {
     public ResponseEntity<ReviewResponse> updateReview(
         @PathVariable Long id,
         @Valid @RequestBody ReviewRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         ReviewResponse response = reviewService.updateReview(id, request, user);
         return ResponseEntity.ok(response);
@@ -56,7 +56,7 @@ public class ReviewController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReview(
         @PathVariable Long id,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         reviewService.deleteReview(id, user);
         return ResponseEntity.noContent().build();
@@ -1,7 +1,6 @@
 package com.example.my_books_backend.controller;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,6 +21,7 @@ import com.example.my_books_backend.service.BookmarkService;
 import com.example.my_books_backend.service.FavoriteService;
 import com.example.my_books_backend.service.ReviewService;
 import com.example.my_books_backend.service.UserService;
+import com.example.my_books_backend.security.CurrentUser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -45,7 +45,7 @@ public class UserController {
 
     @Operation(description = "ユーザーのプロフィール情報")
     @GetMapping("/profile")
-    public ResponseEntity<UserProfileResponse> getUserProfile(@AuthenticationPrincipal User user) {
+    public ResponseEntity<UserProfileResponse> getUserProfile(@CurrentUser User user) {
         UserProfileResponse response = userService.getUserProfile(user);
         return ResponseEntity.ok(response);
     }
@@ -53,7 +53,7 @@ public class UserController {
     @Operation(description = "ユーザーのレビュー、お気に入り、ブックマークの数")
     @GetMapping("/profile-counts")
     public ResponseEntity<UserProfileCountsResponse> getUserProfileCounts(
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         UserProfileCountsResponse response = userService.getUserProfileCounts(user);
         return ResponseEntity.ok(response);
@@ -62,7 +62,7 @@ public class UserController {
     @Operation(description = "ユーザーが投稿したレビューリスト")
     @GetMapping("/reviews")
     public ResponseEntity<PageResponse<ReviewResponse>> getUserReviews(
-        @AuthenticationPrincipal User user,
+        @CurrentUser User user,
         @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_USER_START_PAGE) @RequestParam(defaultValue = DEFAULT_USER_START_PAGE) Long page,
         @Parameter(description = "1ページあたりの件数", example = DEFAULT_USER_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_USER_PAGE_SIZE) Long size,
         @Parameter(description = "ソート条件", example = DEFAULT_USER_SORT, schema = @Schema(allowableValues = {
@@ -72,16 +72,17 @@ public class UserController {
             "createdAt.desc",
             "rating.asc",
             "rating.desc" })) @RequestParam(defaultValue = DEFAULT_USER_SORT) String sort,
-        @RequestParam(required = false) String bookId
+        @RequestParam(required = false) String bookId,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<ReviewResponse> response = reviewService.getUserReviews(user, page, size, sort, bookId);
+        PageResponse<ReviewResponse> response = reviewService.getUserReviews(user, page, size, sort, bookId, includeTotal);
         return ResponseEntity.ok(response);
     }
 
     @Operation(description = "ユーザーが追加したお気に入りリスト")
     @GetMapping("/favorites")
     public ResponseEntity<PageResponse<FavoriteResponse>> getUserFavorites(
-        @AuthenticationPrincipal User user,
+        @CurrentUser User user,
         @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_USER_START_PAGE) @RequestParam(defaultValue = DEFAULT_USER_START_PAGE) Long page,
         @Parameter(description = "1ページあたりの件数", example = DEFAULT_USER_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_USER_PAGE_SIZE) Long size,
         @Parameter(description = "ソート条件", example = DEFAULT_USER_SORT, schema = @Schema(allowableValues = {
@@ -89,16 +90,17 @@ public class UserController {
             "updatedAt.desc",
             "createdAt.asc",
             "createdAt.desc" })) @RequestParam(defaultValue = DEFAULT_USER_SORT) String sort,
-        @RequestParam(required = false) String bookId
+        @RequestParam(required = false) String bookId,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<FavoriteResponse> response = favoriteService.getUserFavorites(user, page, size, sort, bookId);
+        PageResponse<FavoriteResponse> response = favoriteService.getUserFavorites(user, page, size, sort, bookId, includeTotal);
         return ResponseEntity.ok(response);
     }
 
     @Operation(description = "ユーザーが追加したブックマークリスト")
     @GetMapping("/bookmarks")
     public ResponseEntity<PageResponse<BookmarkResponse>> getUserBookmarks(
-        @AuthenticationPrincipal User user,
+        @CurrentUser User user,
         @Parameter(description = "ページ番号（1ベース）", example = DEFAULT_USER_START_PAGE) @RequestParam(defaultValue = DEFAULT_USER_START_PAGE) Long page,
         @Parameter(description = "1ページあたりの件数", example = DEFAULT_USER_PAGE_SIZE) @RequestParam(defaultValue = DEFAULT_USER_PAGE_SIZE) Long size,
         @Parameter(description = "ソート条件", example = DEFAULT_USER_SORT, schema = @Schema(allowableValues = {
@@ -106,9 +108,10 @@ public class UserController {
             "updatedAt.desc",
             "createdAt.asc",
             "createdAt.desc" })) @RequestParam(defaultValue = DEFAULT_USER_SORT) String sort,
-        @RequestParam(required = false) String bookId
+        @RequestParam(required = false) String bookId,
+        @Parameter(description = "総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを省略し、totalPages/totalItemsはnull）", example = "true") @RequestParam(defaultValue = "true") Boolean includeTotal
     ) {
-        PageResponse<BookmarkResponse> responses = bookmarkService.getUserBookmarks(user, page, size, sort, bookId);
+        PageResponse<BookmarkResponse> responses = bookmarkService.getUserBookmarks(user, page, size, sort, bookId, includeTotal);
         return ResponseEntity.ok(responses);
     }
 
@@ -116,7 +119,7 @@ public class UserController {
     @PutMapping("/profile")
     public ResponseEntity<Void> updateUserProfile(
         @Valid @RequestBody UpdateUserProfileRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         userService.updateUserProfile(request, user);
         return ResponseEntity.noContent().build();
@@ -126,7 +129,7 @@ public class UserController {
     @PutMapping("/email")
     public ResponseEntity<Void> updateUserEmail(
         @Valid @RequestBody UpdateUserEmailRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         userService.updateUserEmail(request, user);
         return ResponseEntity.noContent().build();
@@ -136,7 +139,7 @@ public class UserController {
     @PutMapping("/password")
     public ResponseEntity<Void> updateUserPassword(
         @Valid @RequestBody UpdateUserPasswordRequest request,
-        @AuthenticationPrincipal User user
+        @CurrentUser User user
     ) {
         userService.updateUserPassword(request, user);
         return ResponseEntity.noContent().build();
@@ -0,0 +1,19 @@
+package com.example.my_books_backend.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStatsRecomputeResponse {
+    private Boolean running;
+    private Long totalBooks;
+    private Long processedBooks;
+    private Long updatedBooks;
+    private Long failedPartitions;
+    private LocalDateTime startedAt;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,13 @@
+package com.example.my_books_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentCompressionResponse {
+    private Long convertedCount;
+    private Long elapsedMillis;
+}
@@ -0,0 +1,14 @@
+package com.example.my_books_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentSegmentBuildResponse {
+    private Long bookCount; // セグメントがある書籍数
+    private Long builtCount; // 作成（作り直し）した書籍数
+    private Long elapsedMillis;
+}
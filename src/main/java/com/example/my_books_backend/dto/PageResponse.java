@@ -16,4 +16,5 @@ public class PageResponse<T> {
     private Boolean hasNext;
     private Boolean hasPrevious;
     private List<T> data;
+    private String nextCursor; // カーソルページネーション時のみ設定（次ページ取得用）
 }
@@ -0,0 +1,14 @@
+package com.example.my_books_backend.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionResponse {
+    private LocalDateTime lastModified; // 対象行の更新日時の最大値（対象行がない場合はnull）
+    private Long count; // 対象行の件数
+}
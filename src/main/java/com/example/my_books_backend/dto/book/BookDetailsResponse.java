@@ -25,4 +25,5 @@ public class BookDetailsResponse {
     private Long reviewCount;
     private Double averageRating;
     private Double popularity;
+    private Long favoriteCount;
 }
@@ -0,0 +1,13 @@
+package com.example.my_books_backend.dto.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookGenreResponse {
+    private String bookId;
+    private Long genreId;
+}
@@ -1,6 +1,8 @@
 package com.example.my_books_backend.dto.book;
 
 import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -20,4 +22,65 @@ public class BookResponse {
     private Long reviewCount;
     private Double averageRating;
     private Double popularity;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 著者はカンマ区切りの文字列を分割し、ジャンルIDは別クエリで設定する
+     */
+    public BookResponse(
+        String id,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity
+    ) {
+        this(
+            id,
+            title,
+            description,
+            new ArrayList<>(),
+            Arrays.asList(authors.split(",")),
+            publicationDate,
+            imagePath,
+            reviewCount,
+            averageRating,
+            popularity
+        );
+    }
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用（書籍とジャンルの組み合わせを1行として取得する場合）
+     * 同じ書籍の行のジャンルIDは呼び出し元でまとめる
+     */
+    public BookResponse(
+        String id,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity,
+        Long genreId
+    ) {
+        this(
+            id,
+            title,
+            description,
+            authors,
+            publicationDate,
+            imagePath,
+            reviewCount,
+            averageRating,
+            popularity
+        );
+        if (genreId != null) {
+            genreIds.add(genreId);
+        }
+    }
 }
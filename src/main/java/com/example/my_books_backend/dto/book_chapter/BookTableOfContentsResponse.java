@@ -11,5 +11,6 @@ import lombok.NoArgsConstructor;
 public class BookTableOfContentsResponse {
     private String bookId;
     private String title;
+    private Long totalPages;
     private List<BookChapterResponse> chapters;
 }
@@ -1,5 +1,6 @@
 package com.example.my_books_backend.dto.book_chapter_page_content;
 
+import com.example.my_books_backend.util.GzipUtils;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,4 +15,27 @@ public class BookChapterPageContentResponse {
     private Long pageNumber;
     private Long totalPagesInChapter;
     private String content;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 章のページ数は呼び出し元で設定する
+     * 圧縮済みの行は本文を展開する
+     */
+    public BookChapterPageContentResponse(
+        String bookId,
+        Long chapterNumber,
+        String chapterTitle,
+        Long pageNumber,
+        String content,
+        byte[] contentGzip
+    ) {
+        this(
+            bookId,
+            chapterNumber,
+            chapterTitle,
+            pageNumber,
+            null,
+            (contentGzip != null) ? GzipUtils.decompress(contentGzip) : content
+        );
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.my_books_backend.dto.book_chapter_page_content;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookChapterPageRangeResponse {
+    private String bookId;
+    private Long chapterNumber;
+    private Long fromPage;
+    private Long toPage;
+    private Long totalPagesInChapter;
+}
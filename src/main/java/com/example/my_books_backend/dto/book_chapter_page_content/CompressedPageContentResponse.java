@@ -0,0 +1,41 @@
+package com.example.my_books_backend.dto.book_chapter_page_content;
+
+import com.example.my_books_backend.util.GzipUtils;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompressedPageContentResponse {
+    private String bookId;
+    private Long chapterNumber;
+    private String chapterTitle;
+    private Long pageNumber;
+    private Long totalPagesInChapter;
+    private byte[] contentGzip;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 圧縮済みの行は保存されたバイト列をそのまま使い、未圧縮の行はここで圧縮する
+     */
+    public CompressedPageContentResponse(
+        String bookId,
+        Long chapterNumber,
+        String chapterTitle,
+        Long pageNumber,
+        Long totalPagesInChapter,
+        String content,
+        byte[] contentGzip
+    ) {
+        this(
+            bookId,
+            chapterNumber,
+            chapterTitle,
+            pageNumber,
+            totalPagesInChapter,
+            (contentGzip != null) ? contentGzip : GzipUtils.compress(content)
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.my_books_backend.dto.bookmark;
 
+import java.sql.Date;
 import java.time.LocalDateTime;
 import com.example.my_books_backend.dto.book.BookResponse;
 import lombok.AllArgsConstructor;
@@ -21,4 +22,93 @@ public class BookmarkResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private BookResponse book;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 章タイトルはサービスレイヤーで、書籍のジャンルIDは別クエリで設定する
+     */
+    public BookmarkResponse(
+        Long id,
+        Long userId,
+        Long chapterNumber,
+        Long pageNumber,
+        String note,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String bookId,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity
+    ) {
+        this(
+            id,
+            userId,
+            chapterNumber,
+            null,
+            pageNumber,
+            note,
+            createdAt,
+            updatedAt,
+            bookId,
+            title,
+            description,
+            authors,
+            publicationDate,
+            imagePath,
+            reviewCount,
+            averageRating,
+            popularity
+        );
+    }
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用（章タイトルも同じクエリで取得する場合）
+     * 書籍のジャンルIDは別クエリで設定する
+     */
+    public BookmarkResponse(
+        Long id,
+        Long userId,
+        Long chapterNumber,
+        String chapterTitle,
+        Long pageNumber,
+        String note,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String bookId,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity
+    ) {
+        this(
+            id,
+            userId,
+            chapterNumber,
+            chapterTitle,
+            pageNumber,
+            note,
+            createdAt,
+            updatedAt,
+            new BookResponse(
+                bookId,
+                title,
+                description,
+                authors,
+                publicationDate,
+                imagePath,
+                reviewCount,
+                averageRating,
+                popularity
+            )
+        );
+    }
 }
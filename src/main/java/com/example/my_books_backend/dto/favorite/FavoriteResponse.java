@@ -1,5 +1,6 @@
 package com.example.my_books_backend.dto.favorite;
 
+import java.sql.Date;
 import java.time.LocalDateTime;
 import com.example.my_books_backend.dto.book.BookResponse;
 import lombok.AllArgsConstructor;
@@ -16,4 +17,42 @@ public class FavoriteResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private BookResponse book;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 書籍のジャンルIDは別クエリで設定する
+     */
+    public FavoriteResponse(
+        Long id,
+        Long userId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String bookId,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity
+    ) {
+        this(
+            id,
+            userId,
+            createdAt,
+            updatedAt,
+            new BookResponse(
+                bookId,
+                title,
+                description,
+                authors,
+                publicationDate,
+                imagePath,
+                reviewCount,
+                averageRating,
+                popularity
+            )
+        );
+    }
 }
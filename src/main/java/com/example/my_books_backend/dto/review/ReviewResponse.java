@@ -1,5 +1,6 @@
 package com.example.my_books_backend.dto.review;
 
+import java.sql.Date;
 import java.time.LocalDateTime;
 import com.example.my_books_backend.dto.book.BookResponse;
 import lombok.AllArgsConstructor;
@@ -21,4 +22,50 @@ public class ReviewResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private BookResponse book;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 書籍のジャンルIDは別クエリで設定する
+     */
+    public ReviewResponse(
+        Long id,
+        Long userId,
+        String name,
+        String avatarPath,
+        String comment,
+        Double rating,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String bookId,
+        String title,
+        String description,
+        String authors,
+        Date publicationDate,
+        String imagePath,
+        Long reviewCount,
+        Double averageRating,
+        Double popularity
+    ) {
+        this(
+            id,
+            userId,
+            name,
+            avatarPath,
+            comment,
+            rating,
+            createdAt,
+            updatedAt,
+            new BookResponse(
+                bookId,
+                title,
+                description,
+                authors,
+                publicationDate,
+                imagePath,
+                reviewCount,
+                averageRating,
+                popularity
+            )
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.my_books_backend.dto.review;
 
+import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,4 +12,16 @@ public class ReviewStatsResponse {
     private String bookId;
     private Long reviewCount;
     private Double averageRating;
+    // 星の数（1〜5）→ レビュー数
+    private Map<Integer, Long> ratingDistribution;
+
+    /**
+     * JPQLのコンストラクタ式（DTOプロジェクション）用
+     * 評価の分布は別に取得して設定する
+     */
+    public ReviewStatsResponse(String bookId, Long reviewCount, Double averageRating) {
+        this.bookId = bookId;
+        this.reviewCount = reviewCount;
+        this.averageRating = averageRating;
+    }
 }
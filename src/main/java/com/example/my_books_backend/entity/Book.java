@@ -62,12 +62,20 @@ public class Book extends EntityBase {
     @Column(name = "review_count", nullable = false)
     private Long reviewCount;
 
+    // 有効なレビューの評価の合計（平均評価・人気度はレビュー数とこの値から求める）
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "DECIMAL(12, 1) DEFAULT 0.0")
+    private Double ratingSum = 0.0;
+
     @Column(name = "average_rating", nullable = false)
     private Double averageRating;
 
     @Column(name = "popularity", nullable = false)
     private Double popularity;
 
+    // 有効なお気に入りの数（お気に入りの追加・削除のたびに増減する）
+    @Column(name = "favorite_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long favoriteCount = 0L;
+
     @OneToMany(mappedBy = "book")
     private List<Review> reviews;
 
@@ -26,6 +26,10 @@ public class BookChapter extends EntityBase {
     @Column(name = "title", nullable = false)
     private String title;
 
+    // 章のページ数（目次・閲覧ページ表示のたびに集計しないよう保存しておく）
+    @Column(name = "page_count", nullable = false)
+    private Long pageCount = 0L;
+
     @ManyToOne
     @MapsId("bookId")
     @JoinColumn(name = "book_id", nullable = false)
@@ -36,9 +36,14 @@ public class BookChapterPageContent extends EntityBase {
     @Column(name = "page_number", nullable = false)
     private Long pageNumber;
 
+    // 圧縮済みの行は空文字（本文はcontentGzipに保存する）
     @Column(name = "content", nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    // gzip圧縮した本文（未圧縮の行はnull）
+    @Column(name = "content_gzip", columnDefinition = "MEDIUMBLOB")
+    private byte[] contentGzip;
+
     @ManyToOne
     @JoinColumn(name = "book_id", referencedColumnName = "id", insertable = false, updatable = false)
     private Book book;
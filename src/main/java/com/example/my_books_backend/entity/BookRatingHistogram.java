@@ -0,0 +1,40 @@
+package com.example.my_books_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 書籍の評価の分布（星1〜5ごとの有効なレビュー数）
+ * レビューの作成・更新・削除と同じトランザクションで増減し、表示のたびにレビューを集計しないようにする
+ * 評価は四捨五入した星の数で数える（BookStatsUtils.ratingToStars）
+ */
+@Entity
+@Table(name = "book_rating_histograms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookRatingHistogram {
+    @Id
+    @Column(name = "book_id", nullable = false)
+    private String bookId;
+
+    @Column(name = "rating_1_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long rating1Count = 0L;
+
+    @Column(name = "rating_2_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long rating2Count = 0L;
+
+    @Column(name = "rating_3_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long rating3Count = 0L;
+
+    @Column(name = "rating_4_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long rating4Count = 0L;
+
+    @Column(name = "rating_5_count", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long rating5Count = 0L;
+}
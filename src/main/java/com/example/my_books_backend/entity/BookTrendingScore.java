@@ -0,0 +1,32 @@
+package com.example.my_books_backend.entity;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 書籍の注目度のスコア（チェックポイント時点の値）
+ * 読み書きは BookTrendingCheckpoint がJDBCで行う（テーブル定義のためのエンティティ）
+ */
+@Entity
+@Table(name = "book_trending_scores")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookTrendingScore {
+    @Id
+    @Column(name = "book_id", nullable = false)
+    private String bookId;
+
+    // scoredAtの時点のスコア（読み込み時に現在時刻までの減衰を掛ける）
+    @Column(name = "score", nullable = false)
+    private Double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
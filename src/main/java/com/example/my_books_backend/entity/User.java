@@ -53,6 +53,11 @@ public class User extends EntityBase implements UserDetails {
     @Column(name = "avatar_path")
     private String avatarPath;
 
+    // パスワード・メールアドレスの変更や削除で増やし、それより前に発行したトークンを無効にする
+    @JsonIgnore
+    @Column(name = "security_version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long securityVersion = 0L;
+
     @OneToMany(mappedBy = "user")
     private List<Review> reviews;
 
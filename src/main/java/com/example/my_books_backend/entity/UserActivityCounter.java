@@ -0,0 +1,33 @@
+package com.example.my_books_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ユーザーの操作数（お気に入り・ブックマーク・レビューの数）
+ * 追加・削除と同じトランザクションで増減し、プロフィールの表示のたびに集計しないようにする
+ */
+@Entity
+@Table(name = "user_activity_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActivityCounter {
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "favorite_count", nullable = false)
+    private Long favoriteCount = 0L;
+
+    @Column(name = "bookmark_count", nullable = false)
+    private Long bookmarkCount = 0L;
+
+    @Column(name = "review_count", nullable = false)
+    private Long reviewCount = 0L;
+}
@@ -0,0 +1,14 @@
+package com.example.my_books_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 書籍の内容が変更されたことを通知するイベント
+ * コミット後に検索インデックス・カタログインデックスへ反映する
+ */
+@Getter
+@AllArgsConstructor
+public class BookChangedEvent {
+    private final String bookId;
+}
@@ -0,0 +1,18 @@
+package com.example.my_books_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 書籍の統計情報（レビュー数・平均評価・人気度・お気に入り数）が変更されたことを通知するイベント
+ * 変更後の値を持つため、カタログインデックスはDBを参照せずに反映できる
+ */
+@Getter
+@AllArgsConstructor
+public class BookStatsChangedEvent {
+    private final String bookId;
+    private final long reviewCount;
+    private final double averageRating;
+    private final double popularity;
+    private final long favoriteCount;
+}
@@ -0,0 +1,17 @@
+package com.example.my_books_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * お気に入りが追加・削除されたことを通知するイベント
+ * コミット後に書籍の統計情報の変更をインデックスへの反映待ちに登録する（お気に入り数の増減・キャッシュの削除はお気に入りの書き込みのトランザクションで済んでいる）
+ * お気に入りの追加は注目度のスコアにも加算する
+ */
+@Getter
+@AllArgsConstructor
+public class FavoriteChangedEvent {
+    private final String bookId;
+    // お気に入りが追加された場合はtrue（削除はfalse）
+    private final boolean added;
+}
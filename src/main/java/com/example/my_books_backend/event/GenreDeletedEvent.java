@@ -0,0 +1,14 @@
+package com.example.my_books_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * ジャンルが削除されたことを通知するイベント
+ * コミット後にジャンルインデックスへ反映する
+ */
+@Getter
+@AllArgsConstructor
+public class GenreDeletedEvent {
+    private final Long genreId;
+}
@@ -0,0 +1,17 @@
+package com.example.my_books_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * レビューが作成・更新・削除されたことを通知するイベント
+ * コミット後に書籍の統計情報の変更をインデックスへの反映待ちに登録する（キャッシュはレビューの書き込みのコミット直後に削除済み）
+ * レビューの作成（削除済みレビューの復元を含む）は注目度のスコアにも加算する
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewChangedEvent {
+    private final String bookId;
+    // レビューが作成された場合はtrue（更新・削除はfalse）
+    private final boolean created;
+}
@@ -5,7 +5,7 @@ import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import com.example.my_books_backend.dto.book.BookResponse;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.book.BookDetailsResponse;
@@ -36,7 +36,7 @@ public interface BookMapper {
         return Arrays.asList(authors.split(","));
     }
 
-    default PageResponse<BookResponse> toPageResponse(Page<Book> books) {
+    default PageResponse<BookResponse> toPageResponse(Slice<Book> books) {
         List<BookResponse> responses = toBookResponseList(books.getContent());
         return PageableUtils.toPageResponse(books, responses);
     }
@@ -3,7 +3,7 @@ package com.example.my_books_backend.mapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.entity.Bookmark;
@@ -22,7 +22,7 @@ public interface BookmarkMapper {
 
     List<BookmarkResponse> toBookmarkResponseList(List<Bookmark> bookmarks);
 
-    default PageResponse<BookmarkResponse> toPageResponse(Page<Bookmark> bookmarks) {
+    default PageResponse<BookmarkResponse> toPageResponse(Slice<Bookmark> bookmarks) {
         List<BookmarkResponse> responses = toBookmarkResponseList(bookmarks.getContent());
         return PageableUtils.toPageResponse(bookmarks, responses);
     }
@@ -3,7 +3,7 @@ package com.example.my_books_backend.mapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.favorite.FavoriteResponse;
 import com.example.my_books_backend.entity.Favorite;
@@ -19,7 +19,7 @@ public interface FavoriteMapper {
 
     List<FavoriteResponse> toFavoriteResponseList(List<Favorite> favorites);
 
-    default PageResponse<FavoriteResponse> toPageResponse(Page<Favorite> favorites) {
+    default PageResponse<FavoriteResponse> toPageResponse(Slice<Favorite> favorites) {
         List<FavoriteResponse> responses = toFavoriteResponseList(favorites.getContent());
         return PageableUtils.toPageResponse(favorites, responses);
     }
@@ -3,7 +3,7 @@ package com.example.my_books_backend.mapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.review.ReviewResponse;
 import com.example.my_books_backend.entity.Review;
@@ -21,7 +21,7 @@ public interface ReviewMapper {
 
     List<ReviewResponse> toReviewResponseList(List<Review> reviews);
 
-    default PageResponse<ReviewResponse> toPageResponse(Page<Review> reviews) {
+    default PageResponse<ReviewResponse> toPageResponse(Slice<Review> reviews) {
         List<ReviewResponse> responses = toReviewResponseList(reviews.getContent());
         return PageableUtils.toPageResponse(reviews, responses);
     }
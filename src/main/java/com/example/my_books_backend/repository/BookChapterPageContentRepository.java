@@ -2,12 +2,19 @@ package com.example.my_books_backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import com.example.my_books_backend.dto.book_chapter.BookChapterResponse;
+import com.example.my_books_backend.dto.VersionResponse;
 import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
 import com.example.my_books_backend.entity.BookChapterPageContent;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookChapterPageContentRepository extends JpaRepository<BookChapterPageContent, Long> {
@@ -18,48 +25,170 @@ public interface BookChapterPageContentRepository extends JpaRepository<BookChap
         Long pageNumber
     );
 
-    // 書籍IDから章一覧情報を取得（章番号、章タイトル、ページ数）
+    // 未圧縮のページをID順に取得（圧縮移行用、指定したIDより後のページ）
+    List<BookChapterPageContent> findByContentGzipIsNullAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // 未圧縮のページ数を取得（圧縮移行用）
+    long countByContentGzipIsNull();
+
+    // ページの本文を圧縮済みの値に置き換え（圧縮移行用）
+    // 本文の内容は変わらないため、更新日時（条件付きGETのETag）は変更しない
+    @Modifying
+    @Query("""
+        UPDATE BookChapterPageContent p
+        SET p.contentGzip = :contentGzip,
+            p.content = '',
+            p.updatedAt = p.updatedAt
+        WHERE p.id = :id
+        AND p.contentGzip IS NULL
+        """)
+    int updateContentGzip(Long id, byte[] contentGzip);
+
+    // 書籍ページコンテンツの詳細情報を取得（章タイトル、章のページ数、圧縮した本文含む）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse(
+            p.bookId,
+            p.chapterNumber,
+            c.title,
+            p.pageNumber,
+            c.pageCount,
+            p.content,
+            p.contentGzip
+        )
+        FROM BookChapterPageContent p
+        JOIN BookChapter c ON p.bookId = c.id.bookId
+                           AND p.chapterNumber = c.id.chapterNumber
+        WHERE p.bookId = :bookId
+        AND p.chapterNumber = :chapterNumber
+        AND p.pageNumber = :pageNumber
+        AND p.isDeleted = false
+        """)
+    Optional<CompressedPageContentResponse> findChapterPageContentResponse(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    );
+
+    // 章の指定範囲のページの詳細情報を取得（先読み用、ページ番号順）
     @Query("""
-        SELECT NEW com.example.my_books_backend.dto.book_chapter.BookChapterResponse(
+        SELECT NEW com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse(
+            p.bookId,
             p.chapterNumber,
             c.title,
-            COUNT(p.pageNumber)
+            p.pageNumber,
+            c.pageCount,
+            p.content,
+            p.contentGzip
         )
         FROM BookChapterPageContent p
         JOIN BookChapter c ON p.bookId = c.id.bookId
                            AND p.chapterNumber = c.id.chapterNumber
         WHERE p.bookId = :bookId
+        AND p.chapterNumber = :chapterNumber
+        AND p.pageNumber BETWEEN :fromPage AND :toPage
         AND p.isDeleted = false
-        GROUP BY p.chapterNumber, c.title
-        ORDER BY p.chapterNumber
+        ORDER BY p.pageNumber
         """)
-    List<BookChapterResponse> findChapterResponsesByBookId(String bookId);
+    List<CompressedPageContentResponse> findChapterPageContentResponses(
+        String bookId,
+        Long chapterNumber,
+        Long fromPage,
+        Long toPage
+    );
 
-    // 書籍ページコンテンツの詳細情報を取得（章タイトル、最大ページ数、コンテンツ含む）
+    // 章の指定範囲のページをページ番号順に1行ずつ取得（範囲取得のストリーミング用）
+    // フェッチサイズにInteger.MIN_VALUEを指定すると、MySQL Connector/Jが結果セットを一括で読み込まずに1行ずつ受け取る
+    // 章のページ数は呼び出し元で設定する
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
     @Query("""
         SELECT NEW com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse(
             p.bookId,
             p.chapterNumber,
             c.title,
             p.pageNumber,
-            (SELECT MAX(p2.pageNumber)
-             FROM BookChapterPageContent p2
-             WHERE p2.bookId = p.bookId
-             AND p2.chapterNumber = p.chapterNumber
-             AND p2.isDeleted = false),
-            p.content
+            p.content,
+            p.contentGzip
         )
         FROM BookChapterPageContent p
         JOIN BookChapter c ON p.bookId = c.id.bookId
                            AND p.chapterNumber = c.id.chapterNumber
         WHERE p.bookId = :bookId
         AND p.chapterNumber = :chapterNumber
-        AND p.pageNumber = :pageNumber
+        AND p.pageNumber BETWEEN :fromPage AND :toPage
         AND p.isDeleted = false
+        ORDER BY p.pageNumber
         """)
-    Optional<BookChapterPageContentResponse> findChapterPageContentResponse(
+    Stream<BookChapterPageContentResponse> streamChapterPageContentResponses(
         String bookId,
         Long chapterNumber,
-        Long pageNumber
+        Long fromPage,
+        Long toPage
     );
+
+    // ページがある書籍IDを取得（セグメント作成用）
+    @Query("""
+        SELECT DISTINCT p.bookId
+        FROM BookChapterPageContent p
+        WHERE p.isDeleted = false
+        ORDER BY p.bookId
+        """)
+    List<String> findContentBookIds();
+
+    // 書籍の全ページを(章番号, ページ番号)の順に1行ずつ取得（セグメント作成用）
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse(
+            p.bookId,
+            p.chapterNumber,
+            c.title,
+            p.pageNumber,
+            c.pageCount,
+            p.content,
+            p.contentGzip
+        )
+        FROM BookChapterPageContent p
+        JOIN BookChapter c ON p.bookId = c.id.bookId
+                           AND p.chapterNumber = c.id.chapterNumber
+        WHERE p.bookId = :bookId
+        AND p.isDeleted = false
+        ORDER BY p.chapterNumber, p.pageNumber
+        """)
+    Stream<CompressedPageContentResponse> streamSegmentPages(String bookId);
+
+    // 書籍の全ページの更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(p.updatedAt),
+            COUNT(p)
+        )
+        FROM BookChapterPageContent p
+        WHERE p.bookId = :bookId
+        """)
+    VersionResponse getVersionResponse(String bookId);
+
+    // 章の全ページの更新日時と件数を取得（条件付きGET用、最大ページ数が変わる場合も検知する）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(p.updatedAt),
+            COUNT(p)
+        )
+        FROM BookChapterPageContent p
+        WHERE p.bookId = :bookId
+        AND p.chapterNumber = :chapterNumber
+        """)
+    VersionResponse getVersionResponse(String bookId, Long chapterNumber);
+
+    // ページの更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(p.updatedAt),
+            COUNT(p)
+        )
+        FROM BookChapterPageContent p
+        WHERE p.bookId = :bookId
+        AND p.chapterNumber = :chapterNumber
+        AND p.pageNumber = :pageNumber
+        AND p.isDeleted = false
+        """)
+    VersionResponse getVersionResponse(String bookId, Long chapterNumber, Long pageNumber);
 }
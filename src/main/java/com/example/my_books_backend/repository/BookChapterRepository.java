@@ -3,7 +3,12 @@ package com.example.my_books_backend.repository;
 import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.VersionResponse;
+import com.example.my_books_backend.dto.book_chapter.BookChapterResponse;
 import com.example.my_books_backend.entity.BookChapter;
 import com.example.my_books_backend.entity.BookChapterId;
 
@@ -14,4 +19,80 @@ public interface BookChapterRepository extends JpaRepository<BookChapter, BookCh
 
     // 複数の章IDから章情報を直接取得
     List<BookChapter> findByIdInAndIsDeletedFalse(Collection<BookChapterId> ids);
+
+    // 書籍IDから章一覧情報を取得（章番号、章タイトル、ページ数）
+    // ページ数は保存済みの値を使用する（ページがない章は目次に含めない）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.book_chapter.BookChapterResponse(
+            c.id.chapterNumber,
+            c.title,
+            c.pageCount
+        )
+        FROM BookChapter c
+        WHERE c.id.bookId = :bookId
+        AND c.pageCount > 0
+        AND c.isDeleted = false
+        ORDER BY c.id.chapterNumber
+        """)
+    List<BookChapterResponse> findChapterResponsesByBookId(@Param("bookId") String bookId);
+
+    // 章のページ数を取得（章が存在しない場合はnull）
+    @Query("""
+        SELECT c.pageCount
+        FROM BookChapter c
+        WHERE c.id.bookId = :bookId
+        AND c.id.chapterNumber = :chapterNumber
+        AND c.isDeleted = false
+        """)
+    Long findPageCount(
+        @Param("bookId") String bookId,
+        @Param("chapterNumber") Long chapterNumber
+    );
+
+    // 保存済みのページ数が実際のページ数と異なる章のみ、ページ数を更新
+    @Modifying
+    @Query("""
+        UPDATE BookChapter c
+        SET c.pageCount = (
+            SELECT COUNT(p)
+            FROM BookChapterPageContent p
+            WHERE p.bookId = c.id.bookId
+            AND p.chapterNumber = c.id.chapterNumber
+            AND p.isDeleted = false
+        )
+        WHERE c.pageCount <> (
+            SELECT COUNT(p)
+            FROM BookChapterPageContent p
+            WHERE p.bookId = c.id.bookId
+            AND p.chapterNumber = c.id.chapterNumber
+            AND p.isDeleted = false
+        )
+        """)
+    int refreshPageCounts();
+
+    // 書籍の章の更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(c.updatedAt),
+            COUNT(c)
+        )
+        FROM BookChapter c
+        WHERE c.id.bookId = :bookId
+        """)
+    VersionResponse getVersionResponse(@Param("bookId") String bookId);
+
+    // 章の更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(c.updatedAt),
+            COUNT(c)
+        )
+        FROM BookChapter c
+        WHERE c.id.bookId = :bookId
+        AND c.id.chapterNumber = :chapterNumber
+        """)
+    VersionResponse getVersionResponse(
+        @Param("bookId") String bookId,
+        @Param("chapterNumber") Long chapterNumber
+    );
 }
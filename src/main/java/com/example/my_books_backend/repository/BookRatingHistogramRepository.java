@@ -0,0 +1,85 @@
+package com.example.my_books_backend.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.entity.BookRatingHistogram;
+
+@Repository
+public interface BookRatingHistogramRepository extends JpaRepository<BookRatingHistogram, String> {
+    // 複数の書籍の評価の分布を取得
+    List<BookRatingHistogram> findByBookIdIn(List<String> bookIds);
+
+    // 星ごとのレビュー数の増減を反映（未登録の場合は登録し、負になる場合は0にする）
+    @Modifying
+    @Query(value = """
+        INSERT INTO book_rating_histograms
+            (book_id, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count)
+        VALUES (
+            :bookId,
+            GREATEST(:delta1, 0),
+            GREATEST(:delta2, 0),
+            GREATEST(:delta3, 0),
+            GREATEST(:delta4, 0),
+            GREATEST(:delta5, 0)
+        )
+        ON DUPLICATE KEY UPDATE
+            rating_1_count = GREATEST(rating_1_count + :delta1, 0),
+            rating_2_count = GREATEST(rating_2_count + :delta2, 0),
+            rating_3_count = GREATEST(rating_3_count + :delta3, 0),
+            rating_4_count = GREATEST(rating_4_count + :delta4, 0),
+            rating_5_count = GREATEST(rating_5_count + :delta5, 0)
+        """, nativeQuery = true)
+    int applyDelta(
+        @Param("bookId") String bookId,
+        @Param("delta1") long delta1,
+        @Param("delta2") long delta2,
+        @Param("delta3") long delta3,
+        @Param("delta4") long delta4,
+        @Param("delta5") long delta5
+    );
+
+    // 評価の分布が未登録の書籍を登録（すべて0、レビューとの照合はrefreshFromReviewsで行う）
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO book_rating_histograms (book_id)
+        SELECT b.id FROM books b
+        WHERE NOT EXISTS (
+            SELECT 1 FROM book_rating_histograms h WHERE h.book_id = b.id
+        )
+        """, nativeQuery = true)
+    int insertMissing();
+
+    // 評価の分布をレビューから再計算（一致している書籍は更新しない）
+    // 星の数は ROUND(rating) を1〜5に収めた値（BookStatsUtils.ratingToStarsと同じ）
+    @Modifying
+    @Query(value = """
+        UPDATE book_rating_histograms h
+        LEFT JOIN (
+            SELECT
+                r.book_id,
+                SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 1) AS c1,
+                SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 2) AS c2,
+                SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 3) AS c3,
+                SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 4) AS c4,
+                SUM(LEAST(GREATEST(ROUND(r.rating), 1), 5) = 5) AS c5
+            FROM reviews r
+            WHERE r.is_deleted = false
+            GROUP BY r.book_id
+        ) s ON s.book_id = h.book_id
+        SET h.rating_1_count = COALESCE(s.c1, 0),
+            h.rating_2_count = COALESCE(s.c2, 0),
+            h.rating_3_count = COALESCE(s.c3, 0),
+            h.rating_4_count = COALESCE(s.c4, 0),
+            h.rating_5_count = COALESCE(s.c5, 0)
+        WHERE h.rating_1_count <> COALESCE(s.c1, 0)
+        OR h.rating_2_count <> COALESCE(s.c2, 0)
+        OR h.rating_3_count <> COALESCE(s.c3, 0)
+        OR h.rating_4_count <> COALESCE(s.c4, 0)
+        OR h.rating_5_count <> COALESCE(s.c5, 0)
+        """, nativeQuery = true)
+    int refreshFromReviews();
+}
@@ -1,25 +1,109 @@
 package com.example.my_books_backend.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.VersionResponse;
+import com.example.my_books_backend.dto.book.BookGenreResponse;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.dto.favorite.FavoriteStatsResponse;
+import com.example.my_books_backend.dto.review.ReviewStatsResponse;
 import com.example.my_books_backend.entity.Book;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, String> {
     // 書籍一覧取得
     Page<Book> findByIsDeletedFalse(Pageable pageable);
 
+    // 書籍一覧取得（COUNTクエリなし）
+    Slice<Book> findSliceByIsDeletedFalse(Pageable pageable);
+
+    // 書籍一覧取得（カーソルページネーション用）
+    Window<Book> findByIsDeletedFalse(ScrollPosition position, Sort sort, Limit limit);
+
     // タイトル検索
     Page<Book> findByTitleContainingAndIsDeletedFalse(String keyword, Pageable pageable);
 
+    // タイトル検索（COUNTクエリなし）
+    Slice<Book> findSliceByTitleContainingAndIsDeletedFalse(String keyword, Pageable pageable);
+
+    // キーワード検索（FULLTEXTインデックス使用）
+    // ネイティブクエリのため、Pageableのソートにはカラム名を指定する
+    @Query(value = """
+        SELECT b.*
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        """, countQuery = """
+        SELECT COUNT(*)
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        """, nativeQuery = true)
+    Page<Book> findByFullTextAndIsDeletedFalse(@Param("query") String query, Pageable pageable);
+
+    // キーワード検索（FULLTEXTインデックス使用、COUNTクエリなし）
+    @Query(value = """
+        SELECT b.*
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        """, nativeQuery = true)
+    Slice<Book> findSliceByFullTextAndIsDeletedFalse(@Param("query") String query, Pageable pageable);
+
+    // キーワード検索（FULLTEXTインデックス使用、関連度順）
+    // 並び順はクエリで固定するため、Pageableはソートなしで指定する
+    @Query(value = """
+        SELECT b.*
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        ORDER BY MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE) DESC, b.id ASC
+        """, countQuery = """
+        SELECT COUNT(*)
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        """, nativeQuery = true)
+    Page<Book> findByFullTextAndIsDeletedFalseOrderByRelevance(
+        @Param("query") String query,
+        Pageable pageable
+    );
+
+    // キーワード検索（FULLTEXTインデックス使用、関連度順、COUNTクエリなし）
+    @Query(value = """
+        SELECT b.*
+        FROM books b
+        WHERE MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE)
+        AND b.is_deleted = false
+        ORDER BY MATCH(b.title, b.description, b.authors) AGAINST(:query IN BOOLEAN MODE) DESC, b.id ASC
+        """, nativeQuery = true)
+    Slice<Book> findSliceByFullTextAndIsDeletedFalseOrderByRelevance(
+        @Param("query") String query,
+        Pageable pageable
+    );
+
     // 指定されたジャンルIDのリストを取得（OR条件）
     Page<Book> findDistinctByGenres_IdInAndIsDeletedFalse(List<Long> genreIds, Pageable pageable);
 
+    // 指定されたジャンルIDのリストを取得（OR条件、COUNTクエリなし）
+    Slice<Book> findSliceDistinctByGenres_IdInAndIsDeletedFalse(List<Long> genreIds, Pageable pageable);
+
     // 指定されたジャンルIDのリストを取得（AND条件）
     @Query("""
         SELECT DISTINCT b
@@ -39,6 +123,36 @@ public interface BookRepository extends JpaRepository<Book, String> {
         Pageable pageable
     );
 
+    // 指定されたジャンルIDのリストを取得（AND条件、COUNTクエリなし）
+    // GROUP BY/HAVINGのサブクエリをCOUNTで再実行しないよう、size+1件の取得で次ページ有無を判定する
+    @Query("""
+        SELECT DISTINCT b
+        FROM Book b
+        WHERE b.id IN (
+            SELECT b2.id
+            FROM Book b2
+            JOIN b2.genres bg
+            WHERE bg.id IN :genreIds
+            GROUP BY b2.id
+            HAVING COUNT(DISTINCT bg.id) = :size
+        )
+        """)
+    Slice<Book> findSliceBooksHavingAllGenres(
+        @Param("genreIds") List<Long> genreIds,
+        @Param("size") Long size,
+        Pageable pageable
+    );
+
+    // カタログインデックス構築用：書籍IDとジャンルIDの組み合わせを取得
+    @Query("""
+        SELECT new com.example.my_books_backend.dto.book.BookGenreResponse(b.id, g.id)
+        FROM Book b
+        JOIN b.genres g
+        WHERE b.id IN :ids
+        ORDER BY g.id
+        """)
+    List<BookGenreResponse> findBookGenreResponsesByBookIds(@Param("ids") List<String> ids);
+
     // 2クエリ戦略用：IDリストから関連データを含むリストを取得
     @Query("""
         SELECT DISTINCT b
@@ -47,4 +161,220 @@ public interface BookRepository extends JpaRepository<Book, String> {
         WHERE b.id IN :ids
         """)
     List<Book> findAllByIdInWithRelations(@Param("ids") List<String> ids);
+
+    // 2クエリ戦略用：IDリストからレスポンスDTOを直接取得（エンティティを経由しない、ジャンルIDは別クエリで設定）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.book.BookResponse(
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Book b
+        WHERE b.id IN :ids
+        """)
+    List<BookResponse> findBookResponsesByIds(@Param("ids") List<String> ids);
+
+    // 書籍の更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(b.updatedAt),
+            COUNT(b)
+        )
+        FROM Book b
+        WHERE b.id = :id
+        AND b.isDeleted = false
+        """)
+    VersionResponse getVersionResponse(@Param("id") String id);
+
+    // 書籍のジャンルの更新日時と件数を取得（条件付きGET用）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.VersionResponse(
+            MAX(g.updatedAt),
+            COUNT(g)
+        )
+        FROM Book b
+        JOIN b.genres g
+        WHERE b.id = :id
+        """)
+    VersionResponse getGenreVersionResponse(@Param("id") String id);
+
+    // エクスポート用：全書籍をジャンルごとに1行ずつ、書籍ID・ジャンルIDの順に取得（同じ書籍の行は呼び出し元でまとめる）
+    // フェッチサイズにInteger.MIN_VALUEを指定すると、MySQL Connector/Jが結果セットを一括で読み込まずに1行ずつ受け取る
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.book.BookResponse(
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity,
+            g.id
+        )
+        FROM Book b
+        LEFT JOIN b.genres g
+        WHERE b.isDeleted = false
+        ORDER BY b.id, g.id
+        """)
+    Stream<BookResponse> streamBookResponsesWithGenreId();
+
+    // レビューの増減を統計情報（レビュー数・評価の合計・平均評価・人気度）に反映
+    // 1回のUPDATEで反映するため、同じ書籍への同時書き込みでも増減が失われない（レビュー数が負になる場合は更新しない）
+    // 平均評価・人気度は更新前の値と増減から求める（代入の評価順序がDBによって異なっても同じ結果になるよう、先に代入する）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.averageRating = CASE
+                WHEN b.reviewCount + :countDelta > 0
+                THEN ROUND((b.ratingSum + :ratingDelta) / (b.reviewCount + :countDelta), 2)
+                ELSE 0.0
+            END,
+            b.popularity = CASE
+                WHEN b.reviewCount + :countDelta > 0
+                THEN ROUND(
+                    (b.ratingSum + :ratingDelta) / (b.reviewCount + :countDelta)
+                        * LN(b.reviewCount + :countDelta + 1) * 20,
+                    2
+                )
+                ELSE 0.0
+            END,
+            b.ratingSum = b.ratingSum + :ratingDelta,
+            b.reviewCount = b.reviewCount + :countDelta
+        WHERE b.id = :id
+        AND b.reviewCount + :countDelta >= 0
+        """)
+    int applyReviewStatsDelta(
+        @Param("id") String id,
+        @Param("countDelta") long countDelta,
+        @Param("ratingDelta") double ratingDelta
+    );
+
+    // 特定の書籍のレビュー数・評価の合計をレビューから再計算
+    // 書籍の行全体を保存せず、1回のUPDATEでこれらの列のみを更新する（お気に入り数など他の列を上書きしない）
+    // 平均評価・人気度は更新しないため、続けて applyReviewStatsDelta(id, 0, 0.0) で同じ式から求める
+    // （AVG(r.rating) は浮動小数点数のため、ROUNDの結果が評価の合計（DECIMAL）から求めた値と異なる場合がある）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.reviewCount = (
+                SELECT COUNT(r)
+                FROM Review r
+                WHERE r.book.id = b.id
+                AND r.isDeleted = false
+            ),
+            b.ratingSum = (
+                SELECT COALESCE(SUM(r.rating), 0.0)
+                FROM Review r
+                WHERE r.book.id = b.id
+                AND r.isDeleted = false
+            )
+        WHERE b.id = :id
+        """)
+    int recalculateReviewStats(@Param("id") String id);
+
+    // 評価の合計をレビューから再計算（一致している書籍は更新しない）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.ratingSum = (
+            SELECT COALESCE(SUM(r.rating), 0.0)
+            FROM Review r
+            WHERE r.book.id = b.id
+            AND r.isDeleted = false
+        )
+        WHERE b.ratingSum <> (
+            SELECT COALESCE(SUM(r.rating), 0.0)
+            FROM Review r
+            WHERE r.book.id = b.id
+            AND r.isDeleted = false
+        )
+        """)
+    int refreshRatingSums();
+
+    // お気に入りの増減をお気に入り数に反映（お気に入り数が負になる場合は更新しない）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.favoriteCount = b.favoriteCount + :delta
+        WHERE b.id = :id
+        AND b.favoriteCount + :delta >= 0
+        """)
+    int applyFavoriteCountDelta(@Param("id") String id, @Param("delta") long delta);
+
+    // お気に入り数をお気に入りから再計算（一致している書籍は更新しない）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.favoriteCount = (
+            SELECT COUNT(f)
+            FROM Favorite f
+            WHERE f.book.id = b.id
+            AND f.isDeleted = false
+        )
+        WHERE b.favoriteCount <> (
+            SELECT COUNT(f)
+            FROM Favorite f
+            WHERE f.book.id = b.id
+            AND f.isDeleted = false
+        )
+        """)
+    int refreshFavoriteCounts();
+
+    // 特定の書籍のお気に入り数をお気に入りから再計算（お気に入り数のみを1回のUPDATEで更新する）
+    @Modifying
+    @Query("""
+        UPDATE Book b
+        SET b.favoriteCount = (
+            SELECT COUNT(f)
+            FROM Favorite f
+            WHERE f.book.id = b.id
+            AND f.isDeleted = false
+        )
+        WHERE b.id = :id
+        """)
+    int refreshFavoriteCount(@Param("id") String id);
+
+    // 特定の書籍のレビュー数と平均評価を取得（保存済みの値を使用する）
+    @Query("""
+        SELECT new com.example.my_books_backend.dto.review.ReviewStatsResponse(
+            b.id,
+            b.reviewCount,
+            b.averageRating
+        )
+        FROM Book b
+        WHERE b.id = :bookId
+        """)
+    Optional<ReviewStatsResponse> findReviewStatsResponse(@Param("bookId") String bookId);
+
+    // 複数の書籍のレビュー数と平均評価を取得（保存済みの値を使用する）
+    @Query("""
+        SELECT new com.example.my_books_backend.dto.review.ReviewStatsResponse(
+            b.id,
+            b.reviewCount,
+            b.averageRating
+        )
+        FROM Book b
+        WHERE b.id IN :ids
+        """)
+    List<ReviewStatsResponse> findReviewStatsResponsesByIds(@Param("ids") List<String> ids);
+
+    // 特定の書籍のお気に入り数を取得（保存済みのお気に入り数を使用する）
+    @Query("""
+        SELECT new com.example.my_books_backend.dto.favorite.FavoriteStatsResponse(
+            b.id,
+            b.favoriteCount
+        )
+        FROM Book b
+        WHERE b.id = :bookId
+        """)
+    Optional<FavoriteStatsResponse> findFavoriteStatsResponse(@Param("bookId") String bookId);
 }
@@ -2,24 +2,36 @@ package com.example.my_books_backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
 import com.example.my_books_backend.entity.BookChapterPageContent;
 import com.example.my_books_backend.entity.Bookmark;
 import com.example.my_books_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     // ユーザーが追加したブックマークを取得
     Page<Bookmark> findByUserAndIsDeletedFalse(User user, Pageable pageable);
 
+    // ユーザーが追加したブックマークを取得（COUNTクエリなし）
+    Slice<Bookmark> findSliceByUserAndIsDeletedFalse(User user, Pageable pageable);
+
     // ユーザーが追加したブックマークを取得（書籍ID指定）
     Page<Bookmark> findByUserAndIsDeletedFalseAndPageContent_BookId(User user, String bookId, Pageable pageable);
 
+    // ユーザーが追加したブックマークを取得（書籍ID指定、COUNTクエリなし）
+    Slice<Bookmark> findSliceByUserAndIsDeletedFalseAndPageContent_BookId(User user, String bookId, Pageable pageable);
+
     // ユーザーが追加したブックマークを取得（ページコンテンツ指定）
     Optional<Bookmark> findByUserAndPageContent(User user, BookChapterPageContent pageContent);
 
@@ -34,4 +46,66 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
         WHERE b.id IN :ids
         """)
     List<Bookmark> findAllByIdInWithRelations(@Param("ids") List<Long> ids);
+
+    // 2クエリ戦略用：IDリストからレスポンスDTOを直接取得（エンティティを経由しない、ジャンルIDは別クエリで設定）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.bookmark.BookmarkResponse(
+            bm.id,
+            u.id,
+            pc.chapterNumber,
+            pc.pageNumber,
+            bm.note,
+            bm.createdAt,
+            bm.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Bookmark bm
+        JOIN bm.user u
+        JOIN bm.pageContent pc
+        JOIN pc.book b
+        WHERE bm.id IN :ids
+        """)
+    List<BookmarkResponse> findBookmarkResponsesByIds(@Param("ids") List<Long> ids);
+
+    // エクスポート用：ユーザーが追加したブックマークをID順に1行ずつ取得（章タイトルを含む、書籍のジャンルIDは含まない）
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.bookmark.BookmarkResponse(
+            bm.id,
+            u.id,
+            pc.chapterNumber,
+            c.title,
+            pc.pageNumber,
+            bm.note,
+            bm.createdAt,
+            bm.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Bookmark bm
+        JOIN bm.user u
+        JOIN bm.pageContent pc
+        JOIN pc.book b
+        JOIN BookChapter c ON pc.bookId = c.id.bookId
+                           AND pc.chapterNumber = c.id.chapterNumber
+        WHERE u.id = :userId
+        AND bm.isDeleted = false
+        ORDER BY bm.id
+        """)
+    Stream<BookmarkResponse> streamBookmarkResponsesByUserId(@Param("userId") Long userId);
 }
@@ -2,25 +2,37 @@ package com.example.my_books_backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.favorite.FavoriteResponse;
 import com.example.my_books_backend.dto.favorite.FavoriteStatsResponse;
 import com.example.my_books_backend.entity.Book;
 import com.example.my_books_backend.entity.Favorite;
 import com.example.my_books_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     // ユーザーが追加したお気に入りを取得
     Page<Favorite> findByUserAndIsDeletedFalse(User user, Pageable pageable);
 
+    // ユーザーが追加したお気に入りを取得（COUNTクエリなし）
+    Slice<Favorite> findSliceByUserAndIsDeletedFalse(User user, Pageable pageable);
+
     // ユーザーが追加したお気に入りを取得（書籍ID指定）
     Page<Favorite> findByUserAndIsDeletedFalseAndBookId(User user, String bookId, Pageable pageable);
 
+    // ユーザーが追加したお気に入りを取得（書籍ID指定、COUNTクエリなし）
+    Slice<Favorite> findSliceByUserAndIsDeletedFalseAndBookId(User user, String bookId, Pageable pageable);
+
     // ユーザーが追加したお気に入りを取得（書籍指定）
     Optional<Favorite> findByUserAndBook(User user, Book book);
 
@@ -35,7 +47,31 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
         """)
     List<Favorite> findAllByIdInWithRelations(@Param("ids") List<Long> ids);
 
-    // 特定の書籍に対するお気に入り数を取得
+    // 2クエリ戦略用：IDリストからレスポンスDTOを直接取得（エンティティを経由しない、ジャンルIDは別クエリで設定）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.favorite.FavoriteResponse(
+            f.id,
+            u.id,
+            f.createdAt,
+            f.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Favorite f
+        JOIN f.user u
+        JOIN f.book b
+        WHERE f.id IN :ids
+        """)
+    List<FavoriteResponse> findFavoriteResponsesByIds(@Param("ids") List<Long> ids);
+
+    // 特定の書籍に対するお気に入り数を集計（保存済みのお気に入り数を再計算する場合に使用する）
     @Query("""
         SELECT new com.example.my_books_backend.dto.favorite.FavoriteStatsResponse(
             :bookId,
@@ -46,4 +82,31 @@ public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
         AND f.isDeleted = false
         """)
     FavoriteStatsResponse getFavoriteStatsResponse(@Param("bookId") String bookId);
+
+    // エクスポート用：ユーザーが追加したお気に入りをID順に1行ずつ取得（書籍のジャンルIDは含まない）
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.favorite.FavoriteResponse(
+            f.id,
+            u.id,
+            f.createdAt,
+            f.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Favorite f
+        JOIN f.user u
+        JOIN f.book b
+        WHERE u.id = :userId
+        AND f.isDeleted = false
+        ORDER BY f.id
+        """)
+    Stream<FavoriteResponse> streamFavoriteResponsesByUserId(@Param("userId") Long userId);
 }
@@ -2,31 +2,58 @@ package com.example.my_books_backend.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.review.ReviewResponse;
 import com.example.my_books_backend.dto.review.ReviewStatsResponse;
 import com.example.my_books_backend.entity.Book;
 import com.example.my_books_backend.entity.Review;
 import com.example.my_books_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     // ユーザーが投稿したレビューを取得
     Page<Review> findByUserAndIsDeletedFalse(User user, Pageable pageable);
 
+    // ユーザーが投稿したレビューを取得（COUNTクエリなし）
+    Slice<Review> findSliceByUserAndIsDeletedFalse(User user, Pageable pageable);
+
     // ユーザーが投稿したレビューを取得（書籍ID指定）
     Page<Review> findByUserAndIsDeletedFalseAndBookId(User user, String bookId, Pageable pageable);
 
+    // ユーザーが投稿したレビューを取得（書籍ID指定、COUNTクエリなし）
+    Slice<Review> findSliceByUserAndIsDeletedFalseAndBookId(User user, String bookId, Pageable pageable);
+
     // ユーザーが投稿したレビューを取得（書籍指定）
     Optional<Review> findByUserAndBook(User user, Book book);
 
     // 特定の書籍のレビューを取得
     Page<Review> findByBookIdAndIsDeletedFalse(String bookId, Pageable pageable);
 
+    // 特定の書籍のレビューを取得（COUNTクエリなし）
+    Slice<Review> findSliceByBookIdAndIsDeletedFalse(String bookId, Pageable pageable);
+
+    // 特定の書籍のレビューを取得（カーソルページネーション用）
+    Window<Review> findByBookIdAndIsDeletedFalse(
+        String bookId,
+        ScrollPosition position,
+        Sort sort,
+        Limit limit
+    );
+
     // 2クエリ戦略用：IDリストから関連データを含むリストを取得
     @Query("""
         SELECT DISTINCT r
@@ -38,6 +65,43 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
         """)
     List<Review> findAllByIdInWithRelations(@Param("ids") List<Long> ids);
 
+    // 2クエリ戦略用：IDリストからレスポンスDTOを直接取得（エンティティを経由しない、ジャンルIDは別クエリで設定）
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.review.ReviewResponse(
+            r.id,
+            u.id,
+            u.name,
+            u.avatarPath,
+            r.comment,
+            r.rating,
+            r.createdAt,
+            r.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Review r
+        JOIN r.user u
+        JOIN r.book b
+        WHERE r.id IN :ids
+        """)
+    List<ReviewResponse> findReviewResponsesByIds(@Param("ids") List<Long> ids);
+
+    // 特定の書籍に対する評価の合計を取得
+    @Query("""
+        SELECT COALESCE(SUM(r.rating), 0.0)
+        FROM Review r
+        WHERE r.book.id = :bookId
+        AND r.isDeleted = false
+        """)
+    Double getRatingSum(@Param("bookId") String bookId);
+
     // 特定の書籍に対するレビュー数と平均評価を取得
     @Query("""
         SELECT new com.example.my_books_backend.dto.review.ReviewStatsResponse(
@@ -50,4 +114,66 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
         AND r.isDeleted = false
         """)
     ReviewStatsResponse getReviewStatsResponse(@Param("bookId") String bookId);
+
+    // エクスポート用：ユーザーが投稿したレビューをID順に1行ずつ取得（書籍のジャンルIDは含まない）
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.review.ReviewResponse(
+            r.id,
+            u.id,
+            u.name,
+            u.avatarPath,
+            r.comment,
+            r.rating,
+            r.createdAt,
+            r.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Review r
+        JOIN r.user u
+        JOIN r.book b
+        WHERE u.id = :userId
+        AND r.isDeleted = false
+        ORDER BY r.id
+        """)
+    Stream<ReviewResponse> streamReviewResponsesByUserId(@Param("userId") Long userId);
+
+    // エクスポート用：特定の書籍のレビューをID順に1行ずつ取得（書籍のジャンルIDは含まない）
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "-2147483648"))
+    @Query("""
+        SELECT NEW com.example.my_books_backend.dto.review.ReviewResponse(
+            r.id,
+            u.id,
+            u.name,
+            u.avatarPath,
+            r.comment,
+            r.rating,
+            r.createdAt,
+            r.updatedAt,
+            b.id,
+            b.title,
+            b.description,
+            b.authors,
+            b.publicationDate,
+            b.imagePath,
+            b.reviewCount,
+            b.averageRating,
+            b.popularity
+        )
+        FROM Review r
+        JOIN r.user u
+        JOIN r.book b
+        WHERE b.id = :bookId
+        AND r.isDeleted = false
+        ORDER BY r.id
+        """)
+    Stream<ReviewResponse> streamReviewResponsesByBookId(@Param("bookId") String bookId);
 }
@@ -0,0 +1,57 @@
+package com.example.my_books_backend.repository;
+
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.example.my_books_backend.dto.user.UserProfileCountsResponse;
+import com.example.my_books_backend.entity.UserActivityCounter;
+
+@Repository
+public interface UserActivityCounterRepository extends JpaRepository<UserActivityCounter, Long> {
+    // ユーザーのお気に入り、ブックマーク、レビューの数を取得（保存済みの値、集計しない）
+    @Query("""
+        SELECT new com.example.my_books_backend.dto.user.UserProfileCountsResponse(
+            c.favoriteCount,
+            c.bookmarkCount,
+            c.reviewCount
+        )
+        FROM UserActivityCounter c
+        WHERE c.userId = :userId
+        """)
+    Optional<UserProfileCountsResponse> findUserProfileCountsResponse(@Param("userId") Long userId);
+
+    // 操作数を登録（すでに登録されている場合は何もしない）
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO user_activity_counters (user_id, favorite_count, bookmark_count, review_count)
+        VALUES (:userId, :favoriteCount, :bookmarkCount, :reviewCount)
+        """, nativeQuery = true)
+    int insertIfAbsent(
+        @Param("userId") Long userId,
+        @Param("favoriteCount") long favoriteCount,
+        @Param("bookmarkCount") long bookmarkCount,
+        @Param("reviewCount") long reviewCount
+    );
+
+    // 操作数の増減を反映（未登録の場合・いずれかが負になる場合は更新しない）
+    @Modifying
+    @Query("""
+        UPDATE UserActivityCounter c
+        SET c.favoriteCount = c.favoriteCount + :favoriteDelta,
+            c.bookmarkCount = c.bookmarkCount + :bookmarkDelta,
+            c.reviewCount = c.reviewCount + :reviewDelta
+        WHERE c.userId = :userId
+        AND c.favoriteCount + :favoriteDelta >= 0
+        AND c.bookmarkCount + :bookmarkDelta >= 0
+        AND c.reviewCount + :reviewDelta >= 0
+        """)
+    int applyDelta(
+        @Param("userId") Long userId,
+        @Param("favoriteDelta") long favoriteDelta,
+        @Param("bookmarkDelta") long bookmarkDelta,
+        @Param("reviewDelta") long reviewDelta
+    );
+}
@@ -3,6 +3,7 @@ package com.example.my_books_backend.repository;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -15,6 +16,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = { "roles" })
     Optional<User> findByEmail(String email);
 
+    // ユーザー情報取得（ロールも同時に取得する）
+    @EntityGraph(attributePaths = { "roles" })
+    Optional<User> findWithRolesById(Long id);
+
     // メールアドレスが存在するか
     Boolean existsByEmail(String email);
 
@@ -27,4 +32,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
         )
         """)
     UserProfileCountsResponse getUserProfileCountsResponse(@Param("userId") Long userId);
+
+    // ユーザーのセキュリティバージョンを取得
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findSecurityVersionById(@Param("userId") Long userId);
+
+    // ユーザーのセキュリティバージョンを1増やす
+    @Modifying
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1 WHERE u.id = :userId")
+    int incrementSecurityVersion(@Param("userId") Long userId);
 }
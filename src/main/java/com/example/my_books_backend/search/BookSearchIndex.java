@@ -0,0 +1,517 @@
+package com.example.my_books_backend.search;
+
+import java.text.CollationKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.util.CollationUtils;
+
+/**
+ * 書籍のインメモリ転置インデックス
+ * タイトル・著者・説明文をbigram（日本語）/単語（英数字）に分割して登録し、BM25Fで関連度を計算する
+ * ソート用の値（人気度・評価など）も保持するため、検索時にDBへアクセスするのは結果ページの主キー取得のみとなる
+ *
+ * - 検索は読み取りロック、登録・更新は書き込みロックで排他する
+ * - 全件の再構築は別のインスタンスに構築してから差し替えるため、構築中も検索できる
+ * - 更新・削除された文書は削除済みとして扱い、一定以上たまったらポスティングリストから取り除く
+ */
+@Component
+public class BookSearchIndex {
+    // フィールド（タイトル、著者、説明文）
+    private static final int FIELD_TITLE = 0;
+    private static final int FIELD_AUTHORS = 1;
+    private static final int FIELD_DESCRIPTION = 2;
+    private static final int FIELD_COUNT = 3;
+
+    // BM25Fのパラメータ（フィールドの重み、文書長の正規化の強さ）
+    private static final double[] FIELD_WEIGHTS = {3.0, 2.0, 1.0};
+    private static final double[] FIELD_LENGTH_NORMALIZATION = {0.5, 0.3, 0.75};
+    private static final double K1 = 1.2;
+
+    // 前方一致で展開するトークン数の上限
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    // 削除済み文書の割合がこれを超えたらポスティングリストを詰め直す
+    private static final double COMPACTION_THRESHOLD = 0.25;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Segment segment = new Segment();
+    private volatile boolean ready = false;
+
+    /**
+     * インデックスが構築済みで検索に使用できるか
+     *
+     * @return 使用できる場合はtrue
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * インデックスに登録されている書籍数
+     *
+     * @return 書籍数
+     */
+    public int size() {
+        return segment.liveCount;
+    }
+
+    /**
+     * インデックスを全件再構築して差し替える
+     * 構築中は既存のインデックスで検索を継続する
+     *
+     * @param books 登録する書籍（削除済みの書籍は登録しない）
+     */
+    public void rebuild(Iterable<Book> books) {
+        Segment newSegment = new Segment();
+        for (Book book : books) {
+            if (!Boolean.TRUE.equals(book.getIsDeleted())) {
+                newSegment.add(book);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            segment = newSegment;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍を登録または更新
+     * テキスト（タイトル・著者・説明文）は常に登録し直す（統計情報のみの変更はupdateStatsで反映する）
+     *
+     * @param book 書籍（削除済みの場合はインデックスから削除）
+     */
+    public void upsert(Book book) {
+        lock.writeLock().lock();
+        try {
+            Segment current = segment;
+            current.remove(book.getId());
+            if (!Boolean.TRUE.equals(book.getIsDeleted())) {
+                current.add(book);
+            }
+            current.compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍の統計情報（ソート用の値）を更新
+     * ポスティングリストは変更しない（インデックスにない書籍は無視する）
+     *
+     * @param bookId 書籍ID
+     * @param reviewCount レビュー数
+     * @param averageRating 平均評価
+     * @param popularity 人気度
+     * @param favoriteCount お気に入り数
+     */
+    public void updateStats(
+        String bookId,
+        long reviewCount,
+        double averageRating,
+        double popularity,
+        long favoriteCount
+    ) {
+        lock.writeLock().lock();
+        try {
+            segment.updateStats(bookId, reviewCount, averageRating, popularity, favoriteCount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 書籍をインデックスから削除
+     *
+     * @param bookId 書籍ID
+     */
+    public void remove(String bookId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(bookId);
+            segment.compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * キーワードで書籍を検索
+     * キーワードのすべての語を含む書籍（AND条件）を、指定された順序で返す
+     *
+     * @param keyword 検索キーワード
+     * @param sort ソート条件（ソートなしの場合は関連度順）
+     * @param offset 取得開始位置
+     * @param limit 取得件数
+     * @return 検索結果（書籍IDのリストと総ヒット数）
+     */
+    public BookSearchResult search(String keyword, Sort sort, long offset, int limit) {
+        List<TextAnalyzer.QueryTerm> terms = TextAnalyzer.analyzeQuery(keyword);
+        if (terms.isEmpty() || limit <= 0) {
+            return new BookSearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            return segment.search(terms, sort, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * インデックスの1世代分のデータ
+     */
+    private static final class Segment {
+        private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+        private final List<IndexedBook> documents = new ArrayList<>();
+        private final Map<String, Integer> docIdsByBookId = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private final long[] totalFieldLengths = new long[FIELD_COUNT];
+        private int liveCount;
+        private int deletedCount;
+
+        private void add(Book book) {
+            int docId = documents.size();
+
+            // フィールドごとにトークンの出現回数を数える
+            Map<String, int[]> frequencies = new HashMap<>();
+            int[] fieldLengths = new int[FIELD_COUNT];
+            String[] fields = new String[FIELD_COUNT];
+            fields[FIELD_TITLE] = book.getTitle();
+            fields[FIELD_AUTHORS] = book.getAuthors();
+            fields[FIELD_DESCRIPTION] = book.getDescription();
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                List<String> tokens = TextAnalyzer.tokenize(fields[field]);
+                fieldLengths[field] = tokens.size();
+                totalFieldLengths[field] += tokens.size();
+                for (String token : tokens) {
+                    frequencies.computeIfAbsent(token, t -> new int[FIELD_COUNT])[field]++;
+                }
+            }
+            frequencies.forEach((token, tf) -> postings
+                .computeIfAbsent(token, t -> new PostingList())
+                .add(docId, tf));
+
+            documents.add(new IndexedBook(book, fieldLengths));
+            docIdsByBookId.put(book.getId(), docId);
+            liveCount++;
+        }
+
+        private void updateStats(
+            String bookId,
+            long reviewCount,
+            double averageRating,
+            double popularity,
+            long favoriteCount
+        ) {
+            Integer docId = docIdsByBookId.get(bookId);
+            if (docId == null) {
+                return;
+            }
+            documents.set(docId, documents.get(docId).withStats(reviewCount, averageRating, popularity, favoriteCount));
+        }
+
+        private void remove(String bookId) {
+            Integer docId = docIdsByBookId.remove(bookId);
+            if (docId == null) {
+                return;
+            }
+            IndexedBook removed = documents.get(docId);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] -= removed.fieldLengths[field];
+            }
+            documents.set(docId, null);
+            deleted.set(docId);
+            liveCount--;
+            deletedCount++;
+        }
+
+        private void compactIfNeeded() {
+            if (deletedCount < 1000 || deletedCount < documents.size() * COMPACTION_THRESHOLD) {
+                return;
+            }
+            postings.replaceAll((token, list) -> list.withoutDeleted(deleted, FIELD_COUNT));
+            postings.values().removeIf(list -> list.size() == 0);
+            deletedCount = 0;
+            deleted.clear();
+        }
+
+        private BookSearchResult search(
+            List<TextAnalyzer.QueryTerm> terms,
+            Sort sort,
+            long offset,
+            int limit
+        ) {
+            // クエリ語ごとに、該当するポスティングリストのグループ（前方一致の場合は複数）を作成
+            List<TermGroup> groups = new ArrayList<>();
+            for (TextAnalyzer.QueryTerm term : terms) {
+                List<PostingList> lists = term.prefix()
+                    ? postings.subMap(term.text(), true, term.text() + Character.MAX_VALUE, false)
+                        .values().stream().limit(MAX_PREFIX_EXPANSIONS).toList()
+                    : (postings.containsKey(term.text()) ? List.of(postings.get(term.text())) : List.of());
+                if (lists.isEmpty()) {
+                    return new BookSearchResult(List.of(), 0);
+                }
+                groups.add(new TermGroup(lists, liveCount));
+            }
+            // 件数の少ない語から照合する
+            groups.sort(Comparator.comparingLong(group -> group.documentFrequency));
+
+            boolean byRelevance = (sort == null || sort.isUnsorted());
+            Comparator<Hit> order = byRelevance ? relevanceOrder() : attributeOrder(sort);
+            double[] averageFieldLengths = averageFieldLengths();
+
+            // 上位 offset + limit 件のみを保持する（先頭が最も順位の低いヒット）
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 1, offset + limit);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(capacity, 1024), order.reversed());
+            long totalHits = 0;
+
+            TermGroup lead = groups.get(0);
+            int candidate = lead.next();
+            while (candidate != Integer.MAX_VALUE) {
+                int matched = candidate;
+                for (int i = 1; i < groups.size(); i++) {
+                    int docId = groups.get(i).advance(candidate);
+                    if (docId != candidate) {
+                        matched = -1;
+                        candidate = docId;
+                        break;
+                    }
+                }
+
+                if (matched >= 0) {
+                    IndexedBook document = documents.get(matched);
+                    if (document != null) {
+                        totalHits++;
+                        double score = byRelevance ? score(groups, document, averageFieldLengths) : 0.0;
+                        Hit hit = new Hit(document, score);
+                        if (top.size() < capacity) {
+                            top.add(hit);
+                        } else if (order.compare(hit, top.peek()) < 0) {
+                            top.poll();
+                            top.add(hit);
+                        }
+                    }
+                    candidate = lead.next();
+                } else if (candidate != Integer.MAX_VALUE) {
+                    candidate = lead.advance(candidate);
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(order);
+            List<String> bookIds = ranked.stream()
+                .skip(offset)
+                .map(hit -> hit.document.bookId)
+                .toList();
+            return new BookSearchResult(bookIds, totalHits);
+        }
+
+        /**
+         * BM25Fによる関連度を計算
+         * 語ごとにフィールドの出現回数を重み付き・文書長で正規化して合算し、IDFを掛ける
+         */
+        private double score(List<TermGroup> groups, IndexedBook document, double[] averageFieldLengths) {
+            double score = 0.0;
+            for (TermGroup group : groups) {
+                int[] tf = group.frequencies();
+                double weightedTf = 0.0;
+                for (int field = 0; field < FIELD_COUNT; field++) {
+                    if (tf[field] == 0) {
+                        continue;
+                    }
+                    double b = FIELD_LENGTH_NORMALIZATION[field];
+                    double lengthRatio = (averageFieldLengths[field] > 0)
+                        ? document.fieldLengths[field] / averageFieldLengths[field]
+                        : 1.0;
+                    weightedTf += FIELD_WEIGHTS[field] * tf[field] / (1 - b + b * lengthRatio);
+                }
+                score += group.idf * weightedTf / (K1 + weightedTf);
+            }
+            return score;
+        }
+
+        private double[] averageFieldLengths() {
+            double[] averages = new double[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                averages[field] = (liveCount > 0) ? (double) totalFieldLengths[field] / liveCount : 0.0;
+            }
+            return averages;
+        }
+    }
+
+    /**
+     * 関連度順（同点の場合は書籍IDの昇順）
+     */
+    private static Comparator<Hit> relevanceOrder() {
+        return Comparator.<Hit>comparingDouble(hit -> hit.score).reversed()
+            .thenComparing(hit -> hit.document.bookId);
+    }
+
+    /**
+     * ソート条件の順（PageableUtilsと同様に、最後は書籍IDの昇順）
+     */
+    private static Comparator<Hit> attributeOrder(Sort sort) {
+        Comparator<Hit> order = null;
+        for (Sort.Order sortOrder : sort) {
+            Comparator<Hit> fieldOrder = switch (sortOrder.getProperty()) {
+                case "title" -> Comparator.comparing(hit -> hit.document.titleKey);
+                case "publicationDate" -> Comparator.comparingLong(hit -> hit.document.publicationDate);
+                case "reviewCount" -> Comparator.comparingLong(hit -> hit.document.reviewCount);
+                case "averageRating" -> Comparator.comparingDouble(hit -> hit.document.averageRating);
+                case "popularity" -> Comparator.comparingDouble(hit -> hit.document.popularity);
+                case "favoriteCount" -> Comparator.comparingLong(hit -> hit.document.favoriteCount);
+                default -> Comparator.comparing(hit -> hit.document.bookId);
+            };
+            if (sortOrder.isDescending()) {
+                fieldOrder = fieldOrder.reversed();
+            }
+            order = (order == null) ? fieldOrder : order.thenComparing(fieldOrder);
+        }
+        Comparator<Hit> byId = Comparator.comparing(hit -> hit.document.bookId);
+        return (order == null) ? byId : order.thenComparing(byId);
+    }
+
+    /**
+     * 1つのクエリ語に該当するポスティングリストのグループ（OR条件）
+     */
+    private static final class TermGroup {
+        private final List<PostingList.Cursor> cursors;
+        private final int[] frequencies = new int[FIELD_COUNT];
+        private final long documentFrequency;
+        private final double idf;
+        private int docId = -1;
+
+        private TermGroup(List<PostingList> lists, int liveCount) {
+            this.cursors = lists.stream().map(list -> list.cursor(FIELD_COUNT)).toList();
+            this.documentFrequency = Math.min(
+                liveCount,
+                lists.stream().mapToLong(PostingList::size).sum()
+            );
+            this.idf = Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            cursors.forEach(PostingList.Cursor::next);
+        }
+
+        private int next() {
+            return advance(docId + 1);
+        }
+
+        private int advance(int target) {
+            if (docId >= target) {
+                return docId;
+            }
+            int min = Integer.MAX_VALUE;
+            for (PostingList.Cursor cursor : cursors) {
+                if (cursor.docId() < target) {
+                    cursor.advance(target);
+                }
+                min = Math.min(min, cursor.docId());
+            }
+            docId = min;
+            return docId;
+        }
+
+        private int[] frequencies() {
+            Arrays.fill(frequencies, 0);
+            for (PostingList.Cursor cursor : cursors) {
+                if (cursor.docId() == docId) {
+                    int[] tf = cursor.frequencies();
+                    for (int field = 0; field < FIELD_COUNT; field++) {
+                        frequencies[field] += tf[field];
+                    }
+                }
+            }
+            return frequencies;
+        }
+    }
+
+    /**
+     * インデックスに登録された書籍（ソート用の値と文書長）
+     */
+    private static final class IndexedBook {
+        private final String bookId;
+        private final int[] fieldLengths;
+        private final CollationKey titleKey; // タイトル順の比較用（DBの照合順序に近い順序）
+        private final long publicationDate;
+        private final long reviewCount;
+        private final double averageRating;
+        private final double popularity;
+        private final long favoriteCount;
+
+        private IndexedBook(Book book, int[] fieldLengths) {
+            this(
+                book.getId(),
+                fieldLengths,
+                CollationUtils.titleKey(book.getTitle()),
+                (book.getPublicationDate() != null)
+                    ? book.getPublicationDate().toLocalDate().toEpochDay()
+                    : Long.MIN_VALUE,
+                Objects.requireNonNullElse(book.getReviewCount(), 0L),
+                Objects.requireNonNullElse(book.getAverageRating(), 0.0),
+                Objects.requireNonNullElse(book.getPopularity(), 0.0),
+                Objects.requireNonNullElse(book.getFavoriteCount(), 0L)
+            );
+        }
+
+        private IndexedBook(
+            String bookId,
+            int[] fieldLengths,
+            CollationKey titleKey,
+            long publicationDate,
+            long reviewCount,
+            double averageRating,
+            double popularity,
+            long favoriteCount
+        ) {
+            this.bookId = bookId;
+            this.fieldLengths = fieldLengths;
+            this.titleKey = titleKey;
+            this.publicationDate = publicationDate;
+            this.reviewCount = reviewCount;
+            this.averageRating = averageRating;
+            this.popularity = popularity;
+            this.favoriteCount = favoriteCount;
+        }
+
+        private IndexedBook withStats(long reviewCount, double averageRating, double popularity, long favoriteCount) {
+            return new IndexedBook(
+                bookId,
+                fieldLengths,
+                titleKey,
+                publicationDate,
+                reviewCount,
+                averageRating,
+                popularity,
+                favoriteCount
+            );
+        }
+    }
+
+    private static final class Hit {
+        private final IndexedBook document;
+        private final double score;
+
+        private Hit(IndexedBook document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.my_books_backend.search;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.event.BookChangedEvent;
+import com.example.my_books_backend.event.BookStatsChangedEvent;
+import com.example.my_books_backend.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 検索インデックスの構築・更新
+ * - 起動完了後に全書籍を読み込んでインデックスを構築する（構築完了まではDBのFULLTEXT検索を使用）
+ * - 書籍の変更（BookChangedEvent）をコミット後にインデックスへ反映する（テキストは常に登録し直す）
+ * - 統計情報の変更（BookStatsChangedEvent）はイベントの値をそのまま反映する（DBを参照しない）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndexLoader {
+    private final BookSearchIndex bookSearchIndex;
+    private final BookRepository bookRepository;
+
+    @Value("${app.search.index.enabled}")
+    private boolean enabled;
+
+    @Value("${app.search.index.load-batch-size}")
+    private int loadBatchSize;
+
+    // 全件構築中に変更された書籍（構築完了後に再反映する）
+    private final Set<String> changedDuringLoad = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading = false;
+
+    /**
+     * 起動完了後にインデックスを構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("検索インデックスは無効です（app.search.index.enabled=false）");
+            return;
+        }
+        rebuild();
+    }
+
+    /**
+     * 全書籍を読み込んでインデックスを再構築
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        loading = true;
+        try {
+            bookSearchIndex.rebuild(this::scrollAllBooks);
+
+            // 構築中に変更された書籍を反映
+            while (!changedDuringLoad.isEmpty()) {
+                for (String bookId : Set.copyOf(changedDuringLoad)) {
+                    changedDuringLoad.remove(bookId);
+                    refresh(bookId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("検索インデックスの構築に失敗しました", e);
+        } finally {
+            loading = false;
+        }
+        log.info(
+            "検索インデックスを構築しました: {}件, {}ms",
+            bookSearchIndex.size(),
+            System.currentTimeMillis() - start
+        );
+    }
+
+    /**
+     * 書籍の変更をインデックスに反映（トランザクションのコミット後）
+     *
+     * @param event 書籍変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (loading) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (bookSearchIndex.isReady()) {
+            refresh(event.getBookId());
+        }
+    }
+
+    /**
+     * 書籍の統計情報（ソート用の値）の変更をインデックスに反映（トランザクションのコミット後）
+     *
+     * @param event 統計情報変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookStatsChanged(BookStatsChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (loading) {
+            changedDuringLoad.add(event.getBookId());
+        }
+        if (bookSearchIndex.isReady()) {
+            bookSearchIndex.updateStats(
+                event.getBookId(),
+                event.getReviewCount(),
+                event.getAverageRating(),
+                event.getPopularity(),
+                event.getFavoriteCount()
+            );
+        }
+    }
+
+    private void refresh(String bookId) {
+        bookRepository.findById(bookId).ifPresentOrElse(
+            bookSearchIndex::upsert,
+            () -> bookSearchIndex.remove(bookId)
+        );
+    }
+
+    /**
+     * 全書籍をID順にキーセットページネーションで読み込む
+     * （OFFSETを使わないため、件数が多くても後半の読み込みが遅くならない）
+     */
+    private Iterator<Book> scrollAllBooks() {
+        Sort sort = Sort.by(Sort.Direction.ASC, "id");
+        Limit limit = Limit.of(loadBatchSize);
+
+        return new Iterator<>() {
+            private Window<Book> window = bookRepository.findByIsDeletedFalse(
+                ScrollPosition.keyset(),
+                sort,
+                limit
+            );
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (index < window.size()) {
+                    return true;
+                }
+                if (!window.hasNext() || window.isEmpty()) {
+                    return false;
+                }
+                window = bookRepository.findByIsDeletedFalse(
+                    window.positionAt(window.size() - 1),
+                    sort,
+                    limit
+                );
+                index = 0;
+                return index < window.size();
+            }
+
+            @Override
+            public Book next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return window.getContent().get(index++);
+            }
+        };
+    }
+}
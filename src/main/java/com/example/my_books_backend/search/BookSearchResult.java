@@ -0,0 +1,15 @@
+package com.example.my_books_backend.search;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 検索インデックスの検索結果
+ */
+@Getter
+@AllArgsConstructor
+public class BookSearchResult {
+    private final List<String> bookIds; // 指定範囲の書籍ID（表示順）
+    private final long totalHits; // 総ヒット数
+}
@@ -0,0 +1,177 @@
+package com.example.my_books_backend.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 転置インデックスのポスティングリスト（1トークンを含む文書の一覧）
+ * 文書IDの昇順に、差分（delta）とフィールドごとの出現回数を可変長整数（varint）で圧縮して保持する
+ * 一定件数ごとにスキップ位置を記録し、AND検索時の読み飛ばしを高速化する
+ * 同期は呼び出し元（BookSearchIndex）の読み書きロックで行う
+ */
+final class PostingList {
+    // スキップ位置を記録する間隔（件数）
+    private static final int SKIP_INTERVAL = 128;
+
+    private byte[] data = new byte[16];
+    private int length;
+    private int size;
+    private int lastDocId = -1;
+
+    // スキップ位置: ブロック直前の文書ID（差分の基準）と、ブロック先頭のバイト位置
+    private int[] skipBaseDocIds = new int[0];
+    private int[] skipOffsets = new int[0];
+    private int skipCount;
+
+    /**
+     * 文書を追加（文書IDは昇順で追加すること）
+     *
+     * @param docId 文書ID
+     * @param fieldFrequencies フィールドごとの出現回数
+     */
+    void add(int docId, int[] fieldFrequencies) {
+        if (docId <= lastDocId) {
+            throw new IllegalArgumentException("文書IDは昇順で追加してください: " + docId);
+        }
+
+        if (size % SKIP_INTERVAL == 0) {
+            if (skipCount == skipOffsets.length) {
+                int capacity = Math.max(4, skipCount * 2);
+                skipBaseDocIds = Arrays.copyOf(skipBaseDocIds, capacity);
+                skipOffsets = Arrays.copyOf(skipOffsets, capacity);
+            }
+            skipBaseDocIds[skipCount] = lastDocId;
+            skipOffsets[skipCount] = length;
+            skipCount++;
+        }
+
+        writeVarint(docId - lastDocId);
+        for (int frequency : fieldFrequencies) {
+            writeVarint(frequency);
+        }
+        lastDocId = docId;
+        size++;
+    }
+
+    /**
+     * 削除済みの文書を除いたポスティングリストを作成
+     *
+     * @param deleted 削除済みの文書ID
+     * @param fieldCount フィールド数
+     * @return 新しいポスティングリスト（すべて削除済みの場合は空）
+     */
+    PostingList withoutDeleted(BitSet deleted, int fieldCount) {
+        PostingList compacted = new PostingList();
+        Cursor cursor = cursor(fieldCount);
+        while (cursor.next()) {
+            if (!deleted.get(cursor.docId())) {
+                compacted.add(cursor.docId(), cursor.frequencies().clone());
+            }
+        }
+        compacted.data = Arrays.copyOf(compacted.data, compacted.length);
+        return compacted;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int sizeInBytes() {
+        return length + skipCount * Integer.BYTES * 2;
+    }
+
+    Cursor cursor(int fieldCount) {
+        return new Cursor(fieldCount);
+    }
+
+    private void writeVarint(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * ポスティングリストの読み取り位置
+     */
+    final class Cursor {
+        private final int[] frequencies;
+        private int offset;
+        private int read;
+        private int docId = -1;
+
+        private Cursor(int fieldCount) {
+            this.frequencies = new int[fieldCount];
+        }
+
+        int docId() {
+            return docId;
+        }
+
+        int[] frequencies() {
+            return frequencies;
+        }
+
+        /**
+         * 次の文書へ進める
+         *
+         * @return 次の文書がある場合はtrue
+         */
+        boolean next() {
+            if (read >= size) {
+                docId = Integer.MAX_VALUE;
+                return false;
+            }
+            docId += readVarint();
+            for (int i = 0; i < frequencies.length; i++) {
+                frequencies[i] = readVarint();
+            }
+            read++;
+            return true;
+        }
+
+        /**
+         * 指定した文書ID以上の最初の文書へ進める
+         *
+         * @param target 文書ID
+         * @return 該当する文書がある場合はtrue
+         */
+        boolean advance(int target) {
+            if (docId >= target) {
+                return docId != Integer.MAX_VALUE;
+            }
+
+            // targetより前で始まる最後のブロックへスキップ（現在位置より先の場合のみ）
+            int block = Arrays.binarySearch(skipBaseDocIds, 0, skipCount, target - 1);
+            block = (block >= 0) ? block : -block - 2;
+            if (block >= 0 && block * SKIP_INTERVAL > read) {
+                offset = skipOffsets[block];
+                docId = skipBaseDocIds[block];
+                read = block * SKIP_INTERVAL;
+            }
+
+            while (next()) {
+                if (docId >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.my_books_backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 検索インデックス用のテキスト解析
+ * - 正規化: NFKC（全角英数・半角カナの統一）、小文字化、カタカナ→ひらがな
+ * - 分割: 日本語（ひらがな・カタカナ・漢字）の連続部分はbigram、英数字の連続部分は単語単位
+ */
+public final class TextAnalyzer {
+    // カタカナ（ァ〜ヶ）とひらがな（ぁ〜ゖ）のコードポイントの差
+    private static final int KATAKANA_TO_HIRAGANA_OFFSET = 0x60;
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * テキストを正規化
+     *
+     * @param text テキスト
+     * @return 正規化されたテキスト（nullの場合は空文字）
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(normalized.length());
+        normalized.codePoints().forEach(cp -> {
+            if (cp >= 'ァ' && cp <= 'ヶ') {
+                sb.appendCodePoint(cp - KATAKANA_TO_HIRAGANA_OFFSET);
+            } else {
+                sb.appendCodePoint(cp);
+            }
+        });
+        return sb.toString();
+    }
+
+    /**
+     * テキストをトークンに分割（インデックス登録用）
+     * 出現回数を数えるため、同じトークンも重複して返す
+     *
+     * @param text テキスト
+     * @return トークンのリスト
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (Run run : splitRuns(normalize(text))) {
+            if (run.cjk()) {
+                addBigrams(run.text(), tokens);
+            } else {
+                tokens.add(run.text());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 検索キーワードをクエリ語に分割
+     *
+     * @param keyword 検索キーワード
+     * @return クエリ語のリスト
+     */
+    public static List<QueryTerm> analyzeQuery(String keyword) {
+        List<QueryTerm> terms = new ArrayList<>();
+        for (Run run : splitRuns(normalize(keyword))) {
+            if (run.cjk() && run.text().codePointCount(0, run.text().length()) >= 2) {
+                // 2文字以上の日本語はbigramすべてを含む（AND条件）
+                List<String> bigrams = new ArrayList<>();
+                addBigrams(run.text(), bigrams);
+                bigrams.stream().distinct().forEach(bigram -> terms.add(new QueryTerm(bigram, false)));
+            } else {
+                // 1文字の日本語、英数字の単語は前方一致
+                terms.add(new QueryTerm(run.text(), true));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 正規化済みテキストを、日本語の連続部分と英数字の連続部分に分割
+     * それ以外の文字（空白・記号）は区切りとして扱う
+     */
+    private static List<Run> splitRuns(String normalized) {
+        List<Run> runs = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        Boolean currentCjk = null;
+
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+
+            Boolean cjk = isCjk(cp) ? Boolean.TRUE : (Character.isLetterOrDigit(cp) ? Boolean.FALSE : null);
+            if (currentCjk != null && !currentCjk.equals(cjk)) {
+                runs.add(new Run(current.toString(), currentCjk));
+                current.setLength(0);
+            }
+            if (cjk != null) {
+                current.appendCodePoint(cp);
+            }
+            currentCjk = cjk;
+        }
+        if (currentCjk != null) {
+            runs.add(new Run(current.toString(), currentCjk));
+        }
+        return runs;
+    }
+
+    /**
+     * 日本語の連続部分をbigramに分割（1文字の場合はその1文字）
+     */
+    private static void addBigrams(String text, List<String> tokens) {
+        int[] cps = text.codePoints().toArray();
+        if (cps.length == 1) {
+            tokens.add(text);
+            return;
+        }
+        for (int i = 0; i + 1 < cps.length; i++) {
+            tokens.add(new String(cps, i, 2));
+        }
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HIRAGANA
+            || script == Character.UnicodeScript.KATAKANA
+            || script == Character.UnicodeScript.HAN
+            || cp == 'ー'
+            || cp == '々';
+    }
+
+    private record Run(String text, boolean cjk) {
+    }
+
+    /**
+     * クエリ語
+     *
+     * @param text 正規化済みの語
+     * @param prefix 前方一致で検索するか
+     */
+    public record QueryTerm(String text, boolean prefix) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.my_books_backend.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 認証済みユーザーをコントローラーの引数で受け取る
+ * - JwtPrincipal: 認証時の情報をそのまま渡す（DBを参照しない）
+ * - User: ユーザーエンティティを渡す（クレームから認証した場合はIDのみを持つ参照で、DBを参照しない）
+ * 未認証の場合はnull
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
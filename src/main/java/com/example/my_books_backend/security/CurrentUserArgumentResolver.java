@@ -0,0 +1,56 @@
+package com.example.my_books_backend.security;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import com.example.my_books_backend.entity.User;
+import com.example.my_books_backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @CurrentUser の引数に認証済みユーザーを渡す
+ * クレームから認証した場合（JwtPrincipal）のUserは、IDのみを持つ参照（getReferenceById）で、ID以外を読むまでDBを参照しない
+ * （ユーザーIDで検索・関連付けするだけのサービスはそのまま使え、ID以外が必要なサービスはトランザクション内で取得し直す）
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type.equals(User.class) || type.equals(JwtPrincipal.class);
+    }
+
+    @Override
+    public Object resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory
+    ) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        boolean wantsUser = parameter.getParameterType().equals(User.class);
+
+        if (principal instanceof User user) {
+            return wantsUser ? user : JwtPrincipal.from(user);
+        }
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return wantsUser ? userRepository.getReferenceById(jwtPrincipal.userId()) : jwtPrincipal;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.my_books_backend.security;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.example.my_books_backend.entity.User;
+import com.example.my_books_backend.util.JwtClaims;
+
+/**
+ * アクセストークンのクレームから作成した認証済みユーザー（DBを参照しない）
+ * ユーザーエンティティが必要な場合は @CurrentUser User で取得する
+ *
+ * @param userId ユーザーID
+ * @param email メールアドレス
+ * @param name ユーザー名
+ * @param roles ロール名
+ */
+public record JwtPrincipal(Long userId, String email, String name, List<String> roles)
+    implements AuthenticatedPrincipal {
+
+    /**
+     * クレームから作成
+     *
+     * @param claims 検証済みのトークンのクレーム
+     * @return 認証済みユーザー
+     */
+    public static JwtPrincipal from(JwtClaims claims) {
+        return new JwtPrincipal(claims.userId(), claims.subject(), claims.name(), claims.roles());
+    }
+
+    /**
+     * ユーザーエンティティから作成
+     *
+     * @param user ユーザーエンティティ
+     * @return 認証済みユーザー
+     */
+    public static JwtPrincipal from(User user) {
+        return new JwtPrincipal(
+            user.getId(),
+            user.getEmail(),
+            user.getName(),
+            user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()
+        );
+    }
+
+    /**
+     * ロールの権限
+     *
+     * @return 権限
+     */
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream().map(SimpleGrantedAuthority::new).toList();
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -18,6 +18,7 @@ import com.example.my_books_backend.exception.UnauthorizedException;
 import com.example.my_books_backend.exception.ValidationException;
 import com.example.my_books_backend.repository.UserRepository;
 import com.example.my_books_backend.service.impl.UserDetailsServiceImpl;
+import com.example.my_books_backend.util.JwtClaims;
 import com.example.my_books_backend.util.JwtUtils;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -127,13 +128,15 @@ public class AuthService {
     public AccessTokenResponse refreshAccessToken(HttpServletRequest request) {
         String refreshToken = jwtUtil.getRefreshTokenFromCookie(request);
 
-        if (refreshToken == null || !jwtUtil.validateToken(refreshToken)) {
+        JwtClaims claims = jwtUtil.verify(refreshToken)
+            .orElseThrow(() -> new ValidationException("リフレッシュトークンが無効です。"));
+        User user = (User) userDetailsService.loadUserByUsername(claims.subject());
+
+        // パスワード変更などの前に発行したリフレッシュトークンは無効
+        if (claims.securityVersion() != null && !claims.securityVersion().equals(user.getSecurityVersion())) {
             throw new ValidationException("リフレッシュトークンが無効です。");
         }
 
-        String email = jwtUtil.getSubjectFromToken(refreshToken);
-        User user = (User) userDetailsService.loadUserByUsername(email);
-
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
             user,
             null,
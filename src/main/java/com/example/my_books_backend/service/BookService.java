@@ -1,10 +1,14 @@
 package com.example.my_books_backend.service;
 
+import java.util.function.Consumer;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.book.BookDetailsResponse;
 import com.example.my_books_backend.dto.book.BookResponse;
 import com.example.my_books_backend.dto.book_chapter.BookTableOfContentsResponse;
 import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageRangeResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import com.example.my_books_backend.util.ResourceVersion;
 
 public interface BookService {
     /**
@@ -13,28 +17,63 @@ public interface BookService {
      * @param page ページ番号（1ベース）
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return 最新の書籍リスト
      */
     PageResponse<BookResponse> getBooks(
         Long page,
         Long size,
+        String sortString,
+        Boolean includeTotal
+    );
+
+    /**
+     * 書籍一覧取得（カーソルページネーション）
+     * OFFSETとCOUNTを使用せず、前ページ最後の（ソートフィールド, id）から続きを取得する
+     * 
+     * @param cursor カーソル（前回レスポンスのnextCursor、先頭ページの場合はnullまたは空文字）
+     * @param size 1ページあたりの最大結果件数
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @return 書籍リスト（次ページ用のnextCursorを含む）
+     */
+    PageResponse<BookResponse> getBooksByCursor(
+        String cursor,
+        Long size,
         String sortString
     );
 
     /**
-     * タイトルで書籍を検索したリストを取得
+     * 注目度順の書籍一覧取得
+     * 直近のレビュー作成・お気に入り追加を時間で減衰させたスコアの降順（スコアのある書籍のみ）
      * 
-     * @param keyword 検索キーワード
      * @param page ページ番号（1ベース）
      * @param size 1ページあたりの最大結果件数
-     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合は総件数・総ページ数はnull）
+     * @return 書籍リスト
+     */
+    PageResponse<BookResponse> getTrendingBooks(
+        Long page,
+        Long size,
+        Boolean includeTotal
+    );
+
+    /**
+     * キーワードで書籍を検索したリストを取得
+     * タイトル・説明文・著者のFULLTEXTインデックス（ngramパーサー）を使用する
+     * 
+     * @param keyword 検索キーワード（空白区切りでAND条件）
+     * @param page ページ番号（1ベース）
+     * @param size 1ページあたりの最大結果件数
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"、関連度順は"relevance.desc"）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return 検索結果
      */
     PageResponse<BookResponse> getBooksByTitleKeyword(
         String keyword,
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     );
 
     /**
@@ -45,6 +84,7 @@ public interface BookService {
      * @param page ページ番号（1ベース）
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return 検索結果
      */
     PageResponse<BookResponse> getBooksByGenre(
@@ -52,7 +92,8 @@ public interface BookService {
         String conditionQuery,
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     );
 
     /**
@@ -71,6 +112,13 @@ public interface BookService {
      */
     BookTableOfContentsResponse getBookTableOfContents(String id);
 
+    /**
+     * 章のページ数を実際のページ数と照合し、異なる章のみ更新
+     * 
+     * @return 更新した章の件数
+     */
+    int refreshChapterPageCounts();
+
     /**
      * 指定された書籍の特定の章・ページのコンテンツを取得
      * 
@@ -84,4 +132,76 @@ public interface BookService {
         Long chapterNumber,
         Long pageNumber
     );
+
+    /**
+     * 指定された書籍の章のページのコンテンツを、本文をgzip圧縮したまま取得
+     * 
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return 本文を圧縮した書籍ページコンテンツ
+     */
+    CompressedPageContentResponse getBookChapterPageCompressedContent(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    );
+
+    /**
+     * 指定された書籍の章のページ範囲を取得
+     * 
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param fromPage 開始ページ（nullの場合は1）
+     * @param toPage 終了ページ（nullの場合、または章の最終ページを超える場合は章の最終ページ）
+     * @return ページ範囲
+     */
+    BookChapterPageRangeResponse getBookChapterPageRange(
+        String bookId,
+        Long chapterNumber,
+        Long fromPage,
+        Long toPage
+    );
+
+    /**
+     * 指定された書籍の章のページ範囲のコンテンツを、ページ番号順に1ページずつ処理
+     * DBから1行ずつ読み込むため、章全体をメモリに保持しない
+     * 
+     * @param range ページ範囲（getBookChapterPageRangeで取得したもの）
+     * @param action 各ページの処理
+     */
+    void forEachBookChapterPageContent(
+        BookChapterPageRangeResponse range,
+        Consumer<BookChapterPageContentResponse> action
+    );
+
+    /**
+     * 書籍詳細のバージョンを取得（条件付きGET用）
+     * 
+     * @param id 書籍ID
+     * @return 書籍詳細のバージョン（書籍が存在しない場合はnull）
+     */
+    ResourceVersion getBookDetailsVersion(String id);
+
+    /**
+     * 書籍の目次のバージョンを取得（条件付きGET用）
+     * 
+     * @param id 書籍ID
+     * @return 目次のバージョン（書籍が存在しない場合はnull）
+     */
+    ResourceVersion getBookTableOfContentsVersion(String id);
+
+    /**
+     * 書籍の特定の章・ページのコンテンツのバージョンを取得（条件付きGET用）
+     * 
+     * @param bookId 書籍ID
+     * @param chapterNumber 章番号
+     * @param pageNumber ページ番号
+     * @return コンテンツのバージョン（ページが存在しない場合はnull）
+     */
+    ResourceVersion getBookChapterPageContentVersion(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    );
 }
@@ -3,9 +3,64 @@ package com.example.my_books_backend.service;
 public interface BookStatsService {
 
     /**
-     * 書籍の統計情報（レビュー数、平均評価、人気度）を更新する
+     * レビューの増減を書籍の統計情報（レビュー数、評価の合計、平均評価、人気度）に反映する
+     * レビューの書き込みと同じトランザクションで呼び出す（レビュー数に比例せず、1回のUPDATEで反映する）
+     * 反映できない場合（レビュー数が負になる場合）はレビューから再計算する
+     * 書籍詳細・書籍一覧のキャッシュはコミット後に削除する（書籍の更新日時が変わるため、ETagと同時に変わるようにする）
      * 
      * @param bookId 書籍ID
+     * @param countDelta レビュー数の増減
+     * @param ratingDelta 評価の合計の増減
      */
-    void updateBookStats(String bookId);
+    void applyReviewDelta(String bookId, long countDelta, double ratingDelta);
+
+    /**
+     * お気に入りの増減を書籍のお気に入り数に反映する
+     * お気に入りの書き込みと同じトランザクションで呼び出す（お気に入り数を集計せず、1回のUPDATEで反映する）
+     * 反映できない場合（お気に入り数が負になる場合）はお気に入りから再計算する
+     * 書籍詳細・書籍一覧のキャッシュはコミット後に削除する（書籍の更新日時が変わるため、ETagと同時に変わるようにする）
+     * 
+     * @param bookId 書籍ID
+     * @param delta お気に入り数の増減
+     */
+    void applyFavoriteDelta(String bookId, long delta);
+
+    /**
+     * レビューの評価の変化を書籍の評価の分布（星ごとのレビュー数）に反映する
+     * レビューの書き込みと同じトランザクションで、applyReviewDeltaの後に呼び出す（書籍の行のロックを先に取得する）
+     * 
+     * @param bookId 書籍ID
+     * @param removedRating 分布から除く評価（レビューの削除・評価の変更前、ない場合はnull）
+     * @param addedRating 分布に加える評価（レビューの作成・評価の変更後、ない場合はnull）
+     */
+    void applyRatingDistributionDelta(String bookId, Double removedRating, Double addedRating);
+
+    /**
+     * 書籍の統計情報の変更を検索・カタログインデックスに反映する（キャッシュは書き込み時に削除済み）
+     * レビュー・お気に入りの変更時はBookStatsUpdateQueueからコミット後に非同期で呼び出される
+     * 
+     * @param bookId 書籍ID
+     */
+    void publishBookStats(String bookId);
+
+    /**
+     * 全書籍の評価の合計をレビューから再計算する（一致している書籍は更新しない）
+     * 
+     * @return 更新した書籍数
+     */
+    int refreshRatingSums();
+
+    /**
+     * 全書籍のお気に入り数をお気に入りから再計算する（一致している書籍は更新しない）
+     * 
+     * @return 更新した書籍数
+     */
+    int refreshFavoriteCounts();
+
+    /**
+     * 全書籍の評価の分布をレビューから再計算する（未登録の書籍は登録し、一致している書籍は更新しない）
+     * 
+     * @return 更新した書籍数
+     */
+    int refreshRatingDistributions();
 }
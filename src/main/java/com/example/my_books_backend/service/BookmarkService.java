@@ -14,6 +14,7 @@ public interface BookmarkService {
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
      * @param bookId 書籍ID（nullの場合はすべてが対象）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return ブックマークリスト
      */
     PageResponse<BookmarkResponse> getUserBookmarks(
@@ -21,7 +22,8 @@ public interface BookmarkService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     );
 
     /**
@@ -0,0 +1,64 @@
+package com.example.my_books_backend.service;
+
+import java.util.function.Consumer;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
+import com.example.my_books_backend.dto.favorite.FavoriteResponse;
+import com.example.my_books_backend.dto.review.ReviewResponse;
+
+public interface ExportService {
+
+    /**
+     * 指定されたユーザーが存在するか確認（エクスポートのストリーミング開始前に呼び出す）
+     * 
+     * @param userId ユーザーID
+     */
+    void checkUserExists(Long userId);
+
+    /**
+     * 指定された書籍が存在するか確認（エクスポートのストリーミング開始前に呼び出す）
+     * 
+     * @param bookId 書籍ID
+     */
+    void checkBookExists(String bookId);
+
+    /**
+     * 全書籍（ジャンルIDを含む）を書籍ID順に1件ずつ処理
+     * DBから1行ずつ読み込むため、全件をメモリに保持しない
+     * 
+     * @param action 各書籍の処理
+     */
+    void exportBooks(Consumer<BookResponse> action);
+
+    /**
+     * 指定されたユーザーのレビューをID順に1件ずつ処理
+     * 
+     * @param userId ユーザーID
+     * @param action 各レビューの処理
+     */
+    void exportUserReviews(Long userId, Consumer<ReviewResponse> action);
+
+    /**
+     * 指定されたユーザーのお気に入りをID順に1件ずつ処理
+     * 
+     * @param userId ユーザーID
+     * @param action 各お気に入りの処理
+     */
+    void exportUserFavorites(Long userId, Consumer<FavoriteResponse> action);
+
+    /**
+     * 指定されたユーザーのブックマークをID順に1件ずつ処理
+     * 
+     * @param userId ユーザーID
+     * @param action 各ブックマークの処理
+     */
+    void exportUserBookmarks(Long userId, Consumer<BookmarkResponse> action);
+
+    /**
+     * 指定された書籍のレビューをID順に1件ずつ処理
+     * 
+     * @param bookId 書籍ID
+     * @param action 各レビューの処理
+     */
+    void exportBookReviews(String bookId, Consumer<ReviewResponse> action);
+}
@@ -15,6 +15,7 @@ public interface FavoriteService {
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
      * @param bookId 書籍ID（nullの場合はすべてが対象）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return お気に入りリスト
      */
     PageResponse<FavoriteResponse> getUserFavorites(
@@ -22,7 +23,8 @@ public interface FavoriteService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     );
 
     /**
@@ -1,5 +1,6 @@
 package com.example.my_books_backend.service;
 
+import java.util.List;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.review.ReviewStatsResponse;
 import com.example.my_books_backend.entity.User;
@@ -15,6 +16,7 @@ public interface ReviewService {
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
      * @param bookId 書籍ID（nullの場合はすべてが対象）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return レビューリスト
      */
     PageResponse<ReviewResponse> getUserReviews(
@@ -22,7 +24,8 @@ public interface ReviewService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     );
 
     /**
@@ -32,23 +35,51 @@ public interface ReviewService {
      * @param page ページ番号（1ベース）
      * @param size 1ページあたりの最大結果件数
      * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param includeTotal 総件数・総ページ数を取得するか（falseの場合はCOUNTクエリを実行せず、総件数・総ページ数はnull）
      * @return レビューリスト
      */
     PageResponse<ReviewResponse> getBookReviews(
         String bookId,
         Long page,
         Long size,
+        String sortString,
+        Boolean includeTotal
+    );
+
+    /**
+     * 書籍に対するレビューを取得（カーソルページネーション用）
+     * OFFSETとCOUNTを使用せず、前ページ最後の（ソートフィールド, id）から続きを取得する
+     * 
+     * @param bookId 書籍ID
+     * @param cursor カーソル（前回レスポンスのnextCursor、先頭ページの場合はnullまたは空文字）
+     * @param size 1ページあたりの最大結果件数
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @return レビューリスト（次ページ用のnextCursorを含む）
+     */
+    PageResponse<ReviewResponse> getBookReviewsByCursor(
+        String bookId,
+        String cursor,
+        Long size,
         String sortString
     );
 
     /**
-     * 書籍に対するレビュー数などを取得 （レビュー数・平均評価点）
+     * 書籍に対するレビュー数などを取得 （レビュー数・平均評価点・評価の分布）
+     * レビューを集計せず、保存済みの値を返す
      * 
      * @param bookId 書籍ID
      * @return レビュー数など
      */
     ReviewStatsResponse getBookReviewStats(String bookId);
 
+    /**
+     * 複数の書籍に対するレビュー数などをまとめて取得（一覧ページ用）
+     * 
+     * @param bookIdsQuery カンマ区切りの書籍ID
+     * @return 書籍ごとのレビュー数など（指定した順、存在しない書籍は含まない）
+     */
+    List<ReviewStatsResponse> getBooksReviewStats(String bookIdsQuery);
+
     /**
      * レビューを作成
      * 
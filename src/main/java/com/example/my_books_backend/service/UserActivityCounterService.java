@@ -0,0 +1,49 @@
+package com.example.my_books_backend.service;
+
+import com.example.my_books_backend.dto.user.UserProfileCountsResponse;
+
+public interface UserActivityCounterService {
+
+    /**
+     * ユーザーのお気に入り、ブックマーク、レビューの数を取得する（保存済みの値、集計しない）
+     * 未登録のユーザーは集計した値を返す（登録は整合性チェックで行い、取得時には書き込まない）
+     * 
+     * @param userId ユーザーID
+     * @return お気に入り、ブックマーク、レビューの数
+     */
+    UserProfileCountsResponse getProfileCounts(Long userId);
+
+    /**
+     * 新規ユーザーの操作数を登録する（すべて0）
+     * 
+     * @param userId ユーザーID
+     */
+    void initCounters(Long userId);
+
+    /**
+     * お気に入りの増減をユーザーのお気に入り数に反映する
+     * お気に入りの書き込みと同じトランザクションで呼び出す
+     * 
+     * @param userId ユーザーID
+     * @param delta お気に入り数の増減
+     */
+    void applyFavoriteDelta(Long userId, long delta);
+
+    /**
+     * ブックマークの増減をユーザーのブックマーク数に反映する
+     * ブックマークの書き込みと同じトランザクションで呼び出す
+     * 
+     * @param userId ユーザーID
+     * @param delta ブックマーク数の増減
+     */
+    void applyBookmarkDelta(Long userId, long delta);
+
+    /**
+     * レビューの増減をユーザーのレビュー数に反映する
+     * レビューの書き込みと同じトランザクションで呼び出す
+     * 
+     * @param userId ユーザーID
+     * @param delta レビュー数の増減
+     */
+    void applyReviewDelta(Long userId, long delta);
+}
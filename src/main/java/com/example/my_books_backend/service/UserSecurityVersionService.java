@@ -0,0 +1,21 @@
+package com.example.my_books_backend.service;
+
+public interface UserSecurityVersionService {
+
+    /**
+     * ユーザーの現在のセキュリティバージョンを取得する（キャッシュを経由する）
+     * トークンのセキュリティバージョンと一致しない場合、そのトークンは無効
+     * 
+     * @param userId ユーザーID
+     * @return セキュリティバージョン（ユーザーが存在しない場合はnull）
+     */
+    Long getSecurityVersion(Long userId);
+
+    /**
+     * ユーザーのセキュリティバージョンを1増やし、それより前に発行したトークンを無効にする
+     * パスワード・メールアドレスの変更などと同じトランザクションで呼び出す（キャッシュはコミット後に削除される）
+     * 
+     * @param userId ユーザーID
+     */
+    void incrementSecurityVersion(Long userId);
+}
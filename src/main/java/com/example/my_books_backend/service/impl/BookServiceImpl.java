@@ -2,25 +2,49 @@ package com.example.my_books_backend.service.impl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import com.example.my_books_backend.catalog.BookCatalogIndex;
+import com.example.my_books_backend.catalog.CatalogPage;
+import com.example.my_books_backend.catalog.CatalogResult;
+import com.example.my_books_backend.config.CacheConfig;
+import com.example.my_books_backend.content.PageContentCache;
 import com.example.my_books_backend.dto.PageResponse;
 import com.example.my_books_backend.dto.book.BookDetailsResponse;
 import com.example.my_books_backend.dto.book.BookResponse;
 import com.example.my_books_backend.dto.book_chapter.BookChapterResponse;
 import com.example.my_books_backend.dto.book_chapter.BookTableOfContentsResponse;
 import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageRangeResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
 import com.example.my_books_backend.entity.Book;
 import com.example.my_books_backend.exception.BadRequestException;
 import com.example.my_books_backend.exception.NotFoundException;
 import com.example.my_books_backend.mapper.BookMapper;
 import com.example.my_books_backend.repository.BookRepository;
 import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.repository.BookChapterRepository;
+import com.example.my_books_backend.search.BookSearchIndex;
+import com.example.my_books_backend.search.BookSearchResult;
+import com.example.my_books_backend.stats.BookTrendingIndex;
 import com.example.my_books_backend.service.BookService;
+import com.example.my_books_backend.util.BookGenreUtils;
 import com.example.my_books_backend.util.PageableUtils;
+import com.example.my_books_backend.util.ResourceVersion;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -30,16 +54,39 @@ public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
 
+    private final BookChapterRepository bookChapterRepository;
     private final BookChapterPageContentRepository bookChapterPageContentRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookCatalogIndex bookCatalogIndex;
+    private final BookTrendingIndex bookTrendingIndex;
+    private final PageContentCache pageContentCache;
+
+    // お気に入り数順の書籍一覧は、お気に入りの増減で削除できるよう別のキャッシュに保存する
+    private static final String FAVORITE_COUNT_SORT_CONDITION =
+        "T(com.example.my_books_backend.util.PageableUtils).isSortedBy(#sortString, 'favoriteCount')";
+
+    // 関連度順のソート条件（/books/search のみ指定可能）
+    private static final String RELEVANCE_SORT = "relevance.desc";
+
+    // MySQLのngram_token_sizeと一致させる
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    // BOOLEAN MODEで演算子として解釈される文字（検索語からは除去する）
+    private static final String BOOLEAN_MODE_OPERATORS = "[+\\-<>()~*\"@]";
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Caching(cacheable = {
+        @Cacheable(cacheNames = CacheConfig.BOOK_PAGES_CACHE, condition = "!" + FAVORITE_COUNT_SORT_CONDITION),
+        @Cacheable(cacheNames = CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE, condition = FAVORITE_COUNT_SORT_CONDITION)
+    })
     public PageResponse<BookResponse> getBooks(
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     ) {
         Pageable pageable = PageableUtils.of(
             page,
@@ -47,16 +94,84 @@ public class BookServiceImpl implements BookService {
             sortString,
             PageableUtils.BOOK_ALLOWED_FIELDS
         );
-        Page<Book> pageObj = bookRepository.findByIsDeletedFalse(pageable);
 
-        // 2クエリ戦略を適用
-        Page<Book> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
-            pageObj,
-            bookRepository::findAllByIdInWithRelations,
-            Book::getId
+        // カタログインデックスが構築済みの場合は、並び替え済み配列から指定範囲を切り出す（DBを使わない）
+        if (bookCatalogIndex.isReady()) {
+            CatalogPage catalogPage = bookCatalogIndex.findAll(
+                pageable.getSort(),
+                pageable.getOffset(),
+                pageable.getPageSize()
+            );
+            List<BookResponse> books = catalogPage.getBooks();
+            Slice<BookResponse> responseObj = Boolean.FALSE.equals(includeTotal)
+                ? new SliceImpl<>(
+                    books,
+                    pageable,
+                    pageable.getOffset() + pageable.getPageSize() < catalogPage.getTotal()
+                )
+                : new PageImpl<>(books, pageable, catalogPage.getTotal());
+            return PageableUtils.toPageResponse(responseObj, books);
+        }
+
+        Slice<Book> pageObj = Boolean.FALSE.equals(includeTotal)
+            ? bookRepository.findSliceByIsDeletedFalse(pageable)
+            : bookRepository.findByIsDeletedFalse(pageable);
+
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        return toPageResponse(pageObj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageResponse<BookResponse> getBooksByCursor(
+        String cursor,
+        Long size,
+        String sortString
+    ) {
+        Sort sort = PageableUtils.cursorSort(sortString, PageableUtils.BOOK_ALLOWED_FIELDS);
+        ScrollPosition position = PageableUtils.decodeCursor(cursor, sort);
+        Window<Book> window = bookRepository.findByIsDeletedFalse(
+            position,
+            sort,
+            PageableUtils.cursorLimit(size)
         );
 
-        return bookMapper.toPageResponse(updatedPageObj);
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        List<BookResponse> books = PageableUtils.applyProjectionStrategy(
+            window.getContent(),
+            Book::getId,
+            bookRepository::findBookResponsesByIds,
+            BookResponse::getId
+        );
+        BookGenreUtils.applyGenreIds(books, bookRepository::findBookGenreResponsesByBookIds);
+
+        return PageableUtils.toPageResponse(window, cursor, books);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageResponse<BookResponse> getTrendingBooks(
+        Long page,
+        Long size,
+        Boolean includeTotal
+    ) {
+        Pageable pageable = PageableUtils.ofUnsorted(page, size);
+
+        // 注目度順の並びはインメモリで保持しているため、指定範囲の書籍IDを切り出す（DBで並び替えない）
+        List<String> rankedBookIds = bookTrendingIndex.getRankedBookIds();
+        int fromIndex = (int) Math.min(pageable.getOffset(), rankedBookIds.size());
+        int toIndex = Math.min(fromIndex + pageable.getPageSize(), rankedBookIds.size());
+
+        return toPageResponse(
+            rankedBookIds.subList(fromIndex, toIndex),
+            rankedBookIds.size(),
+            pageable,
+            includeTotal
+        );
     }
 
     /**
@@ -67,36 +182,66 @@ public class BookServiceImpl implements BookService {
         String keyword,
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     ) {
-        Pageable pageable = PageableUtils.of(
-            page,
-            size,
-            sortString,
-            PageableUtils.BOOK_ALLOWED_FIELDS
-        );
-        Page<Book> pageObj = bookRepository.findByTitleContainingAndIsDeletedFalse(keyword, pageable);
+        // インメモリ検索インデックスが構築済みの場合は、DBへは結果ページの主キー取得のみ行う
+        if (bookSearchIndex.isReady() && StringUtils.hasText(keyword)) {
+            return searchByIndex(keyword, page, size, sortString, includeTotal);
+        }
 
-        // 2クエリ戦略を適用
-        Page<Book> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
-            pageObj,
-            bookRepository::findAllByIdInWithRelations,
-            Book::getId
-        );
+        boolean withTotal = !Boolean.FALSE.equals(includeTotal);
+        String booleanModeQuery = toBooleanModeQuery(keyword);
+
+        Slice<Book> pageObj;
+        if (booleanModeQuery.isEmpty()) {
+            // 検索語がない場合はFULLTEXT検索できないため、部分一致検索とする
+            Pageable pageable = PageableUtils.of(
+                page,
+                size,
+                sortString,
+                PageableUtils.BOOK_ALLOWED_FIELDS
+            );
+            pageObj = withTotal
+                ? bookRepository.findByTitleContainingAndIsDeletedFalse(keyword, pageable)
+                : bookRepository.findSliceByTitleContainingAndIsDeletedFalse(keyword, pageable);
+        } else if (RELEVANCE_SORT.equals(sortString)) {
+            // 関連度順（並び順はクエリ側で固定）
+            Pageable pageable = PageableUtils.ofUnsorted(page, size);
+            pageObj = withTotal
+                ? bookRepository.findByFullTextAndIsDeletedFalseOrderByRelevance(booleanModeQuery, pageable)
+                : bookRepository.findSliceByFullTextAndIsDeletedFalseOrderByRelevance(booleanModeQuery, pageable);
+        } else {
+            Pageable pageable = PageableUtils.ofNative(
+                page,
+                size,
+                sortString,
+                PageableUtils.BOOK_ALLOWED_FIELDS
+            );
+            pageObj = withTotal
+                ? bookRepository.findByFullTextAndIsDeletedFalse(booleanModeQuery, pageable)
+                : bookRepository.findSliceByFullTextAndIsDeletedFalse(booleanModeQuery, pageable);
+        }
 
-        return bookMapper.toPageResponse(updatedPageObj);
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        return toPageResponse(pageObj);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Caching(cacheable = {
+        @Cacheable(cacheNames = CacheConfig.BOOK_PAGES_CACHE, condition = "!" + FAVORITE_COUNT_SORT_CONDITION),
+        @Cacheable(cacheNames = CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE, condition = FAVORITE_COUNT_SORT_CONDITION)
+    })
     public PageResponse<BookResponse> getBooksByGenre(
         String genreIdsQuery,
         String conditionQuery,
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     ) {
         if (!("SINGLE".equals(conditionQuery)
             || "AND".equals(conditionQuery)
@@ -117,24 +262,39 @@ public class BookServiceImpl implements BookService {
 
         Boolean isAndCondition = "AND".equals(conditionQuery);
 
-        Page<Book> pageObj = isAndCondition
-            ? bookRepository.findBooksHavingAllGenres(genreIds, (long) genreIds.size(), pageable)
-            : bookRepository.findDistinctByGenres_IdInAndIsDeletedFalse(genreIds, pageable);
+        // カタログインデックスが構築済みの場合は、ビットマップの積集合・和集合で検索する
+        if (bookCatalogIndex.isReady()) {
+            CatalogResult result = bookCatalogIndex.findByGenres(
+                genreIds,
+                isAndCondition,
+                pageable.getSort(),
+                pageable.getOffset(),
+                pageable.getPageSize()
+            );
+            return toPageResponse(result.getBookIds(), result.getTotal(), pageable, includeTotal);
+        }
 
-        // 2クエリ戦略を適用
-        Page<Book> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
-            pageObj,
-            bookRepository::findAllByIdInWithRelations,
-            Book::getId
-        );
+        // 総件数が不要な場合はSliceで取得し、COUNTクエリ（AND条件ではGROUP BY/HAVINGの再実行）を省略する
+        Slice<Book> pageObj;
+        if (Boolean.FALSE.equals(includeTotal)) {
+            pageObj = isAndCondition
+                ? bookRepository.findSliceBooksHavingAllGenres(genreIds, (long) genreIds.size(), pageable)
+                : bookRepository.findSliceDistinctByGenres_IdInAndIsDeletedFalse(genreIds, pageable);
+        } else {
+            pageObj = isAndCondition
+                ? bookRepository.findBooksHavingAllGenres(genreIds, (long) genreIds.size(), pageable)
+                : bookRepository.findDistinctByGenres_IdInAndIsDeletedFalse(genreIds, pageable);
+        }
 
-        return bookMapper.toPageResponse(updatedPageObj);
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        return toPageResponse(pageObj);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_DETAILS_CACHE, key = "#id")
     public BookDetailsResponse getBookDetails(String id) {
         Book book = bookRepository.findById(id)
             .orElseThrow(() -> new NotFoundException("Book not found"));
@@ -146,21 +306,37 @@ public class BookServiceImpl implements BookService {
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.BOOK_TABLE_OF_CONTENTS_CACHE, key = "#id")
     public BookTableOfContentsResponse getBookTableOfContents(String id) {
         Book book = bookRepository.findById(id)
             .orElseThrow(() -> new NotFoundException("Book not found"));
 
-        List<BookChapterResponse> chapterResponses = bookChapterPageContentRepository
+        // 章ごとのページ数は保存済みの値を使用する（ページコンテンツを集計しない）
+        List<BookChapterResponse> chapterResponses = bookChapterRepository
             .findChapterResponsesByBookId(id);
+        long totalPages = chapterResponses.stream()
+            .mapToLong(BookChapterResponse::getTotalPages)
+            .sum();
 
         BookTableOfContentsResponse response = new BookTableOfContentsResponse();
         response.setBookId(id);
         response.setTitle(book.getTitle());
+        response.setTotalPages(totalPages);
         response.setChapters(chapterResponses);
 
         return response;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BOOK_TABLE_OF_CONTENTS_CACHE, allEntries = true)
+    public int refreshChapterPageCounts() {
+        return bookChapterRepository.refreshPageCounts();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -170,13 +346,214 @@ public class BookServiceImpl implements BookService {
         Long chapterNumber,
         Long pageNumber
     ) {
-        return bookChapterPageContentRepository
-            .findChapterPageContentResponse(bookId, chapterNumber, pageNumber)
+        // 圧縮キャッシュから取得し、同じ章の後続ページを先読みする
+        return pageContentCache.get(bookId, chapterNumber, pageNumber)
+            .orElseThrow(() -> new NotFoundException("BookChapterPageContent not found"));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompressedPageContentResponse getBookChapterPageCompressedContent(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    ) {
+        return pageContentCache.getCompressed(bookId, chapterNumber, pageNumber)
             .orElseThrow(() -> new NotFoundException("BookChapterPageContent not found"));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BookChapterPageRangeResponse getBookChapterPageRange(
+        String bookId,
+        Long chapterNumber,
+        Long fromPage,
+        Long toPage
+    ) {
+        Long totalPages = bookChapterRepository.findPageCount(bookId, chapterNumber);
+        if (totalPages == null || totalPages == 0) {
+            throw new NotFoundException("BookChapterPageContent not found");
+        }
+
+        long from = (fromPage != null) ? fromPage : 1L;
+        long to = (toPage != null) ? Math.min(toPage, totalPages) : totalPages;
+        if (from < 1 || from > to) {
+            throw new BadRequestException("ページ範囲が不正です。");
+        }
+
+        return new BookChapterPageRangeResponse(bookId, chapterNumber, from, to, totalPages);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachBookChapterPageContent(
+        BookChapterPageRangeResponse range,
+        Consumer<BookChapterPageContentResponse> action
+    ) {
+        // ストリームはトランザクション内で読み切り、最後に閉じる（閉じるまでDB接続を保持するため）
+        try (Stream<BookChapterPageContentResponse> pages = bookChapterPageContentRepository
+            .streamChapterPageContentResponses(
+                range.getBookId(),
+                range.getChapterNumber(),
+                range.getFromPage(),
+                range.getToPage()
+            )) {
+            pages.forEach(page -> {
+                page.setTotalPagesInChapter(range.getTotalPagesInChapter());
+                action.accept(page);
+            });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion getBookDetailsVersion(String id) {
+        return ResourceVersion.of(
+            bookRepository.getVersionResponse(id),
+            bookRepository.getGenreVersionResponse(id)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion getBookTableOfContentsVersion(String id) {
+        return ResourceVersion.of(
+            bookRepository.getVersionResponse(id),
+            bookChapterRepository.getVersionResponse(id),
+            bookChapterPageContentRepository.getVersionResponse(id)
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResourceVersion getBookChapterPageContentVersion(
+        String bookId,
+        Long chapterNumber,
+        Long pageNumber
+    ) {
+        return ResourceVersion.of(
+            bookChapterPageContentRepository.getVersionResponse(bookId, chapterNumber, pageNumber),
+            bookChapterPageContentRepository.getVersionResponse(bookId, chapterNumber),
+            bookChapterRepository.getVersionResponse(bookId, chapterNumber)
+        );
+    }
+
     // ----プライベートメソッド----
 
+    /**
+     * インメモリ検索インデックスで書籍を検索
+     * 
+     * @param keyword 検索キーワード
+     * @param page ページ番号（1ベース）
+     * @param size 1ページあたりの最大結果件数
+     * @param sortString ソート条件（関連度順は"relevance.desc"）
+     * @param includeTotal 総件数・総ページ数を返すか
+     * @return 検索結果
+     */
+    private PageResponse<BookResponse> searchByIndex(
+        String keyword,
+        Long page,
+        Long size,
+        String sortString,
+        Boolean includeTotal
+    ) {
+        Pageable pageable = RELEVANCE_SORT.equals(sortString)
+            ? PageableUtils.ofUnsorted(page, size)
+            : PageableUtils.of(page, size, sortString, PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        BookSearchResult result = bookSearchIndex.search(
+            keyword,
+            pageable.getSort(),
+            pageable.getOffset(),
+            pageable.getPageSize()
+        );
+
+        return toPageResponse(result.getBookIds(), result.getTotalHits(), pageable, includeTotal);
+    }
+
+    /**
+     * インメモリインデックスで求めた書籍IDのリストから、ページを作成（DTOプロジェクション）
+     * 
+     * @param bookIds 表示順の書籍IDリスト
+     * @param total 総件数
+     * @param pageable ページ情報
+     * @param includeTotal 総件数・総ページ数を返すか
+     * @return ページ
+     */
+    private PageResponse<BookResponse> toPageResponse(
+        List<String> bookIds,
+        long total,
+        Pageable pageable,
+        Boolean includeTotal
+    ) {
+        List<BookResponse> books = PageableUtils.findAllInIdOrder(
+            bookIds,
+            bookRepository::findBookResponsesByIds,
+            BookResponse::getId
+        );
+        BookGenreUtils.applyGenreIds(books, bookRepository::findBookGenreResponsesByBookIds);
+
+        Slice<BookResponse> pageObj = Boolean.FALSE.equals(includeTotal)
+            ? new SliceImpl<>(books, pageable, pageable.getOffset() + pageable.getPageSize() < total)
+            : new PageImpl<>(books, pageable, total);
+
+        return PageableUtils.toPageResponse(pageObj, books);
+    }
+
+    /**
+     * 初回クエリの結果から、2クエリ戦略でページを作成
+     * 2回目のクエリはDTOプロジェクションで行い、エンティティを経由せずにレスポンスを作成する
+     * 
+     * @param pageObj 初回クエリの結果（PageまたはSlice）
+     * @return ページ
+     */
+    private PageResponse<BookResponse> toPageResponse(Slice<Book> pageObj) {
+        Slice<BookResponse> responseObj = PageableUtils.applyProjectionStrategy(
+            pageObj,
+            Book::getId,
+            bookRepository::findBookResponsesByIds,
+            BookResponse::getId
+        );
+        BookGenreUtils.applyGenreIds(responseObj.getContent(), bookRepository::findBookGenreResponsesByBookIds);
+
+        return PageableUtils.toPageResponse(responseObj, responseObj.getContent());
+    }
+
+    /**
+     * 検索キーワードをFULLTEXT検索（BOOLEAN MODE）のクエリ文字列に変換
+     * 空白区切りの各語をすべて含む（AND条件）書籍を検索する
+     * - ngram_token_size以上の語: フレーズ指定（+"語"）で連続した文字列として一致させる
+     * - ngram_token_size未満の語（1文字）: 前方一致（+語*）で、その文字から始まるトークンに一致させる
+     * 
+     * @param keyword 検索キーワード
+     * @return BOOLEAN MODEのクエリ文字列（検索語がない場合は空文字）
+     */
+    private String toBooleanModeQuery(String keyword) {
+        if (keyword == null) {
+            return "";
+        }
+
+        return Arrays.stream(keyword.trim().split("[\\s\u3000]+"))
+            .map(term -> term.replaceAll(BOOLEAN_MODE_OPERATORS, ""))
+            .filter(term -> !term.isEmpty())
+            .map(term -> term.codePointCount(0, term.length()) < NGRAM_TOKEN_SIZE
+                ? "+" + term + "*"
+                : "+\"" + term + "\"")
+            .collect(Collectors.joining(" "));
+    }
+
     private Long parseGenreId(String id) {
         try {
             return Long.parseLong(id);
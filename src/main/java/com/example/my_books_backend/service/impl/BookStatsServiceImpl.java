@@ -1,61 +1,158 @@
 package com.example.my_books_backend.service.impl;
 
-import com.example.my_books_backend.dto.review.ReviewStatsResponse;
+import com.example.my_books_backend.config.CacheConfig;
 import com.example.my_books_backend.entity.Book;
 import com.example.my_books_backend.exception.NotFoundException;
+import com.example.my_books_backend.repository.BookRatingHistogramRepository;
 import com.example.my_books_backend.repository.BookRepository;
-import com.example.my_books_backend.repository.ReviewRepository;
+import com.example.my_books_backend.event.BookStatsChangedEvent;
 import com.example.my_books_backend.service.BookStatsService;
+import com.example.my_books_backend.util.BookStatsUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookStatsServiceImpl implements BookStatsService {
     private final BookRepository bookRepository;
-    private final ReviewRepository reviewRepository;
+    private final BookRatingHistogramRepository bookRatingHistogramRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * {@inheritDoc}
      */
+    @Override
     @Transactional
-    public void updateBookStats(String bookId) {
-        ReviewStatsResponse counts = reviewRepository.getReviewStatsResponse(bookId);
-        long reviewCount = counts.getReviewCount();
-        double averageRating = counts.getAverageRating();
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BOOK_DETAILS_CACHE, key = "#bookId"),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_PAGES_CACHE, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE, allEntries = true)
+    })
+    public void applyReviewDelta(String bookId, long countDelta, double ratingDelta) {
+        if (countDelta == 0 && ratingDelta == 0.0) {
+            return;
+        }
+        int updated = bookRepository.applyReviewStatsDelta(bookId, countDelta, ratingDelta);
+        if (updated == 0) {
+            // 保存済みの値がレビューと一致していない場合は、レビューから再計算する
+            log.warn("書籍の統計情報に増減を反映できないため再計算します: {}", bookId);
+            recalculate(bookId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    // 書籍一覧の項目にお気に入り数は含まれないため、並び順が変わるお気に入り数順の書籍一覧のみ削除する
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BOOK_DETAILS_CACHE, key = "#bookId"),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE, allEntries = true)
+    })
+    public void applyFavoriteDelta(String bookId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        int updated = bookRepository.applyFavoriteCountDelta(bookId, delta);
+        if (updated == 0) {
+            // 保存済みの値がお気に入りと一致していない場合は、お気に入りから再計算する
+            // 書籍の行全体を保存せず、お気に入り数のみを更新する（同時に更新された他の列を上書きしない）
+            log.warn("書籍のお気に入り数に増減を反映できないため再計算します: {}", bookId);
+            if (bookRepository.refreshFavoriteCount(bookId) == 0) {
+                throw new NotFoundException("Book not found");
+            }
+        }
+    }
 
-        double popularity = calculatePopularity(reviewCount, averageRating);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void applyRatingDistributionDelta(String bookId, Double removedRating, Double addedRating) {
+        long[] deltas = new long[6];
+        if (removedRating != null) {
+            deltas[BookStatsUtils.ratingToStars(removedRating)]--;
+        }
+        if (addedRating != null) {
+            deltas[BookStatsUtils.ratingToStars(addedRating)]++;
+        }
+        if (deltas[1] == 0 && deltas[2] == 0 && deltas[3] == 0 && deltas[4] == 0 && deltas[5] == 0) {
+            return;
+        }
+        // 未登録の場合も1回のUPSERTで反映する（ずれは統計情報の再計算で修正される）
+        bookRatingHistogramRepository.applyDelta(bookId, deltas[1], deltas[2], deltas[3], deltas[4], deltas[5]);
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publishBookStats(String bookId) {
         Book book = bookRepository.findById(bookId)
             .orElseThrow(() -> new NotFoundException("Book not found"));
 
-        book.setReviewCount(reviewCount);
-        book.setAverageRating(Math.round(averageRating * 100.0) / 100.0);
-        book.setPopularity(Math.round(popularity * 100.0) / 100.0); // 小数点以下2桁に調整
+        publishStatsChanged(book);
+    }
 
-        bookRepository.save(book);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int refreshRatingSums() {
+        return bookRepository.refreshRatingSums();
     }
 
     /**
-     * 基本的な重み付きスコアによる人気度計算
-     * 計算式: 平均点数 × log(レビュー数 + 1) × 20
-     * 
-     * @param reviewCount レビュー数
-     * @param averageRating 平均評価（0.0-5.0）
-     * @return 人気度スコア（0-100程度の範囲）
+     * {@inheritDoc}
      */
-    private double calculatePopularity(long reviewCount, double averageRating) {
-        if (reviewCount == 0 || averageRating == 0.0) {
-            return 0.0;
-        }
+    @Override
+    @Transactional
+    public int refreshFavoriteCounts() {
+        return bookRepository.refreshFavoriteCounts();
+    }
 
-        // 基本的な重み付きスコア
-        // Math.log()は自然対数
-        double logWeight = Math.log(reviewCount + 1);
-        double popularity = averageRating * logWeight * 20;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int refreshRatingDistributions() {
+        bookRatingHistogramRepository.insertMissing();
+        return bookRatingHistogramRepository.refreshFromReviews();
+    }
+
+    /**
+     * レビューから統計情報を再計算して保存
+     * 書籍の行全体を保存せず、レビューの統計情報の列のみを更新する（同時に更新されたお気に入り数を上書きしない）
+     * 平均評価・人気度は、増減の反映と同じ式で再計算したレビュー数・評価の合計から求める（増減0を反映する）
+     */
+    private void recalculate(String bookId) {
+        if (bookRepository.recalculateReviewStats(bookId) == 0) {
+            throw new NotFoundException("Book not found");
+        }
+        bookRepository.applyReviewStatsDelta(bookId, 0, 0.0);
+    }
 
-        return popularity;
+    /**
+     * 検索・カタログインデックスのソート用の値（レビュー数・評価・人気度・お気に入り数）をコミット後に更新
+     */
+    private void publishStatsChanged(Book book) {
+        eventPublisher.publishEvent(new BookStatsChangedEvent(
+            book.getId(),
+            book.getReviewCount(),
+            book.getAverageRating(),
+            book.getPopularity(),
+            book.getFavoriteCount()
+        ));
     }
 }
@@ -4,8 +4,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.my_books_backend.dto.PageResponse;
@@ -22,8 +22,11 @@ import com.example.my_books_backend.exception.NotFoundException;
 import com.example.my_books_backend.mapper.BookmarkMapper;
 import com.example.my_books_backend.repository.BookChapterPageContentRepository;
 import com.example.my_books_backend.repository.BookChapterRepository;
+import com.example.my_books_backend.repository.BookRepository;
 import com.example.my_books_backend.repository.BookmarkRepository;
 import com.example.my_books_backend.service.BookmarkService;
+import com.example.my_books_backend.service.UserActivityCounterService;
+import com.example.my_books_backend.util.BookGenreUtils;
 import com.example.my_books_backend.util.PageableUtils;
 import lombok.RequiredArgsConstructor;
 
@@ -36,6 +39,8 @@ public class BookmarkServiceImpl implements BookmarkService {
 
     private final BookChapterPageContentRepository bookChapterPageContentRepository;
     private final BookChapterRepository bookChapterRepository;
+    private final BookRepository bookRepository;
+    private final UserActivityCounterService userActivityCounterService;
 
     /**
      * {@inheritDoc}
@@ -46,7 +51,8 @@ public class BookmarkServiceImpl implements BookmarkService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     ) {
         Pageable pageable = PageableUtils.of(
             page,
@@ -54,18 +60,30 @@ public class BookmarkServiceImpl implements BookmarkService {
             sortString,
             PageableUtils.BOOKMARK_ALLOWED_FIELDS
         );
-        Page<Bookmark> pageObj = (bookId == null)
-            ? bookmarkRepository.findByUserAndIsDeletedFalse(user, pageable)
-            : bookmarkRepository.findByUserAndIsDeletedFalseAndPageContent_BookId(user, bookId, pageable);
+        Slice<Bookmark> pageObj;
+        if (Boolean.FALSE.equals(includeTotal)) {
+            pageObj = (bookId == null)
+                ? bookmarkRepository.findSliceByUserAndIsDeletedFalse(user, pageable)
+                : bookmarkRepository.findSliceByUserAndIsDeletedFalseAndPageContent_BookId(user, bookId, pageable);
+        } else {
+            pageObj = (bookId == null)
+                ? bookmarkRepository.findByUserAndIsDeletedFalse(user, pageable)
+                : bookmarkRepository.findByUserAndIsDeletedFalseAndPageContent_BookId(user, bookId, pageable);
+        }
 
-        // 2クエリ戦略を適用
-        Page<Bookmark> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        Slice<BookmarkResponse> responseObj = PageableUtils.applyProjectionStrategy(
             pageObj,
-            bookmarkRepository::findAllByIdInWithRelations,
-            Bookmark::getId
+            Bookmark::getId,
+            bookmarkRepository::findBookmarkResponsesByIds,
+            BookmarkResponse::getId
         );
+        applyGenreIds(responseObj.getContent());
 
-        PageResponse<BookmarkResponse> response = bookmarkMapper.toPageResponse(updatedPageObj);
+        PageResponse<BookmarkResponse> response = PageableUtils.toPageResponse(
+            responseObj,
+            responseObj.getContent()
+        );
 
         // 章タイトルを動的に取得して追加
         addChapterTitles(response.getData());
@@ -138,6 +156,10 @@ public class BookmarkServiceImpl implements BookmarkService {
         bookmark.setNote(request.getNote());
 
         Bookmark savedBookmark = bookmarkRepository.save(bookmark);
+
+        // ユーザーのブックマーク数に1件分を加算
+        userActivityCounterService.applyBookmarkDelta(user.getId(), 1);
+
         return bookmarkMapper.toBookmarkResponse(savedBookmark);
     }
 
@@ -177,7 +199,27 @@ public class BookmarkServiceImpl implements BookmarkService {
             throw new ForbiddenException("このブックマークを削除する権限がありません");
         }
 
+        // 削除済みのブックマークはブックマーク数から減算しない
+        if (bookmark.getIsDeleted()) {
+            return;
+        }
+
         bookmark.setIsDeleted(true);
         bookmarkRepository.save(bookmark);
+
+        // ユーザーのブックマーク数から1件分を減算
+        userActivityCounterService.applyBookmarkDelta(user.getId(), -1);
+    }
+
+    /**
+     * ブックマークの書籍にジャンルIDを設定
+     * 
+     * @param bookmarks DTOプロジェクションで取得したブックマークのリスト
+     */
+    private void applyGenreIds(List<BookmarkResponse> bookmarks) {
+        BookGenreUtils.applyGenreIds(
+            bookmarks.stream().map(BookmarkResponse::getBook).toList(),
+            bookRepository::findBookGenreResponsesByBookIds
+        );
     }
 }
@@ -0,0 +1,117 @@
+package com.example.my_books_backend.service.impl;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.dto.bookmark.BookmarkResponse;
+import com.example.my_books_backend.dto.favorite.FavoriteResponse;
+import com.example.my_books_backend.dto.review.ReviewResponse;
+import com.example.my_books_backend.exception.NotFoundException;
+import com.example.my_books_backend.repository.BookRepository;
+import com.example.my_books_backend.repository.BookmarkRepository;
+import com.example.my_books_backend.repository.FavoriteRepository;
+import com.example.my_books_backend.repository.ReviewRepository;
+import com.example.my_books_backend.repository.UserRepository;
+import com.example.my_books_backend.service.ExportService;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+    private final BookRepository bookRepository;
+    private final ReviewRepository reviewRepository;
+    private final FavoriteRepository favoriteRepository;
+    private final BookmarkRepository bookmarkRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("User not found");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void checkBookExists(String bookId) {
+        if (!bookRepository.existsById(bookId)) {
+            throw new NotFoundException("Book not found");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportBooks(Consumer<BookResponse> action) {
+        // ストリームはトランザクション内で読み切り、最後に閉じる（閉じるまでDB接続を保持するため）
+        try (Stream<BookResponse> rows = bookRepository.streamBookResponsesWithGenreId()) {
+            // 書籍ID順に並んでいるため、連続する同じ書籍の行（ジャンルごと）を1件にまとめる
+            Iterator<BookResponse> iterator = rows.iterator();
+            BookResponse current = null;
+            while (iterator.hasNext()) {
+                BookResponse row = iterator.next();
+                if (current != null && current.getId().equals(row.getId())) {
+                    current.getGenreIds().addAll(row.getGenreIds());
+                    continue;
+                }
+                if (current != null) {
+                    action.accept(current);
+                }
+                current = row;
+            }
+            if (current != null) {
+                action.accept(current);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportUserReviews(Long userId, Consumer<ReviewResponse> action) {
+        try (Stream<ReviewResponse> rows = reviewRepository.streamReviewResponsesByUserId(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportUserFavorites(Long userId, Consumer<FavoriteResponse> action) {
+        try (Stream<FavoriteResponse> rows = favoriteRepository.streamFavoriteResponsesByUserId(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportUserBookmarks(Long userId, Consumer<BookmarkResponse> action) {
+        try (Stream<BookmarkResponse> rows = bookmarkRepository.streamBookmarkResponsesByUserId(userId)) {
+            rows.forEach(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportBookReviews(String bookId, Consumer<ReviewResponse> action) {
+        try (Stream<ReviewResponse> rows = reviewRepository.streamReviewResponsesByBookId(bookId)) {
+            rows.forEach(action);
+        }
+    }
+}
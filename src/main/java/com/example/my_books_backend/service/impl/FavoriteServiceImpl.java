@@ -1,8 +1,10 @@
 package com.example.my_books_backend.service.impl;
 
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.my_books_backend.dto.favorite.FavoriteRequest;
@@ -12,13 +14,17 @@ import com.example.my_books_backend.dto.favorite.FavoriteStatsResponse;
 import com.example.my_books_backend.entity.Book;
 import com.example.my_books_backend.entity.Favorite;
 import com.example.my_books_backend.entity.User;
+import com.example.my_books_backend.event.FavoriteChangedEvent;
 import com.example.my_books_backend.exception.ConflictException;
 import com.example.my_books_backend.exception.ForbiddenException;
 import com.example.my_books_backend.exception.NotFoundException;
 import com.example.my_books_backend.mapper.FavoriteMapper;
 import com.example.my_books_backend.repository.BookRepository;
 import com.example.my_books_backend.repository.FavoriteRepository;
+import com.example.my_books_backend.service.BookStatsService;
 import com.example.my_books_backend.service.FavoriteService;
+import com.example.my_books_backend.service.UserActivityCounterService;
+import com.example.my_books_backend.util.BookGenreUtils;
 import com.example.my_books_backend.util.PageableUtils;
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +36,9 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final FavoriteMapper favoriteMapper;
 
     private final BookRepository bookRepository;
+    private final BookStatsService bookStatsService;
+    private final UserActivityCounterService userActivityCounterService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * {@inheritDoc}
@@ -40,7 +49,8 @@ public class FavoriteServiceImpl implements FavoriteService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     ) {
         Pageable pageable = PageableUtils.of(
             page,
@@ -48,18 +58,27 @@ public class FavoriteServiceImpl implements FavoriteService {
             sortString,
             PageableUtils.FAVORITE_ALLOWED_FIELDS
         );
-        Page<Favorite> pageObj = (bookId == null)
-            ? favoriteRepository.findByUserAndIsDeletedFalse(user, pageable)
-            : favoriteRepository.findByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        Slice<Favorite> pageObj;
+        if (Boolean.FALSE.equals(includeTotal)) {
+            pageObj = (bookId == null)
+                ? favoriteRepository.findSliceByUserAndIsDeletedFalse(user, pageable)
+                : favoriteRepository.findSliceByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        } else {
+            pageObj = (bookId == null)
+                ? favoriteRepository.findByUserAndIsDeletedFalse(user, pageable)
+                : favoriteRepository.findByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        }
 
-        // 2クエリ戦略を適用
-        Page<Favorite> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        Slice<FavoriteResponse> responseObj = PageableUtils.applyProjectionStrategy(
             pageObj,
-            favoriteRepository::findAllByIdInWithRelations,
-            Favorite::getId
+            Favorite::getId,
+            favoriteRepository::findFavoriteResponsesByIds,
+            FavoriteResponse::getId
         );
+        applyGenreIds(responseObj.getContent());
 
-        return favoriteMapper.toPageResponse(updatedPageObj);
+        return PageableUtils.toPageResponse(responseObj, responseObj.getContent());
     }
 
     /**
@@ -67,7 +86,9 @@ public class FavoriteServiceImpl implements FavoriteService {
      */
     @Override
     public FavoriteStatsResponse getBookFavoriteStats(String bookId) {
-        return favoriteRepository.getFavoriteStatsResponse(bookId);
+        // お気に入りを集計せず、保存済みのお気に入り数を返す
+        return bookRepository.findFavoriteStatsResponse(bookId)
+            .orElseGet(() -> new FavoriteStatsResponse(bookId, 0L));
     }
 
     /**
@@ -94,6 +115,13 @@ public class FavoriteServiceImpl implements FavoriteService {
         favorite.setBook(book);
 
         Favorite savedFavorite = favoriteRepository.save(favorite);
+
+        // 書籍・ユーザーのお気に入り数に1件分を加算
+        // キャッシュはコミット後に削除し、インデックスへの反映はコミット後に非同期で行う
+        bookStatsService.applyFavoriteDelta(book.getId(), 1);
+        userActivityCounterService.applyFavoriteDelta(user.getId(), 1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(book.getId(), true));
+
         return favoriteMapper.toFavoriteResponse(savedFavorite);
     }
 
@@ -110,8 +138,7 @@ public class FavoriteServiceImpl implements FavoriteService {
             throw new ForbiddenException("このお気に入りを削除する権限がありません");
         }
 
-        favorite.setIsDeleted(true);
-        favoriteRepository.save(favorite);
+        removeFavorite(favorite);
     }
 
     /**
@@ -126,7 +153,38 @@ public class FavoriteServiceImpl implements FavoriteService {
         Favorite favorite = favoriteRepository.findByUserAndBook(user, book)
             .orElseThrow(() -> new NotFoundException("favorite not found"));
 
+        removeFavorite(favorite);
+    }
+
+    /**
+     * お気に入りを削除し、書籍・ユーザーのお気に入り数から1件分を減算
+     * （削除済みのお気に入りは減算しない）
+     * 
+     * @param favorite 削除するお気に入り
+     */
+    private void removeFavorite(Favorite favorite) {
+        if (favorite.getIsDeleted()) {
+            return;
+        }
+
         favorite.setIsDeleted(true);
         favoriteRepository.save(favorite);
+
+        String bookId = favorite.getBook().getId();
+        bookStatsService.applyFavoriteDelta(bookId, -1);
+        userActivityCounterService.applyFavoriteDelta(favorite.getUser().getId(), -1);
+        eventPublisher.publishEvent(new FavoriteChangedEvent(bookId, false));
+    }
+
+    /**
+     * お気に入りの書籍にジャンルIDを設定
+     * 
+     * @param favorites DTOプロジェクションで取得したお気に入りのリスト
+     */
+    private void applyGenreIds(List<FavoriteResponse> favorites) {
+        BookGenreUtils.applyGenreIds(
+            favorites.stream().map(FavoriteResponse::getBook).toList(),
+            bookRepository::findBookGenreResponsesByBookIds
+        );
     }
 }
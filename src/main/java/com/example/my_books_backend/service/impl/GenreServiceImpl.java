@@ -1,11 +1,17 @@
 package com.example.my_books_backend.service.impl;
 
 import java.util.List;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.my_books_backend.config.CacheConfig;
 import com.example.my_books_backend.dto.genre.GenreRequest;
 import com.example.my_books_backend.dto.genre.GenreResponse;
 import com.example.my_books_backend.entity.Genre;
+import com.example.my_books_backend.event.GenreDeletedEvent;
 import com.example.my_books_backend.exception.NotFoundException;
 import com.example.my_books_backend.mapper.GenreMapper;
 import com.example.my_books_backend.repository.GenreRepository;
@@ -18,11 +24,13 @@ import lombok.RequiredArgsConstructor;
 public class GenreServiceImpl implements GenreService {
     private final GenreRepository genreRepository;
     private final GenreMapper genreMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.GENRES_CACHE, key = "'all'")
     public List<GenreResponse> getAllGenres() {
         List<Genre> genres = genreRepository.findAll();
         return genreMapper.toGenreResponseList(genres);
@@ -32,6 +40,7 @@ public class GenreServiceImpl implements GenreService {
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.GENRES_CACHE, key = "#id")
     public GenreResponse getGenreById(Long id) {
         Genre genre = genreRepository.findById(id)
             .orElseThrow(() -> new NotFoundException("Genre not found"));
@@ -52,6 +61,7 @@ public class GenreServiceImpl implements GenreService {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRES_CACHE, allEntries = true)
     public GenreResponse createGenre(GenreRequest request) {
         Genre genre = new Genre();
         genre.setName(request.getName());
@@ -65,6 +75,10 @@ public class GenreServiceImpl implements GenreService {
      */
     @Override
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.GENRES_CACHE, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_DETAILS_CACHE, allEntries = true)
+    })
     public GenreResponse updateGenre(Long id, GenreRequest request) {
         Genre genre = genreRepository.findById(id)
             .orElseThrow(() -> new NotFoundException("Genre not found"));
@@ -88,10 +102,19 @@ public class GenreServiceImpl implements GenreService {
      */
     @Override
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.GENRES_CACHE, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_DETAILS_CACHE, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_PAGES_CACHE, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE, allEntries = true)
+    })
     public void deleteGenre(Long id) {
         if (!genreRepository.existsById(id)) {
             throw new NotFoundException("Genre not found");
         }
         genreRepository.deleteById(id);
+
+        // カタログインデックスからジャンルをコミット後に削除
+        eventPublisher.publishEvent(new GenreDeletedEvent(id));
     }
 }
@@ -1,8 +1,18 @@
 package com.example.my_books_backend.service.impl;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.my_books_backend.dto.PageResponse;
@@ -10,16 +20,23 @@ import com.example.my_books_backend.dto.review.ReviewStatsResponse;
 import com.example.my_books_backend.dto.review.ReviewRequest;
 import com.example.my_books_backend.dto.review.ReviewResponse;
 import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.entity.BookRatingHistogram;
 import com.example.my_books_backend.entity.Review;
 import com.example.my_books_backend.entity.User;
+import com.example.my_books_backend.event.ReviewChangedEvent;
+import com.example.my_books_backend.exception.BadRequestException;
 import com.example.my_books_backend.exception.ConflictException;
 import com.example.my_books_backend.exception.ForbiddenException;
 import com.example.my_books_backend.exception.NotFoundException;
 import com.example.my_books_backend.mapper.ReviewMapper;
+import com.example.my_books_backend.repository.BookRatingHistogramRepository;
 import com.example.my_books_backend.repository.BookRepository;
 import com.example.my_books_backend.repository.ReviewRepository;
+import com.example.my_books_backend.repository.UserRepository;
 import com.example.my_books_backend.service.BookStatsService;
 import com.example.my_books_backend.service.ReviewService;
+import com.example.my_books_backend.service.UserActivityCounterService;
+import com.example.my_books_backend.util.BookGenreUtils;
 import com.example.my_books_backend.util.PageableUtils;
 import lombok.RequiredArgsConstructor;
 
@@ -31,7 +48,14 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewMapper reviewMapper;
 
     private final BookRepository bookRepository;
+    private final BookRatingHistogramRepository bookRatingHistogramRepository;
+    private final UserRepository userRepository;
     private final BookStatsService bookStatsService;
+    private final UserActivityCounterService userActivityCounterService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 一度に取得できるレビュー統計の書籍数
+    private static final int MAX_STATS_BOOK_IDS = 100;
 
     /**
      * {@inheritDoc}
@@ -42,7 +66,8 @@ public class ReviewServiceImpl implements ReviewService {
         Long page,
         Long size,
         String sortString,
-        String bookId
+        String bookId,
+        Boolean includeTotal
     ) {
         Pageable pageable = PageableUtils.of(
             page,
@@ -50,18 +75,27 @@ public class ReviewServiceImpl implements ReviewService {
             sortString,
             PageableUtils.REVIEW_ALLOWED_FIELDS
         );
-        Page<Review> pageObj = (bookId == null)
-            ? reviewRepository.findByUserAndIsDeletedFalse(user, pageable)
-            : reviewRepository.findByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        Slice<Review> pageObj;
+        if (Boolean.FALSE.equals(includeTotal)) {
+            pageObj = (bookId == null)
+                ? reviewRepository.findSliceByUserAndIsDeletedFalse(user, pageable)
+                : reviewRepository.findSliceByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        } else {
+            pageObj = (bookId == null)
+                ? reviewRepository.findByUserAndIsDeletedFalse(user, pageable)
+                : reviewRepository.findByUserAndIsDeletedFalseAndBookId(user, bookId, pageable);
+        }
 
-        // 2クエリ戦略を適用
-        Page<Review> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        Slice<ReviewResponse> responseObj = PageableUtils.applyProjectionStrategy(
             pageObj,
-            reviewRepository::findAllByIdInWithRelations,
-            Review::getId
+            Review::getId,
+            reviewRepository::findReviewResponsesByIds,
+            ReviewResponse::getId
         );
+        applyGenreIds(responseObj.getContent());
 
-        return reviewMapper.toPageResponse(updatedPageObj);
+        return PageableUtils.toPageResponse(responseObj, responseObj.getContent());
     }
 
     /**
@@ -72,7 +106,8 @@ public class ReviewServiceImpl implements ReviewService {
         String bookId,
         Long page,
         Long size,
-        String sortString
+        String sortString,
+        Boolean includeTotal
     ) {
         Pageable pageable = PageableUtils.of(
             page,
@@ -80,16 +115,51 @@ public class ReviewServiceImpl implements ReviewService {
             sortString,
             PageableUtils.REVIEW_ALLOWED_FIELDS
         );
-        Page<Review> pageObj = reviewRepository.findByBookIdAndIsDeletedFalse(bookId, pageable);
+        Slice<Review> pageObj = Boolean.FALSE.equals(includeTotal)
+            ? reviewRepository.findSliceByBookIdAndIsDeletedFalse(bookId, pageable)
+            : reviewRepository.findByBookIdAndIsDeletedFalse(bookId, pageable);
 
-        // 2クエリ戦略を適用
-        Page<Review> updatedPageObj = PageableUtils.applyTwoQueryStrategy(
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        Slice<ReviewResponse> responseObj = PageableUtils.applyProjectionStrategy(
             pageObj,
-            reviewRepository::findAllByIdInWithRelations,
-            Review::getId
+            Review::getId,
+            reviewRepository::findReviewResponsesByIds,
+            ReviewResponse::getId
         );
+        applyGenreIds(responseObj.getContent());
 
-        return reviewMapper.toPageResponse(updatedPageObj);
+        return PageableUtils.toPageResponse(responseObj, responseObj.getContent());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageResponse<ReviewResponse> getBookReviewsByCursor(
+        String bookId,
+        String cursor,
+        Long size,
+        String sortString
+    ) {
+        Sort sort = PageableUtils.cursorSort(sortString, PageableUtils.REVIEW_ALLOWED_FIELDS);
+        ScrollPosition position = PageableUtils.decodeCursor(cursor, sort);
+        Window<Review> window = reviewRepository.findByBookIdAndIsDeletedFalse(
+            bookId,
+            position,
+            sort,
+            PageableUtils.cursorLimit(size)
+        );
+
+        // 2クエリ戦略を適用（2回目はDTOプロジェクション）
+        List<ReviewResponse> reviews = PageableUtils.applyProjectionStrategy(
+            window.getContent(),
+            Review::getId,
+            reviewRepository::findReviewResponsesByIds,
+            ReviewResponse::getId
+        );
+        applyGenreIds(reviews);
+
+        return PageableUtils.toPageResponse(window, cursor, reviews);
     }
 
     /**
@@ -97,7 +167,56 @@ public class ReviewServiceImpl implements ReviewService {
      */
     @Override
     public ReviewStatsResponse getBookReviewStats(String bookId) {
-        return reviewRepository.getReviewStatsResponse(bookId);
+        // レビューを集計せず、保存済みのレビュー数・平均評価・評価の分布を返す
+        ReviewStatsResponse stats = bookRepository.findReviewStatsResponse(bookId)
+            .orElseGet(() -> new ReviewStatsResponse(bookId, 0L, 0.0));
+        stats.setRatingDistribution(toRatingDistribution(
+            bookRatingHistogramRepository.findById(bookId).orElse(null)
+        ));
+        return stats;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ReviewStatsResponse> getBooksReviewStats(String bookIdsQuery) {
+        List<String> bookIds = Arrays.stream(bookIdsQuery.split(","))
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .distinct()
+            .toList();
+        if (bookIds.isEmpty() || bookIds.size() > MAX_STATS_BOOK_IDS) {
+            throw new BadRequestException("書籍IDは1件以上" + MAX_STATS_BOOK_IDS + "件以下で指定してください。");
+        }
+
+        List<ReviewStatsResponse> stats = PageableUtils.findAllInIdOrder(
+            bookIds,
+            bookRepository::findReviewStatsResponsesByIds,
+            ReviewStatsResponse::getBookId
+        );
+        Map<String, BookRatingHistogram> histograms = bookRatingHistogramRepository.findByBookIdIn(bookIds).stream()
+            .collect(Collectors.toMap(BookRatingHistogram::getBookId, Function.identity()));
+        stats.forEach(response -> response.setRatingDistribution(
+            toRatingDistribution(histograms.get(response.getBookId()))
+        ));
+        return stats;
+    }
+
+    /**
+     * 評価の分布を星の数（1〜5）→ レビュー数のマップに変換
+     * 
+     * @param histogram 評価の分布（未登録の場合はnull）
+     * @return 星の数の昇順のマップ（未登録の場合はすべて0）
+     */
+    private Map<Integer, Long> toRatingDistribution(BookRatingHistogram histogram) {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, (histogram != null) ? histogram.getRating1Count() : 0L);
+        distribution.put(2, (histogram != null) ? histogram.getRating2Count() : 0L);
+        distribution.put(3, (histogram != null) ? histogram.getRating3Count() : 0L);
+        distribution.put(4, (histogram != null) ? histogram.getRating4Count() : 0L);
+        distribution.put(5, (histogram != null) ? histogram.getRating5Count() : 0L);
+        return distribution;
     }
 
     /**
@@ -120,15 +239,21 @@ public class ReviewServiceImpl implements ReviewService {
                 throw new ConflictException("すでにこの書籍にはレビューが登録されています。");
             }
         }
-        review.setUser(user);
+        // レスポンスにユーザー名を含めるため、このトランザクションの参照にする
+        // （クレームから認証した場合、引数のユーザーはIDのみを持つ参照のため）
+        review.setUser(userRepository.getReferenceById(user.getId()));
         review.setBook(book);
         review.setRating(request.getRating());
         review.setComment(request.getComment());
 
         Review savedReview = reviewRepository.save(review);
 
-        // 書籍の統計情報（レビュー数、平均評価、人気度）を更新
-        bookStatsService.updateBookStats(savedReview.getBook().getId());
+        // 書籍の統計情報（レビュー数、評価の合計）にレビュー1件分を加算
+        // キャッシュはコミット後に削除し、インデックスへの反映はコミット後に非同期で行う
+        bookStatsService.applyReviewDelta(book.getId(), 1, savedReview.getRating());
+        bookStatsService.applyRatingDistributionDelta(book.getId(), null, savedReview.getRating());
+        userActivityCounterService.applyReviewDelta(user.getId(), 1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(book.getId(), true));
 
         return reviewMapper.toReviewResponse(savedReview);
     }
@@ -153,14 +278,25 @@ public class ReviewServiceImpl implements ReviewService {
             review.setComment(comment);
         }
 
+        double ratingDelta = 0.0;
+        Double previousRating = review.getRating();
         if (rating != null) {
+            // 削除済みのレビューは統計情報に含まれていない
+            if (!review.getIsDeleted()) {
+                ratingDelta = rating - previousRating;
+            }
             review.setRating(rating);
         }
 
         Review savedReview = reviewRepository.save(review);
 
-        // 書籍の統計情報（レビュー数、平均評価、人気度）を更新
-        bookStatsService.updateBookStats(savedReview.getBook().getId());
+        // 評価が変わった場合のみ、書籍の評価の合計に差分を反映
+        if (ratingDelta != 0.0) {
+            String bookId = savedReview.getBook().getId();
+            bookStatsService.applyReviewDelta(bookId, 0, ratingDelta);
+            bookStatsService.applyRatingDistributionDelta(bookId, previousRating, savedReview.getRating());
+            eventPublisher.publishEvent(new ReviewChangedEvent(bookId, false));
+        }
 
         return reviewMapper.toReviewResponse(savedReview);
     }
@@ -178,10 +314,31 @@ public class ReviewServiceImpl implements ReviewService {
             throw new ForbiddenException("このレビューを削除する権限がありません");
         }
 
+        // 削除済みのレビューは統計情報から減算しない
+        if (review.getIsDeleted()) {
+            return;
+        }
+
         review.setIsDeleted(true);
         reviewRepository.save(review);
 
-        // 書籍の統計情報（レビュー数、平均評価、人気度）を更新
-        bookStatsService.updateBookStats(review.getBook().getId());
+        // 書籍の統計情報（レビュー数、評価の合計）からレビュー1件分を減算
+        String bookId = review.getBook().getId();
+        bookStatsService.applyReviewDelta(bookId, -1, -review.getRating());
+        bookStatsService.applyRatingDistributionDelta(bookId, review.getRating(), null);
+        userActivityCounterService.applyReviewDelta(user.getId(), -1);
+        eventPublisher.publishEvent(new ReviewChangedEvent(bookId, false));
+    }
+
+    /**
+     * レビューの書籍にジャンルIDを設定
+     * 
+     * @param reviews DTOプロジェクションで取得したレビューのリスト
+     */
+    private void applyGenreIds(List<ReviewResponse> reviews) {
+        BookGenreUtils.applyGenreIds(
+            reviews.stream().map(ReviewResponse::getBook).toList(),
+            bookRepository::findBookGenreResponsesByBookIds
+        );
     }
 }
@@ -0,0 +1,113 @@
+package com.example.my_books_backend.service.impl;
+
+import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.my_books_backend.config.CacheConfig;
+import com.example.my_books_backend.dto.user.UserProfileCountsResponse;
+import com.example.my_books_backend.entity.UserActivityCounter;
+import com.example.my_books_backend.repository.UserActivityCounterRepository;
+import com.example.my_books_backend.repository.UserRepository;
+import com.example.my_books_backend.service.UserActivityCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserActivityCounterServiceImpl implements UserActivityCounterService {
+    private final UserActivityCounterRepository userActivityCounterRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_ACTIVITY_COUNTS_CACHE, key = "#userId")
+    public UserProfileCountsResponse getProfileCounts(Long userId) {
+        // 未登録のユーザー（整合性チェックでの登録前）は、登録せずに集計した値を返す
+        return userActivityCounterRepository.findUserProfileCountsResponse(userId)
+            .orElseGet(() -> userRepository.getUserProfileCountsResponse(userId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void initCounters(Long userId) {
+        userActivityCounterRepository.insertIfAbsent(userId, 0, 0, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_ACTIVITY_COUNTS_CACHE, key = "#userId")
+    public void applyFavoriteDelta(Long userId, long delta) {
+        applyDelta(userId, delta, 0, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_ACTIVITY_COUNTS_CACHE, key = "#userId")
+    public void applyBookmarkDelta(Long userId, long delta) {
+        applyDelta(userId, 0, delta, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_ACTIVITY_COUNTS_CACHE, key = "#userId")
+    public void applyReviewDelta(Long userId, long delta) {
+        applyDelta(userId, 0, 0, delta);
+    }
+
+    /**
+     * 操作数の増減を1回のUPDATEで反映する
+     * 反映できない場合（未登録、または負になる場合）は集計し直す
+     * （同じトランザクションで書き込んだお気に入り・ブックマーク・レビューも集計に含まれる）
+     * 
+     * @param userId ユーザーID
+     * @param favoriteDelta お気に入り数の増減
+     * @param bookmarkDelta ブックマーク数の増減
+     * @param reviewDelta レビュー数の増減
+     */
+    private void applyDelta(Long userId, long favoriteDelta, long bookmarkDelta, long reviewDelta) {
+        if (favoriteDelta == 0 && bookmarkDelta == 0 && reviewDelta == 0) {
+            return;
+        }
+        int updated = userActivityCounterRepository.applyDelta(userId, favoriteDelta, bookmarkDelta, reviewDelta);
+        if (updated > 0) {
+            return;
+        }
+
+        UserProfileCountsResponse counted = userRepository.getUserProfileCountsResponse(userId);
+        Optional<UserActivityCounter> counter = userActivityCounterRepository.findById(userId);
+        if (counter.isEmpty()) {
+            userActivityCounterRepository.insertIfAbsent(
+                userId,
+                counted.getFavoriteCount(),
+                counted.getBookmarkCount(),
+                counted.getReviewCount()
+            );
+            return;
+        }
+
+        // 保存済みの値が一致していない場合は、集計した値で置き換える
+        log.warn("ユーザーの操作数に増減を反映できないため再計算します: {}", userId);
+        counter.get().setFavoriteCount(counted.getFavoriteCount());
+        counter.get().setBookmarkCount(counted.getBookmarkCount());
+        counter.get().setReviewCount(counted.getReviewCount());
+        userActivityCounterRepository.save(counter.get());
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.my_books_backend.service.impl;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.my_books_backend.config.CacheConfig;
+import com.example.my_books_backend.repository.UserRepository;
+import com.example.my_books_backend.service.UserSecurityVersionService;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class UserSecurityVersionServiceImpl implements UserSecurityVersionService {
+    private final UserRepository userRepository;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_SECURITY_VERSIONS_CACHE, key = "#userId", unless = "#result == null")
+    public Long getSecurityVersion(Long userId) {
+        return userRepository.findSecurityVersionById(userId).orElse(null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_SECURITY_VERSIONS_CACHE, key = "#userId")
+    public void incrementSecurityVersion(Long userId) {
+        userRepository.incrementSecurityVersion(userId);
+    }
+}
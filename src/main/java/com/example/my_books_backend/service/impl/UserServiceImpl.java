@@ -24,6 +24,8 @@ import com.example.my_books_backend.exception.ValidationException;
 import com.example.my_books_backend.mapper.UserMapper;
 import com.example.my_books_backend.repository.RoleRepository;
 import com.example.my_books_backend.repository.UserRepository;
+import com.example.my_books_backend.service.UserActivityCounterService;
+import com.example.my_books_backend.service.UserSecurityVersionService;
 import com.example.my_books_backend.service.UserService;
 import lombok.RequiredArgsConstructor;
 
@@ -35,6 +37,8 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
 
     private final RoleRepository roleRepository;
+    private final UserActivityCounterService userActivityCounterService;
+    private final UserSecurityVersionService userSecurityVersionService;
 
     private final PasswordEncoder passwordEncoder;
 
@@ -95,6 +99,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepository.save(user);
+        userActivityCounterService.initCounters(savedUser.getId());
         return savedUser;
     }
 
@@ -104,6 +109,8 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
+        // 発行済みのトークンを無効にする（キャッシュしたセキュリティバージョンもコミット後に削除される）
+        userSecurityVersionService.incrementSecurityVersion(id);
         userRepository.deleteById(id);
     }
 
@@ -112,7 +119,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserProfileResponse getUserProfile(User user) {
-        return userMapper.toUserProfileResponse(user);
+        return userMapper.toUserProfileResponse(findCurrentUser(user));
     }
 
     /**
@@ -120,7 +127,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserProfileCountsResponse getUserProfileCounts(User user) {
-        return userRepository.getUserProfileCountsResponse(user.getId());
+        return userActivityCounterService.getProfileCounts(user.getId());
     }
 
     /**
@@ -128,7 +135,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional
-    public void updateUserProfile(UpdateUserProfileRequest request, User user) {
+    public void updateUserProfile(UpdateUserProfileRequest request, User currentUser) {
+        User user = findCurrentUser(currentUser);
         String name = request.getName();
         String avatarPath = request.getAvatarPath();
 
@@ -146,7 +154,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional
-    public void updateUserEmail(UpdateUserEmailRequest request, User user) {
+    public void updateUserEmail(UpdateUserEmailRequest request, User currentUser) {
+        User user = findCurrentUser(currentUser);
         String email = request.getEmail();
         String password = request.getPassword();
 
@@ -164,6 +173,7 @@ public class UserServiceImpl implements UserService {
 
         user.setEmail(email);
         userRepository.save(user);
+        userSecurityVersionService.incrementSecurityVersion(user.getId());
     }
 
     /**
@@ -171,7 +181,8 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional
-    public void updateUserPassword(UpdateUserPasswordRequest request, User user) {
+    public void updateUserPassword(UpdateUserPasswordRequest request, User currentUser) {
+        User user = findCurrentUser(currentUser);
         String currentPassword = request.getCurrentPassword();
         String newPassword = request.getNewPassword();
         String confirmPassword = request.getConfirmPassword();
@@ -186,5 +197,18 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        userSecurityVersionService.incrementSecurityVersion(user.getId());
+    }
+
+    /**
+     * 認証済みユーザーをトランザクション内で取得し直す
+     * （クレームから認証した場合、引数のユーザーはIDのみを持つ参照のため）
+     * 
+     * @param user 認証済みユーザー
+     * @return ユーザーエンティティ（ロールも同時に取得する）
+     */
+    private User findCurrentUser(User user) {
+        return userRepository.findWithRolesById(user.getId())
+            .orElseThrow(() -> new NotFoundException("User not found"));
     }
 }
@@ -0,0 +1,43 @@
+package com.example.my_books_backend.stats;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.service.BookStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * お気に入り数の照合
+ * - 起動完了後に、保存済みのお気に入り数（books.favorite_count）をお気に入りと照合する
+ *   （カラム追加前のデータや、アプリケーション外で追加されたお気に入りを反映するため）
+ * - 一致している書籍は更新しないため、通常は更新件数0で終わる
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookFavoriteCountLoader {
+    private final BookStatsService bookStatsService;
+
+    /**
+     * 起動完了後にお気に入り数を照合
+     * （お気に入り数でソートするカタログインデックスの構築より先に実行する）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshOnStartup() {
+        long start = System.currentTimeMillis();
+        try {
+            int updated = bookStatsService.refreshFavoriteCounts();
+            log.info(
+                "お気に入り数を照合しました: {}件更新, {}ms",
+                updated,
+                System.currentTimeMillis() - start
+            );
+        } catch (RuntimeException e) {
+            log.error("お気に入り数の照合に失敗しました", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.my_books_backend.stats;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.service.BookStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 評価の分布の照合
+ * - 起動完了後に、保存済みの評価の分布（book_rating_histograms）をレビューと照合する
+ *   （テーブル追加前のデータや、アプリケーション外で追加されたレビューを反映するため）
+ * - 未登録の書籍は登録し、一致している書籍は更新しないため、通常は更新件数0で終わる
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookRatingHistogramLoader {
+    private final BookStatsService bookStatsService;
+
+    /**
+     * 起動完了後に評価の分布を照合
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshOnStartup() {
+        long start = System.currentTimeMillis();
+        try {
+            int updated = bookStatsService.refreshRatingDistributions();
+            log.info(
+                "評価の分布を照合しました: {}件更新, {}ms",
+                updated,
+                System.currentTimeMillis() - start
+            );
+        } catch (RuntimeException e) {
+            log.error("評価の分布の照合に失敗しました", e);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.example.my_books_backend.stats;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.my_books_backend.config.AsyncConfig;
+import com.example.my_books_backend.config.CacheConfig;
+import com.example.my_books_backend.dto.BookStatsRecomputeResponse;
+import com.example.my_books_backend.exception.ConflictException;
+import com.example.my_books_backend.util.BookStatsUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 全書籍の統計情報（レビュー数・評価の合計・平均評価・人気度・お気に入り数・評価の分布）の再計算
+ * - 書籍IDの順に一定件数ごとの範囲（パーティション）に分け、複数のスレッドで並行に再計算する
+ * - パーティションごとにレビュー・お気に入りを書籍IDでまとめて集計し（GROUP BY）、
+ *   値が変わった書籍のみJDBCのバッチ更新で書き込む
+ * - パーティションの書籍の行をロックしてから集計するため、実行中のレビュー・お気に入りの増減と競合しても値がずれない
+ *   （ロックはパーティションごとの短いトランザクションの間のみ）
+ * - 更新した書籍はコミット後にキャッシュから削除し、反映待ちキューに登録してインデックスに反映する
+ * 計算式の変更後や、LOAD DATAなどアプリケーション外で一括登録した後に実行する（定期実行と管理者による実行）
+ */
+@Slf4j
+@Component
+public class BookStatsRecomputeJob {
+    private static final String SELECT_PARTITION_END_SQL = """
+        SELECT id FROM books
+        WHERE id > ?
+        ORDER BY id
+        LIMIT 1 OFFSET ?
+        """;
+    private static final String SELECT_LAST_ID_SQL = """
+        SELECT MAX(id) FROM books
+        WHERE id > ?
+        """;
+    private static final String LOCK_BOOKS_SQL = """
+        SELECT id, review_count, rating_sum, average_rating, popularity, favorite_count
+        FROM books
+        WHERE id > ? AND id <= ?
+        FOR UPDATE
+        """;
+    // 評価の合計は書籍の列（DECIMAL(12, 1)）と同じ桁数にする（浮動小数点数の合計の誤差で値が変わったとみなさない）
+    private static final String AGGREGATE_REVIEWS_SQL = """
+        SELECT book_id, COUNT(*), CAST(COALESCE(SUM(rating), 0) AS DECIMAL(12, 1))
+        FROM reviews
+        WHERE book_id > ? AND book_id <= ?
+        AND is_deleted = false
+        GROUP BY book_id
+        """;
+    private static final String AGGREGATE_FAVORITES_SQL = """
+        SELECT book_id, COUNT(*)
+        FROM favorites
+        WHERE book_id > ? AND book_id <= ?
+        AND is_deleted = false
+        GROUP BY book_id
+        """;
+    private static final String UPDATE_STATS_SQL = """
+        UPDATE books
+        SET review_count = ?, rating_sum = ?, average_rating = ?, popularity = ?, favorite_count = ?
+        WHERE id = ?
+        """;
+    // 星の数は ROUND(rating) を1〜5に収めた値（BookStatsUtils.ratingToStarsと同じ）
+    private static final String AGGREGATE_RATING_DISTRIBUTIONS_SQL = """
+        SELECT
+            book_id,
+            SUM(LEAST(GREATEST(ROUND(rating), 1), 5) = 1),
+            SUM(LEAST(GREATEST(ROUND(rating), 1), 5) = 2),
+            SUM(LEAST(GREATEST(ROUND(rating), 1), 5) = 3),
+            SUM(LEAST(GREATEST(ROUND(rating), 1), 5) = 4),
+            SUM(LEAST(GREATEST(ROUND(rating), 1), 5) = 5)
+        FROM reviews
+        WHERE book_id > ? AND book_id <= ?
+        AND is_deleted = false
+        GROUP BY book_id
+        """;
+    private static final String SELECT_RATING_DISTRIBUTIONS_SQL = """
+        SELECT book_id, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count
+        FROM book_rating_histograms
+        WHERE book_id > ? AND book_id <= ?
+        """;
+    private static final String UPSERT_RATING_DISTRIBUTION_SQL = """
+        INSERT INTO book_rating_histograms
+            (book_id, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            rating_1_count = VALUES(rating_1_count),
+            rating_2_count = VALUES(rating_2_count),
+            rating_3_count = VALUES(rating_3_count),
+            rating_4_count = VALUES(rating_4_count),
+            rating_5_count = VALUES(rating_5_count)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookStatsUpdateQueue bookStatsUpdateQueue;
+    private final CacheManager cacheManager;
+    private final Executor executor;
+    private final TaskScheduler scheduler;
+    private final int threads;
+    private final int partitionSize;
+    private final String cron;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Progress progress;
+
+    public BookStatsRecomputeJob(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        BookStatsUpdateQueue bookStatsUpdateQueue,
+        CacheManager cacheManager,
+        @Qualifier(AsyncConfig.BOOK_STATS_RECOMPUTE_EXECUTOR) Executor executor,
+        @Qualifier(AsyncConfig.BOOK_STATS_SCHEDULER) TaskScheduler scheduler,
+        @Value("${app.book-stats.recompute.threads}") int threads,
+        @Value("${app.book-stats.recompute.partition-size}") int partitionSize,
+        @Value("${app.book-stats.recompute.cron}") String cron
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.bookStatsUpdateQueue = bookStatsUpdateQueue;
+        this.cacheManager = cacheManager;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.threads = threads;
+        this.partitionSize = partitionSize;
+        this.cron = cron;
+    }
+
+    /**
+     * 起動完了後に定期実行を登録（cronが"-"の場合は定期実行しない）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        if ("-".equals(cron)) {
+            log.info("統計情報の定期再計算は無効です（app.book-stats.recompute.cron=-）");
+            return;
+        }
+        scheduler.schedule(() -> {
+            try {
+                start();
+            } catch (ConflictException e) {
+                log.info("統計情報の再計算が実行中のため、定期実行をスキップしました");
+            }
+        }, new CronTrigger(cron));
+    }
+
+    /**
+     * 再計算を開始（完了を待たずに進捗を返す）
+     *
+     * @return 開始時点の進捗
+     */
+    public BookStatsRecomputeResponse start() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ConflictException("統計情報の再計算は実行中です。");
+        }
+        Progress started = new Progress(countBooks());
+        progress = started;
+        try {
+            executor.execute(() -> run(started));
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return started.toResponse(true);
+    }
+
+    /**
+     * 最後に開始した再計算の進捗
+     *
+     * @return 進捗（一度も実行していない場合は件数0）
+     */
+    public BookStatsRecomputeResponse getProgress() {
+        Progress current = progress;
+        if (current == null) {
+            return new BookStatsRecomputeResponse(false, 0L, 0L, 0L, 0L, null, 0L);
+        }
+        return current.toResponse(running.get() && current == progress);
+    }
+
+    /**
+     * 書籍IDの範囲ごとにパーティションを作成し、ワーカーで再計算する
+     * 同時に実行するパーティションはスレッド数までとし、作成側が先に進みすぎないようにする
+     */
+    private void run(Progress current) {
+        Semaphore permits = new Semaphore(threads);
+        try {
+            String afterId = "";
+            while (true) {
+                String endId = findPartitionEnd(afterId);
+                if (endId == null) {
+                    break;
+                }
+                String fromId = afterId;
+                permits.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            recomputePartition(fromId, endId, current);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                afterId = endId;
+            }
+            // すべてのパーティションの完了を待つ
+            permits.acquire(threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("統計情報の再計算を中断しました");
+        } catch (RuntimeException e) {
+            log.error("統計情報の再計算に失敗しました", e);
+        } finally {
+            current.finish();
+            running.set(false);
+        }
+        log.info(
+            "統計情報の再計算が完了しました: {}件中{}件更新, 失敗{}パーティション, {}ms",
+            current.processedBooks.get(),
+            current.updatedBooks.get(),
+            current.failedPartitions.get(),
+            current.elapsedMillis()
+        );
+    }
+
+    /**
+     * パーティションの最後の書籍ID（afterIdより後の書籍がない場合はnull）
+     */
+    private String findPartitionEnd(String afterId) {
+        List<String> ids = jdbcTemplate.queryForList(
+            SELECT_PARTITION_END_SQL,
+            String.class,
+            afterId,
+            partitionSize - 1
+        );
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        // 残りがパーティションの件数に満たない場合は最後の書籍まで
+        return jdbcTemplate.queryForObject(SELECT_LAST_ID_SQL, String.class, afterId);
+    }
+
+    /**
+     * パーティション（fromIdより後、toId以下）の書籍の統計情報を再計算
+     */
+    private void recomputePartition(String fromId, String toId, Progress current) {
+        try {
+            List<String> updatedIds = transactionTemplate.execute(status -> {
+                // 先に書籍の行をロックし、集計中にレビュー・お気に入りの増減が反映されないようにする
+                Map<String, BookStats> stored = new HashMap<>();
+                jdbcTemplate.query(LOCK_BOOKS_SQL, rs -> {
+                    stored.put(rs.getString(1), new BookStats(
+                        rs.getLong(2),
+                        toDouble(rs.getBigDecimal(3)),
+                        toDouble(rs.getBigDecimal(4)),
+                        toDouble(rs.getBigDecimal(5)),
+                        rs.getLong(6)
+                    ));
+                }, fromId, toId);
+
+                Map<String, Long> reviewCounts = new HashMap<>();
+                Map<String, Double> ratingSums = new HashMap<>();
+                jdbcTemplate.query(AGGREGATE_REVIEWS_SQL, rs -> {
+                    reviewCounts.put(rs.getString(1), rs.getLong(2));
+                    ratingSums.put(rs.getString(1), toDouble(rs.getBigDecimal(3)));
+                }, fromId, toId);
+                Map<String, Long> favoriteCounts = new HashMap<>();
+                jdbcTemplate.query(AGGREGATE_FAVORITES_SQL, rs -> {
+                    favoriteCounts.put(rs.getString(1), rs.getLong(2));
+                }, fromId, toId);
+
+                List<String> ids = new ArrayList<>();
+                List<Object[]> batchArgs = new ArrayList<>();
+                stored.forEach((bookId, before) -> {
+                    long reviewCount = reviewCounts.getOrDefault(bookId, 0L);
+                    double ratingSum = ratingSums.getOrDefault(bookId, 0.0);
+                    BookStats after = new BookStats(
+                        reviewCount,
+                        ratingSum,
+                        BookStatsUtils.calculateAverageRating(reviewCount, ratingSum),
+                        BookStatsUtils.calculatePopularity(
+                            reviewCount,
+                            BookStatsUtils.calculateUnroundedAverageRating(reviewCount, ratingSum)
+                        ),
+                        favoriteCounts.getOrDefault(bookId, 0L)
+                    );
+                    if (!after.equals(before)) {
+                        ids.add(bookId);
+                        batchArgs.add(new Object[] {
+                            after.reviewCount(),
+                            after.ratingSum(),
+                            after.averageRating(),
+                            after.popularity(),
+                            after.favoriteCount(),
+                            bookId
+                        });
+                    }
+                });
+                if (!batchArgs.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_STATS_SQL, batchArgs);
+                }
+
+                // 評価の分布の増減は書籍の行のロック後に行われるため、同じロックの範囲で照合できる
+                Set<String> distributionIds = recomputeRatingDistributions(fromId, toId, stored.keySet());
+                current.processedBooks.addAndGet(stored.size());
+                Set<String> changedIds = new LinkedHashSet<>(ids);
+                changedIds.addAll(distributionIds);
+                return List.copyOf(changedIds);
+            });
+
+            // コミット後にキャッシュから削除し、インデックスへ反映する
+            evictCaches(updatedIds);
+            updatedIds.forEach(bookStatsUpdateQueue::enqueue);
+            current.updatedBooks.addAndGet(updatedIds.size());
+        } catch (RuntimeException e) {
+            current.failedPartitions.incrementAndGet();
+            log.error("統計情報の再計算に失敗しました: {} < id <= {}", fromId, toId, e);
+        }
+    }
+
+    /**
+     * パーティションの書籍の評価の分布をレビューから再計算し、値が変わった（未登録を含む）書籍のみ書き込む
+     *
+     * @return 書き込んだ書籍ID
+     */
+    private Set<String> recomputeRatingDistributions(String fromId, String toId, Set<String> bookIds) {
+        Map<String, long[]> counted = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_RATING_DISTRIBUTIONS_SQL, rs -> {
+            counted.put(rs.getString(1), readCounts(rs, 2));
+        }, fromId, toId);
+        Map<String, long[]> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_RATING_DISTRIBUTIONS_SQL, rs -> {
+            stored.put(rs.getString(1), readCounts(rs, 2));
+        }, fromId, toId);
+
+        Set<String> ids = new LinkedHashSet<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (String bookId : bookIds) {
+            long[] after = counted.getOrDefault(bookId, new long[5]);
+            long[] before = stored.get(bookId);
+            if (before == null || !Arrays.equals(before, after)) {
+                ids.add(bookId);
+                batchArgs.add(new Object[] { bookId, after[0], after[1], after[2], after[3], after[4] });
+            }
+        }
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_RATING_DISTRIBUTION_SQL, batchArgs);
+        }
+        return ids;
+    }
+
+    private static long[] readCounts(ResultSet rs, int fromColumn) throws SQLException {
+        long[] counts = new long[5];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = rs.getLong(fromColumn + i);
+        }
+        return counts;
+    }
+
+    /**
+     * 書籍詳細・書籍一覧のキャッシュを削除（書籍の行の更新で更新日時が変わるため）
+     */
+    private void evictCaches(List<String> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        Cache bookDetailsCache = cacheManager.getCache(CacheConfig.BOOK_DETAILS_CACHE);
+        if (bookDetailsCache != null) {
+            bookIds.forEach(bookDetailsCache::evict);
+        }
+        for (String cacheName : List.of(CacheConfig.BOOK_PAGES_CACHE, CacheConfig.BOOK_PAGES_BY_FAVORITE_COUNT_CACHE)) {
+            Cache bookPagesCache = cacheManager.getCache(cacheName);
+            if (bookPagesCache != null) {
+                bookPagesCache.clear();
+            }
+        }
+    }
+
+    private long countBooks() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        return (count != null) ? count : 0L;
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return (value != null) ? value.doubleValue() : 0.0;
+    }
+
+    /**
+     * 書籍の統計情報（比較用）
+     */
+    private record BookStats(
+        long reviewCount,
+        double ratingSum,
+        double averageRating,
+        double popularity,
+        long favoriteCount
+    ) {
+    }
+
+    /**
+     * 再計算の進捗（ワーカーから並行に更新する）
+     */
+    private static final class Progress {
+        private final long totalBooks;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong processedBooks = new AtomicLong();
+        private final AtomicLong updatedBooks = new AtomicLong();
+        private final AtomicLong failedPartitions = new AtomicLong();
+        private volatile long finishedNanos = 0;
+
+        private Progress(long totalBooks) {
+            this.totalBooks = totalBooks;
+        }
+
+        private void finish() {
+            finishedNanos = System.nanoTime();
+        }
+
+        private long elapsedMillis() {
+            long end = (finishedNanos != 0) ? finishedNanos : System.nanoTime();
+            return (end - startNanos) / 1_000_000;
+        }
+
+        private BookStatsRecomputeResponse toResponse(boolean running) {
+            return new BookStatsRecomputeResponse(
+                running,
+                totalBooks,
+                processedBooks.get(),
+                updatedBooks.get(),
+                failedPartitions.get(),
+                startedAt,
+                elapsedMillis()
+            );
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.my_books_backend.stats;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.example.my_books_backend.config.AsyncConfig;
+import com.example.my_books_backend.event.FavoriteChangedEvent;
+import com.example.my_books_backend.event.ReviewChangedEvent;
+import com.example.my_books_backend.exception.NotFoundException;
+import com.example.my_books_backend.service.BookStatsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 書籍の統計情報（レビュー数・平均評価・人気度・お気に入り数）の変更の反映待ちキュー
+ * - レビュー・お気に入りの変更はコミット後に書籍IDを登録するだけで、検索・カタログインデックスへの反映は
+ *   書き込みとは別に行う（統計情報の増減とキャッシュの削除は書き込みと同じトランザクションで済んでいる）
+ * - 同じ書籍が反映前に何度登録されても、反映は1回にまとめる
+ * - 最初の登録から一定時間待ってから、専用のスケジューラでバッチごとに反映する
+ * 反映時に保存済みの統計情報を読み込むため、反映時点の最新の値が反映される
+ */
+@Slf4j
+@Component
+public class BookStatsUpdateQueue {
+    private final BookStatsService bookStatsService;
+    private final TaskScheduler scheduler;
+    private final Duration flushDelay;
+    private final int batchSize;
+
+    // 書籍ID → 最初に登録された時刻（System.nanoTime）
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private final Counter coalescedCounter;
+    private final Counter failedCounter;
+    private final Timer lagTimer;
+
+    public BookStatsUpdateQueue(
+        BookStatsService bookStatsService,
+        @Qualifier(AsyncConfig.BOOK_STATS_SCHEDULER) TaskScheduler scheduler,
+        MeterRegistry meterRegistry,
+        @Value("${app.book-stats.flush-delay}") Duration flushDelay,
+        @Value("${app.book-stats.batch-size}") int batchSize
+    ) {
+        this.bookStatsService = bookStatsService;
+        this.scheduler = scheduler;
+        this.flushDelay = flushDelay;
+        this.batchSize = batchSize;
+
+        // actuatorのmetricsで反映待ちの件数・待ち時間を確認できるようにする
+        Gauge.builder("book.stats.queue.size", pending, Map::size)
+            .description("統計情報の反映待ちの書籍数")
+            .register(meterRegistry);
+        Gauge.builder("book.stats.queue.oldest.age", this, BookStatsUpdateQueue::oldestAgeSeconds)
+            .description("最も古い反映待ちの待ち時間")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("book.stats.queue.coalesced")
+            .description("反映待ちの書籍に重ねて登録された件数（反映を省略した件数）")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("book.stats.queue.failed")
+            .description("反映に失敗した件数")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder("book.stats.queue.lag")
+            .description("登録から反映が完了するまでの時間")
+            .register(meterRegistry);
+    }
+
+    /**
+     * レビューの変更をコミット後に登録
+     *
+     * @param event レビュー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        enqueue(event.getBookId());
+    }
+
+    /**
+     * お気に入りの変更をコミット後に登録
+     *
+     * @param event お気に入り変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        enqueue(event.getBookId());
+    }
+
+    /**
+     * 書籍の統計情報の変更を登録（反映待ちの場合はまとめる）
+     *
+     * @param bookId 書籍ID
+     */
+    public void enqueue(String bookId) {
+        if (pending.putIfAbsent(bookId, System.nanoTime()) != null) {
+            coalescedCounter.increment();
+        }
+        scheduleFlush(flushDelay);
+    }
+
+    /**
+     * 反映待ちの件数
+     *
+     * @return 件数
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * 停止時に残りの反映待ちを反映する
+     */
+    @PreDestroy
+    public void flushAll() {
+        while (!pending.isEmpty()) {
+            flushBatch();
+        }
+    }
+
+    private void scheduleFlush(Duration delay) {
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, Instant.now().plus(delay));
+        }
+    }
+
+    private void flush() {
+        // 実行中に登録された書籍は次の実行で反映する
+        scheduled.set(false);
+        flushBatch();
+
+        // 残りがある場合は待たずに次のバッチを実行する
+        if (!pending.isEmpty()) {
+            scheduleFlush(Duration.ZERO);
+        }
+    }
+
+    private void flushBatch() {
+        List<Map.Entry<String, Long>> batch = new ArrayList<>(batchSize);
+        Iterator<Map.Entry<String, Long>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Map.Entry<String, Long> entry = iterator.next();
+            // 反映前に取り除く（反映中に登録された場合は、もう一度反映する）
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : batch) {
+            try {
+                bookStatsService.publishBookStats(entry.getKey());
+            } catch (NotFoundException e) {
+                // 書籍が削除された場合は反映しない
+                log.debug("統計情報の反映対象の書籍が見つかりません: {}", entry.getKey());
+            } catch (RuntimeException e) {
+                failedCounter.increment();
+                log.error("書籍の統計情報の反映に失敗しました: {}", entry.getKey(), e);
+            }
+            lagTimer.record(System.nanoTime() - entry.getValue(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double oldestAgeSeconds() {
+        long now = System.nanoTime();
+        long oldest = pending.values().stream()
+            .mapToLong(Long::longValue)
+            .reduce(now, (a, b) -> (b - a < 0) ? b : a);
+        return (now - oldest) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.my_books_backend.stats;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import com.example.my_books_backend.config.AsyncConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 書籍の注目度のスコアの永続化（チェックポイント）
+ * - 起動完了後に保存済みのスコアを読み込み、保存時刻からの減衰を反映してインデックスに加える
+ * - 一定間隔で、前回以降にスコアが変わった書籍のみJDBCのバッチ更新で保存する（INSERT ... ON DUPLICATE KEY UPDATE）
+ * - スコアが下限を下回った書籍は削除する
+ * 停止時にも保存するため、再起動で失われるのは異常終了時の最後のチェックポイント以降の加算のみ
+ */
+@Slf4j
+@Component
+public class BookTrendingCheckpoint {
+    private static final String SELECT_SCORES_SQL = """
+        SELECT s.book_id, s.score, s.scored_at
+        FROM book_trending_scores s
+        INNER JOIN books b ON b.id = s.book_id
+        WHERE b.is_deleted = false
+        """;
+    private static final String UPSERT_SCORE_SQL = """
+        INSERT INTO book_trending_scores (book_id, score, scored_at)
+        VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE score = VALUES(score), scored_at = VALUES(scored_at)
+        """;
+    private static final String DELETE_SCORE_SQL = """
+        DELETE FROM book_trending_scores
+        WHERE book_id = ?
+        """;
+
+    private final BookTrendingIndex bookTrendingIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskScheduler scheduler;
+    private final Duration checkpointInterval;
+    private final int batchSize;
+
+    public BookTrendingCheckpoint(
+        BookTrendingIndex bookTrendingIndex,
+        JdbcTemplate jdbcTemplate,
+        @Qualifier(AsyncConfig.BOOK_STATS_SCHEDULER) TaskScheduler scheduler,
+        @Value("${app.trending.checkpoint-interval}") Duration checkpointInterval,
+        @Value("${app.trending.checkpoint-batch-size}") int batchSize
+    ) {
+        this.bookTrendingIndex = bookTrendingIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduler = scheduler;
+        this.checkpointInterval = checkpointInterval;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 起動完了後に保存済みのスコアを読み込み、定期的なチェックポイントを登録
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        long start = System.currentTimeMillis();
+        try {
+            jdbcTemplate.query(SELECT_SCORES_SQL, rs -> {
+                bookTrendingIndex.load(
+                    rs.getString(1),
+                    rs.getDouble(2),
+                    rs.getTimestamp(3).getTime()
+                );
+            });
+            log.info(
+                "注目度のスコアを読み込みました: {}件, {}ms",
+                bookTrendingIndex.size(),
+                System.currentTimeMillis() - start
+            );
+        } catch (RuntimeException e) {
+            log.error("注目度のスコアの読み込みに失敗しました", e);
+        }
+        scheduler.scheduleWithFixedDelay(this::checkpoint, checkpointInterval);
+    }
+
+    /**
+     * 停止時にスコアを保存
+     */
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    /**
+     * スコアが変わった書籍を保存し、下限を下回った書籍を削除
+     */
+    public void checkpoint() {
+        long now = System.currentTimeMillis();
+        BookTrendingIndex.Checkpoint checkpoint = bookTrendingIndex.checkpoint(now);
+        if (checkpoint.scores().isEmpty() && checkpoint.removedBookIds().isEmpty()) {
+            return;
+        }
+
+        Timestamp scoredAt = new Timestamp(now);
+        List<Object[]> upserts = new ArrayList<>(checkpoint.scores().size());
+        for (Map.Entry<String, Double> entry : checkpoint.scores().entrySet()) {
+            upserts.add(new Object[] { entry.getKey(), entry.getValue(), scoredAt });
+        }
+        List<Object[]> deletes = checkpoint.removedBookIds().stream()
+            .map(bookId -> new Object[] { bookId })
+            .toList();
+        try {
+            for (int i = 0; i < upserts.size(); i += batchSize) {
+                jdbcTemplate.batchUpdate(UPSERT_SCORE_SQL, upserts.subList(i, Math.min(i + batchSize, upserts.size())));
+            }
+            for (int i = 0; i < deletes.size(); i += batchSize) {
+                jdbcTemplate.batchUpdate(DELETE_SCORE_SQL, deletes.subList(i, Math.min(i + batchSize, deletes.size())));
+            }
+            log.debug(
+                "注目度のスコアを保存しました: 更新{}件, 削除{}件",
+                upserts.size(),
+                deletes.size()
+            );
+        } catch (RuntimeException e) {
+            // 次のチェックポイントで保存し直す（削除できなかった行は、次回の起動時に減衰して読み込まれ、再度削除される）
+            bookTrendingIndex.markDirty(checkpoint.scores().keySet());
+            log.error("注目度のスコアの保存に失敗しました", e);
+        }
+    }
+}
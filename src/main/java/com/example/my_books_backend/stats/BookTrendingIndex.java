@@ -0,0 +1,256 @@
+package com.example.my_books_backend.stats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.example.my_books_backend.event.FavoriteChangedEvent;
+import com.example.my_books_backend.event.ReviewChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 書籍の注目度（直近のレビュー・お気に入りの追加を時間で減衰させたスコア）のインメモリインデックス
+ * - レビューの作成・お気に入りの追加をコミット後に書籍ごとのスコアへ加算する（レビュー・お気に入りのテーブルは読まない）
+ * - スコアは半減期ごとに半分になるよう指数的に減衰する
+ * - 基準時刻からの経過時間で重みを増やして加算し（前方減衰）、読み取り時に現在時刻までの減衰を掛ける
+ *   （加算のたびに全書籍のスコアを減衰させる必要がなく、並び順は時間が経過しても変わらない）
+ * - 重みが大きくなりすぎないよう、チェックポイント時に基準時刻を現在時刻に進めて全体を縮める
+ * - 注目度順の並びは一定時間ごとに作り直したものを使う（スコアが変わっていない場合は作り直さない）
+ * 永続化（チェックポイント）は BookTrendingCheckpoint が行う
+ */
+@Component
+public class BookTrendingIndex {
+    private final double decayPerMillis;
+    private final long rescaleAfterMillis;
+    private final long rankingRefreshNanos;
+    private final double reviewWeight;
+    private final double favoriteWeight;
+    private final double minScore;
+
+    // 書籍ID → 基準時刻に対する重み付きのスコア
+    private final Map<String, Double> weights = new ConcurrentHashMap<>();
+    // 前回のチェックポイント以降にスコアが変わった書籍
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    // 加算は読み取りロック（並行に実行できる）、基準時刻の変更は書き込みロック
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong modCount = new AtomicLong();
+    private volatile long landmark = System.currentTimeMillis();
+    private volatile Ranking ranking;
+
+    public BookTrendingIndex(
+        MeterRegistry meterRegistry,
+        @Value("${app.trending.half-life}") Duration halfLife,
+        @Value("${app.trending.ranking-refresh}") Duration rankingRefresh,
+        @Value("${app.trending.review-weight}") double reviewWeight,
+        @Value("${app.trending.favorite-weight}") double favoriteWeight,
+        @Value("${app.trending.min-score}") double minScore
+    ) {
+        this.decayPerMillis = Math.log(2) / halfLife.toMillis();
+        // 重みが2^32倍を超える前に基準時刻を進める
+        this.rescaleAfterMillis = halfLife.toMillis() * 32;
+        this.rankingRefreshNanos = rankingRefresh.toNanos();
+        this.reviewWeight = reviewWeight;
+        this.favoriteWeight = favoriteWeight;
+        this.minScore = minScore;
+        this.ranking = new Ranking(List.of(), -1, System.nanoTime() - rankingRefreshNanos);
+
+        Gauge.builder("book.trending.size", weights, Map::size)
+            .description("注目度のスコアを保持している書籍数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * レビューの作成をコミット後にスコアへ加算
+     *
+     * @param event レビュー変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReviewChanged(ReviewChangedEvent event) {
+        if (event.isCreated()) {
+            add(event.getBookId(), reviewWeight, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * お気に入りの追加をコミット後にスコアへ加算
+     *
+     * @param event お気に入り変更イベント
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFavoriteChanged(FavoriteChangedEvent event) {
+        if (event.isAdded()) {
+            add(event.getBookId(), favoriteWeight, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * スコアを加算
+     *
+     * @param bookId 書籍ID
+     * @param score 加算するスコア（timeの時点の値）
+     * @param time スコアの時刻（エポックミリ秒）
+     */
+    public void add(String bookId, double score, long time) {
+        merge(bookId, score, time);
+        // 加算後に登録する（チェックポイントは登録を取り除いてから値を読むため、加算を取りこぼさない）
+        dirty.add(bookId);
+    }
+
+    /**
+     * チェックポイントで保存したスコアを読み込む（保存済みのため、次のチェックポイントでは保存しない）
+     * 読み込み中に加算されたスコアとは合算する
+     *
+     * @param bookId 書籍ID
+     * @param score 保存したスコア
+     * @param scoredAt スコアを保存した時刻（エポックミリ秒）
+     */
+    public void load(String bookId, double score, long scoredAt) {
+        merge(bookId, score, scoredAt);
+    }
+
+    /**
+     * 注目度順（スコアの降順、同点は書籍IDの昇順）の書籍ID
+     * 前回の作成から一定時間が経過し、スコアが変わっている場合のみ作り直す
+     *
+     * @return 書籍IDのリスト（変更不可）
+     */
+    public List<String> getRankedBookIds() {
+        Ranking current = ranking;
+        if (current.modCount() != modCount.get()
+            && System.nanoTime() - current.builtAt() >= rankingRefreshNanos) {
+            synchronized (this) {
+                current = ranking;
+                if (current.modCount() != modCount.get()
+                    && System.nanoTime() - current.builtAt() >= rankingRefreshNanos) {
+                    current = buildRanking();
+                    ranking = current;
+                }
+            }
+        }
+        return current.bookIds();
+    }
+
+    /**
+     * チェックポイントで保存する内容を作成
+     * - 基準時刻から一定時間が経過している場合は、基準時刻を現在時刻に進めて全体を縮める
+     * - スコアが変わった書籍の現在のスコアを返す
+     * - スコアが下限を下回った書籍はインデックスから取り除き、削除対象として返す
+     *
+     * @param now 現在時刻（エポックミリ秒）
+     * @return 保存・削除する書籍
+     */
+    public Checkpoint checkpoint(long now) {
+        if (now - landmark >= rescaleAfterMillis) {
+            rescale(now);
+        }
+
+        Map<String, Double> updated = new HashMap<>();
+        List<String> removed = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            double decay = Math.exp(-decayPerMillis * (now - landmark));
+            for (String bookId : List.copyOf(dirty)) {
+                dirty.remove(bookId);
+                Double weight = weights.get(bookId);
+                if (weight != null) {
+                    updated.put(bookId, weight * decay);
+                }
+            }
+            for (Map.Entry<String, Double> entry : weights.entrySet()) {
+                // 取り除く間に加算された場合は残す
+                if (entry.getValue() * decay < minScore && weights.remove(entry.getKey(), entry.getValue())) {
+                    updated.remove(entry.getKey());
+                    removed.add(entry.getKey());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!removed.isEmpty()) {
+            modCount.incrementAndGet();
+        }
+        return new Checkpoint(updated, removed);
+    }
+
+    /**
+     * 保存に失敗した書籍を、次のチェックポイントで再度保存する
+     *
+     * @param bookIds 書籍ID
+     */
+    public void markDirty(Iterable<String> bookIds) {
+        bookIds.forEach(dirty::add);
+    }
+
+    /**
+     * スコアを保持している書籍数
+     *
+     * @return 件数
+     */
+    public int size() {
+        return weights.size();
+    }
+
+    private void merge(String bookId, double score, long time) {
+        lock.readLock().lock();
+        try {
+            weights.merge(bookId, score * Math.exp(decayPerMillis * (time - landmark)), Double::sum);
+        } finally {
+            lock.readLock().unlock();
+        }
+        modCount.incrementAndGet();
+    }
+
+    private void rescale(long now) {
+        lock.writeLock().lock();
+        try {
+            double factor = Math.exp(-decayPerMillis * (now - landmark));
+            weights.replaceAll((bookId, weight) -> weight * factor);
+            landmark = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Ranking buildRanking() {
+        long currentModCount = modCount.get();
+        List<Map.Entry<String, Double>> entries = new ArrayList<>(weights.size());
+        lock.readLock().lock();
+        try {
+            weights.forEach((bookId, weight) -> entries.add(Map.entry(bookId, weight)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        // 基準時刻が同じ重み同士は、現在のスコアと同じ順に並ぶ
+        entries.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        List<String> bookIds = entries.stream().map(Map.Entry::getKey).toList();
+        return new Ranking(bookIds, currentModCount, System.nanoTime());
+    }
+
+    /**
+     * チェックポイントで保存する内容
+     *
+     * @param scores 保存する書籍ID → 現在のスコア
+     * @param removedBookIds 削除する書籍ID
+     */
+    public record Checkpoint(Map<String, Double> scores, List<String> removedBookIds) {
+    }
+
+    /**
+     * 注目度順の書籍IDと、作成時の変更回数・作成時刻（System.nanoTime）
+     */
+    private record Ranking(List<String> bookIds, long modCount, long builtAt) {
+    }
+}
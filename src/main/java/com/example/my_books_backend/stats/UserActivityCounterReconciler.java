@@ -0,0 +1,223 @@
+package com.example.my_books_backend.stats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.my_books_backend.config.AsyncConfig;
+import com.example.my_books_backend.config.CacheConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ユーザーの操作数（user_activity_counters）の整合性チェック
+ * - 一定間隔で全ユーザーをユーザーIDの順に一定件数ずつ処理し、お気に入り・ブックマーク・レビューを
+ *   ユーザーIDでまとめて集計して（GROUP BY）、保存済みの値と異なるユーザーのみ書き換える
+ * - 操作数の行をロックしてから集計するため、実行中の増減と競合しても値がずれない
+ *   （ロックは一定件数ごとの短いトランザクションの間のみ）
+ * - 未登録のユーザー（操作数を保存する前から登録されていたユーザーなど）は登録し、書き換えたユーザーはキャッシュから削除する
+ *   （操作数の取得では登録しないため、起動直後の実行で未登録のユーザーを埋める）
+ * 増減の反映漏れ（アプリケーション外での変更や、登録前の並行した書き込みなど）を修正する
+ */
+@Slf4j
+@Component
+public class UserActivityCounterReconciler {
+    private static final String SELECT_BATCH_END_SQL = """
+        SELECT id FROM users
+        WHERE id > ?
+        ORDER BY id
+        LIMIT 1 OFFSET ?
+        """;
+    private static final String SELECT_LAST_ID_SQL = """
+        SELECT MAX(id) FROM users
+        WHERE id > ?
+        """;
+    private static final String INSERT_MISSING_SQL = """
+        INSERT IGNORE INTO user_activity_counters (user_id, favorite_count, bookmark_count, review_count)
+        SELECT id, 0, 0, 0 FROM users
+        WHERE id > ? AND id <= ?
+        """;
+    private static final String LOCK_COUNTERS_SQL = """
+        SELECT user_id, favorite_count, bookmark_count, review_count
+        FROM user_activity_counters
+        WHERE user_id > ? AND user_id <= ?
+        FOR UPDATE
+        """;
+    private static final String COUNT_FAVORITES_SQL = """
+        SELECT user_id, COUNT(*)
+        FROM favorites
+        WHERE user_id > ? AND user_id <= ?
+        AND is_deleted = false
+        GROUP BY user_id
+        """;
+    private static final String COUNT_BOOKMARKS_SQL = """
+        SELECT user_id, COUNT(*)
+        FROM bookmarks
+        WHERE user_id > ? AND user_id <= ?
+        AND is_deleted = false
+        GROUP BY user_id
+        """;
+    private static final String COUNT_REVIEWS_SQL = """
+        SELECT user_id, COUNT(*)
+        FROM reviews
+        WHERE user_id > ? AND user_id <= ?
+        AND is_deleted = false
+        GROUP BY user_id
+        """;
+    private static final String UPDATE_COUNTERS_SQL = """
+        UPDATE user_activity_counters
+        SET favorite_count = ?, bookmark_count = ?, review_count = ?
+        WHERE user_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final TaskScheduler scheduler;
+    private final Duration interval;
+    private final int batchSize;
+    private final Counter correctedCounter;
+
+    public UserActivityCounterReconciler(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        CacheManager cacheManager,
+        MeterRegistry meterRegistry,
+        @Qualifier(AsyncConfig.USER_ACTIVITY_SCHEDULER) TaskScheduler scheduler,
+        @Value("${app.user-activity.reconcile.interval}") Duration interval,
+        @Value("${app.user-activity.reconcile.batch-size}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.scheduler = scheduler;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.correctedCounter = Counter.builder("user.activity.counters.corrected")
+            .description("整合性チェックで書き換えたユーザーの操作数の件数")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 起動完了後に定期実行を登録（起動直後にも1回実行する）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleOnStartup() {
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, interval);
+    }
+
+    /**
+     * 全ユーザーの操作数を集計し直し、保存済みの値と異なるユーザーを書き換える
+     *
+     * @return 書き換えたユーザー数
+     */
+    public int reconcile() {
+        long start = System.currentTimeMillis();
+        int corrected = 0;
+        long afterId = 0;
+        while (true) {
+            Long endId = findBatchEnd(afterId);
+            if (endId == null) {
+                break;
+            }
+            corrected += reconcileBatch(afterId, endId);
+            afterId = endId;
+        }
+        if (corrected > 0) {
+            log.info(
+                "ユーザーの操作数を修正しました: {}件, {}ms",
+                corrected,
+                System.currentTimeMillis() - start
+            );
+        }
+        return corrected;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("ユーザーの操作数の整合性チェックに失敗しました", e);
+        }
+    }
+
+    /**
+     * afterIdより後の一定件数の最後のユーザーIDを取得
+     *
+     * @param afterId 前回の最後のユーザーID
+     * @return 最後のユーザーID（残りのユーザーがない場合はnull）
+     */
+    private Long findBatchEnd(long afterId) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH_END_SQL, Long.class, afterId, batchSize - 1);
+        if (!ids.isEmpty()) {
+            return ids.get(0);
+        }
+        return jdbcTemplate.queryForObject(SELECT_LAST_ID_SQL, Long.class, afterId);
+    }
+
+    /**
+     * (afterId, endId] のユーザーの操作数を集計し直す
+     *
+     * @param afterId 前回の最後のユーザーID
+     * @param endId 今回の最後のユーザーID
+     * @return 書き換えたユーザー数
+     */
+    private int reconcileBatch(long afterId, long endId) {
+        List<Long> correctedIds = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(INSERT_MISSING_SQL, afterId, endId);
+
+            // 集計より先に行をロックし、実行中の増減のコミットを待つ
+            Map<Long, long[]> stored = new HashMap<>();
+            jdbcTemplate.query(LOCK_COUNTERS_SQL, rs -> {
+                stored.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3), rs.getLong(4) });
+            }, afterId, endId);
+
+            Map<Long, long[]> counted = new HashMap<>();
+            countInto(counted, COUNT_FAVORITES_SQL, 0, afterId, endId);
+            countInto(counted, COUNT_BOOKMARKS_SQL, 1, afterId, endId);
+            countInto(counted, COUNT_REVIEWS_SQL, 2, afterId, endId);
+
+            List<Long> ids = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            for (Map.Entry<Long, long[]> entry : stored.entrySet()) {
+                long[] counts = counted.getOrDefault(entry.getKey(), new long[3]);
+                if (!Arrays.equals(entry.getValue(), counts)) {
+                    ids.add(entry.getKey());
+                    updates.add(new Object[] { counts[0], counts[1], counts[2], entry.getKey() });
+                }
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_COUNTERS_SQL, updates);
+            }
+            return ids;
+        });
+
+        // コミット後にキャッシュから削除する
+        Cache cache = cacheManager.getCache(CacheConfig.USER_ACTIVITY_COUNTS_CACHE);
+        if (cache != null) {
+            correctedIds.forEach(cache::evict);
+        }
+        correctedCounter.increment(correctedIds.size());
+        return correctedIds.size();
+    }
+
+    private void countInto(Map<Long, long[]> counted, String sql, int index, long afterId, long endId) {
+        jdbcTemplate.query(sql, rs -> {
+            counted.computeIfAbsent(rs.getLong(1), userId -> new long[3])[index] = rs.getLong(2);
+        }, afterId, endId);
+    }
+}
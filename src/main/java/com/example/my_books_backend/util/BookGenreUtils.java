@@ -0,0 +1,44 @@
+package com.example.my_books_backend.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.example.my_books_backend.dto.book.BookGenreResponse;
+import com.example.my_books_backend.dto.book.BookResponse;
+
+public class BookGenreUtils {
+    /**
+     * DTOプロジェクションで取得した書籍レスポンスにジャンルIDを設定
+     * 書籍IDとジャンルIDの組を1クエリで取得し、書籍ごとにまとめる
+     * （ジャンルの結合をプロジェクションのクエリに含めると、書籍1件がジャンル数の行に増えるため分けている）
+     * 
+     * @param books 書籍レスポンスのリスト（同じ書籍が複数含まれていてもよい）
+     * @param genreFinder 書籍IDリストから書籍IDとジャンルIDの組を取得する関数
+     */
+    public static void applyGenreIds(
+        List<BookResponse> books,
+        Function<List<String>, List<BookGenreResponse>> genreFinder
+    ) {
+        if (books == null || genreFinder == null) {
+            throw new IllegalArgumentException("引数にnullは指定できません");
+        }
+
+        if (books.isEmpty()) {
+            return;
+        }
+
+        List<String> bookIds = books.stream()
+            .map(BookResponse::getId)
+            .distinct()
+            .collect(Collectors.toList());
+
+        Map<String, List<Long>> genreIdsByBookId = genreFinder.apply(bookIds).stream()
+            .collect(Collectors.groupingBy(
+                BookGenreResponse::getBookId,
+                Collectors.mapping(BookGenreResponse::getGenreId, Collectors.toList())
+            ));
+
+        books.forEach(book -> book.setGenreIds(genreIdsByBookId.getOrDefault(book.getId(), List.of())));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.my_books_backend.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class BookStatsUtils {
+    // SQLで評価の合計（DECIMAL(12, 1)）をレビュー数で割った結果の小数点以下の桁数
+    // （割られる数の桁数1 + MySQLの div_precision_increment の既定値4）
+    private static final int SQL_DIVISION_SCALE = 5;
+
+    /**
+     * 平均評価を計算（小数点以下2桁に四捨五入）
+     * BookRepository.applyReviewStatsDelta の ROUND(評価の合計 / レビュー数, 2) と同じ値になる
+     * 
+     * @param reviewCount レビュー数
+     * @param ratingSum 評価の合計
+     * @return 平均評価（レビューがない場合は0.0）
+     */
+    public static double calculateAverageRating(long reviewCount, double ratingSum) {
+        if (reviewCount == 0) {
+            return 0.0;
+        }
+        return round(divide(reviewCount, ratingSum));
+    }
+
+    /**
+     * 人気度の計算に使用する調整前の平均評価
+     * SQLのDECIMALの割り算と同じく、小数点以下5桁に四捨五入する
+     * 
+     * @param reviewCount レビュー数
+     * @param ratingSum 評価の合計
+     * @return 調整前の平均評価（レビューがない場合は0.0）
+     */
+    public static double calculateUnroundedAverageRating(long reviewCount, double ratingSum) {
+        if (reviewCount == 0) {
+            return 0.0;
+        }
+        return divide(reviewCount, ratingSum).doubleValue();
+    }
+
+    /**
+     * 基本的な重み付きスコアによる人気度計算（小数点以下2桁に四捨五入）
+     * 計算式: 平均点数 × log(レビュー数 + 1) × 20
+     * （レビューの増減の反映・1冊分の再計算では、BookRepository.applyReviewStatsDeltaで同じ式を使用する）
+     * 
+     * @param reviewCount レビュー数
+     * @param averageRating 平均評価（0.0-5.0、calculateUnroundedAverageRatingの値）
+     * @return 人気度スコア（0-100程度の範囲）
+     */
+    public static double calculatePopularity(long reviewCount, double averageRating) {
+        if (reviewCount == 0 || averageRating == 0.0) {
+            return 0.0;
+        }
+
+        // 基本的な重み付きスコア
+        // Math.log()は自然対数
+        double logWeight = Math.log(reviewCount + 1);
+        double popularity = averageRating * logWeight * 20;
+
+        return round(popularity);
+    }
+
+    /**
+     * 評価を評価の分布の星の数（1〜5）に変換
+     * 四捨五入し、1.5未満は星1とする
+     * （SQLで集計する場合は LEAST(GREATEST(ROUND(rating), 1), 5) と同じ値になる）
+     * 
+     * @param rating 評価（0.0-5.0）
+     * @return 星の数（1-5）
+     */
+    public static int ratingToStars(double rating) {
+        return (int) Math.max(1, Math.min(5, Math.round(rating)));
+    }
+
+    /**
+     * 評価の合計をレビュー数で割る（SQLのDECIMALの割り算と同じ桁数に四捨五入）
+     * 評価の合計はDECIMAL(12, 1)の値のため、10進数の文字列表現から変換する
+     */
+    private static BigDecimal divide(long reviewCount, double ratingSum) {
+        return BigDecimal.valueOf(ratingSum)
+            .divide(BigDecimal.valueOf(reviewCount), SQL_DIVISION_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 小数点以下2桁に四捨五入（SQLのDECIMALの ROUND と同じく、0.005は切り上げる）
+     * （value * 100 を Math.round で丸めると、16.9 / 4 = 4.225 のように2進数で表せない値が4.22に切り捨てられる）
+     */
+    private static double round(double value) {
+        return round(BigDecimal.valueOf(value));
+    }
+
+    private static double round(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).doubleValue();
+    }
+}
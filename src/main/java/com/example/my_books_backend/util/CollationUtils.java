@@ -0,0 +1,34 @@
+package com.example.my_books_backend.util;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+
+public class CollationUtils {
+    // タイトルの比較（DBの照合順序 utf8mb4_unicode_ci に近づける）
+    private static final Collator TITLE_COLLATOR = createTitleCollator();
+
+    /**
+     * タイトルの並び替え用のキーを作成
+     * インメモリインデックスでタイトル順に並び替える場合に使用する（DBの ORDER BY title に近い順序になる）
+     * - 大文字・小文字、アクセント、全角・半角、ひらがな・カタカナを区別しない（同じ場合は書籍IDの順）
+     * - 記号や漢字の並び順など、DBと一致しない場合がある
+     *   （インデックスの構築中はDBで並び替えるため、構築の前後でページの境界の書籍が前後することがある）
+     * キーの比較はスレッドセーフで、比較のたびにタイトルを変換しない
+     *
+     * @param title タイトル（nullの場合は空文字として扱う）
+     * @return 並び替え用のキー（getSourceStringで元のタイトルを取得できる）
+     */
+    public static CollationKey titleKey(String title) {
+        return TITLE_COLLATOR.getCollationKey((title != null) ? title : "");
+    }
+
+    private static Collator createTitleCollator() {
+        Collator collator = Collator.getInstance(Locale.JAPANESE);
+        // 基本の文字のみで比較する（_ciと同様に大文字・小文字などの違いを無視する）
+        collator.setStrength(Collator.PRIMARY);
+        // 互換文字（半角カナ・全角英数字など）を分解してから比較する
+        collator.setDecomposition(Collator.FULL_DECOMPOSITION);
+        return collator;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.my_books_backend.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class GzipUtils {
+    /**
+     * 文字列をUTF-8でエンコードしてgzip圧縮
+     * gzip形式のため、圧縮したバイト列をそのまま Content-Encoding: gzip のレスポンスとして返せる
+     * 
+     * @param text 文字列
+     * @return 圧縮したバイト列
+     */
+    public static byte[] compress(String text) {
+        byte[] data = (text != null) ? text.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * gzip圧縮されたバイト列を展開してUTF-8の文字列に変換
+     * 
+     * @param data 圧縮したバイト列
+     * @return 文字列
+     */
+    public static String decompress(byte[] data) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.my_books_backend.util;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class HttpCacheUtils {
+    /**
+     * 条件付きGETの判定
+     * Cache-Controlを設定し、リソースのバージョンがある場合はETag・Last-Modifiedを設定して
+     * If-None-Match / If-Modified-Sinceを判定する
+     * 未変更の場合はステータス304が設定されるため、呼び出し元はレスポンスボディを作成せずにnullを返す
+     * 
+     * @param request リクエスト
+     * @param cacheControl Cache-Controlの設定
+     * @param version リソースのバージョン（リソースが存在しない場合はnull）
+     * @return 未変更（304を返す）の場合はtrue
+     */
+    public static boolean checkNotModified(
+        WebRequest request,
+        CacheControl cacheControl,
+        ResourceVersion version
+    ) {
+        // ResponseEntityにも設定するとヘッダーが重複するため、レスポンスに直接設定する
+        String cacheControlValue = cacheControl.getHeaderValue();
+        if (cacheControlValue != null
+            && request instanceof ServletWebRequest servletWebRequest
+            && servletWebRequest.getResponse() != null) {
+            HttpServletResponse response = servletWebRequest.getResponse();
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControlValue);
+        }
+
+        if (version == null) {
+            return false;
+        }
+        return request.checkNotModified(version.getETag(), version.getLastModified());
+    }
+
+    /**
+     * 条件付きGETの判定（同じリソースの別の表現のETagも受け付ける）
+     * If-None-Matchに別の表現（別のコンテンツコーディングなど）のETagが含まれる場合は、
+     * そのETagで304を返す（キャッシュは保存済みの表現をそのまま使用できる）
+     * 
+     * @param request リクエスト
+     * @param cacheControl Cache-Controlの設定
+     * @param version 返す表現のバージョン（リソースが存在しない場合はnull）
+     * @param alternative 別の表現のバージョン（リソースが存在しない場合はnull）
+     * @return 未変更（304を返す）の場合はtrue
+     */
+    public static boolean checkNotModified(
+        WebRequest request,
+        CacheControl cacheControl,
+        ResourceVersion version,
+        ResourceVersion alternative
+    ) {
+        if (alternative != null && matchesIfNoneMatch(request, alternative.getETag())) {
+            return checkNotModified(request, cacheControl, alternative);
+        }
+        return checkNotModified(request, cacheControl, version);
+    }
+
+    /**
+     * If-None-MatchにETagが含まれているか（弱い比較、W/の有無は区別しない）
+     */
+    private static boolean matchesIfNoneMatch(WebRequest request, String eTag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(eTag);
+        for (String requested : ifNoneMatch.split(",")) {
+            if (stripWeakPrefix(requested.trim()).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
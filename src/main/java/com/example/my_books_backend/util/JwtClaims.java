@@ -0,0 +1,26 @@
+package com.example.my_books_backend.util;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 検証済みのトークンのクレーム
+ *
+ * @param subject サブジェクト（メールアドレス）
+ * @param userId ユーザーID（クレームを追加する前に発行したトークンの場合はnull）
+ * @param securityVersion 発行時のユーザーのセキュリティバージョン（クレームを追加する前に発行したトークンの場合はnull）
+ * @param name ユーザー名（リフレッシュトークンの場合はnull）
+ * @param roles ロール名（リフレッシュトークンの場合は空）
+ * @param issuedAt 発行日時
+ * @param expiresAt 有効期限
+ */
+public record JwtClaims(
+    String subject,
+    Long userId,
+    Long securityVersion,
+    String name,
+    List<String> roles,
+    Instant issuedAt,
+    Instant expiresAt
+) {
+}
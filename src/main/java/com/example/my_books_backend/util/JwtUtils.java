@@ -1,33 +1,72 @@
 package com.example.my_books_backend.util;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.example.my_books_backend.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * JWTの生成・検証
+ * - 署名のアルゴリズムと検証器は起動時に1回だけ作成し、すべてのリクエストで共有する（どちらも不変でスレッドセーフ）
+ * - 検証とクレームの取り出しは1回のデコードで行う
+ * - 検証済みのトークンは有効期限までキャッシュし、同じトークンのリクエストでは署名（HMAC）の計算を省略する
+ *   （検証に失敗したトークンはキャッシュしない）
+ */
 @Slf4j
 @Component
 public class JwtUtils {
-
-    @Value("${spring.app.jwtSecret}")
-    private String secret;
-
-    @Value("${spring.app.jwtAccessExpiration}")
-    private int accessExpiration;
-
-    @Value("${spring.app.jwtRefreshExpiration}")
-    private int refreshExpiration;
-
     private static final String REFRESH_TOKEN_KEY = "refreshToken";
+    private static final String VERIFIED_CACHE_NAME = "jwtVerifiedTokens";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+
+    private final int accessExpiration;
+    private final int refreshExpiration;
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    // トークン → 検証済みのクレーム（有効期限を過ぎると削除される）
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtUtils(
+        MeterRegistry meterRegistry,
+        @Value("${spring.app.jwtSecret}") String secret,
+        @Value("${spring.app.jwtAccessExpiration}") int accessExpiration,
+        @Value("${spring.app.jwtRefreshExpiration}") int refreshExpiration,
+        @Value("${app.jwt.verified-cache.max-size}") long verifiedCacheMaxSize
+    ) {
+        this.accessExpiration = accessExpiration;
+        this.refreshExpiration = refreshExpiration;
+        this.algorithm = Algorithm.HMAC256(secret);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheMaxSize)
+            .expireAfter(new UntilTokenExpires())
+            .recordStats()
+            .build();
+
+        // actuatorのmetricsでヒット/ミス/追い出し数を確認できるようにする
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, VERIFIED_CACHE_NAME);
+    }
 
     /**
      * アクセストークン生成
@@ -45,11 +84,13 @@ public class JwtUtils {
 
         return JWT.create()
             .withSubject(email)
+            .withClaim(USER_ID_CLAIM, user.getId())
+            .withClaim(SECURITY_VERSION_CLAIM, user.getSecurityVersion())
             .withClaim("name", name)
             .withClaim("roles", roles)
             .withIssuedAt(new Date())
-            .withExpiresAt(new Date(System.currentTimeMillis() + accessExpiration * 1000))
-            .sign(getAlgorithm());
+            .withExpiresAt(new Date(System.currentTimeMillis() + accessExpiration * 1000L))
+            .sign(algorithm);
     }
 
     /**
@@ -63,9 +104,11 @@ public class JwtUtils {
 
         return JWT.create()
             .withSubject(email)
+            .withClaim(USER_ID_CLAIM, user.getId())
+            .withClaim(SECURITY_VERSION_CLAIM, user.getSecurityVersion())
             .withIssuedAt(new Date())
-            .withExpiresAt(new Date(System.currentTimeMillis() + refreshExpiration * 1000))
-            .sign(getAlgorithm());
+            .withExpiresAt(new Date(System.currentTimeMillis() + refreshExpiration * 1000L))
+            .sign(algorithm);
     }
 
     /**
@@ -119,45 +162,68 @@ public class JwtUtils {
     }
 
     /**
-     * トークンの検証
+     * トークンを検証し、クレームを取得
+     * 検証済みのトークンはキャッシュから返す（有効期限を過ぎたトークンはキャッシュに残らない）
      * 
      * @param token トークン
-     * @return 検証結果
+     * @return クレーム（署名が不正・有効期限切れなどで無効な場合は空）
      */
-    public boolean validateToken(String token) {
+    public Optional<JwtClaims> verify(String token) {
+        if (!StringUtils.hasText(token)) {
+            return Optional.empty();
+        }
+        JwtClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        DecodedJWT jwt;
         try {
-            JWTVerifier verifier = JWT.require(getAlgorithm()).build();
-            verifier.verify(token);
-            return true;
+            jwt = verifier.verify(token);
         } catch (JWTVerificationException e) {
             log.error("JWT検証エラー: {}", e.getMessage());
-            return false;
+            return Optional.empty();
+        }
+        JwtClaims claims = toClaims(jwt);
+        // 有効期限のないトークンはキャッシュしない
+        if (claims.expiresAt() != null) {
+            verifiedTokens.put(token, claims);
         }
+        return Optional.of(claims);
     }
 
-    /**
-     * トークンからサブジェクトを取得
-     * 
-     * @param token トークン
-     * @return サブジェクト
-     */
-    public String getSubjectFromToken(String token) {
-        try {
-            DecodedJWT jwt = JWT.decode(token);
-            return jwt.getSubject();
-        } catch (JWTVerificationException e) {
-            log.error("JWT解析エラー: {}", e.getMessage());
-            return null;
-        }
+    private JwtClaims toClaims(DecodedJWT jwt) {
+        String roles = jwt.getClaim("roles").asString();
+        return new JwtClaims(
+            jwt.getSubject(),
+            jwt.getClaim(USER_ID_CLAIM).asLong(),
+            jwt.getClaim(SECURITY_VERSION_CLAIM).asLong(),
+            jwt.getClaim("name").asString(),
+            StringUtils.hasText(roles) ? Arrays.asList(roles.split(",")) : List.of(),
+            jwt.getIssuedAtAsInstant(),
+            jwt.getExpiresAtAsInstant()
+        );
     }
 
     /**
-     * Algorithmの取得
-     * 
-     * @return Algorithm
+     * 検証済みのトークンをクレームの有効期限まで保持する
      */
-    private Algorithm getAlgorithm() {
-        return Algorithm.HMAC256(secret);
+    private static final class UntilTokenExpires implements Expiry<String, JwtClaims> {
+        @Override
+        public long expireAfterCreate(String token, JwtClaims claims, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            return remaining.isNegative() ? 0L : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
 
@@ -1,16 +1,29 @@
 package com.example.my_books_backend.util;
 
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import com.example.my_books_backend.dto.PageResponse;
+import com.example.my_books_backend.exception.BadRequestException;
 import java.util.function.Function;
 
 public class PageableUtils {
@@ -20,9 +33,14 @@ public class PageableUtils {
     private static final String DEFAULT_SORT_FIELD = "id";
     private static final Sort.Direction DEFAULT_SORT_DIRECTION = Sort.Direction.ASC;
 
+    // カーソル文字列の区切り文字（キー同士の区切り、キー内の項目の区切り）
+    // 値は区切り文字を含む場合があるため（改行を含むタイトルなど）、値ごとにBase64でエンコードする
+    private static final String CURSOR_ENTRY_SEPARATOR = "\n";
+    private static final String CURSOR_FIELD_SEPARATOR = "\t";
+
     // ソート可能なフィールドのリスト（エンドポイントで指定可能なフィールド）
     public static final List<String> BOOK_ALLOWED_FIELDS = new ArrayList<>(
-        List.of("title", "publicationDate", "reviewCount", "averageRating", "popularity")
+        List.of("title", "publicationDate", "reviewCount", "averageRating", "popularity", "favoriteCount")
     );
     public static final List<String> REVIEW_ALLOWED_FIELDS = new ArrayList<>(
         List.of("updatedAt", "createdAt", "rating")
@@ -51,12 +69,223 @@ public class PageableUtils {
         List<String> category
     ) {
         page = Math.max(0, page - 1); // pageableは内部的に0ベースなので、1ベース→0ベースへ
-        size = (size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        size = normalizeSize(size);
         Sort sort = parseSort(sortString, category);
 
         return PageRequest.of((int) page, (int) size, sort);
     }
 
+    /**
+     * ネイティブクエリ用のPageableオブジェクトを作成
+     * ネイティブクエリではエンティティのプロパティ名でソートできないため、
+     * ソートフィールドをカラム名（スネークケース）に変換する
+     * 
+     * @param page ページ番号（1ベース）
+     * @param size 1ページあたりの最大結果件数
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param category ソート可能なフィールドのリスト
+     * @return Pageableオブジェクト
+     */
+    public static Pageable ofNative(
+        long page,
+        long size,
+        String sortString,
+        List<String> category
+    ) {
+        Pageable pageable = of(page, size, sortString, category);
+        Sort columnSort = Sort.by(
+            pageable.getSort().stream()
+                .map(order -> order.withProperty(toColumnName(order.getProperty())))
+                .toList()
+        );
+
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), columnSort);
+    }
+
+    /**
+     * ソートなしのPageableオブジェクトを作成
+     * 並び順をクエリ側で固定する場合（関連度順など）に使用する
+     * 
+     * @param page ページ番号（1ベース）
+     * @param size 1ページあたりの最大結果件数
+     * @return Pageableオブジェクト
+     */
+    public static Pageable ofUnsorted(long page, long size) {
+        page = Math.max(0, page - 1); // pageableは内部的に0ベースなので、1ベース→0ベースへ
+        size = normalizeSize(size);
+
+        return PageRequest.of((int) page, (int) size);
+    }
+
+    /**
+     * カーソル（キーセット）ページネーション用のソート条件を作成
+     * 第二ソートに「id」を含むため、並び順は常に一意に決まる
+     * 
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param category ソート可能なフィールドのリスト
+     * @return Sortオブジェクト
+     */
+    public static Sort cursorSort(String sortString, List<String> category) {
+        return parseSort(sortString, category);
+    }
+
+    /**
+     * ソート条件が指定したフィールドによる並び替えかどうか
+     * （並び替えに使用できないフィールドなど、既定のソート条件になる場合はfalse）
+     * 
+     * @param sortString ソート条件（例: "xxxx.desc", "xxxx.asc"）
+     * @param field フィールド名
+     * @return 指定したフィールドで並び替える場合はtrue
+     */
+    public static boolean isSortedBy(String sortString, String field) {
+        return parseSort(sortString, List.of(field)).getOrderFor(field) != null;
+    }
+
+    /**
+     * カーソル（キーセット）ページネーション用の取得件数を作成
+     * 
+     * @param size 1ページあたりの最大結果件数
+     * @return Limitオブジェクト
+     */
+    public static Limit cursorLimit(long size) {
+        return Limit.of((int) normalizeSize(size));
+    }
+
+    /**
+     * カーソル文字列をスクロール位置に変換
+     * カーソルが未指定（nullまたは空文字）の場合は先頭位置を返す
+     * 
+     * @param cursor カーソル文字列（前回レスポンスのnextCursor）
+     * @param sort カーソル作成時と同じソート条件
+     * @return スクロール位置
+     * @throws BadRequestException カーソルが不正、またはソート条件と一致しない場合
+     */
+    public static ScrollPosition decodeCursor(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(
+                Base64.getUrlDecoder().decode(cursor.trim()),
+                StandardCharsets.UTF_8
+            );
+            for (String entry : decoded.split(CURSOR_ENTRY_SEPARATOR)) {
+                String[] fields = entry.split(CURSOR_FIELD_SEPARATOR, 3);
+                if (fields.length != 3) {
+                    throw new BadRequestException("カーソルが不正です。");
+                }
+                keys.put(fields[0], decodeCursorValue(fields[1], fields[2]));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("カーソルが不正です。");
+        }
+
+        // 別のソート条件で作成されたカーソルは使用できない
+        Set<String> sortProperties = sort.stream()
+            .map(Sort.Order::getProperty)
+            .collect(Collectors.toSet());
+        if (!keys.keySet().equals(sortProperties)) {
+            throw new BadRequestException("カーソルとソート条件が一致しません。");
+        }
+
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * スクロール位置をカーソル文字列に変換
+     * キー（ソートフィールドとid）の値を型情報付きで保持し（値は区切り文字を含まないよう値ごとにBase64でエンコードする）、全体をBase64でエンコードする
+     * 
+     * @param position スクロール位置
+     * @return カーソル文字列（キーセット位置でない場合はnull）
+     */
+    public static String encodeCursor(ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keysetPosition)) {
+            return null;
+        }
+
+        String encoded = keysetPosition.getKeys().entrySet().stream()
+            .map(entry -> entry.getKey()
+                + CURSOR_FIELD_SEPARATOR
+                + encodeCursorValue(entry.getValue()))
+            .collect(Collectors.joining(CURSOR_ENTRY_SEPARATOR));
+
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(encoded.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 1ページあたりの件数を正規化
+     * 
+     * @param size 1ページあたりの最大結果件数
+     * @return 正規化された件数
+     */
+    private static long normalizeSize(long size) {
+        return (size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * プロパティ名（キャメルケース）をカラム名（スネークケース）に変換
+     * 
+     * @param property プロパティ名（例: "publicationDate"）
+     * @return カラム名（例: "publication_date"）
+     */
+    private static String toColumnName(String property) {
+        return property.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+    }
+
+    /**
+     * カーソルに格納する値を型情報付きの文字列に変換
+     * 
+     * @param value キーの値
+     * @return 「型\t値（Base64）」形式の文字列
+     */
+    private static String encodeCursorValue(Object value) {
+        String type;
+        if (value instanceof String) {
+            type = "s";
+        } else if (value instanceof Long) {
+            type = "l";
+        } else if (value instanceof Double) {
+            type = "d";
+        } else if (value instanceof Date) {
+            type = "D";
+        } else if (value instanceof LocalDateTime) {
+            type = "t";
+        } else {
+            throw new IllegalStateException("カーソルに変換できない型です: " + value);
+        }
+        String encodedValue = Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(value.toString().getBytes(StandardCharsets.UTF_8));
+        return type + CURSOR_FIELD_SEPARATOR + encodedValue;
+    }
+
+    /**
+     * 型情報付きの文字列からカーソルの値を復元
+     * 
+     * @param type 型を表す文字
+     * @param encodedValue 値の文字列（Base64）
+     * @return キーの値
+     */
+    private static Object decodeCursorValue(String type, String encodedValue) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encodedValue), StandardCharsets.UTF_8);
+            return switch (type) {
+                case "s" -> value;
+                case "l" -> Long.parseLong(value);
+                case "d" -> Double.parseDouble(value);
+                case "D" -> Date.valueOf(value);
+                case "t" -> LocalDateTime.parse(value);
+                default -> throw new BadRequestException("カーソルが不正です。");
+            };
+        } catch (RuntimeException e) {
+            throw new BadRequestException("カーソルが不正です。");
+        }
+    }
+
     /**
      * ソート条件の解析
      * 
@@ -92,22 +321,63 @@ public class PageableUtils {
 
     /**
      * 汎用的なPageResponse変換メソッド
+     * Sliceの場合は件数のCOUNTを行っていないため、総ページ数・総件数はnullとなる
      * 
      * @param <T> エンティティの型
      * @param <R> レスポンスの型
-     * @param page Pageオブジェクト
+     * @param slice PageまたはSliceオブジェクト
      * @param responseList 変換済みのレスポンスリスト
      * @return PageResponseオブジェクト
      */
-    public static <T, R> PageResponse<R> toPageResponse(Page<T> page, List<R> responseList) {
+    public static <T, R> PageResponse<R> toPageResponse(Slice<T> slice, List<R> responseList) {
+        Long totalPages = null;
+        Long totalItems = null;
+        if (slice instanceof Page<T> page) {
+            totalPages = (long) page.getTotalPages();
+            totalItems = page.getTotalElements();
+        }
+
         return new PageResponse<R>(
-            (long) page.getNumber() + 1, // Pageableの内部的にはデフォルトで0ベースだが、エンドポイントとしては1ベースなので+1する
-            (long) page.getSize(),
-            (long) page.getTotalPages(),
-            page.getTotalElements(),
-            page.hasNext(),
-            page.hasPrevious(),
-            responseList
+            (long) slice.getNumber() + 1, // Pageableの内部的にはデフォルトで0ベースだが、エンドポイントとしては1ベースなので+1する
+            (long) slice.getSize(),
+            totalPages,
+            totalItems,
+            slice.hasNext(),
+            slice.hasPrevious(),
+            responseList,
+            null
+        );
+    }
+
+    /**
+     * カーソルページネーション用のPageResponse変換メソッド
+     * 件数のCOUNTは行わないため、ページ番号・総ページ数・総件数はnullとなる
+     * 
+     * @param <T> エンティティの型
+     * @param <R> レスポンスの型
+     * @param window Windowオブジェクト
+     * @param cursor リクエストで指定されたカーソル
+     * @param responseList 変換済みのレスポンスリスト
+     * @return PageResponseオブジェクト
+     */
+    public static <T, R> PageResponse<R> toPageResponse(
+        Window<T> window,
+        String cursor,
+        List<R> responseList
+    ) {
+        String nextCursor = (window.hasNext() && !window.isEmpty())
+            ? encodeCursor(window.positionAt(window.size() - 1))
+            : null;
+
+        return new PageResponse<R>(
+            null,
+            (long) responseList.size(),
+            null,
+            null,
+            window.hasNext(),
+            cursor != null && !cursor.isBlank(),
+            responseList,
+            nextCursor
         );
     }
 
@@ -154,35 +424,72 @@ public class PageableUtils {
 
     /**
      * 2クエリ戦略でのページネーション処理を統一化するユーティリティメソッド
+     * 初回クエリの結果がPageの場合はPage、Slice（COUNTなし）の場合はSliceを返す
      * 
      * @param <T> エンティティの型
      * @param <ID> IDの型
-     * @param initialPage 初回クエリの結果ページ
+     * @param initialSlice 初回クエリの結果（PageまたはSlice）
      * @param repositoryFinder リポジトリからIDリストで詳細データを取得する関数
      * @param idExtractor エンティティからIDを抽出する関数
-     * @return ソート順序が保持された新しいPageオブジェクト
+     * @return ソート順序が保持された新しいPageまたはSliceオブジェクト
      * @throws IllegalArgumentException 引数がnullの場合
      */
-    public static <T, ID> Page<T> applyTwoQueryStrategy(
-        Page<T> initialPage,
+    public static <T, ID> Slice<T> applyTwoQueryStrategy(
+        Slice<T> initialSlice,
         Function<List<ID>, List<T>> repositoryFinder,
         Function<T, ID> idExtractor
     ) {
-        if (initialPage == null || repositoryFinder == null || idExtractor == null) {
+        if (initialSlice == null || repositoryFinder == null || idExtractor == null) {
             throw new IllegalArgumentException("引数にnullは指定できません");
         }
 
-        // 空のページの場合は早期リターン
-        if (initialPage.getContent().isEmpty()) {
+        // 空のページの場合は早期リターン、それ以外は詳細データを取得し、ソート順序を復元
+        List<T> sortedList = initialSlice.getContent().isEmpty()
+            ? List.of()
+            : applyTwoQueryStrategy(initialSlice.getContent(), repositoryFinder, idExtractor);
+
+        // 初回クエリと同じ種類の新しいオブジェクトを作成
+        if (initialSlice instanceof Page<T> initialPage) {
             return new PageImpl<>(
-                List.of(),
+                sortedList,
                 initialPage.getPageable(),
                 initialPage.getTotalElements()
             );
         }
+        return new SliceImpl<>(
+            sortedList,
+            initialSlice.getPageable(),
+            initialSlice.hasNext()
+        );
+    }
+
+    /**
+     * 2クエリ戦略で初回クエリの結果リストを関連データ込みのリストに置き換える
+     * （カーソルページネーションのWindowなど、Page以外の結果に使用）
+     * 
+     * @param <T> エンティティの型
+     * @param <ID> IDの型
+     * @param initialList 初回クエリの結果リスト
+     * @param repositoryFinder リポジトリからIDリストで詳細データを取得する関数
+     * @param idExtractor エンティティからIDを抽出する関数
+     * @return ソート順序が保持された詳細データのリスト
+     * @throws IllegalArgumentException 引数がnullの場合
+     */
+    public static <T, ID> List<T> applyTwoQueryStrategy(
+        List<T> initialList,
+        Function<List<ID>, List<T>> repositoryFinder,
+        Function<T, ID> idExtractor
+    ) {
+        if (initialList == null || repositoryFinder == null || idExtractor == null) {
+            throw new IllegalArgumentException("引数にnullは指定できません");
+        }
+
+        if (initialList.isEmpty()) {
+            return List.of();
+        }
 
         // IDリストを取得
-        List<ID> ids = initialPage.getContent().stream()
+        List<ID> ids = initialList.stream()
             .map(idExtractor)
             .collect(Collectors.toList());
 
@@ -190,13 +497,112 @@ public class PageableUtils {
         List<T> detailedList = repositoryFinder.apply(ids);
 
         // ソート順序を復元
-        List<T> sortedList = restoreSortOrder(ids, detailedList, idExtractor);
+        return restoreSortOrder(ids, detailedList, idExtractor);
+    }
+
+    /**
+     * 2クエリ戦略の2回目のクエリをDTOプロジェクションで行う
+     * 初回クエリの結果のIDでレスポンスDTOを直接取得し（エンティティを経由しない）、ソート順序を復元する
+     * 初回クエリの結果がPageの場合はPage、Slice（COUNTなし）の場合はSliceを返す
+     * 
+     * @param <T> エンティティの型
+     * @param <R> レスポンスの型
+     * @param <ID> IDの型
+     * @param initialSlice 初回クエリの結果（PageまたはSlice）
+     * @param idExtractor エンティティからIDを抽出する関数
+     * @param projectionFinder リポジトリからIDリストでレスポンスDTOを取得する関数
+     * @param responseIdExtractor レスポンスDTOからIDを抽出する関数
+     * @return ソート順序が保持されたレスポンスDTOのPageまたはSliceオブジェクト
+     * @throws IllegalArgumentException 引数がnullの場合
+     */
+    public static <T, R, ID> Slice<R> applyProjectionStrategy(
+        Slice<T> initialSlice,
+        Function<T, ID> idExtractor,
+        Function<List<ID>, List<R>> projectionFinder,
+        Function<R, ID> responseIdExtractor
+    ) {
+        if (initialSlice == null) {
+            throw new IllegalArgumentException("引数にnullは指定できません");
+        }
+
+        List<R> sortedList = applyProjectionStrategy(
+            initialSlice.getContent(),
+            idExtractor,
+            projectionFinder,
+            responseIdExtractor
+        );
 
-        // 新しいPageオブジェクトを作成
-        return new PageImpl<>(
+        // 初回クエリと同じ種類の新しいオブジェクトを作成
+        if (initialSlice instanceof Page<T> initialPage) {
+            return new PageImpl<>(
+                sortedList,
+                initialPage.getPageable(),
+                initialPage.getTotalElements()
+            );
+        }
+        return new SliceImpl<>(
             sortedList,
-            initialPage.getPageable(),
-            initialPage.getTotalElements()
+            initialSlice.getPageable(),
+            initialSlice.hasNext()
         );
     }
+
+    /**
+     * 2クエリ戦略の2回目のクエリをDTOプロジェクションで行い、初回クエリの結果リストをレスポンスDTOのリストに置き換える
+     * （カーソルページネーションのWindowなど、Page以外の結果に使用）
+     * 
+     * @param <T> エンティティの型
+     * @param <R> レスポンスの型
+     * @param <ID> IDの型
+     * @param initialList 初回クエリの結果リスト
+     * @param idExtractor エンティティからIDを抽出する関数
+     * @param projectionFinder リポジトリからIDリストでレスポンスDTOを取得する関数
+     * @param responseIdExtractor レスポンスDTOからIDを抽出する関数
+     * @return ソート順序が保持されたレスポンスDTOのリスト
+     * @throws IllegalArgumentException 引数がnullの場合
+     */
+    public static <T, R, ID> List<R> applyProjectionStrategy(
+        List<T> initialList,
+        Function<T, ID> idExtractor,
+        Function<List<ID>, List<R>> projectionFinder,
+        Function<R, ID> responseIdExtractor
+    ) {
+        if (initialList == null || idExtractor == null || projectionFinder == null || responseIdExtractor == null) {
+            throw new IllegalArgumentException("引数にnullは指定できません");
+        }
+
+        List<ID> ids = initialList.stream()
+            .map(idExtractor)
+            .collect(Collectors.toList());
+
+        return findAllInIdOrder(ids, projectionFinder, responseIdExtractor);
+    }
+
+    /**
+     * IDリストから関連データ込みのリストを取得し、IDリストの順序に並び替える
+     * （検索インデックスなど、DB以外で並び順が決まったIDリストに使用）
+     * 
+     * @param <T> エンティティの型
+     * @param <ID> IDの型
+     * @param ids IDリスト（正しい順序）
+     * @param repositoryFinder リポジトリからIDリストで詳細データを取得する関数
+     * @param idExtractor エンティティからIDを抽出する関数
+     * @return ソート順序が保持された詳細データのリスト
+     * @throws IllegalArgumentException 引数がnullの場合
+     */
+    public static <T, ID> List<T> findAllInIdOrder(
+        List<ID> ids,
+        Function<List<ID>, List<T>> repositoryFinder,
+        Function<T, ID> idExtractor
+    ) {
+        if (ids == null || repositoryFinder == null || idExtractor == null) {
+            throw new IllegalArgumentException("引数にnullは指定できません");
+        }
+
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return restoreSortOrder(ids, repositoryFinder.apply(ids), idExtractor);
+    }
 }
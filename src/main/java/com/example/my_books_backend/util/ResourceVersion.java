@@ -0,0 +1,90 @@
+package com.example.my_books_backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import com.example.my_books_backend.dto.VersionResponse;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * 条件付きGET（ETag / Last-Modified）用のリソースのバージョン
+ * レスポンスを構成するテーブルごとの「更新日時の最大値と件数」から作成する
+ * （行の追加・更新・論理削除のいずれでも値が変わる）
+ * 更新日時は秒単位のため、同じ秒内の更新ではレスポンスが変わっても値が変わらない場合がある
+ * そのためバイト単位の一致は保証せず、弱いETag（W/"..."）として返す
+ */
+@Getter
+public class ResourceVersion {
+    // ETagに使用するハッシュのバイト数
+    private static final int ETAG_BYTES = 16;
+
+    private final String eTag; // 弱いETag（W/とダブルクォートを含む）
+    private final long lastModified; // 最終更新日時（エポックミリ秒）
+
+    @Getter(AccessLevel.NONE)
+    private final String hash; // ETagの値（W/とダブルクォートを除く）
+
+    private ResourceVersion(String hash, long lastModified) {
+        this.eTag = "W/\"" + hash + "\"";
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * テーブルごとのバージョンからリソースのバージョンを作成
+     * 
+     * @param primary リソース本体のバージョン
+     * @param related 関連データのバージョン
+     * @return リソースのバージョン（リソース本体が存在しない場合はnull）
+     */
+    public static ResourceVersion of(VersionResponse primary, VersionResponse... related) {
+        if (primary == null || primary.getCount() == null || primary.getCount() == 0) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        long lastModified = update(digest, primary);
+        for (VersionResponse version : related) {
+            lastModified = Math.max(lastModified, update(digest, version));
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest(), 0, ETAG_BYTES);
+        return new ResourceVersion(hash, lastModified);
+    }
+
+    /**
+     * コンテンツコーディング（Content-Encoding）ごとのバージョンを作成
+     * コーディングが異なるとバイト列も異なるため、ETagの値にコーディングを付加して区別する
+     * 
+     * @param coding コンテンツコーディング（gzipなど）
+     * @return コーディングを付加したバージョン
+     */
+    public ResourceVersion withCoding(String coding) {
+        return new ResourceVersion(hash + "-" + coding, lastModified);
+    }
+
+    private static long update(MessageDigest digest, VersionResponse version) {
+        long lastModified = toEpochMilli(version.getLastModified());
+        String value = lastModified + ":" + version.getCount() + ";";
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        return lastModified;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return (dateTime != null)
+            ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : 0L;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256が利用できません", e);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.my_books_backend.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import com.example.my_books_backend.dto.book.BookResponse;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.util.CollationUtils;
+
+class BookCatalogIndexTests {
+    private static final Sort BY_ID = Sort.by(Sort.Order.asc("id"));
+
+    private final BookCatalogIndex index = new BookCatalogIndex();
+
+    @Test
+    @DisplayName("AND条件はすべてのジャンル、OR条件はいずれかのジャンルを含む書籍を返す")
+    void findsBooksByAllOrAnyGenres() {
+        build(Map.of(
+            book("book00000001"), List.of(1L, 2L),
+            book("book00000002"), List.of(1L),
+            book("book00000003"), List.of(2L, 3L),
+            book("book00000004"), List.of()
+        ));
+
+        assertThat(ids(List.of(1L), true)).containsExactly("book00000001", "book00000002");
+        assertThat(ids(List.of(1L, 2L), true)).containsExactly("book00000001");
+        assertThat(ids(List.of(1L, 2L), false)).containsExactly("book00000001", "book00000002", "book00000003");
+        assertThat(ids(List.of(1L, 3L), true)).isEmpty();
+        assertThat(ids(List.of(2L, 2L), true)).containsExactly("book00000001", "book00000003");
+
+        CatalogResult result = index.findByGenres(List.of(1L, 2L), false, BY_ID, 1, 1);
+        assertThat(result.getBookIds()).containsExactly("book00000002");
+        assertThat(result.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("ジャンルが空・存在しない場合、AND条件は0件、OR条件は存在するジャンルのみで検索する")
+    void handlesEmptyAndUnknownGenres() {
+        build(Map.of(
+            book("book00000001"), List.of(1L),
+            book("book00000002"), List.of(2L)
+        ));
+
+        assertThat(index.findByGenres(List.of(), true, BY_ID, 0, 20).getTotal()).isZero();
+        assertThat(index.findByGenres(List.of(), false, BY_ID, 0, 20).getTotal()).isZero();
+        assertThat(ids(List.of(99L), true)).isEmpty();
+        assertThat(ids(List.of(99L), false)).isEmpty();
+        assertThat(ids(List.of(1L, 99L), true)).isEmpty();
+        assertThat(ids(List.of(99L, 1L), false)).containsExactly("book00000001");
+
+        index.removeGenre(1L);
+        assertThat(ids(List.of(1L), false)).isEmpty();
+        assertThat(ids(List.of(1L, 2L), false)).containsExactly("book00000002");
+    }
+
+    @Test
+    @DisplayName("書籍のジャンルを変更・削除すると、検索結果に反映される")
+    void reflectsBooksMovingBetweenGenres() {
+        build(Map.of(
+            book("book00000001"), List.of(1L),
+            book("book00000002"), List.of(1L, 2L)
+        ));
+
+        index.upsert(book("book00000001"), List.of(2L, 3L));
+        assertThat(ids(List.of(1L), false)).containsExactly("book00000002");
+        assertThat(ids(List.of(2L), false)).containsExactly("book00000001", "book00000002");
+        assertThat(ids(List.of(3L), false)).containsExactly("book00000001");
+
+        index.upsert(book("book00000003"), List.of(3L));
+        assertThat(ids(List.of(3L), false)).containsExactly("book00000001", "book00000003");
+
+        Book deleted = book("book00000001");
+        deleted.setIsDeleted(true);
+        index.upsert(deleted, List.of(2L, 3L));
+        assertThat(ids(List.of(2L, 3L), false)).containsExactly("book00000002", "book00000003");
+
+        index.upsert(book("book00000001"), List.of(1L));
+        index.remove("book00000002");
+        assertThat(ids(List.of(1L, 2L), false)).containsExactly("book00000001");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("ランダムな更新と検索の結果が、Setで求めた結果と一致する")
+    void matchesSetBasedReference() {
+        Random random = new Random(42);
+        Map<String, ReferenceBook> reference = new LinkedHashMap<>();
+        BookCatalogIndex.Builder builder = index.newBuilder();
+        for (int i = 0; i < 600; i++) {
+            ReferenceBook book = ReferenceBook.random(String.format("book%08d", i), random);
+            reference.put(book.id, book);
+            builder.add(book.toBook(), List.copyOf(book.genreIds));
+        }
+        index.swap(builder);
+
+        List<Sort> sorts = List.of(
+            BY_ID,
+            Sort.by(Sort.Order.desc("popularity")),
+            Sort.by(Sort.Order.asc("title")),
+            Sort.by(Sort.Order.desc("reviewCount"))
+        );
+        for (int round = 0; round < 300; round++) {
+            // 書籍の更新（ジャンルの変更・削除・復元・統計情報の変更）
+            ReferenceBook target = reference.get(String.format("book%08d", random.nextInt(600)));
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    target.genreIds = randomGenres(random);
+                    index.upsert(target.toBook(), List.copyOf(target.genreIds));
+                }
+                case 1 -> {
+                    target.deleted = true;
+                    index.remove(target.id);
+                }
+                case 2 -> {
+                    target.deleted = false;
+                    index.upsert(target.toBook(), List.copyOf(target.genreIds));
+                }
+                default -> {
+                    target.reviewCount = random.nextInt(50);
+                    target.popularity = random.nextInt(20) / 2.0;
+                    index.updateStats(target.id, target.reviewCount, target.averageRating, target.popularity, target.favoriteCount);
+                }
+            }
+
+            // 検索
+            List<Long> genreIds = new ArrayList<>(randomGenres(random));
+            if (random.nextInt(10) == 0) {
+                genreIds.add(99L);
+            }
+            boolean matchAll = random.nextBoolean();
+            Sort sort = sorts.get(random.nextInt(sorts.size()));
+            int offset = random.nextInt(3) * 10;
+            int limit = 1 + random.nextInt(30);
+
+            List<String> expected = reference.values().stream()
+                .filter(book -> !book.deleted)
+                .filter(book -> matchAll
+                    ? !genreIds.isEmpty() && book.genreIds.containsAll(genreIds)
+                    : genreIds.stream().anyMatch(book.genreIds::contains))
+                .sorted(ReferenceBook.order(sort))
+                .map(book -> book.id)
+                .toList();
+            CatalogResult result = index.findByGenres(genreIds, matchAll, sort, offset, limit);
+
+            assertThat(result.getTotal()).as("genres=%s matchAll=%s", genreIds, matchAll).isEqualTo(expected.size());
+            assertThat(result.getBookIds())
+                .as("genres=%s matchAll=%s sort=%s offset=%d", genreIds, matchAll, sort, offset)
+                .containsExactlyElementsOf(expected.subList(
+                    Math.min(offset, expected.size()),
+                    Math.min(offset + limit, expected.size())
+                ));
+        }
+    }
+
+    @Test
+    @DisplayName("一覧はソートフィールドの順（同じ値の場合は書籍IDの昇順）で、DBのページと同じ範囲を返す")
+    void listsBooksInRepositoryOrderForEverySortField() {
+        Random random = new Random(7);
+        List<ReferenceBook> books = new ArrayList<>();
+        BookCatalogIndex.Builder builder = index.newBuilder();
+        // 書籍数を初期容量（1024件）より多くして、列の拡張も通す
+        for (int i = 0; i < 1_500; i++) {
+            ReferenceBook book = ReferenceBook.random(String.format("book%08d", (i * 7_919) % 1_500), random);
+            books.add(book);
+            builder.add(book.toBook(), List.copyOf(book.genreIds));
+        }
+        // 事前に作成した並び替え済み配列と、初回の一覧で作成する配列の両方を確認する
+        builder.prepareOrders(List.of("popularity", "title"));
+        index.swap(builder);
+
+        for (String field : List.of(
+            "title",
+            "publicationDate",
+            "reviewCount",
+            "averageRating",
+            "popularity",
+            "favoriteCount",
+            "id"
+        )) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Sort sort = Sort.by(new Sort.Order(direction, field), Sort.Order.asc("id"));
+                List<String> expected = books.stream()
+                    .sorted(ReferenceBook.order(sort))
+                    .map(book -> book.id)
+                    .toList();
+                assertPagesMatch(sort, expected, 20);
+                assertPagesMatch(sort, expected, 7);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("書籍の追加・削除・統計情報の更新後も、一覧の順序と総件数が正しい")
+    void keepsListingOrderAfterUpdates() {
+        Random random = new Random(11);
+        Map<String, ReferenceBook> reference = new LinkedHashMap<>();
+        BookCatalogIndex.Builder builder = index.newBuilder();
+        for (int i = 0; i < 200; i++) {
+            ReferenceBook book = ReferenceBook.random(String.format("book%08d", i), random);
+            reference.put(book.id, book);
+            builder.add(book.toBook(), List.copyOf(book.genreIds));
+        }
+        index.swap(builder);
+        List<Sort> sorts = List.of(
+            Sort.by(Sort.Order.desc("popularity"), Sort.Order.asc("id")),
+            Sort.by(Sort.Order.asc("reviewCount"), Sort.Order.asc("id")),
+            Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id"))
+        );
+        // 並び替え済み配列を作成してから更新する
+        sorts.forEach(sort -> index.findAll(sort, 0, 1));
+
+        for (int i = 0; i < 300; i++) {
+            String bookId = String.format("book%08d", random.nextInt(250));
+            ReferenceBook target = reference.computeIfAbsent(bookId, id -> {
+                ReferenceBook book = ReferenceBook.random(id, random);
+                book.deleted = true;
+                return book;
+            });
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    target.deleted = !target.deleted;
+                    index.upsert(target.toBook(), List.copyOf(target.genreIds));
+                }
+                case 1 -> {
+                    target.deleted = true;
+                    index.remove(target.id);
+                }
+                default -> {
+                    target.reviewCount = random.nextInt(50);
+                    target.popularity = random.nextInt(20) / 2.0;
+                    index.updateStats(target.id, target.reviewCount, target.averageRating, target.popularity, target.favoriteCount);
+                }
+            }
+        }
+
+        for (Sort sort : sorts) {
+            List<String> expected = reference.values().stream()
+                .filter(book -> !book.deleted)
+                .sorted(ReferenceBook.order(sort))
+                .map(book -> book.id)
+                .toList();
+            assertThat(index.size()).isEqualTo(expected.size());
+            assertPagesMatch(sort, expected, 15);
+        }
+    }
+
+    @Test
+    @DisplayName("一覧の書籍は、DTOプロジェクションと同じ値を返す")
+    void listsBookResponses() {
+        Book book = book("book00000001");
+        book.setTitle("湖畔の永遠");
+        book.setAuthors("山田太郎,佐藤花子");
+        book.setImagePath("/images/1.png");
+        book.setReviewCount(3L);
+        book.setAverageRating(4.33);
+        book.setPopularity(12.5);
+        Book noDate = book("book00000002");
+        noDate.setPublicationDate(null);
+        build(Map.of(book, List.of(2L, 1L, 2L), noDate, List.of()));
+
+        CatalogPage page = index.findAll(BY_ID, 0, 20);
+
+        assertThat(page.getTotal()).isEqualTo(2);
+        BookResponse first = page.getBooks().get(0);
+        assertThat(first.getId()).isEqualTo("book00000001");
+        assertThat(first.getTitle()).isEqualTo("湖畔の永遠");
+        assertThat(first.getDescription()).isEqualTo("説明");
+        assertThat(first.getAuthors()).containsExactly("山田太郎", "佐藤花子");
+        assertThat(first.getGenreIds()).containsExactly(2L, 1L);
+        assertThat(first.getPublicationDate()).isEqualTo(Date.valueOf("2020-01-01"));
+        assertThat(first.getImagePath()).isEqualTo("/images/1.png");
+        assertThat(first.getReviewCount()).isEqualTo(3L);
+        assertThat(first.getAverageRating()).isEqualTo(4.33);
+        assertThat(first.getPopularity()).isEqualTo(12.5);
+        assertThat(page.getBooks().get(1).getPublicationDate()).isNull();
+    }
+
+    /**
+     * 1ページ目から最終ページの次まで、各ページが期待する並びの同じ範囲と一致することを確認
+     */
+    private void assertPagesMatch(Sort sort, List<String> expected, int pageSize) {
+        for (int offset = 0; offset <= expected.size(); offset += pageSize) {
+            CatalogPage page = index.findAll(sort, offset, pageSize);
+            assertThat(page.getTotal()).isEqualTo(expected.size());
+            assertThat(page.getBooks().stream().map(BookResponse::getId).toList())
+                .as("sort=%s offset=%d", sort, offset)
+                .containsExactlyElementsOf(expected.subList(offset, Math.min(offset + pageSize, expected.size())));
+        }
+    }
+
+    private void build(Map<Book, List<Long>> books) {
+        BookCatalogIndex.Builder builder = index.newBuilder();
+        books.forEach(builder::add);
+        index.swap(builder);
+    }
+
+    private List<String> ids(List<Long> genreIds, boolean matchAll) {
+        return index.findByGenres(genreIds, matchAll, BY_ID, 0, 100).getBookIds();
+    }
+
+    private static Set<Long> randomGenres(Random random) {
+        Set<Long> genreIds = new HashSet<>();
+        int count = random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            genreIds.add(1L + random.nextInt(8));
+        }
+        return genreIds;
+    }
+
+    private static Book book(String id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("タイトル" + id);
+        book.setDescription("説明");
+        book.setAuthors("著者");
+        book.setPublicationDate(Date.valueOf("2020-01-01"));
+        book.setReviewCount(0L);
+        book.setAverageRating(0.0);
+        book.setPopularity(0.0);
+        return book;
+    }
+
+    /**
+     * 検索結果の比較用の書籍（DBと同様に、ソートフィールドの順・同値の場合は書籍IDの昇順で並べる）
+     */
+    private static final class ReferenceBook {
+        private final String id;
+        private final String title;
+        private Set<Long> genreIds;
+        private long reviewCount;
+        private double averageRating = 3.0;
+        private double popularity;
+        private long favoriteCount;
+        private Date publicationDate;
+        private boolean deleted;
+
+        private ReferenceBook(String id, String title) {
+            this.id = id;
+            this.title = title;
+        }
+
+        private static ReferenceBook random(String id, Random random) {
+            String[] titles = { "湖畔の永遠", "コハンの朝", "Ａｌｐｈａ", "alpha", "星空の旅人" };
+            ReferenceBook book = new ReferenceBook(id, titles[random.nextInt(titles.length)]);
+            book.genreIds = randomGenres(random);
+            book.reviewCount = random.nextInt(50);
+            book.averageRating = random.nextInt(11) / 2.0;
+            book.popularity = random.nextInt(20) / 2.0;
+            book.favoriteCount = random.nextInt(10);
+            book.publicationDate = (random.nextInt(20) == 0)
+                ? null
+                : Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(60)));
+            return book;
+        }
+
+        private static Comparator<ReferenceBook> order(Sort sort) {
+            Sort.Order first = sort.iterator().next();
+            Comparator<ReferenceBook> order = switch (first.getProperty()) {
+                case "title" -> Comparator.comparing(book -> CollationUtils.titleKey(book.title));
+                // 出版日が未設定の書籍は、DBと同様に昇順の先頭にする
+                case "publicationDate" -> Comparator.comparing(
+                    book -> book.publicationDate,
+                    Comparator.nullsFirst(Comparator.naturalOrder())
+                );
+                case "reviewCount" -> Comparator.comparingLong(book -> book.reviewCount);
+                case "averageRating" -> Comparator.comparingDouble(book -> book.averageRating);
+                case "popularity" -> Comparator.comparingDouble(book -> book.popularity);
+                case "favoriteCount" -> Comparator.comparingLong(book -> book.favoriteCount);
+                default -> Comparator.comparing(book -> book.id);
+            };
+            if (first.isDescending()) {
+                order = order.reversed();
+            }
+            return order.thenComparing(book -> book.id);
+        }
+
+        private Book toBook() {
+            Book book = book(id);
+            book.setTitle(title);
+            book.setPublicationDate(publicationDate);
+            book.setReviewCount(reviewCount);
+            book.setAverageRating(averageRating);
+            book.setPopularity(popularity);
+            book.setFavoriteCount(favoriteCount);
+            book.setIsDeleted(deleted);
+            return book;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.my_books_backend.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompactBitmapTests {
+
+    @Test
+    @DisplayName("追加・削除・含まれているかの判定が、Setと一致する（配列とビットマップの切り替えを含む）")
+    void matchesSetAcrossContainerConversions() {
+        Random random = new Random(42);
+        CompactBitmap bitmap = new CompactBitmap();
+        TreeSet<Integer> reference = new TreeSet<>();
+
+        // 1つのコンテナに4096件を超えて追加した後、4096件以下まで削除する
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 6_000; i++) {
+                int value = randomValue(random);
+                bitmap.add(value);
+                reference.add(value);
+            }
+            assertSameElements(bitmap, reference);
+            for (int i = 0; i < 9_000; i++) {
+                int value = randomValue(random);
+                bitmap.remove(value);
+                reference.remove(value);
+            }
+            assertSameElements(bitmap, reference);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            int value = randomValue(random);
+            assertThat(bitmap.contains(value)).isEqualTo(reference.contains(value));
+        }
+    }
+
+    @Test
+    @DisplayName("同じ値の追加、含まれていない値の削除は件数を変えない")
+    void ignoresDuplicateAddsAndMissingRemoves() {
+        CompactBitmap bitmap = new CompactBitmap();
+        bitmap.add(7);
+        bitmap.add(7);
+        bitmap.remove(8);
+        bitmap.remove(1 << 20);
+
+        assertThat(bitmap.cardinality()).isEqualTo(1);
+
+        bitmap.remove(7);
+        assertThat(bitmap.cardinality()).isZero();
+        assertThat(bitmap.contains(7)).isFalse();
+        assertSameElements(bitmap, new TreeSet<>());
+    }
+
+    @Test
+    @DisplayName("積集合・和集合が、Setの積集合・和集合と一致する")
+    void andAndOrMatchSetOperations() {
+        Random random = new Random(7);
+        // 疎な集合と密な集合、重なるコンテナと重ならないコンテナの組み合わせ
+        int[][] sizes = { { 100, 100 }, { 100, 20_000 }, { 20_000, 20_000 }, { 0, 500 } };
+        for (int[] size : sizes) {
+            CompactBitmap a = new CompactBitmap();
+            CompactBitmap b = new CompactBitmap();
+            TreeSet<Integer> setA = new TreeSet<>();
+            TreeSet<Integer> setB = new TreeSet<>();
+            fill(a, setA, size[0], random);
+            fill(b, setB, size[1], random);
+
+            TreeSet<Integer> intersection = new TreeSet<>(setA);
+            intersection.retainAll(setB);
+            TreeSet<Integer> union = new TreeSet<>(setA);
+            union.addAll(setB);
+
+            assertSameElements(a.and(b), intersection);
+            assertSameElements(b.and(a), intersection);
+            assertSameElements(a.or(b), union);
+            assertSameElements(b.or(a), union);
+            // 元のビットマップは変更しない
+            assertSameElements(a, setA);
+            assertSameElements(b, setB);
+        }
+    }
+
+    @Test
+    @DisplayName("和集合・コピーの結果を変更しても、元のビットマップは変わらない")
+    void resultsAreIndependentOfSources() {
+        CompactBitmap a = new CompactBitmap();
+        CompactBitmap b = new CompactBitmap();
+        for (int i = 0; i < 5_000; i++) {
+            a.add(i * 2);
+        }
+        b.add(1);
+
+        CompactBitmap union = a.or(b);
+        CompactBitmap copy = a.copy();
+        union.add(3);
+        union.remove(0);
+        copy.remove(2);
+
+        assertThat(a.contains(0)).isTrue();
+        assertThat(a.contains(2)).isTrue();
+        assertThat(a.contains(3)).isFalse();
+        assertThat(a.cardinality()).isEqualTo(5_000);
+        assertThat(b.cardinality()).isEqualTo(1);
+    }
+
+    /**
+     * 値を3つのコンテナ（上位16ビットが0・1・5）に偏らせて生成する
+     */
+    private static int randomValue(Random random) {
+        int[] highs = { 0, 1, 5 };
+        int high = highs[random.nextInt(highs.length)];
+        int low = (high == 0) ? random.nextInt(12_000) : random.nextInt(1 << 16);
+        return (high << 16) | low;
+    }
+
+    private static void fill(CompactBitmap bitmap, Set<Integer> reference, int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            int value = randomValue(random);
+            bitmap.add(value);
+            reference.add(value);
+        }
+    }
+
+    private static void assertSameElements(CompactBitmap bitmap, TreeSet<Integer> reference) {
+        List<Integer> values = new ArrayList<>();
+        bitmap.forEach(values::add);
+        assertThat(values).containsExactlyElementsOf(reference);
+        assertThat(bitmap.cardinality()).isEqualTo(reference.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.my_books_backend.catalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OffHeapColumnTests {
+
+    @Test
+    @DisplayName("整数・小数の値を位置ごとに読み書きできる")
+    void readsAndWritesValuesByIndex() {
+        OffHeapColumn column = new OffHeapColumn(4);
+        column.putLong(0, Long.MIN_VALUE);
+        column.putLong(1, Long.MAX_VALUE);
+        column.putDouble(2, 4.25);
+        column.putDouble(3, -0.0);
+
+        assertThat(column.capacity()).isEqualTo(4);
+        assertThat(column.getLong(0)).isEqualTo(Long.MIN_VALUE);
+        assertThat(column.getLong(1)).isEqualTo(Long.MAX_VALUE);
+        assertThat(column.getDouble(2)).isEqualTo(4.25);
+        assertThat(Double.compare(column.getDouble(3), -0.0)).isZero();
+    }
+
+    @Test
+    @DisplayName("拡張しても既存の値を保持し、縮小はしない")
+    void keepsValuesWhenGrowing() {
+        OffHeapColumn column = new OffHeapColumn(3);
+        for (int i = 0; i < 3; i++) {
+            column.putLong(i, i * 1_000_000_007L);
+        }
+
+        column.grow(1_000);
+        column.putDouble(999, 1.5);
+        column.grow(10);
+
+        assertThat(column.capacity()).isEqualTo(1_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(column.getLong(i)).isEqualTo(i * 1_000_000_007L);
+        }
+        assertThat(column.getLong(3)).isZero();
+        assertThat(column.getDouble(999)).isEqualTo(1.5);
+    }
+}
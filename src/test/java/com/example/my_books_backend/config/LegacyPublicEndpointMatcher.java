@@ -0,0 +1,31 @@
+package com.example.my_books_backend.config;
+
+import java.util.List;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * PublicEndpointMatcher 導入前のパブリックエンドポイントの判定（AuthTokenFilter の旧実装）
+ * リクエストごとに全パターンを AntPathMatcher で照合する（比較用）
+ */
+class LegacyPublicEndpointMatcher {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> fullyPublicEndpoints;
+    private final List<String> publicGetEndpoints;
+
+    LegacyPublicEndpointMatcher(SecurityEndpointsConfig securityEndpointsConfig) {
+        this.fullyPublicEndpoints = securityEndpointsConfig.getFullyPublicEndpoints();
+        this.publicGetEndpoints = securityEndpointsConfig.getPublicGetEndpoints();
+    }
+
+    boolean isPublic(String method, String requestURI) {
+        // 完全にパブリックなエンドポイント
+        boolean isFullyPublic = fullyPublicEndpoints.stream()
+            .anyMatch(endpoint -> pathMatcher.match(endpoint, requestURI));
+
+        // GETメソッドのみパブリックなエンドポイント
+        boolean isPublicGet = "GET".equals(method) && publicGetEndpoints.stream()
+            .anyMatch(endpoint -> pathMatcher.match(endpoint, requestURI));
+
+        return isFullyPublic || isPublicGet;
+    }
+}
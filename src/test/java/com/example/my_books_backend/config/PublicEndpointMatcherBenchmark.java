@@ -0,0 +1,45 @@
+package com.example.my_books_backend.config;
+
+import java.util.List;
+
+/**
+ * 大量のエンドポイントを登録した場合の判定時間を、全パターンを照合する旧実装と比較する
+ * 実行環境の負荷で結果が変わるため、テストとしては実行せず main メソッドから手動で実行する
+ * （エンドポイント・リクエストは PublicEndpointMatcherManyEndpointsTests と同じ）
+ */
+class PublicEndpointMatcherBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        SecurityEndpointsConfig endpoints = PublicEndpointMatcherManyEndpointsTests.GENERATED_ENDPOINTS;
+        PublicEndpointMatcher matcher = new PublicEndpointMatcher(endpoints);
+        LegacyPublicEndpointMatcher legacyMatcher = new LegacyPublicEndpointMatcher(endpoints);
+        List<String[]> requests = PublicEndpointMatcherManyEndpointsTests.generateRequests();
+
+        // 最初の数回はウォームアップを兼ねるため、最短の時間を使う
+        long legacyNanos = Long.MAX_VALUE;
+        long matcherNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            legacyNanos = Math.min(legacyNanos, time(() -> requests.forEach(
+                request -> legacyMatcher.isPublic(request[0], request[1])
+            )));
+            matcherNanos = Math.min(matcherNanos, time(() -> requests.forEach(
+                request -> matcher.isPublic(request[0], request[1])
+            )));
+        }
+
+        System.out.printf(
+            "パブリックエンドポイントの判定: %dパターン×%dリクエスト 旧実装 %dms, PublicEndpointMatcher %dms%n",
+            PublicEndpointMatcherManyEndpointsTests.ENDPOINTS,
+            requests.size(),
+            legacyNanos / 1_000_000,
+            matcherNanos / 1_000_000
+        );
+    }
+
+    private static long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.my_books_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.example.my_books_backend.service.UserSecurityVersionService;
+import com.example.my_books_backend.service.impl.UserDetailsServiceImpl;
+import com.example.my_books_backend.util.JwtUtils;
+import jakarta.servlet.FilterChain;
+
+/**
+ * 大量のエンドポイントを登録した場合の判定
+ * （リクエストごとに全パターンを照合する旧実装と同じ結果になること）
+ * 判定時間の比較は PublicEndpointMatcherBenchmark を手動で実行する
+ */
+class PublicEndpointMatcherManyEndpointsTests {
+    static final int ENDPOINTS = 2_000;
+    static final int REQUESTS = 5_000;
+
+    // 生成したエンドポイント（半分はすべてのメソッド、半分はGETのみパブリック）
+    static final SecurityEndpointsConfig GENERATED_ENDPOINTS = new SecurityEndpointsConfig() {
+        @Override
+        public List<String> getFullyPublicEndpoints() {
+            List<String> endpoints = new ArrayList<>(super.getFullyPublicEndpoints());
+            IntStream.range(0, ENDPOINTS / 2).forEach(i -> endpoints.add("/service" + i + "/login"));
+            return endpoints;
+        }
+
+        @Override
+        public List<String> getPublicGetEndpoints() {
+            List<String> endpoints = new ArrayList<>(super.getPublicGetEndpoints());
+            IntStream.range(0, ENDPOINTS / 2).forEach(i -> endpoints.add("/catalog" + i + "/**"));
+            return endpoints;
+        }
+    };
+
+    private final PublicEndpointMatcher matcher = new PublicEndpointMatcher(GENERATED_ENDPOINTS);
+    private final LegacyPublicEndpointMatcher legacyMatcher = new LegacyPublicEndpointMatcher(GENERATED_ENDPOINTS);
+    private final List<String[]> requests = generateRequests();
+
+    @Test
+    @DisplayName("エンドポイントが多くても、全パターンを照合する旧実装と同じ結果を返す")
+    void matchesLikeLegacyWithManyEndpoints() {
+        for (String[] request : requests) {
+            assertThat(matcher.isPublic(request[0], request[1]))
+                .as("%s %s", request[0], request[1])
+                .isEqualTo(legacyMatcher.isPublic(request[0], request[1]));
+        }
+    }
+
+    @Test
+    @DisplayName("AuthTokenFilterはパブリックエンドポイントをトークンを検証せずに通過させる")
+    void filterPassesPublicEndpointsWithoutVerifyingTokens() throws Exception {
+        JwtUtils jwtUtils = mock(JwtUtils.class);
+        UserDetailsServiceImpl userDetailsService = mock(UserDetailsServiceImpl.class);
+        UserSecurityVersionService userSecurityVersionService = mock(UserSecurityVersionService.class);
+        AuthTokenFilter filter = new AuthTokenFilter(userDetailsService, userSecurityVersionService, jwtUtils, matcher);
+
+        AtomicInteger passed = new AtomicInteger();
+        FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+        List<String[]> publicRequests = requests.stream()
+            .filter(request -> legacyMatcher.isPublic(request[0], request[1]))
+            .toList();
+        for (String[] request : publicRequests) {
+            filter.doFilter(
+                new MockHttpServletRequest(request[0], request[1]),
+                new MockHttpServletResponse(),
+                chain
+            );
+        }
+
+        assertThat(publicRequests).isNotEmpty();
+        assertThat(passed).hasValue(publicRequests.size());
+        verifyNoInteractions(jwtUtils, userDetailsService, userSecurityVersionService);
+    }
+
+    /**
+     * 生成したエンドポイント・既定のエンドポイント・パブリックでないエンドポイントへのリクエストを生成
+     */
+    static List<String[]> generateRequests() {
+        Random random = new Random(42);
+        String[] methods = { "GET", "POST", "PUT", "DELETE" };
+        List<String[]> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String method = methods[random.nextInt(methods.length)];
+            int n = random.nextInt(ENDPOINTS / 2);
+            String path = switch (random.nextInt(6)) {
+                case 0 -> "/service" + n + "/login";
+                case 1 -> "/catalog" + n + "/items/" + random.nextInt(1000);
+                case 2 -> "/books/" + Integer.toString(random.nextInt(1_000_000), 36);
+                case 3 -> "/reviews/" + random.nextInt(1000);
+                case 4 -> "/me/profile";
+                default -> "/unknown" + n + "/items";
+            };
+            requests.add(new String[] { method, path });
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.my_books_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class PublicEndpointMatcherTests {
+
+    // 既定のエンドポイントに、先頭のセグメントがワイルドカード・変数のパターンを加えた設定
+    private static final SecurityEndpointsConfig ENDPOINTS = new SecurityEndpointsConfig() {
+        @Override
+        public List<String> getFullyPublicEndpoints() {
+            return concat(super.getFullyPublicEndpoints(), "/*/public/**");
+        }
+
+        @Override
+        public List<String> getPublicGetEndpoints() {
+            return concat(super.getPublicGetEndpoints(), "/{tenant}/catalog");
+        }
+    };
+
+    private final PublicEndpointMatcher matcher = new PublicEndpointMatcher(ENDPOINTS);
+    private final LegacyPublicEndpointMatcher legacyMatcher = new LegacyPublicEndpointMatcher(ENDPOINTS);
+
+    @ParameterizedTest(name = "{0} {1} -> {2}")
+    @DisplayName("AntPathMatcherによる判定と同じ結果になる")
+    @CsvSource({
+        // /books と /books/**
+        "GET, /books, true",
+        "GET, /books/, true",
+        "GET, /books/afcIMuetDuzj, true",
+        "GET, /books/afcIMuetDuzj/chapters/1, true",
+        "GET, /booksx, false",
+        "GET, /genres, true",
+        "GET, /genres/1, true",
+        // GETのみ・すべてのメソッド
+        "POST, /books, false",
+        "PUT, /books/afcIMuetDuzj, false",
+        "DELETE, /genres/1, false",
+        "HEAD, /books, false",
+        "POST, /login, true",
+        "GET, /login, true",
+        "POST, /login/, false",
+        "POST, /login/extra, false",
+        "GET, /actuator/health, true",
+        "GET, /actuator/health/liveness, false",
+        "GET, /actuator/metrics, false",
+        "GET, /swagger-ui.html, true",
+        "GET, /swagger-ui/index.html, true",
+        "GET, /v3/api-docs, true",
+        "GET, /v3/api-docs/swagger-config, true",
+        "GET, /, false",
+        "GET, /reviews, false",
+        "GET, /me/profile, false",
+        // 先頭のセグメントがワイルドカード・変数のパターン
+        "GET, /acme/public, true",
+        "POST, /acme/public/reports/1, true",
+        "GET, /acme/catalog, true",
+        "POST, /acme/catalog, false",
+        "GET, /acme/catalog/1, false",
+        "GET, /acme/private, false",
+        "GET, /books/public/x, true",
+        // デコードできないパス
+        "GET, /books/%zz, true",
+        "POST, /books/%zz, false",
+        "GET, /books/%, true",
+        "GET, /reviews/%zz, false",
+        "POST, /login%zz, false",
+        "POST, /acme/public/%zz, true",
+    })
+    void matchesLikeAntPathMatcher(String method, String path, boolean expected) {
+        assertThat(legacyMatcher.isPublic(method, path)).isEqualTo(expected);
+        assertThat(matcher.isPublic(method, path)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("リクエストのパスからコンテキストパスを除いて判定する")
+    void matchesRequestWithoutContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/afcIMuetDuzj");
+        request.setContextPath("/api");
+        assertThat(matcher.matches(request)).isTrue();
+
+        request.setMethod("POST");
+        assertThat(matcher.matches(request)).isFalse();
+    }
+
+    private static List<String> concat(List<String> endpoints, String endpoint) {
+        return Stream.concat(endpoints.stream(), Stream.of(endpoint)).toList();
+    }
+}
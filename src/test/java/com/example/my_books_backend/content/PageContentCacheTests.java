@@ -0,0 +1,251 @@
+package com.example.my_books_backend.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import com.example.my_books_backend.dto.book_chapter_page_content.BookChapterPageContentResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.util.GzipUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PageContentCacheTests {
+    private static final String BOOK_ID = "afcIMuetDuzj";
+    private static final long PAGES_IN_CHAPTER = 10;
+
+    @TempDir
+    Path segmentDir;
+
+    private final BookChapterPageContentRepository repository = mock(BookChapterPageContentRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 先読みのタスクを保持し、テストから実行する
+    private final List<Runnable> readAheadTasks = new ArrayList<>();
+    private final Executor readAheadExecutor = readAheadTasks::add;
+
+    @BeforeEach
+    void setUp() {
+        when(repository.findChapterPageContentResponse(anyString(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> {
+                long pageNumber = invocation.getArgument(2);
+                return (pageNumber <= PAGES_IN_CHAPTER)
+                    ? Optional.of(page(invocation.getArgument(0), invocation.getArgument(1), pageNumber))
+                    : Optional.empty();
+            });
+        when(repository.findChapterPageContentResponses(anyString(), anyLong(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> LongStream
+                .rangeClosed(invocation.getArgument(2), invocation.getArgument(3))
+                .mapToObj(pageNumber -> page(invocation.getArgument(0), invocation.getArgument(1), pageNumber))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("キャッシュにないページはDBから取得し、2回目はキャッシュから返す")
+    void returnsCachedPageAfterMiss() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 0);
+
+        Optional<BookChapterPageContentResponse> first = cache.get(BOOK_ID, 1L, 1L);
+        Optional<BookChapterPageContentResponse> second = cache.get(BOOK_ID, 1L, 1L);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getContent()).isEqualTo("本文 1-1");
+        assertThat(first.get().getTotalPagesInChapter()).isEqualTo(PAGES_IN_CHAPTER);
+        assertThat(second.get().getContent()).isEqualTo("本文 1-1");
+        verify(repository, times(1)).findChapterPageContentResponse(BOOK_ID, 1L, 1L);
+        assertThat(gets("hit")).isEqualTo(1.0);
+        assertThat(gets("miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("存在しないページは空を返し、キャッシュ・先読みしない")
+    void returnsEmptyForMissingPage() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 3);
+
+        assertThat(cache.getCompressed(BOOK_ID, 1L, PAGES_IN_CHAPTER + 1)).isEmpty();
+        assertThat(cache.getCompressed(BOOK_ID, 1L, PAGES_IN_CHAPTER + 1)).isEmpty();
+
+        verify(repository, times(2)).findChapterPageContentResponse(BOOK_ID, 1L, PAGES_IN_CHAPTER + 1);
+        assertThat(readAheadTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ページNの取得後に、同じ章のページN+1〜N+kを1回のクエリで先読みする")
+    void readsAheadFollowingPages() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 3);
+
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        runReadAheadTasks();
+
+        verify(repository).findChapterPageContentResponses(BOOK_ID, 1L, 2L, 4L);
+        for (long pageNumber = 2; pageNumber <= 4; pageNumber++) {
+            assertThat(cache.getCompressed(BOOK_ID, 1L, pageNumber)).isPresent();
+            verify(repository, never()).findChapterPageContentResponse(BOOK_ID, 1L, pageNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("先読みは範囲の前後のキャッシュ済みのページを除き、章の最後のページで止める")
+    void readsAheadOnlyUncachedPagesWithinChapter() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 3);
+        // 先読みでページをキャッシュしないようにして、取得したページのみをキャッシュする
+        when(repository.findChapterPageContentResponses(anyString(), anyLong(), anyLong(), anyLong()))
+            .thenReturn(List.of());
+        cache.getCompressed(BOOK_ID, 1L, 2L);
+        cache.getCompressed(BOOK_ID, 1L, 4L);
+        cache.getCompressed(BOOK_ID, 1L, 8L);
+        runReadAheadTasks();
+        verify(repository).findChapterPageContentResponses(BOOK_ID, 1L, 3L, 5L);
+        verify(repository).findChapterPageContentResponses(BOOK_ID, 1L, 5L, 7L);
+        // 章のページ数（10）を超えない
+        verify(repository).findChapterPageContentResponses(BOOK_ID, 1L, 9L, 10L);
+
+        // ページ2・4はキャッシュ済みのため、ページ3のみ
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        runReadAheadTasks();
+        verify(repository).findChapterPageContentResponses(BOOK_ID, 1L, 3L, 3L);
+
+        // 最後のページの後は先読みしない
+        cache.getCompressed(BOOK_ID, 1L, 10L);
+        assertThat(readAheadTasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("同じ範囲の先読みは、実行が終わるまで重複して登録しない")
+    void deduplicatesReadAheadInProgress() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 3);
+
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        assertThat(readAheadTasks).hasSize(1);
+
+        runReadAheadTasks();
+        // 先読みしたページはキャッシュ済みのため、再度先読みしない
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        assertThat(readAheadTasks).isEmpty();
+
+        // 先読みが失敗した場合も、次の取得で再度先読みできる
+        when(repository.findChapterPageContentResponses(BOOK_ID, 1L, 5L, 7L))
+            .thenThrow(new IllegalStateException("DBエラー"));
+        cache.getCompressed(BOOK_ID, 1L, 4L);
+        runReadAheadTasks();
+        cache.getCompressed(BOOK_ID, 1L, 4L);
+        assertThat(readAheadTasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("圧縮後のバイト数の合計が上限を超えると追い出す")
+    void evictsByWeight() {
+        // 1ページあたり約1KB（本文1000バイト＋章タイトル・固定分）、上限は3ページ分
+        PageContentCache cache = newCache(DataSize.ofBytes(3_600), 0);
+        Random random = new Random(42);
+        when(repository.findChapterPageContentResponse(anyString(), anyLong(), anyLong()))
+            .thenAnswer(invocation -> {
+                byte[] content = new byte[1_000];
+                random.nextBytes(content);
+                return Optional.of(new CompressedPageContentResponse(
+                    BOOK_ID,
+                    1L,
+                    "第1章",
+                    invocation.getArgument(2),
+                    PAGES_IN_CHAPTER,
+                    content
+                ));
+            });
+
+        for (long pageNumber = 1; pageNumber <= PAGES_IN_CHAPTER; pageNumber++) {
+            cache.getCompressed(BOOK_ID, 1L, pageNumber);
+        }
+
+        // 追い出しはCaffeineのメンテナンス処理（非同期）で行われる
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(meterRegistry.get("cache.size").tag("cache", PageContentCache.CACHE_NAME).gauge().value())
+                .isLessThanOrEqualTo(3.0);
+            assertThat(meterRegistry.get("cache.evictions").tag("cache", PageContentCache.CACHE_NAME)
+                .functionCounter().count())
+                .isGreaterThanOrEqualTo(7.0);
+        });
+    }
+
+    @Test
+    @DisplayName("書籍・章単位でキャッシュから削除できる")
+    void evictsBookAndChapter() {
+        PageContentCache cache = newCache(DataSize.ofMegabytes(1), 0);
+        String otherBookId = "otherBook000";
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        cache.getCompressed(BOOK_ID, 2L, 1L);
+        cache.getCompressed(otherBookId, 1L, 1L);
+
+        cache.evictChapter(BOOK_ID, 1L);
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        cache.getCompressed(BOOK_ID, 2L, 1L);
+        cache.getCompressed(otherBookId, 1L, 1L);
+        verify(repository, times(2)).findChapterPageContentResponse(BOOK_ID, 1L, 1L);
+        verify(repository, times(1)).findChapterPageContentResponse(BOOK_ID, 2L, 1L);
+        verify(repository, times(1)).findChapterPageContentResponse(otherBookId, 1L, 1L);
+
+        cache.evictBook(BOOK_ID);
+        cache.getCompressed(BOOK_ID, 1L, 1L);
+        cache.getCompressed(BOOK_ID, 2L, 1L);
+        cache.getCompressed(otherBookId, 1L, 1L);
+        verify(repository, times(3)).findChapterPageContentResponse(BOOK_ID, 1L, 1L);
+        verify(repository, times(2)).findChapterPageContentResponse(BOOK_ID, 2L, 1L);
+        verify(repository, times(1)).findChapterPageContentResponse(otherBookId, 1L, 1L);
+    }
+
+    private PageContentCache newCache(DataSize maxSize, int readAheadPages) {
+        return new PageContentCache(
+            repository,
+            new PageSegmentStore(segmentDir),
+            readAheadExecutor,
+            meterRegistry,
+            maxSize,
+            Duration.ofHours(1),
+            readAheadPages
+        );
+    }
+
+    private void runReadAheadTasks() {
+        List<Runnable> tasks = List.copyOf(readAheadTasks);
+        readAheadTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets")
+            .tag("cache", PageContentCache.CACHE_NAME)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+
+    private static CompressedPageContentResponse page(String bookId, Long chapterNumber, long pageNumber) {
+        return new CompressedPageContentResponse(
+            bookId,
+            chapterNumber,
+            "第" + chapterNumber + "章",
+            pageNumber,
+            PAGES_IN_CHAPTER,
+            GzipUtils.compress("本文 " + chapterNumber + "-" + pageNumber)
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.my_books_backend.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import com.example.my_books_backend.dto.ContentSegmentBuildResponse;
+import com.example.my_books_backend.dto.VersionResponse;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.repository.BookChapterRepository;
+
+class PageSegmentBuilderTests {
+    private static final String BOOK_ID = "afcIMuetDuzj";
+
+    @TempDir
+    Path directory;
+
+    private final BookChapterPageContentRepository pageRepository = mock(BookChapterPageContentRepository.class);
+    private final BookChapterRepository chapterRepository = mock(BookChapterRepository.class);
+    private final PageContentCache pageContentCache = mock(PageContentCache.class);
+    private final List<CompressedPageContentResponse> pages = PageSegmentStoreTests.pages(new Random(42));
+
+    @BeforeEach
+    void setUp() {
+        when(pageRepository.findContentBookIds()).thenReturn(List.of(BOOK_ID));
+        when(pageRepository.getVersionResponse(BOOK_ID))
+            .thenReturn(new VersionResponse(LocalDateTime.of(2024, 1, 1, 0, 0), (long) pages.size()));
+        when(chapterRepository.getVersionResponse(BOOK_ID))
+            .thenReturn(new VersionResponse(LocalDateTime.of(2024, 1, 1, 0, 0), 3L));
+        // 呼び出しごとに新しいストリームを返す
+        when(pageRepository.streamSegmentPages(BOOK_ID)).thenAnswer(invocation -> pages.stream());
+    }
+
+    @Test
+    @DisplayName("DBのページからセグメントを作成し、全ページをバイト単位で同じ内容で読み取れる")
+    void buildsSegmentFromDatabasePages() {
+        PageSegmentStore store = new PageSegmentStore(directory);
+
+        ContentSegmentBuildResponse response = newBuilder(store).build();
+
+        assertThat(response.getBookCount()).isEqualTo(1L);
+        assertThat(response.getBuiltCount()).isEqualTo(1L);
+        PageSegmentStoreTests.assertAllPages(store, pages);
+        verify(pageContentCache).evictBook(BOOK_ID);
+    }
+
+    @Test
+    @DisplayName("バージョンが一致するセグメントファイルは、再起動後も作り直さずに開く")
+    void reusesSegmentWithSameVersion() {
+        newBuilder(new PageSegmentStore(directory)).build();
+
+        PageSegmentStore restarted = new PageSegmentStore(directory);
+        ContentSegmentBuildResponse response = newBuilder(restarted).build();
+
+        assertThat(response.getBookCount()).isEqualTo(1L);
+        assertThat(response.getBuiltCount()).isZero();
+        PageSegmentStoreTests.assertAllPages(restarted, pages);
+    }
+
+    @Test
+    @DisplayName("破損したセグメントファイルは作り直す")
+    void rebuildsCorruptSegment() throws IOException {
+        newBuilder(new PageSegmentStore(directory)).build();
+        Path file = directory.resolve(BOOK_ID + ".seg");
+        byte[] truncated = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(truncated, truncated.length / 2));
+
+        PageSegmentStore restarted = new PageSegmentStore(directory);
+        ContentSegmentBuildResponse response = newBuilder(restarted).build();
+
+        assertThat(response.getBuiltCount()).isEqualTo(1L);
+        PageSegmentStoreTests.assertAllPages(restarted, pages);
+    }
+
+    @Test
+    @DisplayName("ページがなくなった書籍のセグメントは削除し、ファイル名に使用できない書籍IDは作成しない")
+    void removesSegmentsOfBooksWithoutPages() {
+        PageSegmentStore store = new PageSegmentStore(directory);
+        newBuilder(store).build();
+
+        when(pageRepository.findContentBookIds()).thenReturn(List.of("bad/book.id"));
+        ContentSegmentBuildResponse response = newBuilder(store).build();
+
+        assertThat(response.getBookCount()).isZero();
+        assertThat(response.getBuiltCount()).isZero();
+        assertThat(store.contains(BOOK_ID)).isFalse();
+        assertThat(Files.exists(directory.resolve(BOOK_ID + ".seg"))).isFalse();
+        verify(pageRepository, never()).getVersionResponse("bad/book.id");
+    }
+
+    private PageSegmentBuilder newBuilder(PageSegmentStore store) {
+        return new PageSegmentBuilder(
+            store,
+            pageContentCache,
+            pageRepository,
+            chapterRepository,
+            mock(PlatformTransactionManager.class),
+            true
+        );
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.my_books_backend.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.my_books_backend.dto.book_chapter_page_content.CompressedPageContentResponse;
+
+class PageSegmentStoreTests {
+    private static final String BOOK_ID = "afcIMuetDuzj";
+    private static final String VERSION = "W/\"0123456789abcdef\"";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("書き込んだ全ページを、バイト単位で同じ内容で読み取れる（再起動後に開いた場合も同じ）")
+    void roundTripsEveryPage() throws IOException {
+        List<CompressedPageContentResponse> pages = pages(new Random(42));
+        PageSegmentStore store = new PageSegmentStore(directory);
+
+        store.write(BOOK_ID, VERSION, pages.iterator());
+
+        assertThat(store.contains(BOOK_ID)).isTrue();
+        assertThat(store.size()).isEqualTo(1);
+        assertAllPages(store, pages);
+
+        PageSegmentStore reopened = new PageSegmentStore(directory);
+        assertThat(reopened.contains(BOOK_ID)).isFalse();
+        assertThat(reopened.open(BOOK_ID, VERSION)).isTrue();
+        assertAllPages(reopened, pages);
+    }
+
+    @Test
+    @DisplayName("存在しないページ・章・書籍は空を返す")
+    void returnsEmptyForMissingPages() throws IOException {
+        PageSegmentStore store = new PageSegmentStore(directory);
+        store.write(BOOK_ID, VERSION, pages(new Random(1)).iterator());
+
+        assertThat(store.find(BOOK_ID, 1L, 0L)).isEmpty();
+        assertThat(store.find(BOOK_ID, 1L, 4L)).isEmpty();
+        assertThat(store.find(BOOK_ID, 2L, 1L)).isEmpty();
+        assertThat(store.find(BOOK_ID, 99L, 1L)).isEmpty();
+        assertThat(store.find("otherBook000", 1L, 1L)).isEmpty();
+        assertThat(store.contains("otherBook000")).isFalse();
+    }
+
+    @Test
+    @DisplayName("ページのない書籍のセグメントも作成・読み取りできる")
+    void roundTripsEmptySegment() throws IOException {
+        PageSegmentStore store = new PageSegmentStore(directory);
+        store.write(BOOK_ID, VERSION, List.<CompressedPageContentResponse>of().iterator());
+
+        assertThat(store.contains(BOOK_ID)).isTrue();
+        assertThat(store.find(BOOK_ID, 1L, 1L)).isEmpty();
+        assertThat(new PageSegmentStore(directory).open(BOOK_ID, VERSION)).isTrue();
+    }
+
+    @Test
+    @DisplayName("バージョンが異なるファイル・ファイルがない書籍は開かない")
+    void doesNotOpenOtherVersions() throws IOException {
+        new PageSegmentStore(directory).write(BOOK_ID, VERSION, pages(new Random(1)).iterator());
+
+        PageSegmentStore store = new PageSegmentStore(directory);
+        assertThat(store.open(BOOK_ID, "W/\"other\"")).isFalse();
+        assertThat(store.open("otherBook000", VERSION)).isFalse();
+        assertThat(store.contains(BOOK_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("途中で切れた・破損したファイルは開かず、DBから読み取る書籍として扱う")
+    void rejectsTruncatedOrCorruptFiles() throws IOException {
+        new PageSegmentStore(directory).write(BOOK_ID, VERSION, pages(new Random(1)).iterator());
+        Path file = directory.resolve(BOOK_ID + ".seg");
+        byte[] original = Files.readAllBytes(file);
+
+        // 末尾が切れたファイル
+        for (int length : new int[] { original.length - 1, original.length / 2, 10, 0 }) {
+            Files.write(file, Arrays.copyOf(original, length));
+            assertNotOpened(file);
+        }
+
+        // 先頭のマジックナンバーの破損
+        byte[] corrupt = original.clone();
+        corrupt[0] ^= 0x7F;
+        Files.write(file, corrupt);
+        assertNotOpened(file);
+
+        // 索引の開始位置の破損（ファイルの範囲外）
+        corrupt = original.clone();
+        ByteBuffer.wrap(corrupt).putLong(corrupt.length - Long.BYTES - Integer.BYTES, corrupt.length * 2L);
+        Files.write(file, corrupt);
+        assertNotOpened(file);
+
+        // 索引のページの長さの破損（本文の範囲外）
+        corrupt = original.clone();
+        ByteBuffer.wrap(corrupt).putInt(corrupt.length - Long.BYTES - 2 * Integer.BYTES, Integer.MAX_VALUE);
+        Files.write(file, corrupt);
+        assertNotOpened(file);
+
+        // 破損したファイルは書き込みで置き換えられる
+        PageSegmentStore store = new PageSegmentStore(directory);
+        List<CompressedPageContentResponse> pages = pages(new Random(2));
+        store.write(BOOK_ID, VERSION, pages.iterator());
+        assertAllPages(store, pages);
+    }
+
+    @Test
+    @DisplayName("指定した書籍以外のセグメントとファイルを削除する")
+    void retainsOnlyGivenBooks() throws IOException {
+        PageSegmentStore store = new PageSegmentStore(directory);
+        store.write(BOOK_ID, VERSION, pages(new Random(1)).iterator());
+        store.write("otherBook000", VERSION, pages(new Random(2)).iterator());
+
+        store.retainAll(List.of(BOOK_ID));
+
+        assertThat(store.contains(BOOK_ID)).isTrue();
+        assertThat(store.contains("otherBook000")).isFalse();
+        assertThat(Files.exists(directory.resolve("otherBook000.seg"))).isFalse();
+        assertThat(store.isSupported("otherBook000")).isTrue();
+        assertThat(store.isSupported("../etc/passwd")).isFalse();
+    }
+
+    private void assertNotOpened(Path file) {
+        PageSegmentStore store = new PageSegmentStore(directory);
+        assertThat(store.open(BOOK_ID, VERSION)).as("%d bytes", file.toFile().length()).isFalse();
+        assertThat(store.contains(BOOK_ID)).isFalse();
+        assertThat(store.find(BOOK_ID, 1L, 1L)).isEmpty();
+    }
+
+    /**
+     * 3章分のページ（章番号は1・3・10、本文はランダムなバイト列で、空の本文を含む）
+     */
+    static List<CompressedPageContentResponse> pages(Random random) {
+        List<CompressedPageContentResponse> pages = new ArrayList<>();
+        long[][] chapters = { { 1, 3 }, { 3, 40 }, { 10, 1 } };
+        for (long[] chapter : chapters) {
+            for (long pageNumber = 1; pageNumber <= chapter[1]; pageNumber++) {
+                byte[] content = new byte[(pageNumber == 2) ? 0 : random.nextInt(5_000)];
+                random.nextBytes(content);
+                pages.add(new CompressedPageContentResponse(
+                    BOOK_ID,
+                    chapter[0],
+                    "第" + chapter[0] + "章 はじまり",
+                    pageNumber,
+                    chapter[1],
+                    content
+                ));
+            }
+        }
+        return pages;
+    }
+
+    static void assertAllPages(PageSegmentStore store, List<CompressedPageContentResponse> pages) {
+        for (CompressedPageContentResponse expected : pages) {
+            Optional<CompressedPageContentResponse> actual = store.find(
+                expected.getBookId(),
+                expected.getChapterNumber(),
+                expected.getPageNumber()
+            );
+            assertThat(actual).isPresent();
+            assertThat(actual.get().getBookId()).isEqualTo(expected.getBookId());
+            assertThat(actual.get().getChapterNumber()).isEqualTo(expected.getChapterNumber());
+            assertThat(actual.get().getChapterTitle()).isEqualTo(expected.getChapterTitle());
+            assertThat(actual.get().getPageNumber()).isEqualTo(expected.getPageNumber());
+            assertThat(actual.get().getTotalPagesInChapter()).isEqualTo(expected.getTotalPagesInChapter());
+            assertThat(actual.get().getContentGzip()).isEqualTo(expected.getContentGzip());
+        }
+    }
+}
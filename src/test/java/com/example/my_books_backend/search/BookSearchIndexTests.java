@@ -0,0 +1,222 @@
+package com.example.my_books_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import com.example.my_books_backend.entity.Book;
+
+class BookSearchIndexTests {
+
+    private final BookSearchIndex index = new BookSearchIndex();
+
+    @Test
+    @DisplayName("再構築するまでは使用できない（呼び出し元はDBで検索する）")
+    void isNotReadyBeforeRebuild() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.search("湖畔", null, 0, 20).getBookIds()).isEmpty();
+
+        index.rebuild(List.of(book("book00000001", "湖畔の永遠", "山田太郎", "静かな物語")));
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("湖畔", null, 0, 20).getBookIds()).containsExactly("book00000001");
+    }
+
+    @Test
+    @DisplayName("削除済みの書籍は再構築時に登録しない")
+    void skipsDeletedBooksOnRebuild() {
+        Book deleted = book("book00000002", "湖畔の朝", "佐藤花子", "削除された物語");
+        deleted.setIsDeleted(true);
+
+        index.rebuild(List.of(book("book00000001", "湖畔の永遠", "山田太郎", "静かな物語"), deleted));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("湖畔", null, 0, 20).getBookIds()).containsExactly("book00000001");
+    }
+
+    @Test
+    @DisplayName("関連度順では、タイトル・著者・説明文の順に重みが大きい")
+    void ranksTitleOverAuthorsOverDescription() {
+        index.rebuild(List.of(
+            book("book00000001", "星空の旅人", "佐藤花子", "湖畔で出会った二人の物語"),
+            book("book00000002", "湖畔の旅人", "佐藤花子", "遠い町で出会った二人の物語"),
+            book("book00000003", "星空の旅人", "湖畔書房", "遠い町で出会った二人の物語"),
+            book("book00000004", "星空の旅人", "佐藤花子", "遠い町で出会った二人の物語")
+        ));
+
+        BookSearchResult result = index.search("湖畔", null, 0, 20);
+
+        assertThat(result.getBookIds()).containsExactly("book00000002", "book00000003", "book00000001");
+        assertThat(result.getTotalHits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("関連度が同じ場合は書籍IDの昇順")
+    void breaksRelevanceTiesByBookId() {
+        index.rebuild(List.of(
+            book("book00000003", "湖畔の旅人", "佐藤花子", "物語"),
+            book("book00000001", "湖畔の旅人", "佐藤花子", "物語"),
+            book("book00000002", "湖畔の旅人", "佐藤花子", "物語")
+        ));
+
+        assertThat(index.search("湖畔", Sort.unsorted(), 0, 20).getBookIds())
+            .containsExactly("book00000001", "book00000002", "book00000003");
+    }
+
+    @Test
+    @DisplayName("複数の語はすべてを含む書籍のみ、英数字と1文字の語は前方一致で検索する")
+    void matchesAllTermsAndPrefixes() {
+        index.rebuild(List.of(
+            book("book00000001", "Java入門", "山田太郎", "湖畔で学ぶプログラミング"),
+            book("book00000002", "JavaScript入門", "山田太郎", "ブラウザで学ぶ"),
+            book("book00000003", "Python入門", "湖畔書房", "データ分析")
+        ));
+
+        assertThat(ids("jav")).containsExactlyInAnyOrder("book00000001", "book00000002");
+        assertThat(ids("JAVA 湖畔")).containsExactly("book00000001");
+        assertThat(ids("入門 湖畔")).containsExactlyInAnyOrder("book00000001", "book00000003");
+        assertThat(ids("湖")).containsExactlyInAnyOrder("book00000001", "book00000003");
+        assertThat(ids("ruby")).isEmpty();
+        assertThat(ids("java ruby")).isEmpty();
+        assertThat(ids("！？")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ソート条件を指定した場合はその順（同じ値の場合は書籍IDの昇順）で、範囲を指定して取得できる")
+    void sortsByAttributesAndPages() {
+        index.rebuild(List.of(
+            book("book00000001", "湖畔の朝", 10, 3.5, 20.0, "2020-01-01"),
+            book("book00000002", "湖畔の夜", 30, 4.5, 40.0, "2021-01-01"),
+            book("book00000003", "湖畔の昼", 20, 4.5, 40.0, "2019-01-01"),
+            book("book00000004", "湖畔の夕", 20, 2.0, 10.0, "2022-01-01")
+        ));
+
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.desc("popularity")), 0, 20).getBookIds())
+            .containsExactly("book00000002", "book00000003", "book00000001", "book00000004");
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.asc("reviewCount")), 0, 20).getBookIds())
+            .containsExactly("book00000001", "book00000003", "book00000004", "book00000002");
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.desc("publicationDate")), 0, 20).getBookIds())
+            .containsExactly("book00000004", "book00000002", "book00000001", "book00000003");
+        Sort byRatingThenReviews = Sort.by(Sort.Order.desc("averageRating"), Sort.Order.asc("reviewCount"));
+        assertThat(index.search("湖畔", byRatingThenReviews, 0, 20).getBookIds())
+            .containsExactly("book00000003", "book00000002", "book00000001", "book00000004");
+
+        BookSearchResult page = index.search("湖畔", Sort.by(Sort.Order.desc("popularity")), 1, 2);
+        assertThat(page.getBookIds()).containsExactly("book00000003", "book00000001");
+        assertThat(page.getTotalHits()).isEqualTo(4);
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.desc("popularity")), 4, 2).getBookIds()).isEmpty();
+        assertThat(index.search("湖畔", null, 0, 0).getTotalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("書籍を追加・更新・削除すると検索結果に反映される")
+    void reflectsAddedUpdatedAndRemovedBooks() {
+        index.rebuild(List.of(book("book00000001", "湖畔の永遠", "山田太郎", "静かな物語")));
+
+        // 追加
+        index.upsert(book("book00000002", "星空の旅人", "佐藤花子", "湖畔で出会った二人"));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(ids("湖畔")).containsExactlyInAnyOrder("book00000001", "book00000002");
+
+        // タイトルの更新（統計情報が同じでもテキストを登録し直す）
+        index.upsert(book("book00000001", "山頂の永遠", "山田太郎", "静かな物語"));
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(ids("湖畔")).containsExactly("book00000002");
+        assertThat(ids("山頂")).containsExactly("book00000001");
+
+        // 論理削除された書籍の更新
+        Book deleted = book("book00000002", "星空の旅人", "佐藤花子", "湖畔で出会った二人");
+        deleted.setIsDeleted(true);
+        index.upsert(deleted);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(ids("湖畔")).isEmpty();
+
+        // 削除
+        index.remove("book00000001");
+        index.remove("book99999999");
+        assertThat(index.size()).isZero();
+        assertThat(ids("山頂")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("統計情報の更新はソート順のみに反映され、テキストは変わらない")
+    void updatesStatsWithoutChangingText() {
+        index.rebuild(List.of(
+            book("book00000001", "湖畔の朝", 10, 3.5, 20.0, "2020-01-01"),
+            book("book00000002", "湖畔の夜", 30, 4.5, 40.0, "2021-01-01")
+        ));
+
+        index.updateStats("book00000001", 50, 5.0, 90.0, 7);
+        index.updateStats("book99999999", 50, 5.0, 90.0, 7);
+
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.desc("popularity")), 0, 20).getBookIds())
+            .containsExactly("book00000001", "book00000002");
+        assertThat(index.search("湖畔", Sort.by(Sort.Order.desc("favoriteCount")), 0, 20).getBookIds())
+            .containsExactly("book00000001", "book00000002");
+        assertThat(ids("湖畔の朝")).containsExactly("book00000001");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("削除済みの文書がたまってポスティングリストを詰め直した後も、同じ結果を返す")
+    void returnsSameResultsAfterCompaction() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            books.add(book(String.format("book%08d", i), (i % 2 == 0) ? "湖畔の物語" : "星空の物語", "著者", "説明"));
+        }
+        index.rebuild(books);
+
+        for (int i = 0; i < 1_500; i++) {
+            index.remove(String.format("book%08d", i));
+        }
+        index.upsert(book("book00000000", "湖畔の物語", "著者", "説明"));
+
+        List<String> expected = new ArrayList<>(List.of("book00000000"));
+        for (int i = 1_500; i < 2_000; i += 2) {
+            expected.add(String.format("book%08d", i));
+        }
+        assertThat(index.size()).isEqualTo(501);
+        BookSearchResult result = index.search("湖畔", Sort.by(Sort.Order.asc("id")), 0, 1_000);
+        assertThat(result.getBookIds()).containsExactlyElementsOf(expected);
+        assertThat(result.getTotalHits()).isEqualTo(251);
+        assertThat(index.search("物語", null, 0, 1_000).getTotalHits()).isEqualTo(501);
+    }
+
+    private List<String> ids(String keyword) {
+        return index.search(keyword, null, 0, 100).getBookIds();
+    }
+
+    private static Book book(String id, String title, String authors, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthors(authors);
+        book.setDescription(description);
+        book.setPublicationDate(Date.valueOf("2020-01-01"));
+        book.setReviewCount(0L);
+        book.setAverageRating(0.0);
+        book.setPopularity(0.0);
+        return book;
+    }
+
+    private static Book book(
+        String id,
+        String title,
+        long reviewCount,
+        double averageRating,
+        double popularity,
+        String publicationDate
+    ) {
+        Book book = book(id, title, "著者", "説明");
+        book.setReviewCount(reviewCount);
+        book.setAverageRating(averageRating);
+        book.setPopularity(popularity);
+        book.setPublicationDate(Date.valueOf(publicationDate));
+        return book;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.my_books_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PostingListTests {
+    private static final int FIELD_COUNT = 3;
+
+    @Test
+    @DisplayName("追加した文書IDと出現回数を順に読み取れる（複数バイトの可変長整数を含む）")
+    void readsBackDocumentsAndFrequencies() {
+        PostingList list = new PostingList();
+        list.add(0, new int[] { 1, 0, 0 });
+        list.add(200, new int[] { 0, 300, 0 });
+        list.add(1_000_000, new int[] { 2, 0, 70_000 });
+
+        PostingList.Cursor cursor = list.cursor(FIELD_COUNT);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.docId()).isEqualTo(0);
+        assertThat(cursor.frequencies()).containsExactly(1, 0, 0);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.docId()).isEqualTo(200);
+        assertThat(cursor.frequencies()).containsExactly(0, 300, 0);
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.docId()).isEqualTo(1_000_000);
+        assertThat(cursor.frequencies()).containsExactly(2, 0, 70_000);
+        assertThat(cursor.next()).isFalse();
+        assertThat(cursor.docId()).isEqualTo(Integer.MAX_VALUE);
+        assertThat(list.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("文書IDが昇順でない場合は追加できない")
+    void rejectsNonAscendingDocumentIds() {
+        PostingList list = new PostingList();
+        list.add(5, new int[] { 1, 0, 0 });
+
+        assertThatThrownBy(() -> list.add(5, new int[] { 1, 0, 0 }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> list.add(4, new int[] { 1, 0, 0 }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("advanceはスキップ位置をまたいでも、指定した文書ID以上の最初の文書へ進む")
+    void advancesAcrossSkipBlocks() {
+        // スキップ間隔（128件）をまたぐ件数を、3の倍数の文書IDで登録する
+        PostingList list = new PostingList();
+        for (int docId = 0; docId < 3_000; docId += 3) {
+            list.add(docId, new int[] { docId % 7, 1, 0 });
+        }
+
+        PostingList.Cursor cursor = list.cursor(FIELD_COUNT);
+        assertThat(cursor.advance(1_500)).isTrue();
+        assertThat(cursor.docId()).isEqualTo(1_500);
+        assertThat(cursor.frequencies()).containsExactly(1_500 % 7, 1, 0);
+        assertThat(cursor.advance(1_501)).isTrue();
+        assertThat(cursor.docId()).isEqualTo(1_503);
+        // 現在位置より前を指定した場合は移動しない
+        assertThat(cursor.advance(10)).isTrue();
+        assertThat(cursor.docId()).isEqualTo(1_503);
+        assertThat(cursor.advance(2_998)).isFalse();
+        assertThat(cursor.docId()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("nextとadvanceを組み合わせた読み取りが、昇順のリストの線形探索と一致する")
+    void matchesLinearScanOfSortedList() {
+        Random random = new Random(42);
+        List<Integer> docIds = new ArrayList<>();
+        PostingList list = new PostingList();
+        int docId = -1;
+        for (int i = 0; i < 5_000; i++) {
+            docId += 1 + random.nextInt(random.nextBoolean() ? 3 : 500);
+            docIds.add(docId);
+            list.add(docId, new int[] { 1, 0, i });
+        }
+
+        PostingList.Cursor cursor = list.cursor(FIELD_COUNT);
+        int index = -1;
+        while (true) {
+            boolean found;
+            if (random.nextInt(4) == 0) {
+                found = cursor.next();
+                index++;
+            } else {
+                int target = cursor.docId() + 1 + random.nextInt(2_000);
+                found = cursor.advance(target);
+                index = firstIndexAtLeast(docIds, target, index + 1);
+            }
+            if (!found) {
+                assertThat(index).isGreaterThanOrEqualTo(docIds.size());
+                break;
+            }
+            assertThat(cursor.docId()).isEqualTo(docIds.get(index));
+            assertThat(cursor.frequencies()[2]).isEqualTo(index);
+        }
+    }
+
+    @Test
+    @DisplayName("削除済みの文書を除いたリストを作成できる")
+    void removesDeletedDocuments() {
+        PostingList list = new PostingList();
+        for (int docId = 0; docId < 300; docId++) {
+            list.add(docId, new int[] { docId, 0, 1 });
+        }
+        BitSet deleted = new BitSet();
+        for (int docId = 0; docId < 300; docId++) {
+            if (docId % 3 != 0) {
+                deleted.set(docId);
+            }
+        }
+
+        PostingList compacted = list.withoutDeleted(deleted, FIELD_COUNT);
+
+        assertThat(compacted.size()).isEqualTo(100);
+        assertThat(compacted.sizeInBytes()).isLessThan(list.sizeInBytes());
+        PostingList.Cursor cursor = compacted.cursor(FIELD_COUNT);
+        for (int docId = 0; docId < 300; docId += 3) {
+            assertThat(cursor.next()).isTrue();
+            assertThat(cursor.docId()).isEqualTo(docId);
+            assertThat(cursor.frequencies()).containsExactly(docId, 0, 1);
+        }
+        assertThat(cursor.next()).isFalse();
+        // 元のリストは変更しない
+        assertThat(list.size()).isEqualTo(300);
+    }
+
+    private static int firstIndexAtLeast(List<Integer> docIds, int target, int from) {
+        int index = from;
+        while (index < docIds.size() && docIds.get(index) < target) {
+            index++;
+        }
+        return index;
+    }
+}
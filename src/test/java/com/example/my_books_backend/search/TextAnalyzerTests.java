@@ -0,0 +1,62 @@
+package com.example.my_books_backend.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.example.my_books_backend.search.TextAnalyzer.QueryTerm;
+
+class TextAnalyzerTests {
+
+    @Test
+    @DisplayName("全角英数・半角カナを統一し、小文字・ひらがなに正規化する")
+    void normalizesWidthCaseAndKana() {
+        assertThat(TextAnalyzer.normalize("ＪＡＶＡ入門")).isEqualTo("java入門");
+        assertThat(TextAnalyzer.normalize("ｶﾀｶﾅ")).isEqualTo("かたかな");
+        assertThat(TextAnalyzer.normalize("コーヒー")).isEqualTo("こーひー");
+        assertThat(TextAnalyzer.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("日本語の連続部分はbigram、英数字の連続部分は単語に分割する")
+    void tokenizesJapaneseAsBigramsAndAlphanumericsAsWords() {
+        assertThat(TextAnalyzer.tokenize("Javaプログラミング入門"))
+            .containsExactly("java", "ぷろ", "ろぐ", "ぐら", "らみ", "みん", "んぐ", "ぐ入", "入門");
+        assertThat(TextAnalyzer.tokenize("湖畔の永遠"))
+            .containsExactly("湖畔", "畔の", "の永", "永遠");
+        assertThat(TextAnalyzer.tokenize("コーヒー"))
+            .containsExactly("こー", "ーひ", "ひー");
+    }
+
+    @Test
+    @DisplayName("空白・記号は区切りとして扱い、1文字の日本語はそのまま返す")
+    void splitsOnSeparatorsAndKeepsSingleCharacters() {
+        assertThat(TextAnalyzer.tokenize("Spring Boot 3.3")).containsExactly("spring", "boot", "3", "3");
+        assertThat(TextAnalyzer.tokenize("本・Web")).containsExactly("本", "web");
+        assertThat(TextAnalyzer.tokenize("！？　")).isEmpty();
+        assertThat(TextAnalyzer.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("出現回数を数えるため、同じトークンも重複して返す")
+    void keepsDuplicateTokens() {
+        assertThat(TextAnalyzer.tokenize("かかか java JAVA")).containsExactly("かか", "かか", "java", "java");
+    }
+
+    @Test
+    @DisplayName("2文字以上の日本語は重複のないbigram、それ以外は前方一致のクエリ語にする")
+    void analyzesQueryTerms() {
+        assertThat(TextAnalyzer.analyzeQuery("湖畔の永遠")).containsExactly(
+            new QueryTerm("湖畔", false),
+            new QueryTerm("畔の", false),
+            new QueryTerm("の永", false),
+            new QueryTerm("永遠", false)
+        );
+        assertThat(TextAnalyzer.analyzeQuery("ああああ")).containsExactly(new QueryTerm("ああ", false));
+        assertThat(TextAnalyzer.analyzeQuery("Jav 本")).containsExactly(
+            new QueryTerm("jav", true),
+            new QueryTerm("本", true)
+        );
+        assertThat(TextAnalyzer.analyzeQuery(" !? ")).isEmpty();
+    }
+}
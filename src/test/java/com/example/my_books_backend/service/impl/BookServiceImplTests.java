@@ -0,0 +1,70 @@
+package com.example.my_books_backend.service.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import com.example.my_books_backend.catalog.BookCatalogIndex;
+import com.example.my_books_backend.content.PageContentCache;
+import com.example.my_books_backend.entity.Book;
+import com.example.my_books_backend.mapper.BookMapper;
+import com.example.my_books_backend.repository.BookChapterPageContentRepository;
+import com.example.my_books_backend.repository.BookChapterRepository;
+import com.example.my_books_backend.repository.BookRepository;
+import com.example.my_books_backend.search.BookSearchIndex;
+import com.example.my_books_backend.stats.BookTrendingIndex;
+
+class BookServiceImplTests {
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final BookSearchIndex bookSearchIndex = new BookSearchIndex();
+    private final BookServiceImpl bookService = new BookServiceImpl(
+        bookRepository,
+        mock(BookMapper.class),
+        mock(BookChapterRepository.class),
+        mock(BookChapterPageContentRepository.class),
+        bookSearchIndex,
+        mock(BookCatalogIndex.class),
+        mock(BookTrendingIndex.class),
+        mock(PageContentCache.class)
+    );
+
+    @Test
+    @DisplayName("検索インデックスの構築前は、DBのFULLTEXT検索で検索する")
+    void searchesWithFullTextBeforeIndexIsReady() {
+        when(bookRepository.findByFullTextAndIsDeletedFalseOrderByRelevance(anyString(), any()))
+            .thenReturn(Page.empty());
+
+        bookService.getBooksByTitleKeyword("湖畔", 1L, 20L, "relevance.desc", true);
+
+        verify(bookRepository).findByFullTextAndIsDeletedFalseOrderByRelevance(eq("+\"湖畔\""), any());
+    }
+
+    @Test
+    @DisplayName("検索インデックスの構築後は、インデックスで求めた書籍IDのみをDBから取得する")
+    void searchesWithIndexOnceReady() {
+        Book book = new Book();
+        book.setId("afcIMuetDuzj");
+        book.setTitle("湖畔の永遠");
+        book.setAuthors("山田太郎");
+        book.setDescription("静かな物語");
+        book.setPublicationDate(Date.valueOf("2020-01-01"));
+        book.setReviewCount(0L);
+        book.setAverageRating(0.0);
+        book.setPopularity(0.0);
+        bookSearchIndex.rebuild(List.of(book));
+
+        bookService.getBooksByTitleKeyword("湖畔", 1L, 20L, "relevance.desc", true);
+
+        verify(bookRepository).findBookResponsesByIds(List.of("afcIMuetDuzj"));
+        verify(bookRepository, never()).findByFullTextAndIsDeletedFalseOrderByRelevance(anyString(), any());
+    }
+}
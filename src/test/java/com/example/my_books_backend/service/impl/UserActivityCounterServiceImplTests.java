@@ -0,0 +1,47 @@
+package com.example.my_books_backend.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import com.example.my_books_backend.dto.user.UserProfileCountsResponse;
+import com.example.my_books_backend.repository.UserActivityCounterRepository;
+import com.example.my_books_backend.repository.UserRepository;
+
+class UserActivityCounterServiceImplTests {
+    private static final Long USER_ID = 42L;
+
+    private final UserActivityCounterRepository userActivityCounterRepository = mock(UserActivityCounterRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserActivityCounterServiceImpl service =
+        new UserActivityCounterServiceImpl(userActivityCounterRepository, userRepository);
+
+    @Test
+    @DisplayName("登録済みのユーザーは保存済みの操作数を返し、集計しない")
+    void returnsStoredCounts() {
+        UserProfileCountsResponse stored = new UserProfileCountsResponse(3L, 5L, 2L);
+        when(userActivityCounterRepository.findUserProfileCountsResponse(USER_ID)).thenReturn(Optional.of(stored));
+
+        assertThat(service.getProfileCounts(USER_ID)).isEqualTo(stored);
+        verify(userRepository, never()).getUserProfileCountsResponse(USER_ID);
+    }
+
+    @Test
+    @DisplayName("未登録のユーザーは集計した操作数を返し、取得時には登録しない")
+    void countsWithoutRegisteringMissingCounters() {
+        UserProfileCountsResponse counted = new UserProfileCountsResponse(1L, 0L, 4L);
+        when(userActivityCounterRepository.findUserProfileCountsResponse(USER_ID)).thenReturn(Optional.empty());
+        when(userRepository.getUserProfileCountsResponse(USER_ID)).thenReturn(counted);
+
+        assertThat(service.getProfileCounts(USER_ID)).isEqualTo(counted);
+        verify(userActivityCounterRepository, never()).insertIfAbsent(anyLong(), anyLong(), anyLong(), anyLong());
+        verify(userActivityCounterRepository, never()).save(any());
+    }
+}
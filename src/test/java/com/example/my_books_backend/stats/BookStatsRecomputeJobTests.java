@@ -0,0 +1,220 @@
+package com.example.my_books_backend.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import com.example.my_books_backend.config.CacheConfig;
+import com.example.my_books_backend.dto.BookStatsRecomputeResponse;
+import com.example.my_books_backend.util.BookStatsUtils;
+
+class BookStatsRecomputeJobTests {
+    private static final String CONSISTENT_ID = "afcIMuetDuzj";
+    private static final String STALE_ID = "aBcDeFgHiJkL";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BookStatsUpdateQueue bookStatsUpdateQueue = mock(BookStatsUpdateQueue.class);
+    private final CacheManager cacheManager = mock(CacheManager.class);
+    private final Cache bookDetailsCache = mock(Cache.class);
+    private final Cache bookPagesCache = mock(Cache.class);
+
+    // SQLごとに返す行（書籍の行・レビューの集計・お気に入りの集計・評価の分布の集計・保存済みの評価の分布）
+    private final Map<String, List<Object[]>> rows = new HashMap<>();
+
+    private BookStatsRecomputeJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(cacheManager.getCache(CacheConfig.BOOK_DETAILS_CACHE)).thenReturn(bookDetailsCache);
+        when(cacheManager.getCache(CacheConfig.BOOK_PAGES_CACHE)).thenReturn(bookPagesCache);
+
+        // 全書籍が1つのパーティションに収まる
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class)).thenReturn(2L);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(contains("MAX(id)"), eq(String.class), eq(""))).thenReturn(STALE_ID);
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] values : rows.getOrDefault(tableOf(sql), List.of())) {
+                handler.processRow(resultSet(values));
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(), any());
+
+        // 実行中のスレッドでそのまま実行する
+        job = new BookStatsRecomputeJob(
+            jdbcTemplate,
+            mock(PlatformTransactionManager.class),
+            bookStatsUpdateQueue,
+            cacheManager,
+            Runnable::run,
+            mock(TaskScheduler.class),
+            2,
+            100,
+            "-"
+        );
+    }
+
+    @Test
+    @DisplayName("保存済みの統計情報がレビュー・お気に入りと一致する書籍は書き込まない")
+    void skipsBooksWithConsistentStats() {
+        // 16.9 / 4 = 4.225（Math.round による丸めでは4.22になり、SQLで保存した4.23と一致しない）
+        consistentBook(CONSISTENT_ID, 4, 16.9, 3, new long[] { 0, 0, 0, 1, 3 });
+        consistentBook(STALE_ID, 0, 0.0, 0, new long[] { 0, 0, 0, 0, 0 });
+
+        job.start();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(bookDetailsCache, never()).evict(any());
+        verify(bookPagesCache, never()).clear();
+        verify(bookStatsUpdateQueue, never()).enqueue(any());
+        BookStatsRecomputeResponse progress = job.getProgress();
+        assertThat(progress.getRunning()).isFalse();
+        assertThat(progress.getProcessedBooks()).isEqualTo(2L);
+        assertThat(progress.getUpdatedBooks()).isZero();
+        assertThat(progress.getFailedPartitions()).isZero();
+    }
+
+    @Test
+    @DisplayName("統計情報がずれている書籍のみ再計算した値で書き込み、キャッシュとインデックスに反映する")
+    void rewritesOnlyBooksWithStaleStats() {
+        consistentBook(CONSISTENT_ID, 4, 16.9, 3, new long[] { 0, 0, 0, 1, 3 });
+        consistentBook(STALE_ID, 0, 0.0, 0, new long[] { 0, 0, 0, 0, 0 });
+        // 保存済みの値はレビュー1件・お気に入りなしだが、実際はレビュー2件（評価の合計9.0）・お気に入り1件
+        rows.get("books").set(1, new Object[] { STALE_ID, 1L, "4.0", "4.0", "55.45", 0L });
+        rows.computeIfAbsent("reviews", table -> new ArrayList<>()).add(new Object[] { STALE_ID, 2L, "9.0" });
+        rows.computeIfAbsent("favorites", table -> new ArrayList<>()).add(new Object[] { STALE_ID, 1L });
+        rows.computeIfAbsent("distributions", table -> new ArrayList<>())
+            .add(new Object[] { STALE_ID, 0L, 0L, 0L, 1L, 1L });
+        rows.get("histograms").set(1, new Object[] { STALE_ID, 0L, 0L, 0L, 1L, 1L });
+
+        job.start();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batchArgs = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE books"), batchArgs.capture());
+        assertThat(batchArgs.getValue()).containsExactly(new Object[] {
+            2L,
+            9.0,
+            4.5,
+            BookStatsUtils.calculatePopularity(2, 4.5),
+            1L,
+            STALE_ID
+        });
+        verify(jdbcTemplate, never()).batchUpdate(contains("book_rating_histograms"), anyList());
+        verify(bookDetailsCache).evict(STALE_ID);
+        verify(bookDetailsCache, never()).evict(CONSISTENT_ID);
+        verify(bookStatsUpdateQueue).enqueue(STALE_ID);
+        verify(bookStatsUpdateQueue, never()).enqueue(CONSISTENT_ID);
+        assertThat(job.getProgress().getUpdatedBooks()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("評価の分布のみずれている書籍は評価の分布のみ書き込む")
+    void rewritesOnlyStaleRatingDistributions() {
+        consistentBook(CONSISTENT_ID, 4, 16.9, 3, new long[] { 0, 0, 0, 1, 3 });
+        consistentBook(STALE_ID, 0, 0.0, 0, new long[] { 0, 0, 0, 0, 0 });
+        rows.get("histograms").set(0, new Object[] { CONSISTENT_ID, 0L, 0L, 0L, 0L, 4L });
+
+        job.start();
+
+        verify(jdbcTemplate, never()).batchUpdate(contains("UPDATE books"), anyList());
+        verify(jdbcTemplate).batchUpdate(
+            contains("book_rating_histograms"),
+            argThat((List<Object[]> args) -> args.size() == 1 && args.get(0)[0].equals(CONSISTENT_ID))
+        );
+        verify(bookStatsUpdateQueue).enqueue(CONSISTENT_ID);
+        verify(bookStatsUpdateQueue, never()).enqueue(STALE_ID);
+    }
+
+    /**
+     * レビュー・お気に入りと一致する統計情報を保存済みの書籍を追加
+     * 平均評価・人気度は、SQL（BookRepository.applyReviewStatsDelta）で保存した場合と同じ値にする
+     */
+    private void consistentBook(String bookId, long reviewCount, double ratingSum, long favoriteCount, long[] stars) {
+        double averageRating = BookStatsUtils.calculateAverageRating(reviewCount, ratingSum);
+        double popularity = BookStatsUtils.calculatePopularity(
+            reviewCount,
+            BookStatsUtils.calculateUnroundedAverageRating(reviewCount, ratingSum)
+        );
+        rows.computeIfAbsent("books", table -> new ArrayList<>()).add(new Object[] {
+            bookId,
+            reviewCount,
+            String.valueOf(ratingSum),
+            String.valueOf(averageRating),
+            String.valueOf(popularity),
+            favoriteCount
+        });
+        if (reviewCount > 0) {
+            rows.computeIfAbsent("reviews", table -> new ArrayList<>())
+                .add(new Object[] { bookId, reviewCount, String.valueOf(ratingSum) });
+            rows.computeIfAbsent("distributions", table -> new ArrayList<>())
+                .add(new Object[] { bookId, stars[0], stars[1], stars[2], stars[3], stars[4] });
+        }
+        if (favoriteCount > 0) {
+            rows.computeIfAbsent("favorites", table -> new ArrayList<>()).add(new Object[] { bookId, favoriteCount });
+        }
+        rows.computeIfAbsent("histograms", table -> new ArrayList<>())
+            .add(new Object[] { bookId, stars[0], stars[1], stars[2], stars[3], stars[4] });
+    }
+
+    private static String tableOf(String sql) {
+        if (sql.contains("FOR UPDATE")) {
+            return "books";
+        }
+        if (sql.contains("LEAST(")) {
+            return "distributions";
+        }
+        if (sql.contains("FROM reviews")) {
+            return "reviews";
+        }
+        if (sql.contains("FROM favorites")) {
+            return "favorites";
+        }
+        if (sql.contains("FROM book_rating_histograms")) {
+            return "histograms";
+        }
+        throw new IllegalArgumentException(sql);
+    }
+
+    /**
+     * 列の値を返す行（小数の列は文字列で指定し、DECIMAL・DOUBLEの列と同じくBigDecimalで返す）
+     */
+    private static ResultSet resultSet(Object[] values) {
+        return mock(ResultSet.class, invocation -> {
+            int column = invocation.getArgument(0);
+            Object value = values[column - 1];
+            return switch (invocation.getMethod().getName()) {
+                case "getString" -> (String) value;
+                case "getLong" -> ((Number) value).longValue();
+                case "getBigDecimal" -> new BigDecimal(value.toString());
+                default -> throw new UnsupportedOperationException(invocation.getMethod().getName());
+            };
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.my_books_backend.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BookTrendingIndexTests {
+    private static final Duration HALF_LIFE = Duration.ofHours(24);
+    private static final long HALF_LIFE_MILLIS = HALF_LIFE.toMillis();
+
+    // スコアの時刻（基準時刻は生成時の現在時刻のため、それ以降の時刻を使う）
+    private final long base = System.currentTimeMillis();
+
+    @Test
+    @DisplayName("スコアは半減期ごとに半分になる")
+    void halvesScoreEveryHalfLife() {
+        BookTrendingIndex index = newIndex(0.0);
+        index.add("afcIMuetDuzj", 1.0, base);
+        index.add("aBcDeFgHiJkL", 1.0, base + HALF_LIFE_MILLIS);
+
+        Map<String, Double> scores = index.checkpoint(base + 2 * HALF_LIFE_MILLIS).scores();
+
+        assertThat(scores.get("afcIMuetDuzj")).isCloseTo(0.25, within(1e-9));
+        assertThat(scores.get("aBcDeFgHiJkL")).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("同じ書籍への加算はそれぞれの時刻から減衰させて合算する")
+    void sumsDecayedScores() {
+        BookTrendingIndex index = newIndex(0.0);
+        index.add("afcIMuetDuzj", 2.0, base);
+        index.add("afcIMuetDuzj", 1.0, base + HALF_LIFE_MILLIS);
+
+        Map<String, Double> scores = index.checkpoint(base + HALF_LIFE_MILLIS).scores();
+
+        assertThat(scores.get("afcIMuetDuzj")).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("チェックポイントはスコアが変わった書籍のみ返す")
+    void returnsOnlyChangedBooks() {
+        BookTrendingIndex index = newIndex(0.0);
+        index.add("afcIMuetDuzj", 1.0, base);
+        index.add("aBcDeFgHiJkL", 1.0, base);
+        index.checkpoint(base + 1);
+
+        index.add("aBcDeFgHiJkL", 1.0, base + 2);
+        index.markDirty(List.of("xYzXyZxYzXyZ"));
+
+        assertThat(index.checkpoint(base + 3).scores()).containsOnlyKeys("aBcDeFgHiJkL");
+        assertThat(index.checkpoint(base + 4).scores()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("基準時刻を進めて全体を縮めても、注目度順の並びは変わらない")
+    void keepsRankingAcrossRescale() {
+        BookTrendingIndex index = newIndex(0.0);
+        // 時刻・スコアが異なる加算（古い加算ほど減衰している）
+        for (int i = 0; i < 50; i++) {
+            index.add("book" + i, 1.0 + (i * 7) % 11, base + (i * 37L % 13) * HALF_LIFE_MILLIS / 4);
+        }
+        List<String> before = index.getRankedBookIds();
+
+        // 半減期の32倍を超えて経過すると、基準時刻を進める
+        long now = base + 40 * HALF_LIFE_MILLIS;
+        Map<String, Double> scores = index.checkpoint(now).scores();
+        // 基準時刻を進めた後の加算で並びを作り直す
+        index.add("latest", 1.0, now);
+        List<String> after = index.getRankedBookIds();
+
+        assertThat(scores).hasSize(50);
+        List<String> byScore = scores.entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .map(Map.Entry::getKey)
+            .toList();
+        assertThat(before).isEqualTo(byScore);
+        assertThat(after.get(0)).isEqualTo("latest");
+        assertThat(after.subList(1, after.size())).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("スコアが下限を下回った書籍はインデックスから取り除き、削除対象として返す")
+    void removesBooksBelowMinScore() {
+        BookTrendingIndex index = newIndex(0.1);
+        index.add("afcIMuetDuzj", 1.0, base);
+        index.add("aBcDeFgHiJkL", 1.0, base + 3 * HALF_LIFE_MILLIS);
+        assertThat(index.getRankedBookIds()).containsExactly("aBcDeFgHiJkL", "afcIMuetDuzj");
+
+        // 4半減期後は 1/16（下限未満）、1半減期後は 1/2
+        BookTrendingIndex.Checkpoint checkpoint = index.checkpoint(base + 4 * HALF_LIFE_MILLIS);
+
+        assertThat(checkpoint.removedBookIds()).containsExactly("afcIMuetDuzj");
+        assertThat(checkpoint.scores()).containsOnlyKeys("aBcDeFgHiJkL");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.getRankedBookIds()).containsExactly("aBcDeFgHiJkL");
+    }
+
+    private static BookTrendingIndex newIndex(double minScore) {
+        // 並びは変更のたびに作り直す
+        return new BookTrendingIndex(new SimpleMeterRegistry(), HALF_LIFE, Duration.ZERO, 1.0, 0.5, minScore);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.my_books_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BookStatsUtilsTests {
+
+    @Test
+    @DisplayName("平均評価はSQLのDECIMALの ROUND と同じく0.005を切り上げる")
+    void roundsAverageRatingHalfUpLikeSql() {
+        // 4.225・2.675 は2進数で表せず、value * 100 を Math.round で丸めると切り捨てられる場合がある
+        assertThat(BookStatsUtils.calculateAverageRating(4, 16.9)).isEqualTo(4.23);
+        assertThat(BookStatsUtils.calculateAverageRating(8, 21.4)).isEqualTo(2.68);
+        assertThat(BookStatsUtils.calculateAverageRating(3, 13.0)).isEqualTo(4.33);
+        assertThat(BookStatsUtils.calculateAverageRating(2, 9.0)).isEqualTo(4.5);
+    }
+
+    @Test
+    @DisplayName("平均評価はSQLのDECIMALの割り算と同じく、小数点以下5桁に丸めてから2桁に丸める")
+    void roundsQuotientToSqlDivisionScale() {
+        // 105.1 / 1001 = 0.104995004... は小数点以下5桁で 0.10500 になる
+        assertThat(BookStatsUtils.calculateUnroundedAverageRating(1001, 105.1)).isEqualTo(0.105);
+        assertThat(BookStatsUtils.calculateAverageRating(1001, 105.1)).isEqualTo(0.11);
+        assertThat(BookStatsUtils.calculateUnroundedAverageRating(3, 13.0)).isEqualTo(4.33333);
+    }
+
+    @Test
+    @DisplayName("レビューがない場合は平均評価・人気度が0になる")
+    void returnsZeroWithoutReviews() {
+        assertThat(BookStatsUtils.calculateAverageRating(0, 0.0)).isEqualTo(0.0);
+        assertThat(BookStatsUtils.calculateUnroundedAverageRating(0, 0.0)).isEqualTo(0.0);
+        assertThat(BookStatsUtils.calculatePopularity(0, 0.0)).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("人気度は 平均評価 × log(レビュー数 + 1) × 20 を小数点以下2桁に四捨五入する")
+    void calculatesPopularity() {
+        // 4.0 × log(2) × 20 = 55.451...
+        assertThat(BookStatsUtils.calculatePopularity(1, 4.0)).isEqualTo(55.45);
+        // 4.225 × log(5) × 20 = 135.997...
+        assertThat(BookStatsUtils.calculatePopularity(4, BookStatsUtils.calculateUnroundedAverageRating(4, 16.9)))
+            .isEqualTo(136.0);
+    }
+
+    @Test
+    @DisplayName("評価は四捨五入して星1〜5に収める")
+    void convertsRatingToStars() {
+        assertThat(BookStatsUtils.ratingToStars(0.0)).isEqualTo(1);
+        assertThat(BookStatsUtils.ratingToStars(1.49)).isEqualTo(1);
+        assertThat(BookStatsUtils.ratingToStars(1.5)).isEqualTo(2);
+        assertThat(BookStatsUtils.ratingToStars(2.5)).isEqualTo(3);
+        assertThat(BookStatsUtils.ratingToStars(5.0)).isEqualTo(5);
+    }
+}
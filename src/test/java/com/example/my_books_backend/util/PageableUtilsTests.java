@@ -0,0 +1,136 @@
+package com.example.my_books_backend.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import com.example.my_books_backend.exception.BadRequestException;
+
+class PageableUtilsTests {
+
+    @Test
+    @DisplayName("文字列のキー（s）は区切り文字を含んでも元の値に戻る")
+    void roundTripsStringKeysContainingSeparators() {
+        Sort sort = PageableUtils.cursorSort("title.asc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertRoundTrip(sort, keys("title", "1行目\n2行目\tタブ付き", "id", "afcIMuetDuzj"));
+        assertRoundTrip(sort, keys("title", "", "id", "aBcDeFgHiJkL"));
+    }
+
+    @Test
+    @DisplayName("整数のキー（l）は元の値に戻る")
+    void roundTripsLongKeys() {
+        Sort sort = PageableUtils.cursorSort("reviewCount.desc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertRoundTrip(sort, keys("reviewCount", Long.MAX_VALUE, "id", "afcIMuetDuzj"));
+        assertRoundTrip(sort, keys("reviewCount", 0L, "id", "afcIMuetDuzj"));
+    }
+
+    @Test
+    @DisplayName("小数のキー（d）は元の値に戻る")
+    void roundTripsDoubleKeys() {
+        Sort sort = PageableUtils.cursorSort("averageRating.desc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertRoundTrip(sort, keys("averageRating", 3.45, "id", "afcIMuetDuzj"));
+        assertRoundTrip(sort, keys("averageRating", 0.1 + 0.2, "id", "afcIMuetDuzj"));
+    }
+
+    @Test
+    @DisplayName("日付のキー（D）は元の値に戻る")
+    void roundTripsDateKeys() {
+        Sort sort = PageableUtils.cursorSort("publicationDate.asc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertRoundTrip(sort, keys("publicationDate", Date.valueOf("2024-02-29"), "id", "afcIMuetDuzj"));
+    }
+
+    @Test
+    @DisplayName("日時のキー（t）は元の値に戻る")
+    void roundTripsDateTimeKeys() {
+        Sort sort = PageableUtils.cursorSort("updatedAt.desc", PageableUtils.REVIEW_ALLOWED_FIELDS);
+
+        assertRoundTrip(sort, keys("updatedAt", LocalDateTime.of(2024, 1, 2, 3, 4, 5, 123_456_000), "id", 42L));
+        assertRoundTrip(sort, keys("updatedAt", LocalDateTime.of(2024, 1, 2, 3, 4), "id", 43L));
+    }
+
+    @Test
+    @DisplayName("カーソルが未指定の場合は先頭位置を返す")
+    void returnsInitialPositionForMissingCursor() {
+        Sort sort = PageableUtils.cursorSort("title.asc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertThat(PageableUtils.decodeCursor(null, sort)).isEqualTo(ScrollPosition.keyset());
+        assertThat(PageableUtils.decodeCursor(" ", sort)).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    @DisplayName("別のソート条件で作成されたカーソルは使用できない")
+    void rejectsCursorForDifferentSort() {
+        String cursor = PageableUtils.encodeCursor(
+            ScrollPosition.forward(keys("title", "湖畔の永遠", "id", "afcIMuetDuzj"))
+        );
+        Sort sort = PageableUtils.cursorSort("popularity.desc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertThatThrownBy(() -> PageableUtils.decodeCursor(cursor, sort))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("カーソルとソート条件が一致しません。");
+    }
+
+    @Test
+    @DisplayName("不正なカーソルは使用できない")
+    void rejectsMalformedCursor() {
+        Sort sort = PageableUtils.cursorSort("title.asc", PageableUtils.BOOK_ALLOWED_FIELDS);
+
+        assertThatThrownBy(() -> PageableUtils.decodeCursor("!!not-base64!!", sort))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("カーソルが不正です。");
+        // 型が不明
+        assertThatThrownBy(() -> PageableUtils.decodeCursor(encode("title\tx\tYQ\nid\ts\tYQ"), sort))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("カーソルが不正です。");
+        // 値が型に一致しない
+        Sort longSort = PageableUtils.cursorSort("reviewCount.asc", PageableUtils.BOOK_ALLOWED_FIELDS);
+        assertThatThrownBy(() -> PageableUtils.decodeCursor(encode("reviewCount\tl\tYQ\nid\ts\tYQ"), longSort))
+            .isInstanceOf(BadRequestException.class)
+            .hasMessage("カーソルが不正です。");
+    }
+
+    @Test
+    @DisplayName("指定したフィールドによる並び替えかどうかを判定する")
+    void detectsSortField() {
+        assertThat(PageableUtils.isSortedBy("favoriteCount.desc", "favoriteCount")).isTrue();
+        assertThat(PageableUtils.isSortedBy(" favoriteCount.asc ", "favoriteCount")).isTrue();
+        assertThat(PageableUtils.isSortedBy("favoriteCount.unknown", "favoriteCount")).isTrue();
+        assertThat(PageableUtils.isSortedBy("popularity.desc", "favoriteCount")).isFalse();
+        assertThat(PageableUtils.isSortedBy("favoriteCount", "favoriteCount")).isFalse();
+        assertThat(PageableUtils.isSortedBy(null, "favoriteCount")).isFalse();
+    }
+
+    private static void assertRoundTrip(Sort sort, Map<String, Object> keys) {
+        String cursor = PageableUtils.encodeCursor(ScrollPosition.forward(keys));
+
+        ScrollPosition decoded = PageableUtils.decodeCursor(cursor, sort);
+
+        assertThat(decoded).isInstanceOf(KeysetScrollPosition.class);
+        assertThat(((KeysetScrollPosition) decoded).getKeys()).isEqualTo(keys);
+    }
+
+    private static Map<String, Object> keys(String field, Object value, String idField, Object id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(field, value);
+        keys.put(idField, id);
+        return keys;
+    }
+
+    private static String encode(String decoded) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(decoded.getBytes(StandardCharsets.UTF_8));
+    }
+}